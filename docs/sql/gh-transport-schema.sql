@@ -1,6 +1,7 @@
 -- =====================================================
 -- GH Transport 数据库DDL脚本
 -- Database: PostgreSQL 15+
+-- 聚合根主键使用原生 UUID（UUID v7，时间有序），由 UuidStringTypeHandler 映射
 -- =====================================================
 
 -- =====================================================
@@ -50,9 +51,9 @@ CREATE INDEX IF NOT EXISTS idx_auth_role_status ON auth_role(status);
 
 -- 订单表
 CREATE TABLE IF NOT EXISTS t_order (
-    id VARCHAR(36) PRIMARY KEY,
+    id UUID PRIMARY KEY,
     order_no VARCHAR(32) NOT NULL UNIQUE,
-    customer_id VARCHAR(36) NOT NULL,
+    customer_id UUID NOT NULL,
     status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
     total_amount DECIMAL(12, 2) NOT NULL DEFAULT 0,
     shipping_address JSONB NOT NULL,
@@ -68,8 +69,8 @@ CREATE INDEX IF NOT EXISTS idx_order_created_at ON t_order(created_at);
 
 -- 订单明细表
 CREATE TABLE IF NOT EXISTS t_order_item (
-    id VARCHAR(36) PRIMARY KEY,
-    order_id VARCHAR(36) NOT NULL REFERENCES t_order(id) ON DELETE CASCADE,
+    id UUID PRIMARY KEY,
+    order_id UUID NOT NULL REFERENCES t_order(id) ON DELETE CASCADE,
     product_id VARCHAR(36) NOT NULL,
     product_name VARCHAR(128) NOT NULL,
     specification VARCHAR(64),
@@ -87,9 +88,9 @@ CREATE INDEX IF NOT EXISTS idx_order_item_order_id ON t_order_item(order_id);
 
 -- 调度单表
 CREATE TABLE IF NOT EXISTS t_dispatch (
-    id VARCHAR(36) PRIMARY KEY,
+    id UUID PRIMARY KEY,
     dispatch_no VARCHAR(32) NOT NULL UNIQUE,
-    order_id VARCHAR(36) NOT NULL,
+    order_id UUID NOT NULL,
     vehicle_id VARCHAR(36),
     driver_id VARCHAR(36),
     status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
@@ -136,7 +137,7 @@ CREATE TABLE IF NOT EXISTS t_driver (
 
 -- 客户表
 CREATE TABLE IF NOT EXISTS t_customer (
-    id VARCHAR(36) PRIMARY KEY,
+    id UUID PRIMARY KEY,
     name VARCHAR(128) NOT NULL,
     contact_person VARCHAR(64),
     phone VARCHAR(20) NOT NULL,
@@ -158,7 +159,7 @@ CREATE INDEX IF NOT EXISTS idx_customer_status ON t_customer(status);
 
 -- 库存表
 CREATE TABLE IF NOT EXISTS t_inventory (
-    id VARCHAR(36) PRIMARY KEY,
+    id UUID PRIMARY KEY,
     sku_code VARCHAR(64) NOT NULL UNIQUE,
     product_name VARCHAR(128) NOT NULL,
     warehouse_id VARCHAR(36) NOT NULL,
@@ -166,6 +167,7 @@ CREATE TABLE IF NOT EXISTS t_inventory (
     reserved_quantity INT NOT NULL DEFAULT 0,
     unit_price DECIMAL(10, 2),
     status VARCHAR(20) NOT NULL DEFAULT 'AVAILABLE',
+    fence_token BIGINT NOT NULL DEFAULT 0,
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
 );
@@ -193,6 +195,7 @@ CREATE TABLE IF NOT EXISTS t_warehouse (
 -- 领域事件表（用于本地事件表模式）
 CREATE TABLE IF NOT EXISTS domain_event (
     id VARCHAR(64) PRIMARY KEY,
+    seq BIGSERIAL NOT NULL,
     aggregate_type VARCHAR(64) NOT NULL,
     aggregate_id VARCHAR(64) NOT NULL,
     event_type VARCHAR(128) NOT NULL,
@@ -200,12 +203,25 @@ CREATE TABLE IF NOT EXISTS domain_event (
     status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     processed_at TIMESTAMP,
-    retry_count INT NOT NULL DEFAULT 0
+    retry_count INT NOT NULL DEFAULT 0,
+    claimed_until TIMESTAMP
 );
 
 -- 领域事件索引
 CREATE INDEX IF NOT EXISTS idx_domain_event_status ON domain_event(status);
 CREATE INDEX IF NOT EXISTS idx_domain_event_aggregate ON domain_event(aggregate_type, aggregate_id);
+-- 发件箱中继按写入顺序领取待发布事件
+CREATE INDEX IF NOT EXISTS idx_domain_event_pending ON domain_event(seq) WHERE status = 'PENDING';
+-- 中继投递期间持有租约的事件（最多 分区数 × 批大小 行）
+CREATE INDEX IF NOT EXISTS idx_domain_event_leased ON domain_event(claimed_until)
+    WHERE status = 'PENDING' AND claimed_until IS NOT NULL;
+
+-- 号段表（批量ID分配）
+CREATE TABLE IF NOT EXISTS id_segment (
+    biz_tag VARCHAR(64) PRIMARY KEY,
+    max_id BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
 
 -- 操作日志表
 CREATE TABLE IF NOT EXISTS operation_log (
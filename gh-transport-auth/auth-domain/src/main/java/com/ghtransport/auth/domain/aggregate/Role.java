@@ -7,6 +7,7 @@ import lombok.Getter;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.regex.Pattern;
 
 /**
  * 角色聚合根
@@ -133,13 +134,15 @@ public class Role extends AggregateRoot<RoleId> {
     @Data
     @ValueObject
     public static class RoleCode {
+        private static final Pattern PATTERN = Pattern.compile("^[A-Z][A-Z0-9_]*$");
+
         private final String value;
 
         public static RoleCode of(String value) {
             if (value == null || value.trim().isEmpty()) {
                 throw new IllegalArgumentException("角色编码不能为空");
             }
-            if (!value.matches("^[A-Z][A-Z0-9_]*$")) {
+            if (!PATTERN.matcher(value).matches()) {
                 throw new IllegalArgumentException("角色编码必须以大写字母开头，只能包含大写字母、数字和下划线");
             }
             return new RoleCode(value.trim().toUpperCase());
@@ -4,6 +4,7 @@ import com.ghtransport.common.core.ddd.AggregateRoot;
 import com.ghtransport.common.core.ddd.ValueObject;
 import com.ghtransport.common.core.exception.BusinessException;
 import com.ghtransport.common.core.result.ResultCode;
+import com.ghtransport.common.core.util.ValidationUtils;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -11,6 +12,7 @@ import lombok.Getter;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
+import java.util.regex.Pattern;
 
 /**
  * 用户聚合根
@@ -194,6 +196,8 @@ public class User extends AggregateRoot<UserId> {
     @Data
     @ValueObject
     public static class Username {
+        private static final Pattern PATTERN = Pattern.compile("^[a-zA-Z][a-zA-Z0-9_]*$");
+
         private final String value;
 
         public static Username of(String value) {
@@ -203,7 +207,7 @@ public class User extends AggregateRoot<UserId> {
             if (value.length() < 4 || value.length() > 32) {
                 throw new BusinessException("USERNAME_INVALID", "用户名长度必须在4-32位之间");
             }
-            if (!value.matches("^[a-zA-Z][a-zA-Z0-9_]*$")) {
+            if (!PATTERN.matcher(value).matches()) {
                 throw new BusinessException("USERNAME_INVALID", "用户名必须以字母开头，只能包含字母、数字和下划线");
             }
             return new Username(value.trim().toLowerCase());
@@ -248,7 +252,7 @@ public class User extends AggregateRoot<UserId> {
             if (value == null || value.trim().isEmpty()) {
                 throw new BusinessException(ResultCode.PARAM_IS_NULL, "手机号不能为空");
             }
-            if (!value.matches("^1[3-9]\\d{9}$")) {
+            if (!ValidationUtils.isMobile(value)) {
                 throw new BusinessException("MOBILE_INVALID", "手机号格式不正确");
             }
             return new Mobile(value);
@@ -267,7 +271,7 @@ public class User extends AggregateRoot<UserId> {
             if (value == null || value.trim().isEmpty()) {
                 return null; // 邮箱可选
             }
-            if (!value.matches("^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$")) {
+            if (!ValidationUtils.isEmail(value)) {
                 throw new BusinessException("EMAIL_INVALID", "邮箱格式不正确");
             }
             return new Email(value.trim().toLowerCase());
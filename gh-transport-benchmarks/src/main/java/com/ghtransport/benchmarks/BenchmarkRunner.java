@@ -0,0 +1,120 @@
+package com.ghtransport.benchmarks;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONArray;
+import com.alibaba.fastjson2.JSONObject;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 基准运行入口：附带GC分析器运行，输出JSON结果并与基线对比
+ *
+ * 运行：java -cp gh-transport-benchmarks/target/benchmarks.jar com.ghtransport.benchmarks.BenchmarkRunner [正则] [基线文件]
+ * 结果写入 target/jmh-result.json；基线文件默认 gh-transport-benchmarks/baseline/baseline.json，
+ * 吞吐/耗时或单次分配量（gc.alloc.rate.norm）劣化超过10%时标记为 REGRESSION。
+ * 更新基线：在基准机器上运行后将结果文件复制为基线文件。
+ * 依赖Redis的基准（com.ghtransport.benchmarks.lock）默认不运行，需通过正则显式指定。
+ */
+public final class BenchmarkRunner {
+
+    private static final String DEFAULT_BASELINE = "gh-transport-benchmarks/baseline/baseline.json";
+    private static final String RESULT_FILE = "target/jmh-result.json";
+    private static final String ALLOC_NORM = "gc.alloc.rate.norm";
+    private static final double REGRESSION_THRESHOLD = 0.10D;
+    private static final String REDIS_BENCHMARKS = "com.ghtransport.benchmarks.lock.*";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        String include = args.length > 0 ? args[0] : "com.ghtransport.benchmarks.*";
+        Path baseline = Paths.get(args.length > 1 ? args[1] : DEFAULT_BASELINE);
+
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(RESULT_FILE);
+        if (args.length == 0) {
+            builder.exclude(REDIS_BENCHMARKS);
+        }
+        new Runner(builder.build()).run();
+
+        if (Files.exists(baseline)) {
+            compare(baseline, Paths.get(RESULT_FILE));
+        } else {
+            System.out.println("未找到基线文件 " + baseline + "，可将 " + RESULT_FILE + " 复制为基线");
+        }
+    }
+
+    /**
+     * 对比本次结果与基线
+     */
+    static void compare(Path baselineFile, Path resultFile) throws IOException {
+        Map<String, JSONObject> baseline = index(baselineFile);
+        Map<String, JSONObject> current = index(resultFile);
+
+        System.out.printf("%n%-80s %14s %14s %9s %12s %12s%n",
+                "Benchmark", "Baseline", "Current", "Delta", "B alloc/op", "C alloc/op");
+        for (Map.Entry<String, JSONObject> entry : current.entrySet()) {
+            JSONObject now = entry.getValue();
+            JSONObject before = baseline.get(entry.getKey());
+            if (before == null) {
+                continue;
+            }
+            double baseScore = score(before);
+            double curScore = score(now);
+            // 吞吐模式越大越好，耗时模式越小越好
+            boolean higherIsBetter = "thrpt".equals(now.getString("mode"));
+            double delta = baseScore == 0D ? 0D : (curScore - baseScore) / baseScore;
+            double worse = higherIsBetter ? -delta : delta;
+
+            double baseAlloc = alloc(before);
+            double curAlloc = alloc(now);
+            boolean allocWorse = baseAlloc >= 0D && curAlloc > baseAlloc * (1D + REGRESSION_THRESHOLD) + 1D;
+
+            System.out.printf("%-80s %14.3f %14.3f %+8.1f%% %12.1f %12.1f%s%n",
+                    entry.getKey(), baseScore, curScore, delta * 100D, baseAlloc, curAlloc,
+                    worse > REGRESSION_THRESHOLD || allocWorse ? "  REGRESSION" : "");
+        }
+    }
+
+    private static Map<String, JSONObject> index(Path file) throws IOException {
+        JSONArray results = JSON.parseArray(Files.readString(file, StandardCharsets.UTF_8));
+        Map<String, JSONObject> map = new HashMap<>();
+        for (int i = 0; i < results.size(); i++) {
+            JSONObject result = results.getJSONObject(i);
+            map.put(key(result), result);
+        }
+        return map;
+    }
+
+    private static String key(JSONObject result) {
+        String key = result.getString("benchmark") + " [" + result.getString("mode") + "]";
+        JSONObject params = result.getJSONObject("params");
+        return params == null ? key : key + " " + params;
+    }
+
+    private static double score(JSONObject result) {
+        return result.getJSONObject("primaryMetric").getDoubleValue("score");
+    }
+
+    private static double alloc(JSONObject result) {
+        JSONObject secondary = result.getJSONObject("secondaryMetrics");
+        if (secondary == null || !secondary.containsKey(ALLOC_NORM)) {
+            return -1D;
+        }
+        return secondary.getJSONObject(ALLOC_NORM).getDoubleValue("score");
+    }
+}
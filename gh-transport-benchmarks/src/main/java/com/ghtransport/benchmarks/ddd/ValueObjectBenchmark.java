@@ -0,0 +1,143 @@
+package com.ghtransport.benchmarks.ddd;
+
+import com.ghtransport.benchmarks.legacy.LegacyValueObject;
+import com.ghtransport.common.core.ddd.ValueObjectBase;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 值对象 hashCode / equals 基准：值对象作为 HashMap/HashSet 键时的开销，新旧实现对比
+ *
+ * 新实现（ValueObjectBase）的哈希在首次调用后缓存；freshHashCode 每次新建对象，衡量首次计算的成本。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValueObjectBenchmark {
+
+    private static final List<String> LINES = List.of("科技园", "南区", "18号");
+
+    private Location location;
+    private Location locationProbe;
+    private Map<Location, Integer> locationMap;
+    private LegacyLocation legacyLocation;
+    private LegacyLocation legacyLocationProbe;
+    private Map<LegacyLocation, Integer> legacyLocationMap;
+
+    @Setup
+    public void setup() {
+        location = new Location("广东省", "深圳市", "南山区", LINES);
+        locationProbe = new Location("广东省", "深圳市", "南山区", LINES);
+        legacyLocation = new LegacyLocation("广东省", "深圳市", "南山区", LINES);
+        legacyLocationProbe = new LegacyLocation("广东省", "深圳市", "南山区", LINES);
+
+        locationMap = new HashMap<>();
+        legacyLocationMap = new HashMap<>();
+        for (int i = 0; i < 64; i++) {
+            locationMap.put(new Location("广东省", "深圳市", "区" + i, LINES), i);
+            legacyLocationMap.put(new LegacyLocation("广东省", "深圳市", "区" + i, LINES), i);
+        }
+        locationMap.put(location, -1);
+        legacyLocationMap.put(legacyLocation, -1);
+    }
+
+    @Benchmark
+    public int hashCodeOf() {
+        return location.hashCode();
+    }
+
+    @Benchmark
+    public int hashCodeOfLegacy() {
+        return legacyLocation.hashCode();
+    }
+
+    @Benchmark
+    public int freshHashCode() {
+        return new Location("广东省", "深圳市", "南山区", LINES).hashCode();
+    }
+
+    @Benchmark
+    public int freshHashCodeLegacy() {
+        return new LegacyLocation("广东省", "深圳市", "南山区", LINES).hashCode();
+    }
+
+    @Benchmark
+    public boolean equalsOf() {
+        return location.equals(locationProbe);
+    }
+
+    @Benchmark
+    public boolean equalsOfLegacy() {
+        return legacyLocation.equals(legacyLocationProbe);
+    }
+
+    @Benchmark
+    public Integer mapGet() {
+        return locationMap.get(locationProbe);
+    }
+
+    @Benchmark
+    public Integer mapGetLegacy() {
+        return legacyLocationMap.get(legacyLocationProbe);
+    }
+
+    /**
+     * 基准用值对象：3个字符串属性 + 1个集合属性
+     */
+    static final class Location extends ValueObjectBase<Location> {
+
+        private final String province;
+        private final String city;
+        private final String district;
+        private final List<String> lines;
+
+        Location(String province, String city, String district, List<String> lines) {
+            this.province = province;
+            this.city = city;
+            this.district = district;
+            this.lines = lines;
+        }
+    }
+
+    /**
+     * 与 Location 相同属性的旧版值对象
+     */
+    static final class LegacyLocation extends LegacyValueObject<LegacyLocation> {
+
+        private final String province;
+        private final String city;
+        private final String district;
+        private final List<String> lines;
+
+        LegacyLocation(String province, String city, String district, List<String> lines) {
+            this.province = province;
+            this.city = city;
+            this.district = district;
+            this.lines = lines;
+        }
+
+        @Override
+        public boolean sameValueAs(LegacyLocation other) {
+            return other != null
+                    && Objects.equals(province, other.province)
+                    && Objects.equals(city, other.city)
+                    && Objects.equals(district, other.district)
+                    && Objects.equals(lines, other.lines);
+        }
+
+        @Override
+        protected Iterator<Object> getValueIterator() {
+            return Arrays.<Object>asList(province, city, district, lines).iterator();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.ghtransport.benchmarks.id;
+
+import com.ghtransport.benchmarks.legacy.LegacyBizCodeGenerator;
+import com.ghtransport.common.core.util.BizCodeGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 业务编号生成基准：按天缓存日期+复用字符缓冲区 vs 旧版 format + String.format
+ *
+ * 分配率需配合GC分析器查看：
+ * java -jar gh-transport-benchmarks/target/benchmarks.jar BizCodeGeneratorBenchmark -prof gc
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BizCodeGeneratorBenchmark {
+
+    private BizCodeGenerator generator;
+
+    @Setup
+    public void setup() {
+        generator = new BizCodeGenerator(1L);
+    }
+
+    @Benchmark
+    public String current() {
+        try {
+            return generator.generate("ORD");
+        } catch (IllegalStateException e) {
+            // 基准吞吐会很快用完单日流水号，换新实例继续
+            generator = new BizCodeGenerator(1L);
+            return generator.generate("ORD");
+        }
+    }
+
+    @Benchmark
+    public String legacy() {
+        return LegacyBizCodeGenerator.generateBizCode("ORD");
+    }
+}
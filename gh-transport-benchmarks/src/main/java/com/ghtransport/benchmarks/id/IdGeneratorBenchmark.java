@@ -0,0 +1,36 @@
+package com.ghtransport.benchmarks.id;
+
+import com.ghtransport.common.core.util.IdGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IdGenerator 单线程基准：各类ID的生成开销
+ *
+ * 并发争用见 SnowflakeIdGeneratorBenchmark；业务编号单日流水号有上限，单独在 BizCodeGeneratorBenchmark 中测量
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+    @Benchmark
+    public long nextSnowflakeId() {
+        return IdGenerator.nextSnowflakeId();
+    }
+
+    @Benchmark
+    public String generateUUID() {
+        return IdGenerator.generateUUID();
+    }
+
+    @Benchmark
+    public UUID generateUUIDv7() {
+        return IdGenerator.generateUUIDv7();
+    }
+}
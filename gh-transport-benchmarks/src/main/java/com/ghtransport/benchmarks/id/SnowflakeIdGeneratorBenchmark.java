@@ -0,0 +1,76 @@
+package com.ghtransport.benchmarks.id;
+
+import com.ghtransport.benchmarks.legacy.LegacySnowflakeIdGenerator;
+import com.ghtransport.common.core.util.SnowflakeIdGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 雪花算法并发争用基准：无锁CAS实现 vs 旧版synchronized实现，1-64线程
+ *
+ * 运行：java -jar gh-transport-benchmarks/target/benchmarks.jar SnowflakeIdGeneratorBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SnowflakeIdGeneratorBenchmark {
+
+    private SnowflakeIdGenerator generator;
+
+    @Setup
+    public void setup() {
+        generator = new SnowflakeIdGenerator(1L, 1L, 10L);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long casThreads01() {
+        return generator.nextId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long casThreads04() {
+        return generator.nextId();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public long casThreads16() {
+        return generator.nextId();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public long casThreads64() {
+        return generator.nextId();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long legacyThreads01() {
+        return LegacySnowflakeIdGenerator.nextSnowflakeId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long legacyThreads04() {
+        return LegacySnowflakeIdGenerator.nextSnowflakeId();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public long legacyThreads16() {
+        return LegacySnowflakeIdGenerator.nextSnowflakeId();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public long legacyThreads64() {
+        return LegacySnowflakeIdGenerator.nextSnowflakeId();
+    }
+}
@@ -0,0 +1,93 @@
+package com.ghtransport.benchmarks.json;
+
+import com.ghtransport.common.core.util.JsonUtils;
+import com.ghtransport.inventory.domain.aggregate.Inventory;
+import com.ghtransport.order.domain.aggregate.Order;
+import com.ghtransport.order.domain.entity.OrderItem;
+import com.ghtransport.order.domain.valueobject.Address;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JsonUtils 基准：订单、库存聚合的序列化与反序列化（缓存读写的主要开销）
+ * orderToJsonUtf8Bytes 为原缓存写路径（String 再编码为字节），与直接输出字节的接口对比
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonUtilsBenchmark {
+
+    private Order order;
+    private Inventory inventory;
+    private String orderJson;
+    private String inventoryJson;
+    private byte[] orderBytes;
+
+    @Setup
+    public void setup() {
+        Address address = Address.of("广东省", "深圳市", "南山区", "科技园南区18号",
+                "张三", "13800138000", "518057");
+        List<OrderItem> items = List.of(
+                new OrderItem("P1001", "标准托盘", "1200x1000", OrderItem.Money.of("120.00"), OrderItem.Quantity.of(10)),
+                new OrderItem("P1002", "缠绕膜", "500mm", OrderItem.Money.of("35.50"), OrderItem.Quantity.of(20)),
+                new OrderItem("P1003", "纸箱", "60x40x40", OrderItem.Money.of("4.80"), OrderItem.Quantity.of(200))
+        );
+        order = Order.create("C10001", address, items, "工作日送货");
+        inventory = Inventory.create("SKU-1001", "标准托盘", "W001", 500, new BigDecimal("120.00"));
+        orderJson = JsonUtils.toJson(order);
+        inventoryJson = JsonUtils.toJson(inventory);
+        orderBytes = JsonUtils.toJsonBytes(order);
+    }
+
+    @Benchmark
+    public String orderToJson() {
+        return JsonUtils.toJson(order);
+    }
+
+    @Benchmark
+    public Order orderFromJson() {
+        return JsonUtils.fromJson(orderJson, Order.class);
+    }
+
+    @Benchmark
+    public byte[] orderToJsonUtf8Bytes() {
+        return JsonUtils.toJson(order).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] orderToJsonBytes() {
+        return JsonUtils.toJsonBytes(order);
+    }
+
+    @Benchmark
+    public int orderToLocalWriter() {
+        return JsonUtils.localWriter().write(order).length();
+    }
+
+    @Benchmark
+    public Order orderFromUtf8String() {
+        return JsonUtils.fromJson(new String(orderBytes, StandardCharsets.UTF_8), Order.class);
+    }
+
+    @Benchmark
+    public Order orderFromJsonBytes() {
+        return JsonUtils.fromJson(orderBytes, Order.class);
+    }
+
+    @Benchmark
+    public String inventoryToJson() {
+        return JsonUtils.toJson(inventory);
+    }
+
+    @Benchmark
+    public Inventory inventoryFromJson() {
+        return JsonUtils.fromJson(inventoryJson, Inventory.class);
+    }
+}
@@ -0,0 +1,21 @@
+package com.ghtransport.benchmarks.legacy;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 旧版业务编号生成（IdGenerator.generateBizCode 优化前的实现），仅用于基准对比
+ */
+public final class LegacyBizCodeGenerator {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private LegacyBizCodeGenerator() {
+    }
+
+    public static String generateBizCode(String prefix) {
+        String date = LocalDateTime.now().format(DATE_FORMATTER);
+        long sequence = LegacySnowflakeIdGenerator.nextSnowflakeId() & 0xFFFFFFFFL;
+        return prefix + date + String.format("%08d", sequence);
+    }
+}
@@ -0,0 +1,55 @@
+package com.ghtransport.benchmarks.legacy;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 旧版分布式锁等待（固定50ms轮询 SET NX），仅用于基准对比
+ */
+public final class LegacyDistributedLock {
+
+    private static final String LOCK_PREFIX = "lock:";
+
+    private static final RedisScript<Long> UNLOCK_SCRIPT = RedisScript.of(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then " +
+                    "return redis.call('del', KEYS[1]) " +
+                    "else " +
+                    "return 0 " +
+                    "end",
+            Long.class
+    );
+
+    private final StringRedisTemplate redisTemplate;
+
+    public LegacyDistributedLock(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    public boolean tryLockWithWaitTime(String lockKey, String lockValue,
+                                        long waitTime, long expireTime, TimeUnit timeUnit) {
+        long startTime = System.currentTimeMillis();
+        while (System.currentTimeMillis() - startTime < timeUnit.toMillis(waitTime)) {
+            Boolean locked = redisTemplate.opsForValue().setIfAbsent(
+                    LOCK_PREFIX + lockKey, lockValue, Duration.of(expireTime, timeUnit.toChronoUnit()));
+            if (Boolean.TRUE.equals(locked)) {
+                return true;
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return false;
+    }
+
+    public boolean unlock(String lockKey, String lockValue) {
+        Long result = redisTemplate.execute(UNLOCK_SCRIPT, Collections.singletonList(LOCK_PREFIX + lockKey), lockValue);
+        return Long.valueOf(1L).equals(result);
+    }
+}
@@ -0,0 +1,53 @@
+package com.ghtransport.benchmarks.legacy;
+
+/**
+ * 旧版雪花算法（双重synchronized + 忙等待），仅作为基准对照
+ */
+public final class LegacySnowflakeIdGenerator {
+
+    private static final long WORKER_ID_BITS = 5L;
+    private static final long DATACENTER_ID_BITS = 5L;
+    private static final long SEQUENCE_BITS = 12L;
+
+    private static final long WORKER_ID_SHIFT = SEQUENCE_BITS;
+    private static final long DATACENTER_ID_SHIFT = SEQUENCE_BITS + WORKER_ID_BITS;
+    private static final long TIMESTAMP_LEFT_SHIFT = SEQUENCE_BITS + WORKER_ID_BITS + DATACENTER_ID_BITS;
+
+    private static long workerId = 1L;
+    private static long datacenterId = 1L;
+    private static long sequence = 0L;
+    private static long lastTimestamp = -1L;
+
+    private LegacySnowflakeIdGenerator() {
+    }
+
+    public static synchronized long nextSnowflakeId() {
+        return nextId();
+    }
+
+    private static synchronized long nextId() {
+        long timestamp = System.currentTimeMillis();
+
+        if (timestamp < lastTimestamp) {
+            throw new RuntimeException("时钟回拨，拒绝生成ID");
+        }
+
+        if (lastTimestamp == timestamp) {
+            sequence = (sequence + 1) & ((1 << SEQUENCE_BITS) - 1);
+            if (sequence == 0) {
+                while (timestamp <= lastTimestamp) {
+                    timestamp = System.currentTimeMillis();
+                }
+            }
+        } else {
+            sequence = 0L;
+        }
+
+        lastTimestamp = timestamp;
+
+        return (timestamp << TIMESTAMP_LEFT_SHIFT)
+                | (datacenterId << DATACENTER_ID_SHIFT)
+                | (workerId << WORKER_ID_SHIFT)
+                | sequence;
+    }
+}
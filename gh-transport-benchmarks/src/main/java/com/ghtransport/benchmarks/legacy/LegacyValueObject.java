@@ -0,0 +1,92 @@
+package com.ghtransport.benchmarks.legacy;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * 旧版值对象基类（ValueObjectBase 优化前的实现：每次 hashCode 都经由迭代器、列表和流计算），仅用于基准对比
+ *
+ * @param <T> 值对象类型
+ */
+public abstract class LegacyValueObject<T> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 比较属性值是否相等
+     *
+     * @param other 另一个值对象
+     * @return 是否相等
+     */
+    public abstract boolean sameValueAs(T other);
+
+    /**
+     * 获取属性值的迭代器
+     *
+     * @return 属性值迭代器
+     */
+    protected abstract Iterator<Object> getValueIterator();
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        LegacyValueObject<?> that = (LegacyValueObject<?>) o;
+        return sameValueAs((T) that);
+    }
+
+    @Override
+    public int hashCode() {
+        return getValueStream()
+                .map(obj -> {
+                    if (obj == null) {
+                        return 0;
+                    }
+                    if (obj instanceof byte[]) {
+                        return Arrays.hashCode((byte[]) obj);
+                    }
+                    if (obj instanceof int[]) {
+                        return Arrays.hashCode((int[]) obj);
+                    }
+                    if (obj instanceof long[]) {
+                        return Arrays.hashCode((long[]) obj);
+                    }
+                    if (obj instanceof double[]) {
+                        return Arrays.hashCode((double[]) obj);
+                    }
+                    if (obj instanceof float[]) {
+                        return Arrays.hashCode((float[]) obj);
+                    }
+                    if (obj instanceof Object[]) {
+                        return Arrays.hashCode((Object[]) obj);
+                    }
+                    return obj.hashCode();
+                })
+                .reduce(1, (a, b) -> 31 * a + b);
+    }
+
+    /**
+     * 获取属性值的流
+     *
+     * @return 属性值流
+     */
+    protected java.util.stream.Stream<Object> getValueStream() {
+        Iterator<Object> iterator = getValueIterator();
+        List<Object> list = new ArrayList<>();
+        while (iterator.hasNext()) {
+            Object value = iterator.next();
+            if (value instanceof Collection) {
+                list.addAll((Collection<?>) value);
+            } else if (value instanceof Map) {
+                list.addAll(((Map<?, ?>) value).entrySet());
+            } else {
+                list.add(value);
+            }
+        }
+        return list.stream();
+    }
+}
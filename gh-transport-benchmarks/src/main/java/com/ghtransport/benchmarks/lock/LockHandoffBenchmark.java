@@ -0,0 +1,83 @@
+package com.ghtransport.benchmarks.lock;
+
+import com.ghtransport.benchmarks.legacy.LegacyDistributedLock;
+import com.ghtransport.common.redis.lock.DistributedLock;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分布式锁交接基准：100个线程争用同一把锁，对比固定50ms轮询与释放通知两种等待方式
+ *
+ * 单次操作 = 等待获取锁 + 释放，耗时分布反映锁交接延迟。需要可访问的Redis：
+ * -Dredis.host=127.0.0.1 -Dredis.port=6379，默认不随 BenchmarkRunner 运行，需显式指定：
+ * BenchmarkRunner "com.ghtransport.benchmarks.lock.*"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(100)
+@Fork(1)
+public class LockHandoffBenchmark {
+
+    private static final String LOCK_KEY = "benchmark:handoff";
+
+    @Param({"polling", "notify"})
+    public String mode;
+
+    private LettuceConnectionFactory connectionFactory;
+    private RedisMessageListenerContainer container;
+    private DistributedLock distributedLock;
+    private LegacyDistributedLock legacyLock;
+
+    @Setup
+    public void setup() throws Exception {
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(
+                System.getProperty("redis.host", "127.0.0.1"), Integer.getInteger("redis.port", 6379));
+        connectionFactory = new LettuceConnectionFactory(configuration);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.afterPropertiesSet();
+        container.start();
+
+        distributedLock = new DistributedLock(redisTemplate, container, 200L, 10_000L, 600_000L);
+        legacyLock = new LegacyDistributedLock(redisTemplate);
+        distributedLock.forceUnlock(LOCK_KEY);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        container.destroy();
+        connectionFactory.destroy();
+    }
+
+    @State(Scope.Thread)
+    public static class Owner {
+        final String value = UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public boolean acquireAndRelease(Owner owner) {
+        if ("polling".equals(mode)) {
+            if (!legacyLock.tryLockWithWaitTime(LOCK_KEY, owner.value, 60, 5, TimeUnit.SECONDS)) {
+                return false;
+            }
+            return legacyLock.unlock(LOCK_KEY, owner.value);
+        }
+        if (!distributedLock.tryLockWithWaitTime(LOCK_KEY, owner.value, 60, 5, TimeUnit.SECONDS)) {
+            return false;
+        }
+        return distributedLock.unlock(LOCK_KEY, owner.value);
+    }
+}
@@ -0,0 +1,83 @@
+package com.ghtransport.benchmarks.redis;
+
+import com.ghtransport.common.redis.codec.FramedValueCodec;
+import com.ghtransport.common.redis.codec.Lz4PayloadCompressor;
+import com.ghtransport.common.redis.codec.ValueCodec;
+import com.ghtransport.inventory.domain.aggregate.Inventory;
+import com.ghtransport.order.domain.aggregate.Order;
+import com.ghtransport.order.domain.entity.OrderItem;
+import com.ghtransport.order.domain.valueobject.Address;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 缓存值编码基准：JSON（原格式）、JSONB、JSONB+LZ4 对订单（50条明细）、库存聚合的编解码耗时
+ *
+ * 各编码的负载大小在 Setup 时输出到控制台（payload size）。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValueCodecBenchmark {
+
+    @Param({"json", "jsonb", "jsonb-lz4"})
+    public String codecName;
+
+    private ValueCodec codec;
+    private Order order;
+    private Inventory inventory;
+    private byte[] orderBytes;
+    private byte[] inventoryBytes;
+
+    @Setup
+    public void setup() {
+        codec = switch (codecName) {
+            case "json" -> new FramedValueCodec("json", null, -1);
+            case "jsonb" -> new FramedValueCodec("jsonb", null, -1);
+            case "jsonb-lz4" -> new FramedValueCodec("jsonb", new Lz4PayloadCompressor(), 512);
+            default -> throw new IllegalArgumentException(codecName);
+        };
+
+        Address address = Address.of("广东省", "深圳市", "南山区", "科技园南区18号",
+                "张三", "13800138000", "518057");
+        List<OrderItem> items = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            items.add(new OrderItem("P" + (1000 + i), "标准托盘", "1200x1000",
+                    OrderItem.Money.of("120.00"), OrderItem.Quantity.of(i + 1)));
+        }
+        order = Order.create("C10001", address, items, "工作日送货");
+        inventory = Inventory.create("SKU-1001", "标准托盘", "W001", 500, new BigDecimal("120.00"));
+
+        orderBytes = codec.encode(order);
+        inventoryBytes = codec.encode(inventory);
+        System.out.printf("%npayload size [%s]: order=%d bytes, inventory=%d bytes%n",
+                codecName, orderBytes.length, inventoryBytes.length);
+    }
+
+    @Benchmark
+    public byte[] encodeOrder() {
+        return codec.encode(order);
+    }
+
+    @Benchmark
+    public Order decodeOrder() {
+        return codec.decode(orderBytes, Order.class);
+    }
+
+    @Benchmark
+    public byte[] encodeInventory() {
+        return codec.encode(inventory);
+    }
+
+    @Benchmark
+    public Inventory decodeInventory() {
+        return codec.decode(inventoryBytes, Inventory.class);
+    }
+}
@@ -0,0 +1,54 @@
+package com.ghtransport.benchmarks.security;
+
+import com.ghtransport.common.core.security.JwtPrincipal;
+import com.ghtransport.common.core.security.JwtUtils;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtUtils 基准：签发、完整验签解析、带缓存的认证
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilsBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-must-be-at-least-32-chars-long";
+
+    private JwtUtils jwtUtils;
+    private JwtUtils uncachedJwtUtils;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtUtils = new JwtUtils(SECRET, 3_600_000L, 604_800_000L, 10_000);
+        uncachedJwtUtils = new JwtUtils(SECRET, 3_600_000L, 604_800_000L, 0);
+        token = jwtUtils.generateToken("10001", "dispatcher01", List.of("DISPATCHER", "USER"));
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateToken("10001", "dispatcher01", List.of("DISPATCHER", "USER"));
+    }
+
+    @Benchmark
+    public Claims parseToken() {
+        return jwtUtils.parseToken(token);
+    }
+
+    @Benchmark
+    public JwtPrincipal authenticateCached() {
+        return jwtUtils.authenticate(token);
+    }
+
+    @Benchmark
+    public JwtPrincipal authenticateUncached() {
+        return uncachedJwtUtils.authenticate(token);
+    }
+}
@@ -0,0 +1,78 @@
+package com.ghtransport.benchmarks.util;
+
+import com.ghtransport.common.core.util.DateUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DateUtils 格式化基准
+ *
+ * legacy* 为优化前的实现（每次调用 DateTimeFormatter.ofPattern），用于新旧对比
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DateUtilsBenchmark {
+
+    private LocalDateTime dateTime;
+    private LocalDate date;
+    private StringBuilder builder;
+    private char[] buffer;
+
+    @Setup
+    public void setup() {
+        dateTime = LocalDateTime.of(2025, 1, 29, 14, 30, 15, 123_000_000);
+        date = dateTime.toLocalDate();
+        builder = new StringBuilder(64);
+        buffer = new char[DateUtils.DATETIME_LENGTH];
+    }
+
+    @Benchmark
+    public String formatDateTime() {
+        return DateUtils.format(dateTime, DateUtils.PATTERN_DATETIME);
+    }
+
+    @Benchmark
+    public String formatDateTimeMillis() {
+        return DateUtils.format(dateTime, DateUtils.PATTERN_DATETIME_MILLIS);
+    }
+
+    @Benchmark
+    public String formatDate() {
+        return DateUtils.format(date, DateUtils.PATTERN_DATE);
+    }
+
+    @Benchmark
+    public StringBuilder appendDateTime() {
+        builder.setLength(0);
+        return DateUtils.appendDateTime(builder, dateTime);
+    }
+
+    @Benchmark
+    public char[] writeDateTime() {
+        DateUtils.writeDateTime(buffer, 0, dateTime);
+        return buffer;
+    }
+
+    @Benchmark
+    public String legacyFormatDateTime() {
+        return dateTime.format(DateTimeFormatter.ofPattern(DateUtils.PATTERN_DATETIME));
+    }
+
+    @Benchmark
+    public String legacyFormatDateTimeMillis() {
+        return dateTime.format(DateTimeFormatter.ofPattern(DateUtils.PATTERN_DATETIME_MILLIS));
+    }
+
+    @Benchmark
+    public String legacyFormatDate() {
+        return date.format(DateTimeFormatter.ofPattern(DateUtils.PATTERN_DATE));
+    }
+}
@@ -0,0 +1,76 @@
+package com.ghtransport.benchmarks.util;
+
+import com.ghtransport.common.core.util.StringUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * StringUtils 校验基准：合法与非法输入各一组，legacy* 为逐次 Pattern.matches 的原实现
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StringUtilsBenchmark {
+
+    @Param({"valid", "invalid"})
+    public String input;
+
+    private String mobile;
+    private String email;
+    private String idCard;
+    private String alphanumeric;
+
+    @Setup
+    public void setup() {
+        boolean valid = "valid".equals(input);
+        mobile = valid ? "13800138000" : "1380013800a";
+        email = valid ? "dispatcher01@gh-transport.com" : "dispatcher01@gh-transport";
+        idCard = valid ? "11010519491231002X" : "11010519491231002A";
+        alphanumeric = valid ? "SKU1001ABC" : "SKU-1001";
+    }
+
+    @Benchmark
+    public boolean isMobile() {
+        return StringUtils.isMobile(mobile);
+    }
+
+    @Benchmark
+    public boolean isEmail() {
+        return StringUtils.isEmail(email);
+    }
+
+    @Benchmark
+    public boolean isIdCard() {
+        return StringUtils.isIdCard(idCard);
+    }
+
+    @Benchmark
+    public boolean isAlphanumeric() {
+        return StringUtils.isAlphanumeric(alphanumeric);
+    }
+
+    @Benchmark
+    public boolean legacyIsMobile() {
+        return Pattern.matches("^1[3-9]\\d{9}$", mobile);
+    }
+
+    @Benchmark
+    public boolean legacyIsEmail() {
+        return Pattern.matches("^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$", email);
+    }
+
+    @Benchmark
+    public boolean legacyIsIdCard() {
+        return Pattern.matches("^[1-9]\\d{5}(18|19|20)\\d{2}(0[1-9]|1[0-2])(0[1-9]|[1-2]\\d|3[0-1])\\d{3}[\\dXx]$", idCard);
+    }
+
+    @Benchmark
+    public boolean legacyIsAlphanumeric() {
+        return Pattern.matches("[a-zA-Z0-9]+", alphanumeric);
+    }
+}
@@ -0,0 +1,51 @@
+package com.ghtransport.common.core.config;
+
+import com.ghtransport.common.core.ddd.AsyncDomainEventPublisher;
+import com.ghtransport.common.core.ddd.DomainClock;
+import com.ghtransport.common.core.ddd.DomainEventBatchListener;
+import com.ghtransport.common.core.ddd.DomainEventPublisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 领域事件发布配置
+ *
+ * 默认使用异步发布者：先调用所有 DomainEventBatchListener Bean，再转发给 Spring 事件机制。
+ * 容器中存在 Clock Bean 时用它替换领域时钟。
+ */
+@Configuration
+public class DomainEventPublisherConfig {
+
+    @Value("${domain-event.async.lanes:4}")
+    private int lanes;
+
+    @Value("${domain-event.async.capacity-per-lane:8192}")
+    private int capacityPerLane;
+
+    @Value("${domain-event.async.max-batch-size:64}")
+    private int maxBatchSize;
+
+    @Value("${domain-event.async.overflow-policy:BLOCK}")
+    private AsyncDomainEventPublisher.OverflowPolicy overflowPolicy;
+
+    public DomainEventPublisherConfig(ObjectProvider<Clock> clock) {
+        clock.ifAvailable(DomainClock::setClock);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(DomainEventPublisher.class)
+    public AsyncDomainEventPublisher domainEventPublisher(ObjectProvider<DomainEventBatchListener> batchListeners,
+                                                         ApplicationEventPublisher applicationEventPublisher) {
+        List<DomainEventBatchListener> listeners = new ArrayList<>(batchListeners.orderedStream().toList());
+        listeners.add(DomainEventBatchListener.forwardingTo(applicationEventPublisher));
+        return new AsyncDomainEventPublisher(listeners, lanes, capacityPerLane, maxBatchSize, overflowPolicy);
+    }
+}
@@ -0,0 +1,93 @@
+package com.ghtransport.common.core.config;
+
+import com.ghtransport.common.core.util.IdGenerator;
+import com.ghtransport.common.core.util.JdbcSegmentSource;
+import com.ghtransport.common.core.util.SegmentSource;
+import com.ghtransport.common.core.util.SnowflakeIdGenerator;
+import com.ghtransport.common.core.util.SnowflakeNodeProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * 雪花算法配置
+ *
+ * 节点号优先取自 SnowflakeNodeProvider（如 snowflake.lease.enabled=true 时的Redis租约），
+ * 否则必须显式配置 snowflake.datacenter-id 与 snowflake.worker-id，不提供默认值，避免各副本使用同一节点号。
+ */
+@Slf4j
+@Configuration
+public class SnowflakeConfig {
+
+    @Value("${snowflake.datacenter-id:#{null}}")
+    private Long datacenterId;
+
+    @Value("${snowflake.worker-id:#{null}}")
+    private Long workerId;
+
+    @Value("${snowflake.max-backward-ms:10}")
+    private long maxBackwardMillis;
+
+    @Value("${biz-code.segment-size:200}")
+    private int bizCodeSegmentSize;
+
+    /**
+     * 配置雪花算法生成器，并替换 IdGenerator 的默认实例（含业务编号生成器）
+     */
+    @Bean
+    public SnowflakeIdGenerator snowflakeIdGenerator(ObjectProvider<SnowflakeNodeProvider> nodeProvider,
+                                                     ObjectProvider<SegmentSource> segmentSource,
+                                                     ObjectProvider<DataSource> dataSource) {
+        SnowflakeNodeProvider provider = nodeProvider.getIfAvailable();
+        if (provider == null && (datacenterId == null || workerId == null)) {
+            throw new IllegalStateException("未配置雪花算法节点号：请设置 snowflake.datacenter-id 与 snowflake.worker-id，"
+                    + "或开启 snowflake.lease.enabled 由Redis租约分配");
+        }
+        long dc = provider != null ? provider.datacenterId() : datacenterId;
+        long worker = provider != null ? provider.workerId() : workerId;
+
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(dc, worker, maxBackwardMillis);
+        IdGenerator.setSnowflakeIdGenerator(generator);
+        log.info("雪花算法节点: datacenterId={}, workerId={}, maxBackwardMs={}", dc, worker, maxBackwardMillis);
+        if (provider != null) {
+            provider.addListener(new SnowflakeNodeProvider.NodeListener() {
+                @Override
+                public void onNodeLost() {
+                    generator.suspend();
+                    log.error("雪花算法节点租约已丢失，暂停生成ID");
+                }
+
+                @Override
+                public void onNodeAssigned(long newDatacenterId, long newWorkerId) {
+                    generator.reassign(newDatacenterId, newWorkerId);
+                    // 业务编号生成器随之切换节点号
+                    IdGenerator.setSnowflakeIdGenerator(generator);
+                    log.warn("雪花算法节点已切换: datacenterId={}, workerId={}", newDatacenterId, newWorkerId);
+                }
+            });
+        }
+        configureBizCode(segmentSource, dataSource);
+        return generator;
+    }
+
+    /**
+     * 业务编号流水号的共享号段来源：优先使用自定义 SegmentSource，否则基于数据源的 id_segment 表
+     */
+    private void configureBizCode(ObjectProvider<SegmentSource> segmentSource, ObjectProvider<DataSource> dataSource) {
+        SegmentSource source = segmentSource.getIfUnique();
+        if (source == null) {
+            DataSource ds = dataSource.getIfUnique();
+            if (ds == null) {
+                log.warn("未配置数据源，业务编号使用进程内流水号，仅适用于单实例部署");
+                return;
+            }
+            source = new JdbcSegmentSource(ds);
+        }
+        IdGenerator.setBizCodeSegmentSource(source, bizCodeSegmentSize);
+        log.info("业务编号流水号使用共享号段: segmentSize={}", bizCodeSegmentSize);
+    }
+}
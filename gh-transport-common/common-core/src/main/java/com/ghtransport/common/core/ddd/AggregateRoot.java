@@ -3,10 +3,12 @@ package com.ghtransport.common.core.ddd;
 import lombok.Getter;
 import org.springframework.context.ApplicationEventPublisher;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * 聚合根基类
@@ -38,6 +40,16 @@ public abstract class AggregateRoot<ID> implements Entity<ID> {
      */
     private final transient ApplicationEventPublisher eventPublisher;
 
+    /**
+     * 自加载（或上次保存）以来变更过的属性名
+     */
+    private final transient Set<String> dirtyProperties;
+
+    /**
+     * 是否已与数据库中的记录对应（由仓储在加载、保存后标记）
+     */
+    private transient boolean persisted;
+
     protected AggregateRoot() {
         this(null, null);
     }
@@ -50,6 +62,7 @@ public abstract class AggregateRoot<ID> implements Entity<ID> {
         this.id = id;
         this.domainEvents = new ArrayList<>();
         this.eventPublisher = eventPublisher;
+        this.dirtyProperties = new LinkedHashSet<>(4);
     }
 
     /**
@@ -58,20 +71,75 @@ public abstract class AggregateRoot<ID> implements Entity<ID> {
     public abstract String getAggregateType();
 
     /**
-     * 注册领域事件
+     * 注册领域事件，发生时间取当前领域时钟
      *
      * @param event 领域事件
      */
     protected void registerEvent(DomainEvent event) {
+        registerEvent(event, DomainClock.millis());
+    }
+
+    /**
+     * 注册领域事件，使用命令已取得的时间戳，使事件时间与状态字段的更新时间一致
+     *
+     * @param event            领域事件
+     * @param occurredOnMillis 事件发生时间（epoch毫秒）
+     */
+    protected void registerEvent(DomainEvent event, long occurredOnMillis) {
         if (event == null) {
             return;
         }
         event.setAggregateId(id != null ? id.toString() : null);
         event.setAggregateType(getAggregateType());
-        event.setOccurredOn(LocalDateTime.now());
+        event.setOccurredOnMillis(occurredOnMillis);
         domainEvents.add(event);
     }
 
+    /**
+     * 记录变更的属性，属性名与持久化对象的属性名一致
+     *
+     * @param properties 属性名
+     */
+    protected void markDirty(String... properties) {
+        Collections.addAll(dirtyProperties, properties);
+    }
+
+    /**
+     * 自加载（或上次保存）以来变更过的属性名（按首次变更顺序）
+     */
+    public Set<String> getDirtyProperties() {
+        return Collections.unmodifiableSet(dirtyProperties);
+    }
+
+    /**
+     * 是否有未保存的变更
+     */
+    public boolean isDirty() {
+        return !dirtyProperties.isEmpty();
+    }
+
+    /**
+     * 指定属性是否有未保存的变更
+     */
+    public boolean isDirty(String property) {
+        return dirtyProperties.contains(property);
+    }
+
+    /**
+     * 是否已与数据库中的记录对应；未持久化的聚合由仓储按新增处理
+     */
+    public boolean isPersisted() {
+        return persisted;
+    }
+
+    /**
+     * 标记为与数据库一致并清空变更记录，仓储在加载后和保存成功后调用
+     */
+    public void markPersisted() {
+        persisted = true;
+        dirtyProperties.clear();
+    }
+
     /**
      * 清除所有领域事件
      */
@@ -99,7 +167,13 @@ public abstract class AggregateRoot<ID> implements Entity<ID> {
      * 标记事件为已发布
      */
     public void markEventsAsPublished() {
-        domainEvents.forEach(DomainEvent::markAsPublished);
+        if (domainEvents.isEmpty()) {
+            return;
+        }
+        long publishedOn = DomainClock.millis();
+        for (DomainEvent event : domainEvents) {
+            event.markAsPublished(publishedOn);
+        }
     }
 
     /**
@@ -0,0 +1,287 @@
+package com.ghtransport.common.core.ddd;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 异步领域事件发布者
+ *
+ * 事件按聚合（aggregateType + aggregateId）哈希到固定的工作通道，每个通道一个有界MPSC环形队列和一个工作线程，
+ * 工作线程每次取出至多 maxBatchSize 个事件，按微批依次交给监听器。同一聚合的事件总在同一通道内串行处理，
+ * 因此保持发布顺序；不同聚合之间不保证顺序。
+ *
+ * 队列满时按 {@link OverflowPolicy} 处理。监听器异常只记录日志，不影响同批其他事件和后续批次。
+ */
+@Slf4j
+public class AsyncDomainEventPublisher implements DomainEventPublisher, DisposableBean {
+
+    /**
+     * 工作线程空闲时的最长休眠时间（有新事件时会被立即唤醒）
+     */
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    /**
+     * BLOCK 策略下等待队列空位的单次休眠时间
+     */
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private static final long NO_PENDING = Long.MIN_VALUE;
+
+    /**
+     * 队列满时的处理策略
+     */
+    public enum OverflowPolicy {
+        /**
+         * 阻塞发布线程直到有空位（保持顺序，对调用方施加背压）
+         */
+        BLOCK,
+        /**
+         * 丢弃当前事件并计数
+         */
+        DROP,
+        /**
+         * 在发布线程上同步调用监听器；该事件可能先于同一聚合仍在队列中的事件被处理
+         */
+        CALLER_RUNS
+    }
+
+    /**
+     * 发布者运行指标
+     *
+     * @param queueDepth       所有通道中待处理的事件数
+     * @param lagMillis        最早一个待处理事件已等待的时间
+     * @param published        已接收的事件数（含丢弃和同步执行）
+     * @param dispatched       工作线程已交给监听器的事件数
+     * @param dropped          DROP 策略丢弃的事件数
+     * @param callerRuns       CALLER_RUNS 策略在发布线程上处理的事件数
+     * @param listenerFailures 监听器调用失败次数
+     */
+    public record Stats(long queueDepth, long lagMillis, long published, long dispatched,
+                        long dropped, long callerRuns, long listenerFailures) {
+    }
+
+    private final List<DomainEventBatchListener> listeners;
+    private final Lane[] lanes;
+    private final int maxBatchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dispatched = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder();
+    private final LongAdder listenerFailures = new LongAdder();
+    private volatile boolean running = true;
+
+    public AsyncDomainEventPublisher(List<DomainEventBatchListener> listeners, int laneCount,
+                                     int capacityPerLane, int maxBatchSize, OverflowPolicy overflowPolicy) {
+        if (laneCount < 1 || maxBatchSize < 1) {
+            throw new IllegalArgumentException("工作通道数和批大小必须大于0");
+        }
+        this.listeners = List.copyOf(listeners);
+        this.maxBatchSize = maxBatchSize;
+        this.overflowPolicy = Objects.requireNonNull(overflowPolicy, "overflowPolicy");
+        this.lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane(i, capacityPerLane);
+        }
+        for (Lane lane : lanes) {
+            lane.worker.start();
+        }
+        log.info("异步领域事件发布者已启动: lanes={}, capacityPerLane={}, maxBatchSize={}, overflowPolicy={}",
+                laneCount, lanes[0].queue.capacity(), maxBatchSize, overflowPolicy);
+    }
+
+    @Override
+    public void publish(DomainEvent event) {
+        if (event == null) {
+            return;
+        }
+        published.increment();
+        Lane lane = laneOf(event);
+        // 先登记再检查 running：工作线程退出前会等待所有已登记的发布完成入队，入队的事件不会滞留在已退出的通道中
+        lane.publishing.incrementAndGet();
+        try {
+            if (!running) {
+                // 关闭开始后不再入队，直接在调用线程上处理，避免事件丢失
+                dispatch(Collections.singletonList(event));
+                return;
+            }
+            enqueue(lane, event);
+        } finally {
+            lane.publishing.decrementAndGet();
+        }
+    }
+
+    @Override
+    public boolean isAsync() {
+        return true;
+    }
+
+    /**
+     * 待处理的事件总数
+     */
+    public long getQueueDepth() {
+        long depth = 0;
+        for (Lane lane : lanes) {
+            depth += lane.queue.size();
+        }
+        return depth;
+    }
+
+    /**
+     * 最早一个待处理事件已等待的毫秒数，没有积压时为0
+     */
+    public long getLagMillis() {
+        long now = System.nanoTime();
+        long lag = 0;
+        for (Lane lane : lanes) {
+            long oldest = lane.oldestPendingNanos;
+            if (oldest != NO_PENDING) {
+                lag = Math.max(lag, now - oldest);
+            }
+        }
+        return TimeUnit.NANOSECONDS.toMillis(lag);
+    }
+
+    public Stats getStats() {
+        return new Stats(getQueueDepth(), getLagMillis(), published.sum(), dispatched.sum(),
+                dropped.sum(), callerRuns.sum(), listenerFailures.sum());
+    }
+
+    /**
+     * 停止接收新事件，等待工作线程处理完已入队的事件
+     *
+     * 关闭开始后发布的事件在调用线程上同步处理。
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        for (Lane lane : lanes) {
+            LockSupport.unpark(lane.worker);
+        }
+        for (Lane lane : lanes) {
+            lane.worker.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        log.info("异步领域事件发布者已关闭: {}", getStats());
+    }
+
+    private Lane laneOf(DomainEvent event) {
+        int hash = 31 * Objects.hashCode(event.getAggregateType()) + Objects.hashCode(event.getAggregateId());
+        return lanes[Math.floorMod(hash ^ (hash >>> 16), lanes.length)];
+    }
+
+    private void enqueue(Lane lane, DomainEvent event) {
+        Envelope envelope = new Envelope(event, System.nanoTime());
+        if (lane.queue.offer(envelope)) {
+            lane.signal();
+            return;
+        }
+
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                while (!lane.queue.offer(envelope)) {
+                    if (!running) {
+                        dispatch(Collections.singletonList(event));
+                        return;
+                    }
+                    lane.signal();
+                    LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+                }
+                lane.signal();
+            }
+            case DROP -> {
+                dropped.increment();
+                log.warn("领域事件队列已满，丢弃事件: {}", event);
+            }
+            case CALLER_RUNS -> {
+                callerRuns.increment();
+                dispatch(Collections.singletonList(event));
+            }
+        }
+    }
+
+    private void dispatch(List<DomainEvent> events) {
+        for (DomainEventBatchListener listener : listeners) {
+            try {
+                listener.onEvents(events);
+            } catch (Exception e) {
+                listenerFailures.increment();
+                log.warn("领域事件监听器处理失败: listener={}, events={}, {}",
+                        listener.getClass().getName(), events.size(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 入队时间戳，用于计算积压延迟
+     */
+    private record Envelope(DomainEvent event, long enqueuedNanos) {
+    }
+
+    /**
+     * 工作通道：一个队列对应一个消费线程
+     */
+    private final class Lane implements Runnable {
+
+        private final MpscRingBuffer<Envelope> queue;
+        private final Thread worker;
+        /**
+         * 已通过 running 检查、尚未完成入队的发布线程数
+         */
+        private final AtomicInteger publishing = new AtomicInteger();
+        private volatile boolean sleeping;
+        private volatile long oldestPendingNanos = NO_PENDING;
+
+        Lane(int index, int capacity) {
+            this.queue = new MpscRingBuffer<>(capacity);
+            this.worker = new Thread(this, "domain-event-lane-" + index);
+            this.worker.setDaemon(true);
+        }
+
+        void signal() {
+            if (sleeping) {
+                LockSupport.unpark(worker);
+            }
+        }
+
+        @Override
+        public void run() {
+            List<Envelope> drained = new ArrayList<>(maxBatchSize);
+            List<DomainEvent> batch = new ArrayList<>(maxBatchSize);
+            while (true) {
+                if (queue.drainTo(drained, maxBatchSize) == 0) {
+                    if (!running && publishing.get() == 0 && queue.isEmpty()) {
+                        return;
+                    }
+                    oldestPendingNanos = NO_PENDING;
+                    sleeping = true;
+                    if (queue.isEmpty()) {
+                        LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                    }
+                    sleeping = false;
+                    continue;
+                }
+
+                oldestPendingNanos = drained.get(0).enqueuedNanos();
+                for (Envelope envelope : drained) {
+                    batch.add(envelope.event());
+                }
+                dispatch(Collections.unmodifiableList(batch));
+                dispatched.add(batch.size());
+                drained.clear();
+                batch.clear();
+
+                Envelope next = queue.peek();
+                oldestPendingNanos = next != null ? next.enqueuedNanos() : NO_PENDING;
+            }
+        }
+    }
+}
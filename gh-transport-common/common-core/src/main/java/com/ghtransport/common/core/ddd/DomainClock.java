@@ -0,0 +1,61 @@
+package com.ghtransport.common.core.ddd;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * 领域时钟
+ *
+ * 聚合根和领域事件统一从这里取时间，测试或特殊部署可以替换为固定/偏移时钟。
+ * 一个命令只取一次毫秒时间戳，状态字段和事件共用，需要 LocalDateTime 时再转换。
+ */
+public final class DomainClock {
+
+    private static volatile Clock clock = Clock.systemDefaultZone();
+
+    private DomainClock() {
+    }
+
+    /**
+     * 当前时间（epoch毫秒）
+     */
+    public static long millis() {
+        return clock.millis();
+    }
+
+    /**
+     * 当前时间（时钟所在时区）
+     */
+    public static LocalDateTime now() {
+        return toLocalDateTime(clock.millis());
+    }
+
+    /**
+     * epoch毫秒转换为时钟所在时区的 LocalDateTime
+     */
+    public static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), clock.getZone());
+    }
+
+    /**
+     * 时钟所在时区的 LocalDateTime 转换为epoch毫秒
+     */
+    public static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * 替换领域时钟
+     */
+    public static void setClock(Clock newClock) {
+        if (newClock == null) {
+            throw new IllegalArgumentException("领域时钟不能为空");
+        }
+        clock = newClock;
+    }
+
+    public static Clock getClock() {
+        return clock;
+    }
+}
@@ -1,11 +1,14 @@
 package com.ghtransport.common.core.ddd;
 
+import com.ghtransport.common.core.util.IdGenerator;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
-import java.util.UUID;
 
 /**
  * 领域事件基类
@@ -15,6 +18,10 @@ import java.util.UUID;
  * 2. 应该是不变的
  * 3. 可以被监听和处理
  * 4. 通常在聚合状态变化后发布
+ *
+ * 事件ID为UUID v7（时间有序，随机部分取自 ThreadLocalRandom，不经过 SecureRandom），
+ * 多副本部署时无需分配节点号也不会冲突；发生/发布时间以epoch毫秒保存，读取 LocalDateTime 时才转换。
+ * 发生时间由聚合根注册事件时传入命令时间戳，构造时不读时钟；未经聚合根注册的事件在首次读取发生时间时取领域时钟。
  */
 @Data
 @Slf4j
@@ -36,14 +43,21 @@ public abstract class DomainEvent {
     private String aggregateId;
 
     /**
-     * 事件发生时间
+     * 事件发生时间（epoch毫秒，0表示尚未确定）
      */
-    private LocalDateTime occurredOn;
+    private long occurredOnMillis;
 
     /**
-     * 事件发布时间
+     * 事件发布时间（epoch毫秒，0表示未发布）
      */
-    private LocalDateTime publishedOn;
+    private long publishedOnMillis;
+
+    /**
+     * occurredOn 的 LocalDateTime 缓存
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient LocalDateTime occurredOn;
 
     /**
      * 是否已发布
@@ -56,8 +70,7 @@ public abstract class DomainEvent {
     private int version;
 
     protected DomainEvent() {
-        this.eventId = UUID.randomUUID().toString();
-        this.occurredOn = LocalDateTime.now();
+        this.eventId = IdGenerator.generateUUIDv7().toString();
         this.published = false;
         this.version = 1;
     }
@@ -74,12 +87,56 @@ public abstract class DomainEvent {
         return getClass().getSimpleName();
     }
 
+    /**
+     * 事件发生时间（epoch毫秒），未经聚合根注册时首次读取取领域时钟并固定下来
+     */
+    public long getOccurredOnMillis() {
+        if (occurredOnMillis == 0) {
+            occurredOnMillis = DomainClock.millis();
+        }
+        return occurredOnMillis;
+    }
+
+    public void setOccurredOnMillis(long occurredOnMillis) {
+        this.occurredOnMillis = occurredOnMillis;
+        this.occurredOn = null;
+    }
+
+    /**
+     * 事件发生时间（首次读取时转换并缓存）
+     */
+    public LocalDateTime getOccurredOn() {
+        if (occurredOn == null) {
+            occurredOn = DomainClock.toLocalDateTime(getOccurredOnMillis());
+        }
+        return occurredOn;
+    }
+
+    public void setOccurredOn(LocalDateTime occurredOn) {
+        this.occurredOnMillis = occurredOn != null ? DomainClock.toEpochMillis(occurredOn) : 0L;
+        this.occurredOn = occurredOn;
+    }
+
+    /**
+     * 事件发布时间
+     */
+    public LocalDateTime getPublishedOn() {
+        return publishedOnMillis != 0 ? DomainClock.toLocalDateTime(publishedOnMillis) : null;
+    }
+
     /**
      * 标记为已发布
      */
     public void markAsPublished() {
+        markAsPublished(DomainClock.millis());
+    }
+
+    /**
+     * 标记为已发布（批量发布时共用同一个时间戳）
+     */
+    public void markAsPublished(long publishedOnMillis) {
         this.published = true;
-        this.publishedOn = LocalDateTime.now();
+        this.publishedOnMillis = publishedOnMillis;
     }
 
     /**
@@ -114,6 +171,6 @@ public abstract class DomainEvent {
     @Override
     public String toString() {
         return String.format("%s[eventId=%s, aggregateType=%s, aggregateId=%s, occurredOn=%s]",
-                getEventType(), eventId, aggregateType, aggregateId, occurredOn);
+                getEventType(), eventId, aggregateType, aggregateId, getOccurredOn());
     }
 }
@@ -0,0 +1,32 @@
+package com.ghtransport.common.core.ddd;
+
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+/**
+ * 领域事件批量监听器
+ *
+ * 由异步发布者的工作线程按微批调用；同一聚合的事件总是落在同一批次序列中并保持发布顺序。
+ */
+@FunctionalInterface
+public interface DomainEventBatchListener {
+
+    /**
+     * 处理一批领域事件
+     *
+     * @param events 领域事件（只读，调用返回后不可再持有）
+     */
+    void onEvents(List<DomainEvent> events);
+
+    /**
+     * 逐个转发给 Spring 事件机制，使 @EventListener 方法在工作线程上执行
+     */
+    static DomainEventBatchListener forwardingTo(ApplicationEventPublisher publisher) {
+        return events -> {
+            for (DomainEvent event : events) {
+                publisher.publishEvent(event);
+            }
+        };
+    }
+}
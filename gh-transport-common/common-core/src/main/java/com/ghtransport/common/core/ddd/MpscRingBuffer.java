@@ -0,0 +1,116 @@
+package com.ghtransport.common.core.ddd;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 有界多生产者单消费者环形队列
+ *
+ * 每个槽位带一个序号：序号等于写入位置表示槽位空闲，等于写入位置+1表示元素已就绪。
+ * 生产者通过CAS竞争写入位置，写入元素后再发布序号；唯一的消费者按序读取并把序号推进一圈，
+ * 入队和出队都不加锁，也不为每个元素分配节点。
+ *
+ * @param <E> 元素类型
+ */
+final class MpscRingBuffer<E> {
+
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * 消费位置，仅由消费者线程写入
+     */
+    private volatile long head;
+
+    MpscRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2 || requestedCapacity > (1 << 30)) {
+            throw new IllegalArgumentException("队列容量必须在2到2^30之间");
+        }
+        int capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.elements = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 入队（可由任意线程调用）
+     *
+     * @return 队列已满时返回false
+     */
+    boolean offer(E element) {
+        long position;
+        int index;
+        while (true) {
+            position = tail.get();
+            index = (int) (position & mask);
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (diff < 0) {
+                return false;
+            }
+            // diff > 0：其他生产者已占用该位置，重新读取写入位置
+        }
+        elements[index] = element;
+        sequences.set(index, position + 1);
+        return true;
+    }
+
+    /**
+     * 批量出队（仅由消费者线程调用）
+     *
+     * @return 实际取出的元素数
+     */
+    @SuppressWarnings("unchecked")
+    int drainTo(List<? super E> target, int limit) {
+        long position = head;
+        int drained = 0;
+        while (drained < limit) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            target.add((E) elements[index]);
+            elements[index] = null;
+            sequences.set(index, position + elements.length);
+            position++;
+            drained++;
+        }
+        head = position;
+        return drained;
+    }
+
+    /**
+     * 查看队首元素（仅由消费者线程调用）
+     */
+    @SuppressWarnings("unchecked")
+    E peek() {
+        long position = head;
+        int index = (int) (position & mask);
+        return sequences.get(index) == position + 1 ? (E) elements[index] : null;
+    }
+
+    /**
+     * 当前元素数（近似值，包含已占位但尚未发布的元素）
+     */
+    int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(size, elements.length));
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    int capacity() {
+        return elements.length;
+    }
+}
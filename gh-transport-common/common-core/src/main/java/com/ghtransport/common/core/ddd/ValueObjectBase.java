@@ -1,7 +1,12 @@
 package com.ghtransport.common.core.ddd;
 
 import java.io.Serializable;
-import java.util.*;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
 
 /**
  * 值对象基类
@@ -12,88 +17,169 @@ import java.util.*;
  * 3. 无身份标识（没有ID）
  * 4. 可以组合其他值对象
  *
+ * 属性即子类（及中间父类）声明的全部非静态、非transient字段，且必须为final。
+ * 字段列表按类解析一次并缓存；hashCode 首次调用时计算并缓存在对象中，equals 逐字段比较，
+ * 两个对象的哈希都已缓存且不同时直接返回false，整个过程不创建迭代器、集合或流。
+ *
  * @param <T> 值对象类型
  */
-public abstract class ValueObject<T> implements Serializable {
+public abstract class ValueObjectBase<T extends ValueObjectBase<T>> implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    private static final ClassValue<Field[]> COMPONENTS = new ClassValue<>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            return resolveComponents(type);
+        }
+    };
+
     /**
-     * 比较属性值是否相等
-     *
-     * @param other 另一个值对象
-     * @return 是否相等
+     * 缓存的哈希值（0表示未计算）
      */
-    public abstract boolean sameValueAs(T other);
+    private transient int hash;
 
     /**
-     * 获取属性值的迭代器
+     * 计算结果恰好为0时置位，避免重复计算
+     */
+    private transient boolean hashIsZero;
+
+    /**
+     * 比较属性值是否相等
      *
-     * @return 属性值迭代器
+     * @param other 另一个值对象
+     * @return 是否相等
      */
-    protected abstract Iterator<Object> getValueIterator();
+    public boolean sameValueAs(T other) {
+        if (other == null) {
+            return false;
+        }
+        if (other == this) {
+            return true;
+        }
+        for (Field field : COMPONENTS.get(getClass())) {
+            if (!componentEquals(read(field, this), read(field, other))) {
+                return false;
+            }
+        }
+        return true;
+    }
 
     @Override
-    public boolean equals(Object o) {
+    @SuppressWarnings("unchecked")
+    public final boolean equals(Object o) {
         if (this == o) {
             return true;
         }
         if (o == null || getClass() != o.getClass()) {
             return false;
         }
-        ValueObject<?> that = (ValueObject<?>) o;
+        ValueObjectBase<?> that = (ValueObjectBase<?>) o;
+        int h = hash;
+        int thatHash = that.hash;
+        if (h != 0 && thatHash != 0 && h != thatHash) {
+            return false;
+        }
         return sameValueAs((T) that);
     }
 
     @Override
-    public int hashCode() {
-        return getValueStream()
-                .map(obj -> {
-                    if (obj == null) {
-                        return 0;
-                    }
-                    if (obj instanceof byte[]) {
-                        return Arrays.hashCode((byte[]) obj);
-                    }
-                    if (obj instanceof int[]) {
-                        return Arrays.hashCode((int[]) obj);
-                    }
-                    if (obj instanceof long[]) {
-                        return Arrays.hashCode((long[]) obj);
-                    }
-                    if (obj instanceof double[]) {
-                        return Arrays.hashCode((double[]) obj);
-                    }
-                    if (obj instanceof float[]) {
-                        return Arrays.hashCode((float[]) obj);
-                    }
-                    if (obj instanceof Object[]) {
-                        return Arrays.hashCode((Object[]) obj);
-                    }
-                    return obj.hashCode();
-                })
-                .reduce(1, (a, b) -> 31 * a + b);
+    public final int hashCode() {
+        int h = hash;
+        if (h == 0 && !hashIsZero) {
+            h = computeHash();
+            if (h == 0) {
+                hashIsZero = true;
+            } else {
+                hash = h;
+            }
+        }
+        return h;
     }
 
-    /**
-     * 获取属性值的流
-     *
-     * @return 属性值流
-     */
-    protected java.util.stream.Stream<Object> getValueStream() {
-        Iterator<Object> iterator = getValueIterator();
-        List<Object> list = new ArrayList<>();
-        while (iterator.hasNext()) {
-            Object value = iterator.next();
-            if (value instanceof Collection) {
-                list.addAll((Collection<?>) value);
-            } else if (value instanceof Map) {
-                list.addAll(((Map<?, ?>) value).entrySet());
-            } else {
-                list.add(value);
+    private int computeHash() {
+        int h = 1;
+        for (Field field : COMPONENTS.get(getClass())) {
+            h = 31 * h + componentHash(read(field, this));
+        }
+        return h;
+    }
+
+    private static int componentHash(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value.getClass().isArray()) {
+            return arrayHash(value);
+        }
+        return value.hashCode();
+    }
+
+    private static int arrayHash(Object array) {
+        if (array instanceof Object[] objects) {
+            return Arrays.deepHashCode(objects);
+        }
+        if (array instanceof byte[] bytes) {
+            return Arrays.hashCode(bytes);
+        }
+        if (array instanceof int[] ints) {
+            return Arrays.hashCode(ints);
+        }
+        if (array instanceof long[] longs) {
+            return Arrays.hashCode(longs);
+        }
+        if (array instanceof double[] doubles) {
+            return Arrays.hashCode(doubles);
+        }
+        if (array instanceof float[] floats) {
+            return Arrays.hashCode(floats);
+        }
+        if (array instanceof char[] chars) {
+            return Arrays.hashCode(chars);
+        }
+        if (array instanceof short[] shorts) {
+            return Arrays.hashCode(shorts);
+        }
+        return Arrays.hashCode((boolean[]) array);
+    }
+
+    private static boolean componentEquals(Object a, Object b) {
+        if (a == b) {
+            return true;
+        }
+        if (a == null || b == null) {
+            return false;
+        }
+        if (a.getClass().isArray()) {
+            return Objects.deepEquals(a, b);
+        }
+        return a.equals(b);
+    }
+
+    private static Object read(Field field, Object target) {
+        try {
+            return field.get(target);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("无法读取值对象属性: " + field, e);
+        }
+    }
+
+    private static Field[] resolveComponents(Class<?> type) {
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> c = type; c != ValueObjectBase.class && c != null; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                    continue;
+                }
+                if (!Modifier.isFinal(modifiers)) {
+                    throw new IllegalStateException("值对象属性必须为final: " + field);
+                }
+                field.setAccessible(true);
+                fields.add(field);
             }
         }
-        return list.stream();
+        return fields.toArray(new Field[0]);
     }
 
     /**
@@ -104,7 +190,7 @@ public abstract class ValueObject<T> implements Serializable {
      * @param <R>     输入参数类型
      * @return 值对象实例
      */
-    protected static <T extends ValueObject<?>, R> T create(R input, java.util.function.Function<R, T> factory) {
+    protected static <T extends ValueObjectBase<?>, R> T create(R input, java.util.function.Function<R, T> factory) {
         return factory.apply(input);
     }
 
@@ -119,7 +205,7 @@ public abstract class ValueObject<T> implements Serializable {
      * @param <R>          输入参数类型
      * @return 值对象实例
      */
-    protected static <T extends ValueObject<?>, R> T validateAndCreate(
+    protected static <T extends ValueObjectBase<?>, R> T validateAndCreate(
             R input,
             java.util.function.Predicate<R> validator,
             java.util.function.Function<R, T> factory,
@@ -0,0 +1,164 @@
+package com.ghtransport.common.core.persistence;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 动态更新语句描述：只写入变更过的列
+ *
+ * 配合 {@link DynamicUpdateProvider} 使用，Mapper 中声明：
+ * <pre>
+ * &#64;UpdateProvider(type = DynamicUpdateProvider.class, method = "update")
+ * int updateDynamic(DynamicUpdate update);
+ * </pre>
+ * 列值通过 #{entity.属性} 从持久化对象读取，额外的值通过 #{params.pN} 绑定，均为预编译参数；
+ * 表名、列名、属性名会拼入SQL，只接受标识符，必须来自代码而不是外部输入。
+ */
+public final class DynamicUpdate {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*|`[A-Za-z_][A-Za-z0-9_]*`|\"[A-Za-z_][A-Za-z0-9_]*\"");
+    private static final Set<String> OPERATORS = Set.of("=", "<>", "<", "<=", ">", ">=");
+
+    private final String table;
+    private final Object entity;
+    private final List<String> setClauses = new ArrayList<>();
+    private final List<String> whereClauses = new ArrayList<>(2);
+    private final Map<String, Object> params = new HashMap<>(4);
+    private int changedColumns;
+
+    private DynamicUpdate(String table, Object entity) {
+        this.table = identifier(table);
+        this.entity = entity;
+    }
+
+    /**
+     * @param table  表名
+     * @param entity 持久化对象，SET 和 ID 条件的值从它的属性读取
+     */
+    public static DynamicUpdate of(String table, Object entity) {
+        return new DynamicUpdate(table, entity);
+    }
+
+    /**
+     * 更新属性对应的列，列名为属性名的下划线形式
+     */
+    public DynamicUpdate set(String property) {
+        return set(property, columnOf(property), null);
+    }
+
+    /**
+     * 批量更新属性对应的列
+     */
+    public DynamicUpdate setAll(Collection<String> properties) {
+        for (String property : properties) {
+            set(property);
+        }
+        return this;
+    }
+
+    /**
+     * 更新属性对应的列
+     *
+     * @param typeHandler 类型处理器，可为null
+     */
+    public DynamicUpdate set(String property, String column, Class<?> typeHandler) {
+        setClauses.add(identifier(column) + " = " + placeholder("entity." + identifier(property), typeHandler));
+        changedColumns++;
+        return this;
+    }
+
+    /**
+     * 把列设置为给定值（不计入变更列，如栅栏令牌、版本号）
+     */
+    public DynamicUpdate setValue(String column, Object value) {
+        setClauses.add(identifier(column) + " = " + placeholder(bind(value), null));
+        return this;
+    }
+
+    /**
+     * 按主键属性定位记录
+     */
+    public DynamicUpdate whereId(String property, Class<?> typeHandler) {
+        whereClauses.add(columnOf(property) + " = " + placeholder("entity." + identifier(property), typeHandler));
+        return this;
+    }
+
+    /**
+     * 追加条件：column operator value
+     */
+    public DynamicUpdate where(String column, String operator, Object value) {
+        if (!OPERATORS.contains(operator)) {
+            throw new IllegalArgumentException("不支持的比较运算符: " + operator);
+        }
+        whereClauses.add(identifier(column) + " " + operator + " " + placeholder(bind(value), null));
+        return this;
+    }
+
+    /**
+     * 是否有变更列（只有 setValue 时视为无变更）
+     */
+    public boolean hasChanges() {
+        return changedColumns > 0;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public Object getEntity() {
+        return entity;
+    }
+
+    public Map<String, Object> getParams() {
+        return params;
+    }
+
+    List<String> getSetClauses() {
+        return setClauses;
+    }
+
+    List<String> getWhereClauses() {
+        return whereClauses;
+    }
+
+    private String bind(Object value) {
+        String name = "p" + params.size();
+        params.put(name, value);
+        return "params." + name;
+    }
+
+    private static String placeholder(String expression, Class<?> typeHandler) {
+        return typeHandler == null
+                ? "#{" + expression + "}"
+                : "#{" + expression + ",typeHandler=" + typeHandler.getName() + "}";
+    }
+
+    private static String identifier(String name) {
+        if (name == null || !IDENTIFIER.matcher(name).matches()) {
+            throw new IllegalArgumentException("非法的SQL标识符: " + name);
+        }
+        return name;
+    }
+
+    /**
+     * 属性名转列名：updatedAt → updated_at
+     */
+    static String columnOf(String property) {
+        identifier(property);
+        StringBuilder sb = new StringBuilder(property.length() + 4);
+        for (int i = 0; i < property.length(); i++) {
+            char c = property.charAt(i);
+            if (Character.isUpperCase(c)) {
+                sb.append('_').append(Character.toLowerCase(c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
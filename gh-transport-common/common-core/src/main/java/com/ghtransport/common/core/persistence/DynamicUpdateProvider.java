@@ -0,0 +1,27 @@
+package com.ghtransport.common.core.persistence;
+
+/**
+ * MyBatis 动态更新SQL提供者
+ *
+ * 根据 {@link DynamicUpdate} 生成 UPDATE 语句，只包含变更过的列；
+ * 没有变更列或没有 WHERE 条件时拒绝生成，调用方应在无变更时直接跳过数据库访问。
+ */
+public final class DynamicUpdateProvider {
+
+    private DynamicUpdateProvider() {
+    }
+
+    public static String update(DynamicUpdate update) {
+        if (!update.hasChanges()) {
+            throw new IllegalArgumentException("动态更新没有变更列: " + update.getTable());
+        }
+        if (update.getWhereClauses().isEmpty()) {
+            throw new IllegalArgumentException("动态更新缺少WHERE条件: " + update.getTable());
+        }
+        StringBuilder sql = new StringBuilder(128)
+                .append("UPDATE ").append(update.getTable())
+                .append(" SET ").append(String.join(", ", update.getSetClauses()))
+                .append(" WHERE ").append(String.join(" AND ", update.getWhereClauses()));
+        return sql.toString();
+    }
+}
@@ -0,0 +1,50 @@
+package com.ghtransport.common.core.persistence;
+
+import com.ghtransport.common.core.util.UuidUtils;
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * String 类型ID 与 PostgreSQL uuid 列映射
+ *
+ * 领域层ID仍为字符串，持久层按原生 uuid 存储。需在 Mapper XML 中按字段显式指定：
+ * #{po.id,typeHandler=com.ghtransport.common.core.persistence.UuidStringTypeHandler}
+ * 不要注册为全局 String 处理器。
+ */
+public class UuidStringTypeHandler extends BaseTypeHandler<String> {
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, String parameter, JdbcType jdbcType)
+            throws SQLException {
+        try {
+            ps.setObject(i, UuidUtils.parse(parameter));
+        } catch (IllegalArgumentException e) {
+            throw new SQLException("ID不是合法的UUID: " + parameter, e);
+        }
+    }
+
+    @Override
+    public String getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        return toText(UuidTypeHandler.toUuid(rs.getObject(columnName)));
+    }
+
+    @Override
+    public String getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        return toText(UuidTypeHandler.toUuid(rs.getObject(columnIndex)));
+    }
+
+    @Override
+    public String getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        return toText(UuidTypeHandler.toUuid(cs.getObject(columnIndex)));
+    }
+
+    private static String toText(UUID uuid) {
+        return uuid == null ? null : uuid.toString();
+    }
+}
@@ -0,0 +1,62 @@
+package com.ghtransport.common.core.persistence;
+
+import com.ghtransport.common.core.util.UuidUtils;
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.MappedJdbcTypes;
+import org.apache.ibatis.type.MappedTypes;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * java.util.UUID 与 PostgreSQL uuid 列映射
+ *
+ * 写入时直接传递 UUID 对象，由驱动按16字节原生类型存储；
+ * 读取时兼容 uuid、bytea(16) 与文本列。
+ */
+@MappedTypes(UUID.class)
+@MappedJdbcTypes(JdbcType.OTHER)
+public class UuidTypeHandler extends BaseTypeHandler<UUID> {
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, UUID parameter, JdbcType jdbcType)
+            throws SQLException {
+        ps.setObject(i, parameter);
+    }
+
+    @Override
+    public UUID getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        return toUuid(rs.getObject(columnName));
+    }
+
+    @Override
+    public UUID getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        return toUuid(rs.getObject(columnIndex));
+    }
+
+    @Override
+    public UUID getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        return toUuid(cs.getObject(columnIndex));
+    }
+
+    static UUID toUuid(Object value) throws SQLException {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof UUID uuid) {
+            return uuid;
+        }
+        try {
+            if (value instanceof byte[] bytes) {
+                return UuidUtils.fromBytes(bytes);
+            }
+            return UuidUtils.parse(value.toString());
+        } catch (IllegalArgumentException e) {
+            throw new SQLException("无法转换为UUID: " + value, e);
+        }
+    }
+}
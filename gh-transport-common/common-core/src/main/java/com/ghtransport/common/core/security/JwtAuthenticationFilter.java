@@ -18,6 +18,9 @@ import java.util.List;
 
 /**
  * JWT认证过滤器
+ *
+ * 开启 security.identity-header.enabled 时优先信任网关转发的签名身份头（一次HMAC校验），
+ * 身份头缺失或无效时回退为直接验证JWT；未开启时保持每个服务各自验证JWT。
  */
 @Slf4j
 @Component
@@ -26,6 +29,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Autowired(required = false)
+    private IdentityHeaderSigner identityHeaderSigner;
+
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
 
@@ -33,18 +39,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
         try {
-            String token = extractToken(request);
+            JwtPrincipal jwtPrincipal = resolvePrincipal(request);
 
-            if (StringUtils.hasText(token) && jwtUtils.validateToken(token)) {
-                String userId = jwtUtils.getUserId(token);
-                String username = jwtUtils.getUsername(token);
-                List<String> roles = jwtUtils.getRoles(token);
+            if (jwtPrincipal != null) {
+                String username = jwtPrincipal.username();
 
-                List<SimpleGrantedAuthority> authorities = roles.stream()
+                List<SimpleGrantedAuthority> authorities = jwtPrincipal.roles().stream()
                         .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
                         .toList();
 
-                UserPrincipal principal = new UserPrincipal(userId, username, authorities);
+                UserPrincipal principal = new UserPrincipal(jwtPrincipal.userId(), username, authorities);
 
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(principal, null, authorities);
@@ -60,6 +64,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private JwtPrincipal resolvePrincipal(HttpServletRequest request) {
+        if (identityHeaderSigner != null) {
+            JwtPrincipal principal = identityHeaderSigner.verify(request.getHeader(IdentityHeaderSigner.HEADER_NAME));
+            if (principal != null) {
+                return principal;
+            }
+        }
+        String token = extractToken(request);
+        return StringUtils.hasText(token) ? jwtUtils.authenticate(token) : null;
+    }
+
     private String extractToken(HttpServletRequest request) {
         String bearerToken = request.getHeader(AUTHORIZATION_HEADER);
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith(BEARER_PREFIX)) {
@@ -0,0 +1,22 @@
+package com.ghtransport.common.core.security;
+
+import java.util.List;
+
+/**
+ * 已验证的JWT身份信息
+ *
+ * @param userId    用户ID（subject）
+ * @param username  用户名
+ * @param roles     角色列表
+ * @param expiresAt 过期时间（毫秒时间戳）
+ */
+public record JwtPrincipal(String userId, String username, List<String> roles, long expiresAt) {
+
+    public JwtPrincipal {
+        roles = roles == null ? List.of() : List.copyOf(roles);
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAt;
+    }
+}
@@ -10,26 +10,36 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * JWT工具类
+ *
+ * 签名密钥与解析器在构造时创建一次；{@link #authenticate(String)} 只验签一次并返回身份信息，
+ * 结果按Token摘要缓存至过期，同一Token的后续请求不再验签。
  */
 @Slf4j
 @Component
 public class JwtUtils {
 
-    @Value("${jwt.secret:your-256-bit-secret-key-here-must-be-at-least-32-chars-long}")
-    private String secret;
-
-    @Value("${jwt.expiration:86400000}")
-    private long expiration;
-
-    @Value("${jwt.refresh-expiration:604800000}")
-    private long refreshExpiration;
-
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private final long expiration;
+    private final long refreshExpiration;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final VerifiedTokenCache cache;
+
+    private final LongAdder verifications = new LongAdder();
+    private final LongAdder verifyNanos = new LongAdder();
+
+    public JwtUtils(@Value("${jwt.secret:your-256-bit-secret-key-here-must-be-at-least-32-chars-long}") String secret,
+                    @Value("${jwt.expiration:86400000}") long expiration,
+                    @Value("${jwt.refresh-expiration:604800000}") long refreshExpiration,
+                    @Value("${jwt.cache.max-size:10000}") int cacheMaxSize) {
+        this.expiration = expiration;
+        this.refreshExpiration = refreshExpiration;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.cache = cacheMaxSize > 0 ? new VerifiedTokenCache(cacheMaxSize) : null;
     }
 
     /**
@@ -49,7 +59,7 @@ public class JwtUtils {
                 .subject(userId)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -65,29 +75,47 @@ public class JwtUtils {
                 .claim("type", "refresh")
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
     /**
-     * 解析Token
+     * 验证Token并返回身份信息（命中缓存时不验签）
+     *
+     * @throws JwtException Token无效或已过期
+     */
+    public JwtPrincipal authenticate(String token) {
+        if (cache == null) {
+            return toPrincipal(parseToken(token));
+        }
+        VerifiedTokenCache.TokenKey key = VerifiedTokenCache.keyOf(token);
+        JwtPrincipal principal = cache.get(key);
+        if (principal == null) {
+            principal = toPrincipal(parseToken(token));
+            cache.put(key, principal);
+        }
+        return principal;
+    }
+
+    /**
+     * 解析Token（每次都验签）
      */
     public Claims parseToken(String token) {
+        long start = System.nanoTime();
         try {
-            return Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            return parser.parseSignedClaims(token).getPayload();
         } catch (ExpiredJwtException e) {
             log.warn("Token已过期: {}", e.getMessage());
             throw new JwtException("TOKEN_EXPIRED", e);
         } catch (SignatureException e) {
             log.warn("Token签名无效: {}", e.getMessage());
             throw new JwtException("TOKEN_SIGNATURE_INVALID", e);
-        } catch (JwtException e) {
+        } catch (io.jsonwebtoken.JwtException | IllegalArgumentException e) {
             log.warn("Token解析失败: {}", e.getMessage());
             throw new JwtException("TOKEN_INVALID", e);
+        } finally {
+            verifications.increment();
+            verifyNanos.add(System.nanoTime() - start);
         }
     }
 
@@ -96,7 +124,7 @@ public class JwtUtils {
      */
     public boolean validateToken(String token) {
         try {
-            parseToken(token);
+            authenticate(token);
             return true;
         } catch (JwtException e) {
             return false;
@@ -119,22 +147,21 @@ public class JwtUtils {
      * 从Token获取用户ID
      */
     public String getUserId(String token) {
-        return parseToken(token).getSubject();
+        return authenticate(token).userId();
     }
 
     /**
      * 从Token获取用户名
      */
     public String getUsername(String token) {
-        return parseToken(token).get("username", String.class);
+        return authenticate(token).username();
     }
 
     /**
      * 从Token获取角色
      */
-    @SuppressWarnings("unchecked")
     public List<String> getRoles(String token) {
-        return parseToken(token).get("roles", List.class);
+        return authenticate(token).roles();
     }
 
     /**
@@ -142,13 +169,62 @@ public class JwtUtils {
      */
     public boolean isTokenExpired(String token) {
         try {
-            Claims claims = parseToken(token);
-            return claims.getExpiration().before(new Date());
+            return authenticate(token).isExpired(System.currentTimeMillis());
         } catch (Exception e) {
             return true;
         }
     }
 
+    /**
+     * 使Token的缓存失效（如登出后）
+     */
+    public void evict(String token) {
+        if (cache != null) {
+            cache.invalidate(VerifiedTokenCache.keyOf(token));
+        }
+    }
+
+    /**
+     * 获取缓存命中与验签耗时统计
+     */
+    public Stats getStats() {
+        long count = verifications.sum();
+        long nanos = verifyNanos.sum();
+        return new Stats(
+                cache == null ? 0L : cache.getHits(),
+                cache == null ? 0L : cache.getMisses(),
+                cache == null ? 0D : cache.getHitRate(),
+                cache == null ? 0 : cache.size(),
+                count,
+                count == 0 ? 0L : nanos / count
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JwtPrincipal toPrincipal(Claims claims) {
+        Date expiresAt = claims.getExpiration();
+        return new JwtPrincipal(
+                claims.getSubject(),
+                claims.get("username", String.class),
+                claims.get("roles", List.class),
+                expiresAt == null ? Long.MAX_VALUE : expiresAt.getTime()
+        );
+    }
+
+    /**
+     * JWT统计
+     *
+     * @param cacheHits        缓存命中次数
+     * @param cacheMisses      缓存未命中次数
+     * @param cacheHitRate     缓存命中率
+     * @param cacheSize        缓存条目数
+     * @param verifications    验签次数
+     * @param avgVerifyNanos   平均验签耗时（纳秒）
+     */
+    public record Stats(long cacheHits, long cacheMisses, double cacheHitRate, int cacheSize,
+                        long verifications, long avgVerifyNanos) {
+    }
+
     /**
      * JWT异常类
      */
@@ -0,0 +1,138 @@
+package com.ghtransport.common.core.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 已验证Token缓存
+ *
+ * 以Token的SHA-256摘要为键（不保存Token原文），缓存验签后的身份信息直到Token过期。
+ * 容量达到上限时先清理已过期条目，仍超限则淘汰约10%的条目。
+ */
+public final class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256不可用", e);
+        }
+    });
+
+    private final int maxSize;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<TokenKey, JwtPrincipal> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock evictLock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public VerifiedTokenCache(int maxSize) {
+        this(maxSize, System::currentTimeMillis);
+    }
+
+    VerifiedTokenCache(int maxSize, LongSupplier clock) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("缓存容量必须大于0: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    /**
+     * 计算Token缓存键
+     */
+    public static TokenKey keyOf(String token) {
+        MessageDigest digest = SHA256.get();
+        ByteBuffer hash = ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        return new TokenKey(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+    }
+
+    /**
+     * 获取未过期的身份信息，未命中返回null
+     */
+    public JwtPrincipal get(TokenKey key) {
+        JwtPrincipal principal = entries.get(key);
+        if (principal == null) {
+            misses.increment();
+            return null;
+        }
+        if (principal.isExpired(clock.getAsLong())) {
+            entries.remove(key, principal);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return principal;
+    }
+
+    public void put(TokenKey key, JwtPrincipal principal) {
+        if (principal.isExpired(clock.getAsLong())) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        entries.put(key, principal);
+    }
+
+    public void invalidate(TokenKey key) {
+        entries.remove(key);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * 命中率（0-1），尚无请求时为0
+     */
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0D : (double) h / total;
+    }
+
+    private void evict() {
+        if (!evictLock.tryLock()) {
+            return;
+        }
+        try {
+            long now = clock.getAsLong();
+            entries.values().removeIf(principal -> principal.isExpired(now));
+            int target = maxSize - Math.max(1, maxSize / 10);
+            Iterator<TokenKey> iterator = entries.keySet().iterator();
+            while (entries.size() > target && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        } finally {
+            evictLock.unlock();
+        }
+    }
+
+    /**
+     * Token摘要键（SHA-256，256位）
+     */
+    public record TokenKey(long h0, long h1, long h2, long h3) {
+    }
+}
@@ -0,0 +1,187 @@
+package com.ghtransport.common.core.util;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 业务编号生成器
+ *
+ * 格式：前缀 + 日期(yyyyMMdd) + 节点号(4位) + 当日流水号(7位)
+ * 例如：ORD2025012900120000001（节点12，当日第1个订单号）
+ *
+ * 配置 SegmentSource 时，流水号按 前缀+日期 从共享计数器（id_segment 表）租用号段后本地分配，
+ * 重启和多副本部署都不会重复；未配置时使用进程内计数器，仅适用于单实例和测试，重启后会从1重新计数。
+ * 节点号与雪花算法节点一致（0-1023）。日期前缀按天缓存，数字直接写入线程复用的字符缓冲区。
+ */
+public final class BizCodeGenerator {
+
+    public static final int NODE_DIGITS = 4;
+    public static final int SEQUENCE_DIGITS = 7;
+    public static final long MAX_NODE_ID = 9_999L;
+    public static final long MAX_SEQUENCE = 9_999_999L;
+
+    private static final int DATE_DIGITS = 8;
+    private static final int SUFFIX_LENGTH = DATE_DIGITS + NODE_DIGITS + SEQUENCE_DIGITS;
+    private static final int DEFAULT_SEGMENT_SIZE = 200;
+    private static final String SEGMENT_TAG_PREFIX = "biz:";
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[32]);
+
+    private final long nodeId;
+    private final char[] nodeDigits;
+    private final Clock clock;
+    private final SegmentSource segmentSource;
+    private final int segmentSize;
+
+    private volatile Day day;
+
+    /**
+     * 使用进程内流水号（单实例、测试）
+     */
+    public BizCodeGenerator(long nodeId) {
+        this(nodeId, null, DEFAULT_SEGMENT_SIZE, Clock.systemDefaultZone());
+    }
+
+    /**
+     * 流水号从共享号段来源租用
+     *
+     * @param segmentSource 号段来源，如 JdbcSegmentSource
+     * @param segmentSize   每次租用的号段长度，重启时最多浪费一个号段
+     */
+    public BizCodeGenerator(long nodeId, SegmentSource segmentSource, int segmentSize) {
+        this(nodeId, segmentSource, segmentSize, Clock.systemDefaultZone());
+    }
+
+    BizCodeGenerator(long nodeId, Clock clock) {
+        this(nodeId, null, DEFAULT_SEGMENT_SIZE, clock);
+    }
+
+    BizCodeGenerator(long nodeId, SegmentSource segmentSource, int segmentSize, Clock clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("节点号必须在0-" + MAX_NODE_ID + "之间: " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.nodeDigits = new char[NODE_DIGITS];
+        writeDigits(nodeDigits, 0, NODE_DIGITS, nodeId);
+        this.clock = clock;
+        this.segmentSource = segmentSource;
+        this.segmentSize = segmentSize;
+        this.day = Day.of(LocalDate.now(clock), clock.getZone());
+    }
+
+    /**
+     * 生成业务编号
+     *
+     * @param prefix 业务前缀，如 ORD、WB、DSP
+     * @throws IllegalStateException 当日流水号已用尽
+     */
+    public String generate(String prefix) {
+        Day current = currentDay();
+        long sequence = current.sequence(prefix, this).getAsLong();
+        if (sequence > MAX_SEQUENCE) {
+            throw new IllegalStateException("当日流水号已用尽: " + prefix);
+        }
+
+        int prefixLength = prefix.length();
+        int length = prefixLength + SUFFIX_LENGTH;
+        char[] buffer = BUFFER.get();
+        if (buffer.length < length) {
+            buffer = new char[length];
+            BUFFER.set(buffer);
+        }
+
+        prefix.getChars(0, prefixLength, buffer, 0);
+        System.arraycopy(current.dateDigits, 0, buffer, prefixLength, DATE_DIGITS);
+        System.arraycopy(nodeDigits, 0, buffer, prefixLength + DATE_DIGITS, NODE_DIGITS);
+        writeDigits(buffer, prefixLength + DATE_DIGITS + NODE_DIGITS, SEQUENCE_DIGITS, sequence);
+        return new String(buffer, 0, length);
+    }
+
+    public long getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 是否使用共享号段（多副本唯一）
+     */
+    public boolean isShared() {
+        return segmentSource != null;
+    }
+
+    /**
+     * 获取当前日期缓存，跨天时切换；时钟回拨到前一天时继续使用当前日期，避免流水号重复
+     */
+    private Day currentDay() {
+        Day current = day;
+        if (clock.millis() < current.nextDayStart) {
+            return current;
+        }
+        synchronized (this) {
+            current = day;
+            if (clock.millis() >= current.nextDayStart) {
+                current = Day.of(LocalDate.now(clock), clock.getZone());
+                day = current;
+            }
+            return current;
+        }
+    }
+
+    /**
+     * 将数值按固定宽度（左补零）写入缓冲区
+     */
+    private static void writeDigits(char[] buffer, int offset, int width, long value) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + (value % 10));
+            value /= 10;
+        }
+    }
+
+    /**
+     * 创建某前缀某天的流水号序列（从1开始）
+     */
+    private LongSupplier newSequence(String prefix, char[] dateDigits) {
+        if (segmentSource == null) {
+            AtomicLong counter = new AtomicLong();
+            return counter::incrementAndGet;
+        }
+        String bizTag = SEGMENT_TAG_PREFIX + prefix + new String(dateDigits);
+        SegmentIdAllocator allocator = new SegmentIdAllocator(bizTag, segmentSource, segmentSize);
+        return () -> allocator.nextId() + 1;
+    }
+
+    /**
+     * 按天缓存的日期前缀与各前缀流水号序列
+     */
+    private static final class Day {
+
+        final char[] dateDigits;
+        final long nextDayStart;
+        final ConcurrentHashMap<String, LongSupplier> sequences = new ConcurrentHashMap<>();
+
+        private Day(char[] dateDigits, long nextDayStart) {
+            this.dateDigits = dateDigits;
+            this.nextDayStart = nextDayStart;
+        }
+
+        static Day of(LocalDate date, ZoneId zone) {
+            char[] digits = new char[DATE_DIGITS];
+            writeDigits(digits, 0, 4, date.getYear());
+            writeDigits(digits, 4, 2, date.getMonthValue());
+            writeDigits(digits, 6, 2, date.getDayOfMonth());
+            long nextDayStart = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+            return new Day(digits, nextDayStart);
+        }
+
+        LongSupplier sequence(String prefix, BizCodeGenerator generator) {
+            LongSupplier sequence = sequences.get(prefix);
+            if (sequence == null) {
+                sequence = sequences.computeIfAbsent(prefix, k -> generator.newSequence(k, dateDigits));
+            }
+            return sequence;
+        }
+    }
+}
@@ -5,9 +5,13 @@ import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAdjusters;
 import java.util.Date;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 日期时间工具类
+ *
+ * 格式化器按模式缓存复用（DateTimeFormatter 线程安全），PATTERN_* 常量启动时预先构建；
+ * yyyy-MM-dd HH:mm:ss 与 yyyy-MM-dd 走定长快速路径，直接写入字符缓冲区。
  */
 public class DateUtils {
 
@@ -19,23 +23,82 @@ public class DateUtils {
     public static final String PATTERN_DATETIME_MINUTE = "yyyy-MM-dd HH:mm";
     public static final String PATTERN_DATETIME_MILLIS = "yyyy-MM-dd HH:mm:ss.SSS";
 
+    public static final DateTimeFormatter FORMATTER_DATETIME = DateTimeFormatter.ofPattern(PATTERN_DATETIME);
+    public static final DateTimeFormatter FORMATTER_DATE = DateTimeFormatter.ofPattern(PATTERN_DATE);
+    public static final DateTimeFormatter FORMATTER_TIME = DateTimeFormatter.ofPattern(PATTERN_TIME);
+    public static final DateTimeFormatter FORMATTER_MONTH = DateTimeFormatter.ofPattern(PATTERN_MONTH);
+    public static final DateTimeFormatter FORMATTER_YEAR = DateTimeFormatter.ofPattern(PATTERN_YEAR);
+    public static final DateTimeFormatter FORMATTER_DATETIME_MINUTE = DateTimeFormatter.ofPattern(PATTERN_DATETIME_MINUTE);
+    public static final DateTimeFormatter FORMATTER_DATETIME_MILLIS = DateTimeFormatter.ofPattern(PATTERN_DATETIME_MILLIS);
+
+    /**
+     * yyyy-MM-dd HH:mm:ss 长度
+     */
+    public static final int DATETIME_LENGTH = 19;
+
+    /**
+     * yyyy-MM-dd 长度
+     */
+    public static final int DATE_LENGTH = 10;
+
+    /**
+     * 缓存的自定义模式上限，超出后不再缓存，避免动态模式导致无限增长
+     */
+    private static final int MAX_CACHED_PATTERNS = 256;
+
+    private static final ConcurrentHashMap<String, DateTimeFormatter> FORMATTERS = new ConcurrentHashMap<>();
+
+    static {
+        FORMATTERS.put(PATTERN_DATETIME, FORMATTER_DATETIME);
+        FORMATTERS.put(PATTERN_DATE, FORMATTER_DATE);
+        FORMATTERS.put(PATTERN_TIME, FORMATTER_TIME);
+        FORMATTERS.put(PATTERN_MONTH, FORMATTER_MONTH);
+        FORMATTERS.put(PATTERN_YEAR, FORMATTER_YEAR);
+        FORMATTERS.put(PATTERN_DATETIME_MINUTE, FORMATTER_DATETIME_MINUTE);
+        FORMATTERS.put(PATTERN_DATETIME_MILLIS, FORMATTER_DATETIME_MILLIS);
+    }
+
     private DateUtils() {
     }
 
+    /**
+     * 获取模式对应的格式化器（缓存复用）
+     */
+    public static DateTimeFormatter getFormatter(String pattern) {
+        DateTimeFormatter formatter = FORMATTERS.get(pattern);
+        if (formatter != null) {
+            return formatter;
+        }
+        formatter = DateTimeFormatter.ofPattern(pattern);
+        if (FORMATTERS.size() < MAX_CACHED_PATTERNS) {
+            DateTimeFormatter existing = FORMATTERS.putIfAbsent(pattern, formatter);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return formatter;
+    }
+
     // ==================== 日期格式化 ====================
 
     public static String format(LocalDateTime dateTime, String pattern) {
         if (Objects.isNull(dateTime)) {
             return null;
         }
-        return dateTime.format(DateTimeFormatter.ofPattern(pattern));
+        if (PATTERN_DATETIME.equals(pattern)) {
+            return formatDateTime(dateTime);
+        }
+        return dateTime.format(getFormatter(pattern));
     }
 
     public static String format(LocalDate date, String pattern) {
         if (Objects.isNull(date)) {
             return null;
         }
-        return date.format(DateTimeFormatter.ofPattern(pattern));
+        if (PATTERN_DATE.equals(pattern)) {
+            return formatDate(date);
+        }
+        return date.format(getFormatter(pattern));
     }
 
     public static String format(Date date, String pattern) {
@@ -57,27 +120,119 @@ public class DateUtils {
         return format(date, PATTERN_TIME);
     }
 
+    // ==================== 定长快速格式化 ====================
+
+    /**
+     * 按 yyyy-MM-dd HH:mm:ss 格式化
+     */
+    public static String formatDateTime(LocalDateTime dateTime) {
+        if (Objects.isNull(dateTime)) {
+            return null;
+        }
+        if (!isFourDigitYear(dateTime.getYear())) {
+            return dateTime.format(FORMATTER_DATETIME);
+        }
+        char[] buffer = new char[DATETIME_LENGTH];
+        writeDateTime(buffer, 0, dateTime);
+        return new String(buffer);
+    }
+
+    /**
+     * 按 yyyy-MM-dd 格式化
+     */
+    public static String formatDate(LocalDate date) {
+        if (Objects.isNull(date)) {
+            return null;
+        }
+        if (!isFourDigitYear(date.getYear())) {
+            return date.format(FORMATTER_DATE);
+        }
+        char[] buffer = new char[DATE_LENGTH];
+        writeDate(buffer, 0, date.getYear(), date.getMonthValue(), date.getDayOfMonth());
+        return new String(buffer);
+    }
+
+    /**
+     * 按 yyyy-MM-dd HH:mm:ss 追加到 StringBuilder（日志、响应体拼接时无中间对象）
+     */
+    public static StringBuilder appendDateTime(StringBuilder sb, LocalDateTime dateTime) {
+        if (!isFourDigitYear(dateTime.getYear())) {
+            return sb.append(dateTime.format(FORMATTER_DATETIME));
+        }
+        appendDigits(sb, dateTime.getYear(), 4).append('-');
+        appendDigits(sb, dateTime.getMonthValue(), 2).append('-');
+        appendDigits(sb, dateTime.getDayOfMonth(), 2).append(' ');
+        appendDigits(sb, dateTime.getHour(), 2).append(':');
+        appendDigits(sb, dateTime.getMinute(), 2).append(':');
+        return appendDigits(sb, dateTime.getSecond(), 2);
+    }
+
+    /**
+     * 按 yyyy-MM-dd HH:mm:ss 写入字符数组，需至少 {@link #DATETIME_LENGTH} 个字符空间
+     *
+     * @return 写入后的下一个位置
+     * @throws IllegalArgumentException 年份不在 1-9999 范围内
+     */
+    public static int writeDateTime(char[] buffer, int offset, LocalDateTime dateTime) {
+        if (!isFourDigitYear(dateTime.getYear())) {
+            throw new IllegalArgumentException("年份超出定长格式范围: " + dateTime.getYear());
+        }
+        writeDate(buffer, offset, dateTime.getYear(), dateTime.getMonthValue(), dateTime.getDayOfMonth());
+        buffer[offset + 10] = ' ';
+        writeTwoDigits(buffer, offset + 11, dateTime.getHour());
+        buffer[offset + 13] = ':';
+        writeTwoDigits(buffer, offset + 14, dateTime.getMinute());
+        buffer[offset + 16] = ':';
+        writeTwoDigits(buffer, offset + 17, dateTime.getSecond());
+        return offset + DATETIME_LENGTH;
+    }
+
+    private static void writeDate(char[] buffer, int offset, int year, int month, int day) {
+        writeTwoDigits(buffer, offset, year / 100);
+        writeTwoDigits(buffer, offset + 2, year % 100);
+        buffer[offset + 4] = '-';
+        writeTwoDigits(buffer, offset + 5, month);
+        buffer[offset + 7] = '-';
+        writeTwoDigits(buffer, offset + 8, day);
+    }
+
+    private static void writeTwoDigits(char[] buffer, int offset, int value) {
+        buffer[offset] = (char) ('0' + value / 10);
+        buffer[offset + 1] = (char) ('0' + value % 10);
+    }
+
+    private static StringBuilder appendDigits(StringBuilder sb, int value, int width) {
+        for (int divisor = width == 4 ? 1000 : 10; divisor > 0; divisor /= 10) {
+            sb.append((char) ('0' + value / divisor % 10));
+        }
+        return sb;
+    }
+
+    private static boolean isFourDigitYear(int year) {
+        return year >= 1 && year <= 9999;
+    }
+
     // ==================== 日期解析 ====================
 
     public static LocalDateTime parseDateTime(String dateTimeStr, String pattern) {
         if (Objects.isNull(dateTimeStr)) {
             return null;
         }
-        return LocalDateTime.parse(dateTimeStr, DateTimeFormatter.ofPattern(pattern));
+        return LocalDateTime.parse(dateTimeStr, getFormatter(pattern));
     }
 
     public static LocalDate parseDate(String dateStr, String pattern) {
         if (Objects.isNull(dateStr)) {
             return null;
         }
-        return LocalDate.parse(dateStr, DateTimeFormatter.ofPattern(pattern));
+        return LocalDate.parse(dateStr, getFormatter(pattern));
     }
 
     public static LocalTime parseTime(String timeStr, String pattern) {
         if (Objects.isNull(timeStr)) {
             return null;
         }
-        return LocalTime.parse(timeStr, DateTimeFormatter.ofPattern(pattern));
+        return LocalTime.parse(timeStr, getFormatter(pattern));
     }
 
     public static LocalDateTime parseDateTime(String dateTimeStr) {
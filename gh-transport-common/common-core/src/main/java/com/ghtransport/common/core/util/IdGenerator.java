@@ -1,17 +1,26 @@
 package com.ghtransport.common.core.util;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.UUID;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * ID生成器
  */
 public class IdGenerator {
 
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
-    private static final ThreadLocalRandom RANDOM = ThreadLocalRandom.current();
+    private static final UuidV7Generator UUID_V7_GENERATOR = new UuidV7Generator();
+
+    /**
+     * 雪花算法生成器，启动时由 SnowflakeConfig 按节点配置替换
+     */
+    private static volatile SnowflakeIdGenerator snowflakeIdGenerator = new SnowflakeIdGenerator(1L, 1L);
+
+    /**
+     * 业务编号生成器，节点号与雪花算法节点保持一致；启动时由 SnowflakeConfig 配置共享号段来源
+     */
+    private static volatile BizCodeGenerator bizCodeGenerator = new BizCodeGenerator(nodeIdOf(snowflakeIdGenerator));
+
+    private static volatile SegmentSource bizCodeSegmentSource;
+    private static volatile int bizCodeSegmentSize;
 
     private IdGenerator() {
     }
@@ -24,52 +33,79 @@ public class IdGenerator {
     }
 
     /**
-     * 生成UUID v7格式（带时间戳）
-     * 格式：时间戳(32bits) + 版本(4bits) + 变体(2bits) + 随机(26bits)
+     * 生成UUID v7（时间有序，进程内严格递增），适合作为聚合根主键
      */
-    public static String generateUUIDv7() {
-        long timestamp = System.currentTimeMillis();
-
-        // 构建时间戳部分 (32 bits)
-        long timeHi = (timestamp << 32) >>> 32;
+    public static UUID generateUUIDv7() {
+        return UUID_V7_GENERATOR.next();
+    }
 
-        // 版本号 v7 (4 bits)
-        int version = 7;
+    /**
+     * 雪花算法ID生成
+     */
+    public static long nextSnowflakeId() {
+        return snowflakeIdGenerator.nextId();
+    }
 
-        // 变体位 (2 bits)
-        int variantBits = 0x8000;
+    /**
+     * 预留n个连续的雪花算法ID（1-4096），批量插入时只需一次分配
+     */
+    public static LongRange reserve(int n) {
+        return snowflakeIdGenerator.reserve(n);
+    }
 
-        // 随机部分 (62 bits)
-        long clockSeqHiAndLow = RANDOM.nextLong();
-        clockSeqHiAndLow &= 0x3FFF; // 14 bits
-        clockSeqHiAndLow |= 0x8000; // 设置变体位
+    /**
+     * 批量生成n个雪花算法ID
+     */
+    public static long[] nextSnowflakeIds(int n) {
+        return snowflakeIdGenerator.nextIds(n);
+    }
 
-        // 组合
-        long mostSigBits = (timestamp & 0xFFFFFFFFFFFF00000L) |
-                          ((variantBits << 48) & 0xFFFF000000000000L) |
-                          ((version << 52) & 0x000F000000000000L);
+    /**
+     * 设置雪花算法生成器（按节点配置的数据中心ID、工作节点ID），业务编号生成器随之切换节点号
+     */
+    public static synchronized void setSnowflakeIdGenerator(SnowflakeIdGenerator generator) {
+        if (generator == null) {
+            throw new IllegalArgumentException("雪花算法生成器不能为空");
+        }
+        snowflakeIdGenerator = generator;
+        bizCodeGenerator = newBizCodeGenerator();
+    }
 
-        long leastSigBits = (clockSeqHiAndLow << 48) |
-                           (RANDOM.nextLong() & 0x0000FFFFFFFFFFFFL);
+    /**
+     * 设置业务编号流水号的共享号段来源，多副本部署必须配置，否则重启或扩容后编号会重复
+     *
+     * @param source      号段来源
+     * @param segmentSize 每次租用的号段长度
+     */
+    public static synchronized void setBizCodeSegmentSource(SegmentSource source, int segmentSize) {
+        if (source == null) {
+            throw new IllegalArgumentException("号段来源不能为空");
+        }
+        bizCodeSegmentSource = source;
+        bizCodeSegmentSize = segmentSize;
+        bizCodeGenerator = newBizCodeGenerator();
+    }
 
-        return new UUID(mostSigBits, leastSigBits).toString();
+    /**
+     * 获取当前雪花算法生成器
+     */
+    public static SnowflakeIdGenerator getSnowflakeIdGenerator() {
+        return snowflakeIdGenerator;
     }
 
     /**
-     * 雪花算法ID生成
+     * 获取当前业务编号生成器
      */
-    public static synchronized long nextSnowflakeId() {
-        return SnowflakeIdGenerator.nextId();
+    public static BizCodeGenerator getBizCodeGenerator() {
+        return bizCodeGenerator;
     }
 
     /**
      * 生成业务编号
-     * 格式：前缀 + 日期 + 流水号（8位补零）
+     * 格式：前缀 + 日期 + 节点号（4位） + 当日流水号（7位），同一前缀同一天内唯一
      */
     public static String generateBizCode(String prefix) {
-        String date = LocalDateTime.now().format(DATE_FORMATTER);
-        long sequence = nextSnowflakeId() & 0xFFFFFFFFL;
-        return prefix + date + String.format("%08d", sequence);
+        return bizCodeGenerator.generate(prefix);
     }
 
     /**
@@ -93,47 +129,15 @@ public class IdGenerator {
         return generateBizCode("DSP");
     }
 
-    /**
-     * 雪花算法内部类
-     */
-    private static class SnowflakeIdGenerator {
-        private static final long WORKER_ID_BITS = 5L;
-        private static final long DATACENTER_ID_BITS = 5L;
-        private static final long SEQUENCE_BITS = 12L;
-
-        private static final long WORKER_ID_SHIFT = SEQUENCE_BITS;
-        private static final long DATACENTER_ID_SHIFT = SEQUENCE_BITS + WORKER_ID_BITS;
-        private static final long TIMESTAMP_LEFT_SHIFT = SEQUENCE_BITS + WORKER_ID_BITS + DATACENTER_ID_BITS;
-
-        private static long workerId = 1L;
-        private static long datacenterId = 1L;
-        private static long sequence = 0L;
-        private static long lastTimestamp = -1L;
-
-        public static synchronized long nextId() {
-            long timestamp = System.currentTimeMillis();
-
-            if (timestamp < lastTimestamp) {
-                throw new RuntimeException("时钟回拨，拒绝生成ID");
-            }
-
-            if (lastTimestamp == timestamp) {
-                sequence = (sequence + 1) & ((1 << SEQUENCE_BITS) - 1);
-                if (sequence == 0) {
-                    while (timestamp <= lastTimestamp) {
-                        timestamp = System.currentTimeMillis();
-                    }
-                }
-            } else {
-                sequence = 0L;
-            }
-
-            lastTimestamp = timestamp;
-
-            return (timestamp << TIMESTAMP_LEFT_SHIFT)
-                  | (datacenterId << DATACENTER_ID_SHIFT)
-                  | (workerId << WORKER_ID_SHIFT)
-                  | sequence;
-        }
+    private static BizCodeGenerator newBizCodeGenerator() {
+        long nodeId = nodeIdOf(snowflakeIdGenerator);
+        SegmentSource source = bizCodeSegmentSource;
+        return source != null
+                ? new BizCodeGenerator(nodeId, source, bizCodeSegmentSize)
+                : new BizCodeGenerator(nodeId);
+    }
+
+    private static long nodeIdOf(SnowflakeIdGenerator generator) {
+        return (generator.getDatacenterId() << SnowflakeIdGenerator.WORKER_ID_BITS) | generator.getWorkerId();
     }
 }
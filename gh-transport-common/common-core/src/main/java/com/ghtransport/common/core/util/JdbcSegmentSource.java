@@ -0,0 +1,60 @@
+package com.ghtransport.common.core.util;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 基于数据库表 id_segment 的号段来源（PostgreSQL）
+ *
+ * 每次租用执行一条 UPDATE ... RETURNING，行锁只在该语句内持有；
+ * 业务标识不存在时自动初始化。
+ */
+public class JdbcSegmentSource implements SegmentSource {
+
+    private static final String LEASE_SQL =
+            "UPDATE id_segment SET max_id = max_id + ?, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE biz_tag = ? RETURNING max_id";
+
+    private static final String INIT_SQL =
+            "INSERT INTO id_segment (biz_tag, max_id) VALUES (?, 0) ON CONFLICT (biz_tag) DO NOTHING";
+
+    private final DataSource dataSource;
+
+    public JdbcSegmentSource(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public LongRange lease(String bizTag, int size) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            Long maxId = tryLease(connection, bizTag, size);
+            if (maxId == null) {
+                try (PreparedStatement ps = connection.prepareStatement(INIT_SQL)) {
+                    ps.setString(1, bizTag);
+                    ps.executeUpdate();
+                }
+                maxId = tryLease(connection, bizTag, size);
+            }
+            if (maxId == null) {
+                throw new IllegalStateException("号段租用失败: " + bizTag);
+            }
+            return new LongRange(maxId - size, maxId);
+        } catch (SQLException e) {
+            throw new IllegalStateException("号段租用失败: " + bizTag, e);
+        }
+    }
+
+    private Long tryLease(Connection connection, String bizTag, int size) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(LEASE_SQL)) {
+            ps.setLong(1, size);
+            ps.setString(2, bizTag);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : null;
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.ghtransport.common.core.util;
+
+import com.alibaba.fastjson2.JSONException;
+import com.alibaba.fastjson2.JSONWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * 可复用缓冲区的JSON字节写入器
+ *
+ * 基于fastjson2的UTF-8写入器，序列化结果写入内部缓冲区，缓冲区在多次写入之间复用，
+ * 高频序列化时不再为每个对象分配新的结果数组。超过 {@link #MAX_RETAINED_CAPACITY} 的缓冲区
+ * 在下一次写入时释放，避免偶发的大对象长期占用内存。
+ *
+ * 非线程安全，通常通过 {@link JsonUtils#localWriter()} 获取线程本地实例。
+ */
+public final class JsonByteWriter {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+    public static final int MAX_RETAINED_CAPACITY = 1024 * 1024;
+
+    private final Sink sink = new Sink();
+    private byte[] buffer;
+    private int length;
+
+    public JsonByteWriter() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public JsonByteWriter(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("初始容量必须大于0: " + initialCapacity);
+        }
+        this.buffer = new byte[initialCapacity];
+    }
+
+    /**
+     * 序列化对象，覆盖上一次的结果
+     */
+    public JsonByteWriter write(Object object) {
+        if (buffer.length > MAX_RETAINED_CAPACITY) {
+            buffer = new byte[DEFAULT_CAPACITY];
+        }
+        length = 0;
+        try (JSONWriter writer = JSONWriter.ofUTF8()) {
+            writer.writeAny(object);
+            writer.flushTo(sink);
+        } catch (IOException e) {
+            throw new JSONException("write JSON error", e);
+        }
+        return this;
+    }
+
+    /**
+     * 内部缓冲区，有效数据为 [0, length())
+     */
+    public byte[] array() {
+        return buffer;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    /**
+     * 复制出结果字节
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, length);
+    }
+
+    /**
+     * 结果的只读视图，不复制
+     */
+    public ByteBuffer asByteBuffer() {
+        return ByteBuffer.wrap(buffer, 0, length).asReadOnlyBuffer();
+    }
+
+    /**
+     * 将结果写入输出流
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, length);
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length << 1));
+        }
+    }
+
+    /**
+     * 追加写入内部缓冲区的输出流
+     */
+    private final class Sink extends OutputStream {
+
+        @Override
+        public void write(int b) {
+            ensureCapacity(length + 1);
+            buffer[length++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            ensureCapacity(length + len);
+            System.arraycopy(b, off, buffer, length, len);
+            length += len;
+        }
+    }
+}
@@ -1,17 +1,30 @@
 package com.ghtransport.common.core.util;
 
 import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONException;
+import com.alibaba.fastjson2.JSONPath;
+import com.alibaba.fastjson2.JSONWriter;
 import com.alibaba.fastjson2.TypeReference;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 /**
  * JSON工具类 - 基于FastJSON2
+ *
+ * 字节接口（toJsonBytes / writeTo / fromJson(byte[])）直接读写UTF-8，不经过中间String，
+ * 供缓存、消息等最终以字节传输的场景使用。
  */
 public class JsonUtils {
 
+    private static final ThreadLocal<JsonByteWriter> LOCAL_WRITER = ThreadLocal.withInitial(JsonByteWriter::new);
+
     private JsonUtils() {
     }
 
@@ -29,6 +42,44 @@ public class JsonUtils {
         return JSON.toJSONString(object, true);
     }
 
+    /**
+     * 对象转UTF-8 JSON字节
+     */
+    public static byte[] toJsonBytes(Object object) {
+        return JSON.toJSONBytes(object);
+    }
+
+    /**
+     * 对象序列化后写入输出流（UTF-8）
+     *
+     * @return 写入的字节数
+     */
+    public static int writeTo(OutputStream out, Object object) {
+        return JSON.writeTo(out, object);
+    }
+
+    /**
+     * 对象序列化后写入ByteBuffer（UTF-8），从当前position开始写
+     *
+     * @return 写入的字节数
+     * @throws java.nio.BufferOverflowException 剩余空间不足
+     */
+    public static int writeTo(ByteBuffer buffer, Object object) {
+        try (JSONWriter writer = JSONWriter.ofUTF8()) {
+            writer.writeAny(object);
+            return writer.flushTo(new ByteBufferOutputStream(buffer));
+        } catch (IOException e) {
+            throw new JSONException("write JSON to ByteBuffer error", e);
+        }
+    }
+
+    /**
+     * 获取当前线程复用的字节写入器，结果在下一次写入前有效
+     */
+    public static JsonByteWriter localWriter() {
+        return LOCAL_WRITER.get();
+    }
+
     /**
      * JSON字符串转对象
      */
@@ -39,6 +90,36 @@ public class JsonUtils {
         return JSON.parseObject(json, clazz);
     }
 
+    /**
+     * UTF-8 JSON字节转对象
+     */
+    public static <T> T fromJson(byte[] json, Class<T> clazz) {
+        if (json == null || json.length == 0) {
+            return null;
+        }
+        return JSON.parseObject(json, clazz);
+    }
+
+    /**
+     * UTF-8 JSON字节片段转对象
+     */
+    public static <T> T fromJson(byte[] json, int offset, int length, Class<T> clazz) {
+        if (json == null || length == 0) {
+            return null;
+        }
+        return JSON.parseObject(json, offset, length, StandardCharsets.UTF_8, clazz);
+    }
+
+    /**
+     * 从输入流读取UTF-8 JSON并转对象，不关闭输入流
+     */
+    public static <T> T fromJson(InputStream in, Class<T> clazz) {
+        if (in == null) {
+            return null;
+        }
+        return JSON.parseObject(in, StandardCharsets.UTF_8, clazz);
+    }
+
     /**
      * JSON字符串转List
      */
@@ -104,4 +185,26 @@ public class JsonUtils {
         }
         return JSONPath.of(path).extract(json);
     }
+
+    /**
+     * 写入ByteBuffer的输出流适配
+     */
+    private static final class ByteBufferOutputStream extends OutputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferOutputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void write(int b) {
+            buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            buffer.put(b, off, len);
+        }
+    }
 }
@@ -0,0 +1,77 @@
+package com.ghtransport.common.core.util;
+
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+/**
+ * 连续的long区间 [start, end)
+ *
+ * @param start 起始值（包含）
+ * @param end   结束值（不包含）
+ */
+public record LongRange(long start, long end) {
+
+    public LongRange {
+        if (end < start) {
+            throw new IllegalArgumentException("区间结束值不能小于起始值: [" + start + ", " + end + ")");
+        }
+    }
+
+    /**
+     * 区间长度
+     */
+    public int size() {
+        return Math.toIntExact(end - start);
+    }
+
+    /**
+     * 是否为空区间
+     */
+    public boolean isEmpty() {
+        return end == start;
+    }
+
+    /**
+     * 是否包含指定值
+     */
+    public boolean contains(long value) {
+        return value >= start && value < end;
+    }
+
+    /**
+     * 获取区间内第index个值
+     */
+    public long get(int index) {
+        if (index < 0 || index >= end - start) {
+            throw new IndexOutOfBoundsException("索引越界: " + index + ", 区间长度: " + (end - start));
+        }
+        return start + index;
+    }
+
+    /**
+     * 遍历区间内的值（无装箱）
+     */
+    public void forEach(LongConsumer action) {
+        for (long value = start; value < end; value++) {
+            action.accept(value);
+        }
+    }
+
+    /**
+     * 转为LongStream
+     */
+    public LongStream stream() {
+        return LongStream.range(start, end);
+    }
+
+    /**
+     * 转为数组
+     */
+    public long[] toArray() {
+        long[] values = new long[size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = start + i;
+        }
+        return values;
+    }
+}
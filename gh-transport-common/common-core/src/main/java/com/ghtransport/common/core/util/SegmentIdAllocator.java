@@ -0,0 +1,179 @@
+package com.ghtransport.common.core.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 号段ID分配器（双缓冲）
+ *
+ * 从 SegmentSource 租用号段后在本地通过 CAS 分配，当前号段使用超过 prefetchRatio 时
+ * 在后台线程预取下一个号段，号段切换时通常无需等待外部计数器。
+ * 批量预留超过号段长度时直接向 SegmentSource 租用一个等长号段，只需一次分配。
+ *
+ * 号段尾部不足一次预留数量的ID会被跳过，ID连续递增但不保证无间隙。
+ */
+@Slf4j
+public class SegmentIdAllocator {
+
+    private static final double DEFAULT_PREFETCH_RATIO = 0.2;
+
+    /**
+     * 号段预取线程（所有分配器共享）
+     */
+    private static final ExecutorService PREFETCH_EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "segment-id-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String bizTag;
+    private final SegmentSource source;
+    private final int segmentSize;
+    private final double prefetchRatio;
+
+    private volatile Segment current = Segment.EMPTY;
+    private final AtomicReference<CompletableFuture<Segment>> next = new AtomicReference<>();
+    private final ReentrantLock switchLock = new ReentrantLock();
+
+    public SegmentIdAllocator(String bizTag, SegmentSource source, int segmentSize) {
+        this(bizTag, source, segmentSize, DEFAULT_PREFETCH_RATIO);
+    }
+
+    /**
+     * @param bizTag        业务标识
+     * @param source        号段来源
+     * @param segmentSize   号段长度
+     * @param prefetchRatio 剩余比例低于该值时预取下一号段（0-1）
+     */
+    public SegmentIdAllocator(String bizTag, SegmentSource source, int segmentSize, double prefetchRatio) {
+        if (segmentSize < 1) {
+            throw new IllegalArgumentException("号段长度必须大于0: " + segmentSize);
+        }
+        if (prefetchRatio < 0 || prefetchRatio > 1) {
+            throw new IllegalArgumentException("预取比例必须在0-1之间: " + prefetchRatio);
+        }
+        this.bizTag = bizTag;
+        this.source = source;
+        this.segmentSize = segmentSize;
+        this.prefetchRatio = prefetchRatio;
+    }
+
+    /**
+     * 分配下一个ID
+     */
+    public long nextId() {
+        return reserve(1).start();
+    }
+
+    /**
+     * 预留n个连续ID
+     */
+    public LongRange reserve(int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("预留数量必须大于0: " + n);
+        }
+        if (n > segmentSize) {
+            return source.lease(bizTag, n);
+        }
+        while (true) {
+            Segment segment = current;
+            long first = segment.cursor.getAndAdd(n);
+            long end = first + n;
+            if (end <= segment.end) {
+                if (end >= segment.prefetchAt) {
+                    prefetch();
+                }
+                return new LongRange(first, end);
+            }
+            switchSegment(segment);
+        }
+    }
+
+    /**
+     * 批量分配n个ID
+     */
+    public long[] nextIds(int n) {
+        if (n == 0) {
+            return new long[0];
+        }
+        return reserve(n).toArray();
+    }
+
+    public String getBizTag() {
+        return bizTag;
+    }
+
+    /**
+     * 后台预取下一号段（同一时间仅一个预取任务）
+     */
+    private void prefetch() {
+        if (next.get() != null) {
+            return;
+        }
+        CompletableFuture<Segment> future = new CompletableFuture<>();
+        if (next.compareAndSet(null, future)) {
+            PREFETCH_EXECUTOR.execute(() -> {
+                try {
+                    future.complete(fetch());
+                } catch (Throwable e) {
+                    log.warn("号段预取失败: {}, {}", bizTag, e.getMessage());
+                    future.completeExceptionally(e);
+                }
+            });
+        }
+    }
+
+    /**
+     * 当前号段耗尽，切换到预取号段；预取未开始或失败时同步租用
+     */
+    private void switchSegment(Segment exhausted) {
+        switchLock.lock();
+        try {
+            if (current != exhausted) {
+                return;
+            }
+            CompletableFuture<Segment> prefetched = next.getAndSet(null);
+            Segment segment = null;
+            if (prefetched != null) {
+                try {
+                    segment = prefetched.join();
+                } catch (Exception e) {
+                    log.warn("使用预取号段失败，改为同步租用: {}", bizTag);
+                }
+            }
+            current = segment != null ? segment : fetch();
+        } finally {
+            switchLock.unlock();
+        }
+    }
+
+    private Segment fetch() {
+        LongRange range = source.lease(bizTag, segmentSize);
+        log.debug("号段租用成功: {} [{}, {})", bizTag, range.start(), range.end());
+        return new Segment(range.start(), range.end(), prefetchRatio);
+    }
+
+    /**
+     * 本地号段
+     */
+    private static final class Segment {
+
+        static final Segment EMPTY = new Segment(0L, 0L, 0);
+
+        final AtomicLong cursor;
+        final long end;
+        final long prefetchAt;
+
+        Segment(long start, long end, double prefetchRatio) {
+            this.cursor = new AtomicLong(start);
+            this.end = end;
+            this.prefetchAt = end - (long) ((end - start) * prefetchRatio);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.ghtransport.common.core.util;
+
+/**
+ * 号段来源
+ *
+ * 从外部计数器（数据库、Redis等）一次性租用一段连续序列号，供 SegmentIdAllocator 在本地分配。
+ */
+public interface SegmentSource {
+
+    /**
+     * 租用一个号段
+     *
+     * @param bizTag 业务标识（每个业务独立计数）
+     * @param size   号段长度
+     * @return 号段区间 [start, start + size)
+     */
+    LongRange lease(String bizTag, int size);
+}
@@ -0,0 +1,257 @@
+package com.ghtransport.common.core.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * 雪花算法ID生成器（无锁实现）
+ *
+ * 格式：符号位(1bit) + 时间戳(41bits) + 数据中心ID(5bits) + 工作节点ID(5bits) + 序列号(12bits)
+ *
+ * 时间戳与序列号打包在同一个 AtomicLong 中，通过 CAS 推进，不再依赖全局锁。
+ * 时钟回拨在 maxBackwardMillis 范围内时沿用上一次的时间戳继续分配序列号；
+ * 同一毫秒序列号耗尽时借用下一毫秒，逻辑时钟最多领先物理时钟 maxBackwardMillis。
+ *
+ * 节点号来自租约时，租约丢失后通过 {@link #suspend()} 暂停发号，重新占用节点号后通过
+ * {@link #reassign(long, long)} 原子切换；数据中心ID与工作节点ID打包在同一个 volatile 字段中，
+ * 每次分配只读取一次，同一批ID不会混用新旧节点号。
+ */
+public final class SnowflakeIdGenerator {
+
+    public static final long WORKER_ID_BITS = 5L;
+    public static final long DATACENTER_ID_BITS = 5L;
+    public static final long SEQUENCE_BITS = 12L;
+
+    public static final long MAX_WORKER_ID = ~(-1L << WORKER_ID_BITS);
+    public static final long MAX_DATACENTER_ID = ~(-1L << DATACENTER_ID_BITS);
+
+    private static final long SEQUENCE_MASK = ~(-1L << SEQUENCE_BITS);
+
+    /**
+     * 单次可预留的最大连续ID数（一毫秒的序列号容量）
+     */
+    public static final int MAX_RESERVE = (int) SEQUENCE_MASK + 1;
+
+    private static final long WORKER_ID_SHIFT = SEQUENCE_BITS;
+    private static final long DATACENTER_ID_SHIFT = SEQUENCE_BITS + WORKER_ID_BITS;
+    private static final long TIMESTAMP_LEFT_SHIFT = SEQUENCE_BITS + WORKER_ID_BITS + DATACENTER_ID_BITS;
+
+    /**
+     * 序列号耗尽且无法借用时的等待间隔
+     */
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    /**
+     * 暂停发号时的节点位
+     */
+    private static final long SUSPENDED = -1L;
+
+    private final long maxBackwardMillis;
+    private final LongSupplier clock;
+
+    /**
+     * 节点位：数据中心ID << DATACENTER_ID_SHIFT | 工作节点ID << WORKER_ID_SHIFT，暂停时为 SUSPENDED
+     */
+    private volatile long nodeBits;
+
+    /**
+     * 打包状态：时间戳 << SEQUENCE_BITS | 序列号
+     */
+    private final AtomicLong state = new AtomicLong(0L);
+
+    public SnowflakeIdGenerator(long datacenterId, long workerId) {
+        this(datacenterId, workerId, 0L);
+    }
+
+    public SnowflakeIdGenerator(long datacenterId, long workerId, long maxBackwardMillis) {
+        this(datacenterId, workerId, maxBackwardMillis, System::currentTimeMillis);
+    }
+
+    SnowflakeIdGenerator(long datacenterId, long workerId, long maxBackwardMillis, LongSupplier clock) {
+        if (maxBackwardMillis < 0) {
+            throw new IllegalArgumentException("时钟回拨容忍时间不能为负数: " + maxBackwardMillis);
+        }
+        this.nodeBits = toNodeBits(datacenterId, workerId);
+        this.maxBackwardMillis = maxBackwardMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * 暂停发号：节点号已不再归本实例所有，之后的分配抛出 IllegalStateException，直到 {@link #reassign(long, long)}
+     */
+    public void suspend() {
+        nodeBits = SUSPENDED;
+    }
+
+    /**
+     * 切换到新的节点号并恢复发号
+     */
+    public void reassign(long datacenterId, long workerId) {
+        nodeBits = toNodeBits(datacenterId, workerId);
+    }
+
+    /**
+     * 是否已暂停发号
+     */
+    public boolean isSuspended() {
+        return nodeBits == SUSPENDED;
+    }
+
+    private static long toNodeBits(long datacenterId, long workerId) {
+        if (datacenterId < 0 || datacenterId > MAX_DATACENTER_ID) {
+            throw new IllegalArgumentException("数据中心ID必须在0-" + MAX_DATACENTER_ID + "之间: " + datacenterId);
+        }
+        if (workerId < 0 || workerId > MAX_WORKER_ID) {
+            throw new IllegalArgumentException("工作节点ID必须在0-" + MAX_WORKER_ID + "之间: " + workerId);
+        }
+        return (datacenterId << DATACENTER_ID_SHIFT) | (workerId << WORKER_ID_SHIFT);
+    }
+
+    /**
+     * 生成下一个ID
+     *
+     * @throws IllegalStateException 时钟回拨超出容忍范围，或已暂停发号
+     */
+    public long nextId() {
+        long node = activeNodeBits();
+        return toId(claim(1), node);
+    }
+
+    /**
+     * 预留n个连续ID（同一毫秒内序列号连续，ID数值连续）
+     *
+     * @param n 预留数量（1-4096）
+     * @return 连续ID区间
+     * @throws IllegalStateException 时钟回拨超出容忍范围，或已暂停发号
+     */
+    public LongRange reserve(int n) {
+        if (n < 1 || n > MAX_RESERVE) {
+            throw new IllegalArgumentException("单次预留数量必须在1-" + MAX_RESERVE + "之间: " + n);
+        }
+        long node = activeNodeBits();
+        long first = toId(claim(n), node);
+        return new LongRange(first, first + n);
+    }
+
+    /**
+     * 批量生成n个ID，超过单毫秒容量时跨多个连续区间
+     */
+    public long[] nextIds(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("生成数量不能为负数: " + n);
+        }
+        long[] ids = new long[n];
+        int filled = 0;
+        while (filled < n) {
+            int batch = Math.min(n - filled, MAX_RESERVE);
+            long node = activeNodeBits();
+            long first = toId(claim(batch), node);
+            for (int i = 0; i < batch; i++) {
+                ids[filled++] = first + i;
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * 通过CAS占用n个连续序列号
+     *
+     * @return 打包的 时间戳 << SEQUENCE_BITS | 起始序列号
+     */
+    private long claim(int n) {
+        while (true) {
+            long current = state.get();
+            long lastTimestamp = current >>> SEQUENCE_BITS;
+            long sequence = current & SEQUENCE_MASK;
+            long now = clock.getAsLong();
+
+            long timestamp;
+            long firstSequence;
+            if (now > lastTimestamp) {
+                timestamp = now;
+                firstSequence = 0L;
+            } else if (lastTimestamp - now > maxBackwardMillis) {
+                throw new IllegalStateException(String.format(
+                        "时钟回拨%dms，超出容忍范围%dms，拒绝生成ID", lastTimestamp - now, maxBackwardMillis));
+            } else if (sequence + n <= SEQUENCE_MASK) {
+                timestamp = lastTimestamp;
+                firstSequence = sequence + 1;
+            } else if (lastTimestamp - now < maxBackwardMillis) {
+                // 当前毫秒序列号不足，借用下一毫秒
+                timestamp = lastTimestamp + 1;
+                firstSequence = 0L;
+            } else {
+                // 逻辑时钟已领先到容忍上限，等待物理时钟追上
+                LockSupport.parkNanos(PARK_NANOS);
+                continue;
+            }
+
+            long lastSequence = firstSequence + n - 1;
+            if (state.compareAndSet(current, (timestamp << SEQUENCE_BITS) | lastSequence)) {
+                return (timestamp << SEQUENCE_BITS) | firstSequence;
+            }
+        }
+    }
+
+    private long activeNodeBits() {
+        long node = nodeBits;
+        if (node == SUSPENDED) {
+            throw new IllegalStateException("雪花算法节点租约已丢失，暂停生成ID");
+        }
+        return node;
+    }
+
+    private static long toId(long claimed, long node) {
+        return ((claimed >>> SEQUENCE_BITS) << TIMESTAMP_LEFT_SHIFT) | node | (claimed & SEQUENCE_MASK);
+    }
+
+    /**
+     * 当前工作节点ID，暂停发号时为-1
+     */
+    public long getWorkerId() {
+        long node = nodeBits;
+        return node == SUSPENDED ? -1L : (node >>> WORKER_ID_SHIFT) & MAX_WORKER_ID;
+    }
+
+    /**
+     * 当前数据中心ID，暂停发号时为-1
+     */
+    public long getDatacenterId() {
+        long node = nodeBits;
+        return node == SUSPENDED ? -1L : (node >>> DATACENTER_ID_SHIFT) & MAX_DATACENTER_ID;
+    }
+
+    public long getMaxBackwardMillis() {
+        return maxBackwardMillis;
+    }
+
+    /**
+     * 从ID中解析时间戳（毫秒）
+     */
+    public static long extractTimestamp(long id) {
+        return id >>> TIMESTAMP_LEFT_SHIFT;
+    }
+
+    /**
+     * 从ID中解析数据中心ID
+     */
+    public static long extractDatacenterId(long id) {
+        return (id >>> DATACENTER_ID_SHIFT) & MAX_DATACENTER_ID;
+    }
+
+    /**
+     * 从ID中解析工作节点ID
+     */
+    public static long extractWorkerId(long id) {
+        return (id >>> WORKER_ID_SHIFT) & MAX_WORKER_ID;
+    }
+
+    /**
+     * 从ID中解析序列号
+     */
+    public static long extractSequence(long id) {
+        return id & SEQUENCE_MASK;
+    }
+}
@@ -0,0 +1,42 @@
+package com.ghtransport.common.core.util;
+
+/**
+ * 雪花算法节点标识提供者
+ *
+ * 未提供实现时必须显式配置 snowflake.datacenter-id / snowflake.worker-id；
+ * 多实例部署可通过Redis租约等方式动态分配，避免不同实例生成重复ID。
+ */
+public interface SnowflakeNodeProvider {
+
+    /**
+     * 数据中心ID（0-31）
+     */
+    long datacenterId();
+
+    /**
+     * 工作节点ID（0-31）
+     */
+    long workerId();
+
+    /**
+     * 注册节点变更监听；节点号固定的实现无需支持
+     */
+    default void addListener(NodeListener listener) {
+    }
+
+    /**
+     * 节点变更监听，回调在续约线程中执行
+     */
+    interface NodeListener {
+
+        /**
+         * 节点号已不再归本实例所有，必须立即停止使用原节点号生成ID
+         */
+        void onNodeLost();
+
+        /**
+         * 已占用新的节点号
+         */
+        void onNodeAssigned(long datacenterId, long workerId);
+    }
+}
@@ -14,6 +14,8 @@ public class StringUtils extends org.apache.commons.lang3.StringUtils {
      */
     private static final SecureRandom SECURE_RANDOM = new SecureRandom();
 
+    private static final Pattern CHINESE_PATTERN = Pattern.compile("[\u4e00-\u9fa5]");
+
     private StringUtils() {
     }
 
@@ -52,7 +54,7 @@ public class StringUtils extends org.apache.commons.lang3.StringUtils {
         if (isBlank(str)) {
             return false;
         }
-        return Pattern.matches("\\d+", str);
+        return ValidationUtils.isNumeric(str);
     }
 
     /**
@@ -62,7 +64,7 @@ public class StringUtils extends org.apache.commons.lang3.StringUtils {
         if (isBlank(str)) {
             return false;
         }
-        return Pattern.matches("[a-zA-Z]+", str);
+        return ValidationUtils.isAlpha(str);
     }
 
     /**
@@ -72,7 +74,7 @@ public class StringUtils extends org.apache.commons.lang3.StringUtils {
         if (isBlank(str)) {
             return false;
         }
-        return Pattern.matches("[a-zA-Z0-9]+", str);
+        return ValidationUtils.isAlphanumeric(str);
     }
 
     /**
@@ -82,8 +84,7 @@ public class StringUtils extends org.apache.commons.lang3.StringUtils {
         if (isBlank(mobile)) {
             return false;
         }
-        // 中国手机号正则（简单版）
-        return Pattern.matches("^1[3-9]\\d{9}$", mobile);
+        return ValidationUtils.isMobile(mobile);
     }
 
     /**
@@ -93,18 +94,17 @@ public class StringUtils extends org.apache.commons.lang3.StringUtils {
         if (isBlank(email)) {
             return false;
         }
-        return Pattern.matches("^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$", email);
+        return ValidationUtils.isEmail(email);
     }
 
     /**
-     * 判断是否为有效的身份证号
+     * 判断是否为有效的身份证号（18位，含校验码）
      */
     public static boolean isIdCard(String idCard) {
         if (isBlank(idCard)) {
             return false;
         }
-        // 18位身份证号正则
-        return Pattern.matches("^[1-9]\\d{5}(18|19|20)\\d{2}(0[1-9]|1[0-2])(0[1-9]|[1-2]\\d|3[0-1])\\d{3}[\\dXx]$", idCard);
+        return ValidationUtils.isIdCard(idCard);
     }
 
     /**
@@ -355,7 +355,7 @@ public class StringUtils extends org.apache.commons.lang3.StringUtils {
         if (isBlank(str)) {
             return false;
         }
-        return Pattern.compile("[\u4e00-\u9fa5]").matcher(str).find();
+        return CHINESE_PATTERN.matcher(str).find();
     }
 
     /**
@@ -0,0 +1,61 @@
+package com.ghtransport.common.core.util;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * UUID转换工具
+ *
+ * 兼容带连字符（36位）与不带连字符（32位，IdGenerator.generateUUID 的历史格式）两种文本形式，
+ * 以及数据库/MongoDB 使用的16字节大端二进制形式。
+ */
+public final class UuidUtils {
+
+    private UuidUtils() {
+    }
+
+    /**
+     * 解析UUID文本，支持32位与36位格式
+     *
+     * @throws IllegalArgumentException 格式不正确
+     */
+    public static UUID parse(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("UUID不能为空");
+        }
+        if (value.length() == 36) {
+            return UUID.fromString(value);
+        }
+        if (value.length() != 32) {
+            throw new IllegalArgumentException("UUID格式不正确: " + value);
+        }
+        try {
+            long mostSigBits = Long.parseUnsignedLong(value, 0, 16, 16);
+            long leastSigBits = Long.parseUnsignedLong(value, 16, 32, 16);
+            return new UUID(mostSigBits, leastSigBits);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("UUID格式不正确: " + value, e);
+        }
+    }
+
+    /**
+     * 转换为16字节大端二进制
+     */
+    public static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    /**
+     * 从16字节大端二进制还原
+     */
+    public static UUID fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != 16) {
+            throw new IllegalArgumentException("UUID二进制长度必须为16字节");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
@@ -0,0 +1,87 @@
+package com.ghtransport.common.core.util;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * UUID v7 生成器（RFC 9562）
+ *
+ * 格式：Unix毫秒时间戳(48bits) + 版本(4bits) + 计数器(12bits) + 变体(2bits) + 随机(62bits)
+ *
+ * 时间戳与计数器打包在同一个 AtomicLong 中通过 CAS 推进，保证单进程内严格递增：
+ * 新的毫秒计数器从随机起点（0-2047）开始，同一毫秒内递增，耗尽时借用下一毫秒；
+ * 时钟回拨时沿用上一次的时间戳，不会生成更小的值。按字节序与时间序一致，
+ * 作为主键写入时索引基本为尾部追加。
+ */
+public final class UuidV7Generator {
+
+    private static final long COUNTER_BITS = 12L;
+    private static final long COUNTER_MASK = ~(-1L << COUNTER_BITS);
+    private static final int COUNTER_SEED_BOUND = 1 << (COUNTER_BITS - 1);
+
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    private final LongSupplier clock;
+
+    /**
+     * 打包状态：时间戳 << COUNTER_BITS | 计数器
+     */
+    private final AtomicLong state = new AtomicLong(0L);
+
+    public UuidV7Generator() {
+        this(System::currentTimeMillis);
+    }
+
+    UuidV7Generator(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * 生成下一个UUID v7
+     */
+    public UUID next() {
+        long claimed = claim();
+        long timestamp = claimed >>> COUNTER_BITS;
+        long counter = claimed & COUNTER_MASK;
+        long mostSigBits = (timestamp << 16) | VERSION | counter;
+        long leastSigBits = (ThreadLocalRandom.current().nextLong() & RANDOM_MASK) | VARIANT;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    private long claim() {
+        while (true) {
+            long current = state.get();
+            long lastTimestamp = current >>> COUNTER_BITS;
+            long now = clock.getAsLong();
+
+            long next;
+            if (now > lastTimestamp) {
+                // 新的毫秒从随机起点开始，保留一半计数空间用于同毫秒递增
+                next = (now << COUNTER_BITS) | ThreadLocalRandom.current().nextInt(COUNTER_SEED_BOUND);
+            } else if ((current & COUNTER_MASK) < COUNTER_MASK) {
+                next = current + 1;
+            } else {
+                // 计数器耗尽或时钟回拨后继续耗尽，借用下一毫秒
+                next = (lastTimestamp + 1) << COUNTER_BITS;
+            }
+
+            if (state.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * 从UUID v7中解析时间戳（毫秒）
+     */
+    public static long extractTimestamp(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("不是UUID v7: " + uuid);
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
@@ -0,0 +1,162 @@
+package com.ghtransport.common.core.util;
+
+import java.util.regex.Pattern;
+
+/**
+ * 格式校验工具
+ *
+ * 手机号、身份证号、字母数字等定长/简单格式使用单次扫描实现，不创建正则对象；
+ * 邮箱等复杂格式使用预编译正则。所有方法线程安全，null 返回 false。
+ */
+public final class ValidationUtils {
+
+    private static final Pattern EMAIL_PATTERN =
+            Pattern.compile("^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$");
+
+    /**
+     * 身份证前17位加权因子
+     */
+    private static final int[] ID_CARD_WEIGHTS = {7, 9, 10, 5, 8, 4, 2, 1, 6, 3, 7, 9, 10, 5, 8, 4, 2};
+
+    /**
+     * 加权和模11对应的校验码
+     */
+    private static final char[] ID_CARD_CHECK_CODES = {'1', '0', 'X', '9', '8', '7', '6', '5', '4', '3', '2'};
+
+    private ValidationUtils() {
+    }
+
+    /**
+     * 中国大陆手机号：1[3-9]开头的11位数字
+     */
+    public static boolean isMobile(String mobile) {
+        if (mobile == null || mobile.length() != 11 || mobile.charAt(0) != '1') {
+            return false;
+        }
+        char second = mobile.charAt(1);
+        if (second < '3' || second > '9') {
+            return false;
+        }
+        for (int i = 2; i < 11; i++) {
+            if (!isDigit(mobile.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 18位居民身份证号：地区码 + 出生日期(1800-2099) + 顺序码 + 校验码（ISO 7064 MOD 11-2）
+     */
+    public static boolean isIdCard(String idCard) {
+        if (idCard == null || idCard.length() != 18 || idCard.charAt(0) == '0') {
+            return false;
+        }
+        int sum = 0;
+        for (int i = 0; i < 17; i++) {
+            char c = idCard.charAt(i);
+            if (!isDigit(c)) {
+                return false;
+            }
+            sum += (c - '0') * ID_CARD_WEIGHTS[i];
+        }
+        char check = idCard.charAt(17);
+        if (check == 'x') {
+            check = 'X';
+        }
+        if (check != ID_CARD_CHECK_CODES[sum % 11]) {
+            return false;
+        }
+
+        int year = digits(idCard, 6, 4);
+        int month = digits(idCard, 10, 2);
+        int day = digits(idCard, 12, 2);
+        return year >= 1800 && year <= 2099
+                && month >= 1 && month <= 12
+                && day >= 1 && day <= daysInMonth(year, month);
+    }
+
+    /**
+     * 邮箱
+     */
+    public static boolean isEmail(String email) {
+        return email != null && !email.isEmpty() && EMAIL_PATTERN.matcher(email).matches();
+    }
+
+    /**
+     * 非空纯数字（ASCII）
+     */
+    public static boolean isNumeric(String str) {
+        if (str == null || str.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < str.length(); i++) {
+            if (!isDigit(str.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 非空纯字母（ASCII）
+     */
+    public static boolean isAlpha(String str) {
+        if (str == null || str.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < str.length(); i++) {
+            if (!isLetter(str.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 非空字母和数字（ASCII）
+     */
+    public static boolean isAlphanumeric(String str) {
+        if (str == null || str.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (!isLetter(c) && !isDigit(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static int digits(String str, int offset, int length) {
+        int value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            value = value * 10 + (str.charAt(i) - '0');
+        }
+        return value;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+                return leap ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+}
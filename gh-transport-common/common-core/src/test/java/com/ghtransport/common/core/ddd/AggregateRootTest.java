@@ -0,0 +1,80 @@
+package com.ghtransport.common.core.ddd;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 聚合根变更跟踪测试
+ */
+class AggregateRootTest {
+
+    @Test
+    @DisplayName("记录变更属性并保持首次变更顺序")
+    void markDirty_RecordsProperties() {
+        // Given
+        TestAggregate aggregate = new TestAggregate("a-1");
+        aggregate.markPersisted();
+
+        // When
+        aggregate.changeStatus();
+        aggregate.changeStatus();
+        aggregate.changeRemark();
+
+        // Then
+        assertTrue(aggregate.isDirty());
+        assertTrue(aggregate.isDirty("remark"));
+        assertEquals(List.of("status", "updatedAt", "remark"), List.copyOf(aggregate.getDirtyProperties()));
+    }
+
+    @Test
+    @DisplayName("保存后清空变更记录")
+    void markPersisted_ClearsDirty() {
+        // Given
+        TestAggregate aggregate = new TestAggregate("a-1");
+        aggregate.changeStatus();
+        assertFalse(aggregate.isPersisted());
+
+        // When
+        aggregate.markPersisted();
+
+        // Then
+        assertTrue(aggregate.isPersisted());
+        assertFalse(aggregate.isDirty());
+        assertTrue(aggregate.getDirtyProperties().isEmpty());
+    }
+
+    @Test
+    @DisplayName("变更记录对外只读")
+    void getDirtyProperties_ReadOnly() {
+        // Given
+        TestAggregate aggregate = new TestAggregate("a-1");
+        aggregate.changeStatus();
+
+        // Then
+        assertThrows(UnsupportedOperationException.class, () -> aggregate.getDirtyProperties().clear());
+    }
+
+    static class TestAggregate extends AggregateRoot<String> {
+
+        TestAggregate(String id) {
+            super(id);
+        }
+
+        void changeStatus() {
+            markDirty("status", "updatedAt");
+        }
+
+        void changeRemark() {
+            markDirty("remark");
+        }
+
+        @Override
+        public String getAggregateType() {
+            return "Test";
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.ghtransport.common.core.ddd;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 异步领域事件发布者测试
+ */
+class AsyncDomainEventPublisherTest {
+
+    @Test
+    @DisplayName("多线程发布时同一聚合的事件保持顺序")
+    void publish_OrderedPerAggregate() throws Exception {
+        // Given
+        int producers = 4;
+        int eventsPerAggregate = 500;
+        List<DomainEvent> received = Collections.synchronizedList(new ArrayList<>());
+        AsyncDomainEventPublisher publisher = new AsyncDomainEventPublisher(
+                List.of(received::addAll), 3, 64, 16, AsyncDomainEventPublisher.OverflowPolicy.BLOCK);
+
+        // When
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            String aggregateId = "order-" + p;
+            threads.add(new Thread(() -> {
+                for (int seq = 0; seq < eventsPerAggregate; seq++) {
+                    publisher.publish(new TestEvent(aggregateId, seq));
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        publisher.destroy();
+
+        // Then
+        assertEquals(producers * eventsPerAggregate, received.size());
+        Map<String, Integer> lastSeq = new HashMap<>();
+        for (DomainEvent event : received) {
+            int seq = ((TestEvent) event).seq;
+            assertEquals(lastSeq.getOrDefault(event.getAggregateId(), -1) + 1, seq);
+            lastSeq.put(event.getAggregateId(), seq);
+        }
+        assertEquals(producers * eventsPerAggregate, publisher.getStats().dispatched());
+        assertEquals(0, publisher.getQueueDepth());
+    }
+
+    @Test
+    @DisplayName("监听器繁忙时按微批投递")
+    void publish_MicroBatches() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        AsyncDomainEventPublisher publisher = new AsyncDomainEventPublisher(List.of(events -> {
+            batchSizes.add(events.size());
+            await(release);
+        }), 1, 64, 8, AsyncDomainEventPublisher.OverflowPolicy.BLOCK);
+
+        // When
+        publisher.publish(new TestEvent("order-1", 0));
+        waitUntil(() -> batchSizes.size() == 1);
+        for (int seq = 1; seq <= 20; seq++) {
+            publisher.publish(new TestEvent("order-1", seq));
+        }
+        assertEquals(20, publisher.getQueueDepth());
+        release.countDown();
+        publisher.destroy();
+
+        // Then
+        assertEquals(List.of(1, 8, 8, 4), batchSizes);
+    }
+
+    @Test
+    @DisplayName("队列满时DROP策略丢弃并计数")
+    void publish_Drop() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        AsyncDomainEventPublisher publisher = new AsyncDomainEventPublisher(
+                List.of(events -> await(release)), 1, 4, 1, AsyncDomainEventPublisher.OverflowPolicy.DROP);
+        publisher.publish(new TestEvent("order-1", 0));
+        waitUntil(() -> publisher.getQueueDepth() == 0);
+
+        // When
+        for (int seq = 1; seq <= 10; seq++) {
+            publisher.publish(new TestEvent("order-1", seq));
+        }
+
+        // Then
+        AsyncDomainEventPublisher.Stats stats = publisher.getStats();
+        assertEquals(4, stats.queueDepth());
+        assertEquals(6, stats.dropped());
+        assertTrue(publisher.isAsync());
+        release.countDown();
+        publisher.destroy();
+    }
+
+    @Test
+    @DisplayName("队列满时CALLER_RUNS策略在发布线程上处理")
+    void publish_CallerRuns() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        AsyncDomainEventPublisher publisher = new AsyncDomainEventPublisher(List.of(events -> {
+            threads.add(Thread.currentThread().getName());
+            if (!Thread.currentThread().getName().equals("main-test")) {
+                await(release);
+            }
+        }), 1, 2, 1, AsyncDomainEventPublisher.OverflowPolicy.CALLER_RUNS);
+        publisher.publish(new TestEvent("order-1", 0));
+        waitUntil(() -> threads.size() == 1);
+
+        // When
+        Thread caller = new Thread(() -> {
+            for (int seq = 1; seq <= 3; seq++) {
+                publisher.publish(new TestEvent("order-1", seq));
+            }
+        }, "main-test");
+        caller.start();
+        caller.join();
+
+        // Then
+        assertEquals(List.of("domain-event-lane-0", "main-test"), threads);
+        assertEquals(1, publisher.getStats().callerRuns());
+        release.countDown();
+        publisher.destroy();
+    }
+
+    @Test
+    @DisplayName("监听器异常不影响后续事件")
+    void publish_ListenerFailure() throws Exception {
+        // Given
+        List<DomainEvent> received = Collections.synchronizedList(new ArrayList<>());
+        AsyncDomainEventPublisher publisher = new AsyncDomainEventPublisher(List.of(
+                events -> {
+                    throw new IllegalStateException("boom");
+                },
+                received::addAll), 2, 16, 4, AsyncDomainEventPublisher.OverflowPolicy.BLOCK);
+
+        // When
+        for (int seq = 0; seq < 10; seq++) {
+            publisher.publish(new TestEvent("order-" + seq, seq));
+        }
+        publisher.destroy();
+
+        // Then
+        assertEquals(10, received.size());
+        assertTrue(publisher.getStats().listenerFailures() > 0);
+    }
+
+    @Test
+    @DisplayName("关闭后发布的事件在调用线程上同步处理")
+    void publish_AfterDestroyRunsOnCaller() throws Exception {
+        // Given
+        List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        AsyncDomainEventPublisher publisher = new AsyncDomainEventPublisher(List.of(
+                events -> threads.add(Thread.currentThread().getName())),
+                1, 16, 4, AsyncDomainEventPublisher.OverflowPolicy.BLOCK);
+        publisher.destroy();
+
+        // When
+        publisher.publish(new TestEvent("order-1", 0));
+
+        // Then
+        assertEquals(List.of(Thread.currentThread().getName()), threads);
+        assertEquals(0, publisher.getQueueDepth());
+    }
+
+    @Test
+    @DisplayName("与关闭并发发布时事件不丢失")
+    void publish_ConcurrentWithDestroyNotLost() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            // Given
+            int producers = 4;
+            AtomicInteger received = new AtomicInteger();
+            AtomicInteger sent = new AtomicInteger();
+            AtomicBoolean stop = new AtomicBoolean();
+            CountDownLatch started = new CountDownLatch(producers);
+            AsyncDomainEventPublisher publisher = new AsyncDomainEventPublisher(
+                    List.of(events -> received.addAndGet(events.size())),
+                    2, 1024, 16, AsyncDomainEventPublisher.OverflowPolicy.BLOCK);
+            List<Thread> threads = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                String aggregateId = "order-" + p;
+                threads.add(new Thread(() -> {
+                    started.countDown();
+                    for (int seq = 0; !stop.get(); seq++) {
+                        publisher.publish(new TestEvent(aggregateId, seq));
+                        sent.incrementAndGet();
+                    }
+                }));
+            }
+            threads.forEach(Thread::start);
+            started.await();
+
+            // When：发布线程仍在发布时关闭
+            publisher.destroy();
+            stop.set(true);
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            // Then
+            assertEquals(sent.get(), received.get());
+            assertEquals(sent.get(), (int) publisher.getStats().published());
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "等待超时");
+            Thread.sleep(1);
+        }
+    }
+
+    static class TestEvent extends DomainEvent {
+
+        private final int seq;
+
+        TestEvent(String aggregateId, int seq) {
+            super(aggregateId);
+            this.seq = seq;
+            setAggregateType("Order");
+        }
+
+        @Override
+        public String getBusinessDescription() {
+            return "测试事件";
+        }
+    }
+}
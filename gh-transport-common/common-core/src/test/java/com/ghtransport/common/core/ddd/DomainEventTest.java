@@ -0,0 +1,174 @@
+package com.ghtransport.common.core.ddd;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 领域事件测试
+ */
+class DomainEventTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Shanghai");
+
+    @AfterEach
+    void resetClock() {
+        DomainClock.setClock(Clock.systemDefaultZone());
+    }
+
+    @Test
+    @DisplayName("事件ID时间有序且唯一")
+    void eventId_Ordered() {
+        // When
+        TestEvent first = new TestEvent();
+        TestEvent second = new TestEvent();
+
+        // Then
+        assertTrue(second.getEventId().compareTo(first.getEventId()) > 0);
+        assertEquals(7, UUID.fromString(first.getEventId()).version());
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    @DisplayName("注册事件时使用领域时钟并按需转换为LocalDateTime")
+    void registerEvent_UsesDomainClock() {
+        // Given
+        Instant instant = Instant.parse("2026-01-02T03:04:05.678Z");
+        DomainClock.setClock(Clock.fixed(instant, ZONE));
+        TestAggregate aggregate = new TestAggregate("a-1");
+        TestEvent event = new TestEvent();
+
+        // When
+        aggregate.record(event);
+
+        // Then
+        assertEquals(instant.toEpochMilli(), event.getOccurredOnMillis());
+        assertEquals(LocalDateTime.of(2026, 1, 2, 11, 4, 5, 678_000_000), event.getOccurredOn());
+        assertEquals("a-1", event.getAggregateId());
+        assertEquals("Test", event.getAggregateType());
+    }
+
+    @Test
+    @DisplayName("同一命令的事件共用一个时间戳")
+    void registerEvent_SharedCommandTimestamp() {
+        // Given
+        TestAggregate aggregate = new TestAggregate("a-1");
+        TestEvent first = new TestEvent();
+        TestEvent second = new TestEvent();
+
+        // When
+        long now = DomainClock.millis();
+        aggregate.record(first, now);
+        aggregate.record(second, now);
+        aggregate.markEventsAsPublished();
+
+        // Then
+        assertEquals(now, first.getOccurredOnMillis());
+        assertEquals(first.getOccurredOn(), second.getOccurredOn());
+        assertTrue(first.isPublished());
+        assertEquals(first.getPublishedOnMillis(), second.getPublishedOnMillis());
+        assertNotNull(first.getPublishedOn());
+    }
+
+    @Test
+    @DisplayName("注册事件只使用命令时间戳，不读取时钟")
+    void registerEvent_DoesNotReadClock() {
+        // Given
+        CountingClock clock = new CountingClock(Instant.parse("2026-01-02T03:04:05.678Z"));
+        DomainClock.setClock(clock);
+        TestAggregate aggregate = new TestAggregate("a-1");
+        long now = 1_700_000_000_000L;
+
+        // When
+        TestEvent event = new TestEvent();
+        aggregate.record(event, now);
+
+        // Then
+        assertEquals(now, event.getOccurredOnMillis());
+        assertEquals(0, clock.reads);
+    }
+
+    @Test
+    @DisplayName("未注册的事件首次读取时取领域时钟作为发生时间")
+    void occurredOn_DefaultsToFirstRead() {
+        // Given
+        Instant instant = Instant.parse("2026-01-02T03:04:05.678Z");
+        CountingClock clock = new CountingClock(instant);
+        DomainClock.setClock(clock);
+
+        // When
+        TestEvent event = new TestEvent();
+
+        // Then
+        assertEquals(0, clock.reads);
+        assertEquals(LocalDateTime.of(2026, 1, 2, 11, 4, 5, 678_000_000), event.getOccurredOn());
+        assertEquals(instant.toEpochMilli(), event.getOccurredOnMillis());
+        assertEquals(1, clock.reads);
+        assertNull(event.getPublishedOn());
+    }
+
+    static class TestEvent extends DomainEvent {
+
+        @Override
+        public String getBusinessDescription() {
+            return "测试事件";
+        }
+    }
+
+    /**
+     * 记录读取次数的固定时钟
+     */
+    static class CountingClock extends Clock {
+
+        private final Instant instant;
+        int reads;
+
+        CountingClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZONE;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            reads++;
+            return instant;
+        }
+    }
+
+    static class TestAggregate extends AggregateRoot<String> {
+
+        TestAggregate(String id) {
+            super(id);
+        }
+
+        void record(DomainEvent event) {
+            registerEvent(event);
+        }
+
+        void record(DomainEvent event, long occurredOnMillis) {
+            registerEvent(event, occurredOnMillis);
+        }
+
+        @Override
+        public String getAggregateType() {
+            return "Test";
+        }
+    }
+}
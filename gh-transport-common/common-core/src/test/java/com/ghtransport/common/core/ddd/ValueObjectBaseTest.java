@@ -0,0 +1,121 @@
+package com.ghtransport.common.core.ddd;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 值对象基类测试
+ */
+class ValueObjectBaseTest {
+
+    @Test
+    @DisplayName("属性相同则相等且哈希一致")
+    void equalsAndHashCode_SameValues() {
+        // Given
+        Location a = new Location("广东省", "深圳市", 3, List.of("科技园"), new byte[]{1, 2});
+        Location b = new Location("广东省", "深圳市", 3, List.of("科技园"), new byte[]{1, 2});
+
+        // Then
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertEquals(a.hashCode(), a.hashCode());
+        assertTrue(a.sameValueAs(b));
+    }
+
+    @Test
+    @DisplayName("任一属性不同则不相等")
+    void equals_DifferentValues() {
+        // Given
+        Location base = new Location("广东省", "深圳市", 3, List.of("科技园"), new byte[]{1});
+
+        // Then
+        assertNotEquals(base, new Location("广东省", "广州市", 3, List.of("科技园"), new byte[]{1}));
+        assertNotEquals(base, new Location("广东省", "深圳市", 4, List.of("科技园"), new byte[]{1}));
+        assertNotEquals(base, new Location("广东省", "深圳市", 3, List.of("南区"), new byte[]{1}));
+        assertNotEquals(base, new Location("广东省", "深圳市", 3, List.of("科技园"), new byte[]{2}));
+        assertNotEquals(base, new Location(null, "深圳市", 3, List.of("科技园"), new byte[]{1}));
+        assertNotEquals(base, null);
+    }
+
+    @Test
+    @DisplayName("哈希与逐字段计算结果一致，可作为集合键")
+    void hashCode_MatchesComponents() {
+        // Given
+        Location location = new Location("广东省", "深圳市", 3, List.of("科技园"), null);
+
+        // When
+        Set<Location> set = new HashSet<>();
+        set.add(location);
+
+        // Then
+        assertEquals(Objects.hash("广东省", "深圳市", 3, List.of("科技园"), null), location.hashCode());
+        assertTrue(set.contains(new Location("广东省", "深圳市", 3, List.of("科技园"), null)));
+    }
+
+    @Test
+    @DisplayName("不同类型的值对象不相等")
+    void equals_DifferentType() {
+        // Then
+        assertNotEquals(new Code("A"), new OtherCode("A"));
+    }
+
+    @Test
+    @DisplayName("非final属性被拒绝")
+    void mutableField_Rejected() {
+        // Then
+        assertThrows(IllegalStateException.class, () -> new Mutable("A").hashCode());
+    }
+
+    static final class Location extends ValueObjectBase<Location> {
+
+        private static final String IGNORED = "static";
+
+        private final String province;
+        private final String city;
+        private final int level;
+        private final List<String> lines;
+        private final byte[] tag;
+
+        Location(String province, String city, int level, List<String> lines, byte[] tag) {
+            this.province = province;
+            this.city = city;
+            this.level = level;
+            this.lines = lines;
+            this.tag = tag;
+        }
+    }
+
+    static final class Code extends ValueObjectBase<Code> {
+
+        private final String value;
+
+        Code(String value) {
+            this.value = value;
+        }
+    }
+
+    static final class OtherCode extends ValueObjectBase<OtherCode> {
+
+        private final String value;
+
+        OtherCode(String value) {
+            this.value = value;
+        }
+    }
+
+    static final class Mutable extends ValueObjectBase<Mutable> {
+
+        private String value;
+
+        Mutable(String value) {
+            this.value = value;
+        }
+    }
+}
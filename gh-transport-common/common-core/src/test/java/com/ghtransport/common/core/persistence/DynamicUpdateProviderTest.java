@@ -0,0 +1,78 @@
+package com.ghtransport.common.core.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 动态更新SQL提供者测试
+ */
+class DynamicUpdateProviderTest {
+
+    @Test
+    @DisplayName("只生成变更列的SET子句")
+    void update_ChangedColumnsOnly() {
+        // Given
+        DynamicUpdate update = DynamicUpdate.of("`order`", new Object())
+                .setAll(List.of("status", "updatedAt"))
+                .whereId("id", UuidStringTypeHandler.class);
+
+        // When
+        String sql = DynamicUpdateProvider.update(update);
+
+        // Then
+        assertEquals("UPDATE `order` SET status = #{entity.status}, updated_at = #{entity.updatedAt}"
+                + " WHERE id = #{entity.id,typeHandler=" + UuidStringTypeHandler.class.getName() + "}", sql);
+        assertTrue(update.hasChanges());
+    }
+
+    @Test
+    @DisplayName("附加值与条件通过参数绑定")
+    void update_ExtraValuesBound() {
+        // Given
+        DynamicUpdate update = DynamicUpdate.of("inventory", new Object())
+                .set("reservedQuantity")
+                .whereId("id", null)
+                .setValue("fence_token", 42L)
+                .where("fence_token", "<=", 42L);
+
+        // When
+        String sql = DynamicUpdateProvider.update(update);
+
+        // Then
+        assertEquals("UPDATE inventory SET reserved_quantity = #{entity.reservedQuantity}, fence_token = #{params.p0}"
+                + " WHERE id = #{entity.id} AND fence_token <= #{params.p1}", sql);
+        assertEquals(42L, update.getParams().get("p0"));
+        assertEquals(42L, update.getParams().get("p1"));
+    }
+
+    @Test
+    @DisplayName("没有变更列或没有条件时拒绝生成")
+    void update_RejectsEmpty() {
+        // Given
+        DynamicUpdate noChanges = DynamicUpdate.of("inventory", new Object())
+                .setValue("fence_token", 1L)
+                .whereId("id", null);
+        DynamicUpdate noWhere = DynamicUpdate.of("inventory", new Object()).set("status");
+
+        // Then
+        assertFalse(noChanges.hasChanges());
+        assertThrows(IllegalArgumentException.class, () -> DynamicUpdateProvider.update(noChanges));
+        assertThrows(IllegalArgumentException.class, () -> DynamicUpdateProvider.update(noWhere));
+    }
+
+    @Test
+    @DisplayName("拒绝非法标识符和运算符")
+    void update_RejectsIllegalIdentifiers() {
+        // Given
+        DynamicUpdate update = DynamicUpdate.of("inventory", new Object());
+
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> DynamicUpdate.of("inventory; DROP TABLE x", new Object()));
+        assertThrows(IllegalArgumentException.class, () -> update.set("status = 1, name"));
+        assertThrows(IllegalArgumentException.class, () -> update.where("fence_token", "OR 1=1 --", 1L));
+    }
+}
@@ -0,0 +1,48 @@
+package com.ghtransport.common.core.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 网关身份头签名测试
+ */
+class IdentityHeaderSignerTest {
+
+    private final IdentityHeaderSigner signer = new IdentityHeaderSigner("0123456789abcdef0123456789abcdef");
+
+    @Test
+    @DisplayName("签名后可校验还原")
+    void signAndVerify() {
+        // Given
+        JwtPrincipal principal = new JwtPrincipal("u1", "张三", List.of("ADMIN", "DISPATCHER"),
+                System.currentTimeMillis() + 60_000L);
+
+        // When
+        JwtPrincipal verified = signer.verify(signer.sign(principal));
+
+        // Then
+        assertEquals(principal, verified);
+    }
+
+    @Test
+    @DisplayName("篡改、过期或格式错误时校验失败")
+    void verify_Rejected() {
+        // Given
+        String header = signer.sign(new JwtPrincipal("u1", "alice", List.of("USER"),
+                System.currentTimeMillis() + 60_000L));
+        String expired = signer.sign(new JwtPrincipal("u1", "alice", List.of("USER"),
+                System.currentTimeMillis() - 1L));
+        IdentityHeaderSigner otherSigner = new IdentityHeaderSigner("fedcba9876543210fedcba9876543210");
+
+        // Then
+        assertNull(signer.verify("dTI" + header.substring(header.indexOf('.'))));
+        assertNull(signer.verify(expired));
+        assertNull(otherSigner.verify(header));
+        assertNull(signer.verify("a.b.c"));
+        assertNull(signer.verify(null));
+    }
+}
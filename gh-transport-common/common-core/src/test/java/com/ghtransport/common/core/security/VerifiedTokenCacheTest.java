@@ -0,0 +1,66 @@
+package com.ghtransport.common.core.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 已验证Token缓存测试
+ */
+class VerifiedTokenCacheTest {
+
+    @Test
+    @DisplayName("命中缓存并统计命中率")
+    void get_HitAndMiss() {
+        // Given
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, () -> 1_000L);
+        VerifiedTokenCache.TokenKey key = VerifiedTokenCache.keyOf("header.payload.signature");
+        JwtPrincipal principal = new JwtPrincipal("u1", "alice", List.of("ADMIN"), 2_000L);
+
+        // When
+        JwtPrincipal miss = cache.get(key);
+        cache.put(key, principal);
+        JwtPrincipal hit = cache.get(VerifiedTokenCache.keyOf("header.payload.signature"));
+
+        // Then
+        assertNull(miss);
+        assertEquals(principal, hit);
+        assertEquals(0.5D, cache.getHitRate());
+    }
+
+    @Test
+    @DisplayName("Token过期后不再命中")
+    void get_Expired() {
+        // Given
+        AtomicLong now = new AtomicLong(1_000L);
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, now::get);
+        VerifiedTokenCache.TokenKey key = VerifiedTokenCache.keyOf("token");
+        cache.put(key, new JwtPrincipal("u1", "alice", List.of(), 2_000L));
+
+        // When
+        now.set(2_000L);
+
+        // Then
+        assertNull(cache.get(key));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("超出容量时淘汰")
+    void put_Bounded() {
+        // Given
+        VerifiedTokenCache cache = new VerifiedTokenCache(100, () -> 1_000L);
+
+        // When
+        for (int i = 0; i < 1_000; i++) {
+            cache.put(VerifiedTokenCache.keyOf("token-" + i), new JwtPrincipal("u" + i, "user", List.of(), 2_000L));
+        }
+
+        // Then
+        assertTrue(cache.size() <= 100);
+    }
+}
@@ -0,0 +1,58 @@
+package com.ghtransport.common.core.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 日期工具测试
+ */
+class DateUtilsTest {
+
+    @Test
+    @DisplayName("定长快速格式化与DateTimeFormatter一致")
+    void formatDateTime_FastPath() {
+        // Given
+        LocalDateTime dateTime = LocalDateTime.of(2025, 1, 9, 8, 5, 3, 123_000_000);
+
+        // When
+        String formatted = DateUtils.format(dateTime, DateUtils.PATTERN_DATETIME);
+        String appended = DateUtils.appendDateTime(new StringBuilder("at "), dateTime).toString();
+        char[] buffer = new char[DateUtils.DATETIME_LENGTH];
+        int end = DateUtils.writeDateTime(buffer, 0, dateTime);
+
+        // Then
+        assertEquals("2025-01-09 08:05:03", formatted);
+        assertEquals("at 2025-01-09 08:05:03", appended);
+        assertEquals(DateUtils.DATETIME_LENGTH, end);
+        assertEquals(formatted, new String(buffer));
+        assertEquals("2025-01-09", DateUtils.format(dateTime.toLocalDate(), DateUtils.PATTERN_DATE));
+    }
+
+    @Test
+    @DisplayName("超出四位年份时回退到DateTimeFormatter")
+    void formatDateTime_OutOfRangeYear() {
+        // Given
+        LocalDateTime dateTime = LocalDateTime.of(12345, 1, 1, 0, 0);
+
+        // Then
+        assertEquals(dateTime.format(DateTimeFormatter.ofPattern(DateUtils.PATTERN_DATETIME)),
+                DateUtils.formatDateTime(dateTime));
+        assertThrows(IllegalArgumentException.class,
+                () -> DateUtils.writeDateTime(new char[DateUtils.DATETIME_LENGTH], 0, dateTime));
+    }
+
+    @Test
+    @DisplayName("格式化器缓存复用")
+    void getFormatter_Cached() {
+        // Then
+        assertSame(DateUtils.FORMATTER_DATETIME, DateUtils.getFormatter(DateUtils.PATTERN_DATETIME));
+        assertSame(DateUtils.getFormatter("yyyy/MM/dd"), DateUtils.getFormatter("yyyy/MM/dd"));
+        assertEquals(LocalDate.of(2025, 1, 29), DateUtils.parseDate("2025/01/29", "yyyy/MM/dd"));
+    }
+}
@@ -3,6 +3,21 @@ package com.ghtransport.common.core.util;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -31,7 +46,7 @@ class IdGeneratorTest {
         // Then
         assertNotNull(orderNo);
         assertTrue(orderNo.startsWith("ORD"));
-        assertEquals(22, orderNo.length());  // ORD + 8位日期 + 8位流水号
+        assertEquals(22, orderNo.length());  // ORD + 8位日期 + 4位节点号 + 7位流水号
     }
 
     @Test
@@ -43,7 +58,7 @@ class IdGeneratorTest {
         // Then
         assertNotNull(waybillNo);
         assertTrue(waybillNo.startsWith("WB"));
-        assertEquals(22, waybillNo.length());
+        assertEquals(21, waybillNo.length());  // WB + 8位日期 + 4位节点号 + 7位流水号
     }
 
     @Test
@@ -67,7 +82,7 @@ class IdGeneratorTest {
         // Then
         assertNotNull(code);
         assertTrue(code.startsWith("TEST"));
-        assertEquals(20, code.length());  // TEST + 8位日期 + 8位流水号
+        assertEquals(23, code.length());  // TEST + 8位日期 + 4位节点号 + 7位流水号
     }
 
     @Test
@@ -95,4 +110,365 @@ class IdGeneratorTest {
         // Then
         assertEquals(100, java.util.Arrays.stream(ids).distinct().count());
     }
+
+    @Test
+    @DisplayName("雪花算法ID - 并发生成唯一")
+    void snowflakeId_ConcurrentUnique() throws InterruptedException {
+        // Given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3L, 7L, 10L);
+        int threads = 16;
+        int perThread = 20_000;
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch latch = new CountDownLatch(threads);
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    ids.add(generator.nextId());
+                }
+                latch.countDown();
+            });
+        }
+        latch.await(30, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // Then
+        assertEquals(threads * perThread, ids.size());
+    }
+
+    @Test
+    @DisplayName("雪花算法ID - 包含节点标识")
+    void snowflakeId_ContainsNodeBits() {
+        // Given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3L, 7L);
+
+        // When
+        long id = generator.nextId();
+
+        // Then
+        assertEquals(3L, SnowflakeIdGenerator.extractDatacenterId(id));
+        assertEquals(7L, SnowflakeIdGenerator.extractWorkerId(id));
+    }
+
+    @Test
+    @DisplayName("雪花算法ID - 容忍范围内时钟回拨")
+    void snowflakeId_ToleratesClockRollback() {
+        // Given
+        AtomicLong clock = new AtomicLong(1_000_000L);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1L, 1L, 5L, clock::get);
+        long id1 = generator.nextId();
+
+        // When
+        clock.addAndGet(-5L);
+        long id2 = generator.nextId();
+
+        // Then
+        assertTrue(id2 > id1);
+    }
+
+    @Test
+    @DisplayName("雪花算法ID - 超出容忍范围的时钟回拨")
+    void snowflakeId_RejectsLargeClockRollback() {
+        // Given
+        AtomicLong clock = new AtomicLong(1_000_000L);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1L, 1L, 5L, clock::get);
+        generator.nextId();
+
+        // When
+        clock.addAndGet(-6L);
+
+        // Then
+        assertThrows(IllegalStateException.class, generator::nextId);
+    }
+
+    @Test
+    @DisplayName("雪花算法ID - 无效节点ID")
+    void snowflakeId_InvalidNode() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(32L, 1L));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(1L, -1L));
+    }
+
+    @Test
+    @DisplayName("雪花算法ID - 暂停期间拒绝发号，切换节点后使用新节点号")
+    void snowflakeId_SuspendAndReassign() {
+        // Given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3L, 7L);
+        long before = generator.nextId();
+
+        // When
+        generator.suspend();
+
+        // Then
+        assertTrue(generator.isSuspended());
+        assertThrows(IllegalStateException.class, generator::nextId);
+        assertThrows(IllegalStateException.class, () -> generator.reserve(10));
+        assertThrows(IllegalStateException.class, () -> generator.nextIds(10));
+
+        // When
+        generator.reassign(4L, 9L);
+        long after = generator.nextId();
+
+        // Then
+        assertFalse(generator.isSuspended());
+        assertEquals(4L, SnowflakeIdGenerator.extractDatacenterId(after));
+        assertEquals(9L, SnowflakeIdGenerator.extractWorkerId(after));
+        assertEquals(9L, generator.getWorkerId());
+        assertTrue(after > before);
+        assertThrows(IllegalArgumentException.class, () -> generator.reassign(32L, 1L));
+    }
+
+    @Test
+    @DisplayName("预留连续ID")
+    void reserve_Contiguous() {
+        // Given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1L, 1L, 10L);
+
+        // When
+        LongRange range = generator.reserve(100);
+        long next = generator.nextId();
+
+        // Then
+        assertEquals(100, range.size());
+        assertEquals(99, range.end() - 1 - range.start());
+        assertFalse(range.contains(next));
+        assertTrue(next > range.end() - 1);
+    }
+
+    @Test
+    @DisplayName("批量生成ID - 跨毫秒唯一")
+    void nextIds_Unique() {
+        // Given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1L, 1L, 10L);
+
+        // When
+        long[] ids = generator.nextIds(10_000);
+
+        // Then
+        assertEquals(10_000, java.util.Arrays.stream(ids).distinct().count());
+    }
+
+    @Test
+    @DisplayName("号段分配器 - 批量预留只租用一次")
+    void segmentAllocator_BulkReserveLeasesOnce() {
+        // Given
+        AtomicLong counter = new AtomicLong();
+        AtomicLong leases = new AtomicLong();
+        SegmentSource source = (bizTag, size) -> {
+            leases.incrementAndGet();
+            long max = counter.addAndGet(size);
+            return new LongRange(max - size, max);
+        };
+        SegmentIdAllocator allocator = new SegmentIdAllocator("order_item", source, 1000);
+
+        // When
+        LongRange range = allocator.reserve(10_000);
+
+        // Then
+        assertEquals(10_000, range.size());
+        assertEquals(1, leases.get());
+    }
+
+    @Test
+    @DisplayName("号段分配器 - 并发分配唯一")
+    void segmentAllocator_ConcurrentUnique() throws InterruptedException {
+        // Given
+        AtomicLong counter = new AtomicLong();
+        SegmentSource source = (bizTag, size) -> {
+            long max = counter.addAndGet(size);
+            return new LongRange(max - size, max);
+        };
+        SegmentIdAllocator allocator = new SegmentIdAllocator("order", source, 500);
+        int threads = 8;
+        int perThread = 10_000;
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch latch = new CountDownLatch(threads);
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    ids.add(allocator.nextId());
+                }
+                latch.countDown();
+            });
+        }
+        latch.await(30, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // Then
+        assertEquals(threads * perThread, ids.size());
+    }
+
+    @Test
+    @DisplayName("业务编号 - 包含节点号与递增流水号")
+    void bizCode_NodeAndSequence() {
+        // Given
+        Clock clock = Clock.fixed(Instant.parse("2025-01-29T02:00:00Z"), ZoneId.of("Asia/Shanghai"));
+        BizCodeGenerator generator = new BizCodeGenerator(12L, clock);
+
+        // When
+        String first = generator.generate("ORD");
+        String second = generator.generate("ORD");
+        String other = generator.generate("WB");
+
+        // Then
+        assertEquals("ORD2025012900120000001", first);
+        assertEquals("ORD2025012900120000002", second);
+        assertEquals("WB2025012900120000001", other);
+    }
+
+    @Test
+    @DisplayName("业务编号 - 跨天重置流水号，时钟回拨不回退日期")
+    void bizCode_DayRollover() {
+        // Given
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-29T15:59:59Z"), ZoneOffset.ofHours(8));
+        BizCodeGenerator generator = new BizCodeGenerator(1L, clock);
+        generator.generate("ORD");
+
+        // When
+        clock.instant = Instant.parse("2025-01-29T16:00:00Z");
+        String nextDay = generator.generate("ORD");
+        clock.instant = Instant.parse("2025-01-29T15:59:58Z");
+        String rolledBack = generator.generate("ORD");
+
+        // Then
+        assertEquals("ORD2025013000010000001", nextDay);
+        assertEquals("ORD2025013000010000002", rolledBack);
+    }
+
+    @Test
+    @DisplayName("业务编号 - 共享号段下重启与多副本不重复")
+    void bizCode_SharedSegmentAcrossInstances() {
+        // Given
+        Clock clock = Clock.fixed(Instant.parse("2025-01-29T02:00:00Z"), ZoneId.of("Asia/Shanghai"));
+        Map<String, AtomicLong> table = new ConcurrentHashMap<>();
+        SegmentSource source = (bizTag, size) -> {
+            long max = table.computeIfAbsent(bizTag, k -> new AtomicLong()).addAndGet(size);
+            return new LongRange(max - size, max);
+        };
+        BizCodeGenerator replicaA = new BizCodeGenerator(1L, source, 10, clock);
+        BizCodeGenerator replicaB = new BizCodeGenerator(1L, source, 10, clock);
+        Set<String> codes = new HashSet<>();
+
+        // When
+        for (int i = 0; i < 25; i++) {
+            codes.add(replicaA.generate("ORD"));
+            codes.add(replicaB.generate("ORD"));
+        }
+        BizCodeGenerator restartedA = new BizCodeGenerator(1L, source, 10, clock);
+        for (int i = 0; i < 25; i++) {
+            codes.add(restartedA.generate("ORD"));
+        }
+
+        // Then
+        assertEquals(75, codes.size());
+        assertTrue(table.containsKey("biz:ORD20250129"));
+        assertTrue(replicaA.isShared());
+    }
+
+    @Test
+    @DisplayName("业务编号 - 并发生成唯一")
+    void bizCode_ConcurrentUnique() throws InterruptedException {
+        // Given
+        BizCodeGenerator generator = new BizCodeGenerator(7L);
+        int threads = 8;
+        int perThread = 10_000;
+        Set<String> codes = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch latch = new CountDownLatch(threads);
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    codes.add(generator.generate("DSP"));
+                }
+                latch.countDown();
+            });
+        }
+        latch.await(30, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // Then
+        assertEquals(threads * perThread, codes.size());
+    }
+
+    @Test
+    @DisplayName("UUID v7 - 版本、变体与时间戳")
+    void uuidV7_Layout() {
+        // Given
+        UuidV7Generator generator = new UuidV7Generator(() -> 1_738_116_000_000L);
+
+        // When
+        UUID uuid = generator.next();
+
+        // Then
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(1_738_116_000_000L, UuidV7Generator.extractTimestamp(uuid));
+    }
+
+    @Test
+    @DisplayName("UUID v7 - 同毫秒与时钟回拨时严格递增")
+    void uuidV7_Monotonic() {
+        // Given
+        AtomicLong now = new AtomicLong(1_738_116_000_000L);
+        UuidV7Generator generator = new UuidV7Generator(now::get);
+        UUID previous = generator.next();
+
+        // When & Then
+        for (int i = 0; i < 10_000; i++) {
+            if (i == 5_000) {
+                now.addAndGet(-1_000L);
+            }
+            UUID current = generator.next();
+            assertTrue(current.compareTo(previous) > 0);
+            previous = current;
+        }
+    }
+
+    @Test
+    @DisplayName("UUID文本与二进制互转")
+    void uuidUtils_RoundTrip() {
+        // Given
+        UUID uuid = IdGenerator.generateUUIDv7();
+
+        // Then
+        assertEquals(uuid, UuidUtils.parse(uuid.toString()));
+        assertEquals(uuid, UuidUtils.parse(uuid.toString().replace("-", "")));
+        assertEquals(uuid, UuidUtils.fromBytes(UuidUtils.toBytes(uuid)));
+        assertThrows(IllegalArgumentException.class, () -> UuidUtils.parse("not-a-uuid"));
+    }
+
+    /**
+     * 可调整时间的测试时钟
+     */
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant instant;
+        private final ZoneId zone;
+
+        MutableClock(Instant instant, ZoneId zone) {
+            this.instant = instant;
+            this.zone = zone;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return new MutableClock(instant, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
 }
@@ -0,0 +1,67 @@
+package com.ghtransport.common.core.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JSON工具字节接口测试
+ */
+class JsonUtilsTest {
+
+    @Test
+    @DisplayName("字节接口与字符串接口输出一致")
+    void toJsonBytes_SameAsString() {
+        // Given
+        Map<String, Object> value = Map.of("name", "标准托盘", "quantity", 10);
+        byte[] expected = JsonUtils.toJson(value).getBytes(StandardCharsets.UTF_8);
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int streamLength = JsonUtils.writeTo(out, value);
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        int bufferLength = JsonUtils.writeTo(buffer, value);
+        JsonByteWriter writer = JsonUtils.localWriter().write(value);
+
+        // Then
+        assertArrayEquals(expected, JsonUtils.toJsonBytes(value));
+        assertEquals(expected.length, streamLength);
+        assertArrayEquals(expected, out.toByteArray());
+        assertEquals(expected.length, bufferLength);
+        assertEquals(expected.length, buffer.position());
+        assertArrayEquals(expected, writer.toByteArray());
+    }
+
+    @Test
+    @DisplayName("字节反序列化")
+    void fromJsonBytes() {
+        // Given
+        byte[] json = "xx{\"name\":\"缠绕膜\"}".getBytes(StandardCharsets.UTF_8);
+
+        // When
+        Map<?, ?> slice = JsonUtils.fromJson(json, 2, json.length - 2, Map.class);
+        Map<?, ?> stream = JsonUtils.fromJson(new ByteArrayInputStream(json, 2, json.length - 2), Map.class);
+
+        // Then
+        assertEquals("缠绕膜", slice.get("name"));
+        assertEquals("缠绕膜", stream.get("name"));
+        assertNull(JsonUtils.fromJson(new byte[0], Map.class));
+    }
+
+    @Test
+    @DisplayName("复用写入器覆盖上一次结果")
+    void localWriter_Reuse() {
+        JsonByteWriter writer = new JsonByteWriter(4);
+
+        assertEquals("{\"a\":\"long value\"}", new String(writer.write(Map.of("a", "long value")).toByteArray(), StandardCharsets.UTF_8));
+        assertEquals("1", new String(writer.write(1).toByteArray(), StandardCharsets.UTF_8));
+        assertEquals(1, writer.length());
+    }
+}
@@ -0,0 +1,62 @@
+package com.ghtransport.common.core.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 格式校验工具测试
+ */
+class ValidationUtilsTest {
+
+    @Test
+    @DisplayName("手机号校验与原正则一致")
+    void isMobile() {
+        Pattern legacy = Pattern.compile("^1[3-9]\\d{9}$");
+        String[] samples = {"13812345678", "19900000000", "12812345678", "1381234567", "138123456789",
+                "23812345678", "1381234567a", "", "１３８１２３４５６７８"};
+        for (String sample : samples) {
+            assertEquals(legacy.matcher(sample).matches(), ValidationUtils.isMobile(sample), sample);
+        }
+        assertFalse(ValidationUtils.isMobile(null));
+    }
+
+    @Test
+    @DisplayName("身份证号校验 - 校验码与出生日期")
+    void isIdCard() {
+        assertTrue(ValidationUtils.isIdCard("11010519491231002X"));
+        assertTrue(ValidationUtils.isIdCard("11010519491231002x"));
+        assertTrue(ValidationUtils.isIdCard("110101200002290018"));
+
+        // 校验码错误
+        assertFalse(ValidationUtils.isIdCard("110105194912310021"));
+        // 非闰年2月29日
+        assertFalse(ValidationUtils.isIdCard("110101190002290011"));
+        // 月份、年份越界
+        assertFalse(ValidationUtils.isIdCard("110105194913310021"));
+        assertFalse(ValidationUtils.isIdCard("110105174912310021"));
+        // 长度、首位
+        assertFalse(ValidationUtils.isIdCard("11010519491231002"));
+        assertFalse(ValidationUtils.isIdCard("01010519491231002X"));
+        assertFalse(ValidationUtils.isIdCard(null));
+    }
+
+    @Test
+    @DisplayName("邮箱与字符类校验")
+    void isEmailAndCharacterClasses() {
+        assertTrue(ValidationUtils.isEmail("zhang.san@example.com"));
+        assertFalse(ValidationUtils.isEmail("zhang@example"));
+        assertFalse(ValidationUtils.isEmail(""));
+
+        assertTrue(ValidationUtils.isNumeric("0123"));
+        assertFalse(ValidationUtils.isNumeric("12a"));
+        assertTrue(ValidationUtils.isAlpha("abcXYZ"));
+        assertFalse(ValidationUtils.isAlpha("abc1"));
+        assertTrue(ValidationUtils.isAlphanumeric("abc123"));
+        assertFalse(ValidationUtils.isAlphanumeric("abc_123"));
+        assertFalse(ValidationUtils.isAlphanumeric(""));
+    }
+}
@@ -0,0 +1,85 @@
+package com.ghtransport.common.outbox;
+
+import com.ghtransport.common.core.ddd.AggregateRoot;
+import com.ghtransport.common.core.ddd.DomainEvent;
+import com.ghtransport.common.core.util.JsonUtils;
+import com.ghtransport.common.outbox.persistence.OutboxEventPO;
+import com.ghtransport.common.outbox.persistence.OutboxMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 发件箱事件存储
+ *
+ * 仓储在保存聚合的同一事务中调用 {@link #append(AggregateRoot)}，把未发布的领域事件批量写入 domain_event，
+ * 由 OutboxRelay 异步投递；聚合与事件同时提交或同时回滚，不会出现状态已变更而事件丢失的情况。
+ */
+@Component
+public class OutboxEventStore {
+
+    /**
+     * 单条INSERT的最大行数（每行8个参数，远低于PostgreSQL的参数上限）
+     */
+    static final int INSERT_CHUNK_SIZE = 500;
+
+    private final OutboxMapper outboxMapper;
+
+    public OutboxEventStore(OutboxMapper outboxMapper) {
+        this.outboxMapper = outboxMapper;
+    }
+
+    /**
+     * 写入聚合的未发布事件并标记为已发布（已交给发件箱），必须在仓储事务内调用
+     *
+     * @return 写入的事件数
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int append(AggregateRoot<?> aggregate) {
+        List<DomainEvent> events = aggregate.getUnpublishedEvents();
+        if (events.isEmpty()) {
+            return 0;
+        }
+        int written = appendAll(events);
+        aggregate.markEventsAsPublished();
+        return written;
+    }
+
+    /**
+     * 批量写入领域事件，必须在调用方事务内调用
+     *
+     * @return 写入的事件数
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int appendAll(List<? extends DomainEvent> events) {
+        int written = 0;
+        List<OutboxEventPO> chunk = new ArrayList<>(Math.min(events.size(), INSERT_CHUNK_SIZE));
+        for (DomainEvent event : events) {
+            chunk.add(toPO(event));
+            if (chunk.size() == INSERT_CHUNK_SIZE) {
+                written += outboxMapper.insertBatch(chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            written += outboxMapper.insertBatch(chunk);
+        }
+        return written;
+    }
+
+    static OutboxEventPO toPO(DomainEvent event) {
+        OutboxEventPO po = new OutboxEventPO();
+        po.setId(event.getEventId());
+        po.setAggregateType(event.getAggregateType());
+        po.setAggregateId(event.getAggregateId());
+        po.setEventType(event.getEventType());
+        po.setEventPayload(JsonUtils.toJson(event));
+        po.setStatus(OutboxEventPO.STATUS_PENDING);
+        po.setCreatedAt(event.getOccurredOn());
+        po.setRetryCount(0);
+        return po;
+    }
+}
@@ -0,0 +1,170 @@
+package com.ghtransport.common.outbox;
+
+import com.ghtransport.common.outbox.config.OutboxProperties;
+import com.ghtransport.common.outbox.persistence.OutboxEventPO;
+import com.ghtransport.common.outbox.persistence.OutboxMapper;
+import com.ghtransport.common.outbox.sink.OutboxSink;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 发件箱中继
+ *
+ * 每个分区一个调度任务，分三步处理一批事件：
+ * <ol>
+ *   <li>领取事务：获取分区咨询锁，分区内没有未到期的租约时 FOR UPDATE SKIP LOCKED 按写入顺序领取一批事件，
+ *       并写入租约（claimed_until）</li>
+ *   <li>投递：在事务之外进行，Broker 变慢时不占用数据库连接和行锁</li>
+ *   <li>标记事务：批量标记结果并清除租约</li>
+ * </ol>
+ * 分区按 aggregate_id 哈希划分，咨询锁保证多节点部署时同一分区同一时刻只有一个领取者，租约保证上一批投递完成前
+ * 分区不会被再次领取，因此同一聚合的事件按写入顺序投递。投递后节点宕机或标记失败时，事件在租约到期后重新领取
+ * （至少一次投递）。一批全部成功时立即继续领取下一批，否则等待下一个轮询周期。
+ */
+@Slf4j
+public class OutboxRelay implements InitializingBean, DisposableBean {
+
+    /**
+     * 分区咨询锁ID的基数（"outbox"），与分区号相加得到各分区的锁ID
+     */
+    private static final long PARTITION_LOCK_BASE = 0x6F7574626F78L << 16;
+
+    private final OutboxMapper outboxMapper;
+    private final OutboxSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties.Relay properties;
+    private ScheduledExecutorService executor;
+    private volatile boolean running;
+
+    public OutboxRelay(OutboxMapper outboxMapper, OutboxSink sink,
+                       PlatformTransactionManager transactionManager, OutboxProperties.Relay properties) {
+        if (properties.getPartitions() < 1 || properties.getBatchSize() < 1) {
+            throw new IllegalArgumentException("发件箱分区数和批大小必须大于0");
+        }
+        if (properties.getClaimLease().toMillis() < 1) {
+            throw new IllegalArgumentException("发件箱领取租约必须大于0");
+        }
+        this.outboxMapper = outboxMapper;
+        this.sink = sink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        executor = Executors.newScheduledThreadPool(properties.getPartitions(), r -> {
+            Thread thread = new Thread(r, "outbox-relay-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        long pollMillis = properties.getPollInterval().toMillis();
+        for (int partition = 0; partition < properties.getPartitions(); partition++) {
+            int p = partition;
+            executor.scheduleWithFixedDelay(() -> drain(p), pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+        }
+        log.info("发件箱中继已启动: partitions={}, batchSize={}", properties.getPartitions(), properties.getBatchSize());
+    }
+
+    /**
+     * 持续投递分区积压，直到不足一批或出现失败
+     */
+    void drain(int partition) {
+        try {
+            while (running && relayOnce(partition)) {
+                // 整批成功且可能还有积压，继续领取
+            }
+        } catch (Exception e) {
+            log.warn("发件箱中继异常: partition={}, {}", partition, e.getMessage());
+        }
+    }
+
+    /**
+     * 领取、投递并标记一批事件，领取和标记各自是一个短事务
+     *
+     * @return 是否领满一批且全部投递成功（可能还有积压）
+     */
+    boolean relayOnce(int partition) {
+        List<OutboxEventPO> batch = transactionTemplate.execute(status -> claim(partition));
+        if (batch == null || batch.isEmpty()) {
+            return false;
+        }
+
+        RelayOutcome outcome = RelayOutcome.of(batch, send(batch));
+        transactionTemplate.executeWithoutResult(status -> complete(outcome));
+        if (!outcome.failedIds().isEmpty()) {
+            log.warn("发件箱事件投递失败: partition={}, failed={}, deferred={}",
+                    partition, outcome.failedIds().size(), outcome.deferred());
+        }
+        return outcome.allProcessed() && batch.size() >= properties.getBatchSize();
+    }
+
+    /**
+     * 领取一批事件并写入租约；分区被其它中继锁定或仍有未到期的租约时不领取
+     */
+    private List<OutboxEventPO> claim(int partition) {
+        if (!outboxMapper.tryLockPartition(PARTITION_LOCK_BASE + partition)
+                || outboxMapper.hasActiveLease(partition, properties.getPartitions())) {
+            return List.of();
+        }
+        List<OutboxEventPO> batch = outboxMapper.claimBatch(
+                partition, properties.getPartitions(), properties.getBatchSize());
+        if (!batch.isEmpty()) {
+            List<String> ids = new ArrayList<>(batch.size());
+            for (OutboxEventPO event : batch) {
+                ids.add(event.getId());
+            }
+            outboxMapper.leaseBatch(ids, properties.getClaimLease().toMillis());
+        }
+        return batch;
+    }
+
+    /**
+     * 标记投递结果并清除整批的租约
+     */
+    private void complete(RelayOutcome outcome) {
+        if (!outcome.processedIds().isEmpty()) {
+            outboxMapper.markProcessed(outcome.processedIds());
+        }
+        if (!outcome.failedIds().isEmpty()) {
+            outboxMapper.markFailed(outcome.failedIds(), properties.getMaxRetries());
+        }
+        if (!outcome.deferredIds().isEmpty()) {
+            outboxMapper.releaseLease(outcome.deferredIds());
+        }
+    }
+
+    private Set<String> send(List<OutboxEventPO> batch) {
+        try {
+            return sink.send(batch);
+        } catch (Exception e) {
+            log.warn("发件箱投递异常: {}", e.getMessage());
+            Set<String> failed = new HashSet<>(batch.size() * 2);
+            for (OutboxEventPO event : batch) {
+                failed.add(event.getId());
+            }
+            return failed;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.ghtransport.common.outbox;
+
+import com.ghtransport.common.outbox.persistence.OutboxEventPO;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 一批事件的投递结果
+ *
+ * 同一聚合中第一个失败事件之后的事件即使已投递成功也不标记为已发布，留待下次与失败事件按顺序重投，
+ * 以至少一次投递为代价保证同一聚合的事件不会越过失败事件被确认。
+ *
+ * @param processedIds 标记为已发布的事件
+ * @param failedIds    记录一次失败的事件
+ * @param deferredIds  保持待发布、不计失败的事件
+ */
+record RelayOutcome(List<String> processedIds, List<String> failedIds, List<String> deferredIds) {
+
+    static RelayOutcome of(List<OutboxEventPO> batch, Set<String> failed) {
+        List<String> processed = new ArrayList<>(batch.size());
+        if (failed.isEmpty()) {
+            for (OutboxEventPO event : batch) {
+                processed.add(event.getId());
+            }
+            return new RelayOutcome(processed, List.of(), List.of());
+        }
+
+        List<String> failedIds = new ArrayList<>();
+        Set<String> blockedAggregates = new HashSet<>();
+        List<String> deferredIds = new ArrayList<>();
+        for (OutboxEventPO event : batch) {
+            String aggregateKey = event.getAggregateType() + ":" + event.getAggregateId();
+            if (blockedAggregates.contains(aggregateKey)) {
+                deferredIds.add(event.getId());
+            } else if (failed.contains(event.getId())) {
+                failedIds.add(event.getId());
+                blockedAggregates.add(aggregateKey);
+            } else {
+                processed.add(event.getId());
+            }
+        }
+        return new RelayOutcome(processed, failedIds, deferredIds);
+    }
+
+    int deferred() {
+        return deferredIds.size();
+    }
+
+    boolean allProcessed() {
+        return failedIds.isEmpty() && deferredIds.isEmpty();
+    }
+}
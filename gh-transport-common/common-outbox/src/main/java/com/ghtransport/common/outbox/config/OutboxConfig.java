@@ -0,0 +1,58 @@
+package com.ghtransport.common.outbox.config;
+
+import com.ghtransport.common.outbox.OutboxRelay;
+import com.ghtransport.common.outbox.persistence.OutboxMapper;
+import com.ghtransport.common.outbox.sink.InMemoryOutboxSink;
+import com.ghtransport.common.outbox.sink.KafkaOutboxSink;
+import com.ghtransport.common.outbox.sink.OutboxSink;
+import org.mybatis.spring.annotation.MapperScan;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * 事务发件箱配置
+ *
+ * 事件写入（OutboxEventStore）始终可用；投递目标由 outbox.sink 选择，中继在 outbox.relay.enabled=true 时启动。
+ */
+@Configuration
+@MapperScan(basePackageClasses = OutboxMapper.class)
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "outbox", name = "sink", havingValue = "memory")
+    public InMemoryOutboxSink inMemoryOutboxSink() {
+        return new InMemoryOutboxSink();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "outbox.relay", name = "enabled", havingValue = "true")
+    public OutboxRelay outboxRelay(OutboxMapper outboxMapper, ObjectProvider<OutboxSink> sink,
+                                   PlatformTransactionManager transactionManager, OutboxProperties properties) {
+        if (properties.getRelay().getClaimLease().compareTo(properties.getKafka().getSendTimeout()) <= 0) {
+            throw new IllegalArgumentException("outbox.relay.claim-lease 必须大于 outbox.kafka.send-timeout");
+        }
+        return new OutboxRelay(outboxMapper, sink.getObject(), transactionManager, properties.getRelay());
+    }
+
+    /**
+     * Kafka投递目标（outbox.sink=kafka，默认）
+     */
+    @Configuration
+    @ConditionalOnClass(KafkaTemplate.class)
+    @ConditionalOnProperty(prefix = "outbox", name = "sink", havingValue = "kafka", matchIfMissing = true)
+    static class KafkaSinkConfig {
+
+        @Bean
+        public KafkaOutboxSink kafkaOutboxSink(KafkaTemplate<String, String> kafkaTemplate, OutboxProperties properties) {
+            OutboxProperties.Kafka kafka = properties.getKafka();
+            return new KafkaOutboxSink(kafkaTemplate, kafka.getTopic(), kafka.getSendTimeout().toMillis());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.ghtransport.common.outbox.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 事务发件箱配置
+ *
+ * <pre>
+ * outbox:
+ *   sink: kafka
+ *   relay:
+ *     enabled: true
+ *     partitions: 4
+ *     batch-size: 200
+ *     claim-lease: 60s
+ *   kafka:
+ *     topic: gh-transport.domain-events
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "outbox")
+public class OutboxProperties {
+
+    /**
+     * 投递目标：kafka 或 memory
+     */
+    private String sink = "kafka";
+
+    private Relay relay = new Relay();
+
+    private Kafka kafka = new Kafka();
+
+    @Data
+    public static class Relay {
+
+        /**
+         * 是否在本节点启动中继
+         */
+        private boolean enabled = false;
+
+        /**
+         * 分区数，按 aggregate_id 哈希划分；每个分区同一时刻只有一个中继领取，保证同一聚合的事件顺序
+         * 所有节点必须配置相同的分区数
+         */
+        private int partitions = 4;
+
+        /**
+         * 每次领取的事件数
+         */
+        private int batchSize = 200;
+
+        /**
+         * 分区无积压时的轮询间隔
+         */
+        private Duration pollInterval = Duration.ofMillis(500);
+
+        /**
+         * 最大重试次数，达到后标记为FAILED，不再投递
+         */
+        private int maxRetries = 10;
+
+        /**
+         * 领取租约：投递期间分区不会被再次领取，中继宕机时到期后重新投递；必须大于 kafka.send-timeout
+         */
+        private Duration claimLease = Duration.ofSeconds(60);
+    }
+
+    @Data
+    public static class Kafka {
+
+        /**
+         * 领域事件主题
+         */
+        private String topic = "gh-transport.domain-events";
+
+        /**
+         * 整批发送等待确认的超时时间
+         */
+        private Duration sendTimeout = Duration.ofSeconds(10);
+    }
+}
@@ -0,0 +1,27 @@
+package com.ghtransport.common.outbox.persistence;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 发件箱事件持久化对象（domain_event表）
+ */
+@Data
+public class OutboxEventPO {
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_PROCESSED = "PROCESSED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    private String id;
+    private Long seq;
+    private String aggregateType;
+    private String aggregateId;
+    private String eventType;
+    private String eventPayload;
+    private String status;
+    private LocalDateTime createdAt;
+    private LocalDateTime processedAt;
+    private Integer retryCount;
+}
@@ -0,0 +1,55 @@
+package com.ghtransport.common.outbox.persistence;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 发件箱MyBatis Mapper
+ */
+@Mapper
+public interface OutboxMapper {
+
+    /**
+     * 批量写入待发布事件（一条多值INSERT）
+     */
+    int insertBatch(@Param("events") List<OutboxEventPO> events);
+
+    /**
+     * 尝试获取分区的事务级咨询锁，保证同一分区同一时刻只有一个中继领取
+     */
+    boolean tryLockPartition(@Param("lockId") long lockId);
+
+    /**
+     * 分区内是否有租约未到期的待发布事件（其它中继正在投递）
+     */
+    boolean hasActiveLease(@Param("partition") int partition, @Param("partitions") int partitions);
+
+    /**
+     * 按写入顺序领取分区内的待发布事件（FOR UPDATE SKIP LOCKED），分区由 aggregate_id 的哈希决定
+     */
+    List<OutboxEventPO> claimBatch(@Param("partition") int partition,
+                                   @Param("partitions") int partitions,
+                                   @Param("limit") int limit);
+
+    /**
+     * 为领取的事件写入租约，租约到期前同一分区不会被再次领取
+     */
+    int leaseBatch(@Param("ids") List<String> ids, @Param("leaseMillis") long leaseMillis);
+
+    /**
+     * 批量标记为已发布并清除租约
+     */
+    int markProcessed(@Param("ids") List<String> ids);
+
+    /**
+     * 批量记录发布失败并清除租约，重试次数达到上限的标记为FAILED
+     */
+    int markFailed(@Param("ids") List<String> ids, @Param("maxRetries") int maxRetries);
+
+    /**
+     * 清除租约，事件保持待发布
+     */
+    int releaseLease(@Param("ids") List<String> ids);
+}
@@ -0,0 +1,50 @@
+package com.ghtransport.common.outbox.sink;
+
+import com.ghtransport.common.outbox.persistence.OutboxEventPO;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+
+/**
+ * 内存投递目标，用于测试和本地开发（outbox.sink=memory）
+ */
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final List<OutboxEventPO> sent = new CopyOnWriteArrayList<>();
+    private volatile Predicate<OutboxEventPO> failWhen = event -> false;
+
+    @Override
+    public Set<String> send(List<OutboxEventPO> events) {
+        Set<String> failed = new HashSet<>();
+        for (OutboxEventPO event : events) {
+            if (failWhen.test(event)) {
+                failed.add(event.getId());
+            } else {
+                sent.add(event);
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * 设置模拟投递失败的条件
+     */
+    public void failWhen(Predicate<OutboxEventPO> condition) {
+        this.failWhen = condition != null ? condition : event -> false;
+    }
+
+    /**
+     * 已成功投递的事件（按投递顺序）
+     */
+    public List<OutboxEventPO> getSent() {
+        return new ArrayList<>(sent);
+    }
+
+    public void clear() {
+        sent.clear();
+    }
+}
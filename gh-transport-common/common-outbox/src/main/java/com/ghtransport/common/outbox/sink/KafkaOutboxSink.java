@@ -0,0 +1,70 @@
+package com.ghtransport.common.outbox.sink;
+
+import com.ghtransport.common.outbox.persistence.OutboxEventPO;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Kafka投递目标（outbox.sink=kafka）
+ *
+ * 以 aggregate_id 为消息键，同一聚合的事件进入同一分区；整批异步发送后统一等待确认。
+ * 生产者应开启幂等（enable.idempotence=true），重试时才不会打乱同一分区内的顺序。
+ */
+@Slf4j
+public class KafkaOutboxSink implements OutboxSink {
+
+    static final String HEADER_EVENT_ID = "eventId";
+    static final String HEADER_EVENT_TYPE = "eventType";
+    static final String HEADER_AGGREGATE_TYPE = "aggregateType";
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final String topic;
+    private final long sendTimeoutMillis;
+
+    public KafkaOutboxSink(KafkaTemplate<String, String> kafkaTemplate, String topic, long sendTimeoutMillis) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.topic = topic;
+        this.sendTimeoutMillis = sendTimeoutMillis;
+    }
+
+    @Override
+    public Set<String> send(List<OutboxEventPO> events) {
+        List<CompletableFuture<?>> futures = new ArrayList<>(events.size());
+        for (OutboxEventPO event : events) {
+            ProducerRecord<String, String> record =
+                    new ProducerRecord<>(topic, event.getAggregateId(), event.getEventPayload());
+            record.headers()
+                    .add(HEADER_EVENT_ID, event.getId().getBytes(StandardCharsets.UTF_8))
+                    .add(HEADER_EVENT_TYPE, event.getEventType().getBytes(StandardCharsets.UTF_8))
+                    .add(HEADER_AGGREGATE_TYPE, event.getAggregateType().getBytes(StandardCharsets.UTF_8));
+            futures.add(kafkaTemplate.send(record));
+        }
+
+        Set<String> failed = new HashSet<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        for (int i = 0; i < futures.size(); i++) {
+            String eventId = events.get(i).getId();
+            try {
+                futures.get(i).get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed.add(eventId);
+            } catch (ExecutionException | TimeoutException e) {
+                log.warn("发件箱事件投递失败: eventId={}, {}", eventId, e.getMessage());
+                failed.add(eventId);
+            }
+        }
+        return failed;
+    }
+}
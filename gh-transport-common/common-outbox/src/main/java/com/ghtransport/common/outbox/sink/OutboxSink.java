@@ -0,0 +1,22 @@
+package com.ghtransport.common.outbox.sink;
+
+import com.ghtransport.common.outbox.persistence.OutboxEventPO;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 发件箱投递目标（Kafka、内存等）
+ *
+ * 投递语义为至少一次：同一事件可能因重试被重复投递，消费方应按事件ID幂等处理。
+ */
+public interface OutboxSink {
+
+    /**
+     * 投递一批事件，批内同一聚合的事件按给定顺序投递
+     *
+     * @param events 按写入顺序排列的事件
+     * @return 投递失败的事件ID，全部成功时返回空集合
+     */
+    Set<String> send(List<OutboxEventPO> events);
+}
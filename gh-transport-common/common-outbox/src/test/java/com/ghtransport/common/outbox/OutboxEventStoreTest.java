@@ -0,0 +1,116 @@
+package com.ghtransport.common.outbox;
+
+import com.ghtransport.common.core.ddd.DomainEvent;
+import com.ghtransport.common.outbox.persistence.OutboxEventPO;
+import com.ghtransport.common.outbox.persistence.OutboxMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 发件箱事件存储测试
+ */
+class OutboxEventStoreTest {
+
+    @Test
+    @DisplayName("按块批量写入并保持事件顺序")
+    void appendAllInChunks() {
+        // Given
+        List<Integer> insertSizes = new ArrayList<>();
+        List<String> insertedIds = new ArrayList<>();
+        OutboxEventStore store = new OutboxEventStore(new RecordingMapper(insertSizes, insertedIds));
+        List<TestEvent> events = new ArrayList<>();
+        for (int i = 0; i < OutboxEventStore.INSERT_CHUNK_SIZE * 2 + 1; i++) {
+            events.add(new TestEvent("order-" + (i % 3)));
+        }
+
+        // When
+        int written = store.appendAll(events);
+
+        // Then
+        assertEquals(events.size(), written);
+        assertEquals(List.of(OutboxEventStore.INSERT_CHUNK_SIZE, OutboxEventStore.INSERT_CHUNK_SIZE, 1), insertSizes);
+        assertEquals(events.get(0).getEventId(), insertedIds.get(0));
+        assertEquals(events.get(events.size() - 1).getEventId(), insertedIds.get(insertedIds.size() - 1));
+    }
+
+    @Test
+    @DisplayName("事件转换为发件箱记录")
+    void toPO() {
+        // Given
+        TestEvent event = new TestEvent("order-1");
+        event.setAggregateType("Order");
+
+        // When
+        OutboxEventPO po = OutboxEventStore.toPO(event);
+
+        // Then
+        assertEquals(event.getEventId(), po.getId());
+        assertEquals("Order", po.getAggregateType());
+        assertEquals("order-1", po.getAggregateId());
+        assertEquals("TestEvent", po.getEventType());
+        assertEquals(OutboxEventPO.STATUS_PENDING, po.getStatus());
+        assertTrue(po.getEventPayload().contains("order-1"));
+    }
+
+    static class TestEvent extends DomainEvent {
+
+        TestEvent(String aggregateId) {
+            super(aggregateId);
+        }
+
+        @Override
+        public String getBusinessDescription() {
+            return "测试事件";
+        }
+    }
+
+    private record RecordingMapper(List<Integer> insertSizes, List<String> insertedIds) implements OutboxMapper {
+
+        @Override
+        public int insertBatch(List<OutboxEventPO> events) {
+            insertSizes.add(events.size());
+            events.forEach(event -> insertedIds.add(event.getId()));
+            return events.size();
+        }
+
+        @Override
+        public boolean tryLockPartition(long lockId) {
+            return true;
+        }
+
+        @Override
+        public boolean hasActiveLease(int partition, int partitions) {
+            return false;
+        }
+
+        @Override
+        public List<OutboxEventPO> claimBatch(int partition, int partitions, int limit) {
+            return List.of();
+        }
+
+        @Override
+        public int leaseBatch(List<String> ids, long leaseMillis) {
+            return ids.size();
+        }
+
+        @Override
+        public int markProcessed(List<String> ids) {
+            return ids.size();
+        }
+
+        @Override
+        public int markFailed(List<String> ids, int maxRetries) {
+            return ids.size();
+        }
+
+        @Override
+        public int releaseLease(List<String> ids) {
+            return ids.size();
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.ghtransport.common.outbox;
+
+import com.ghtransport.common.outbox.config.OutboxProperties;
+import com.ghtransport.common.outbox.persistence.OutboxEventPO;
+import com.ghtransport.common.outbox.persistence.OutboxMapper;
+import com.ghtransport.common.outbox.sink.OutboxSink;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 发件箱中继测试（领取、投递、标记的事务边界）
+ */
+class OutboxRelayTest {
+
+    private final RecordingTransactionManager transactionManager = new RecordingTransactionManager();
+    private final OutboxTable table = new OutboxTable(transactionManager);
+    private final List<String> sent = new ArrayList<>();
+
+    @Test
+    @DisplayName("relayOnce - 领取和标记各在一个短事务内，投递在事务之外")
+    void relayOnce_SendsOutsideTransaction() {
+        // Given
+        table.add("e1", "o1");
+        table.add("e2", "o2");
+        OutboxRelay relay = relay(events -> {
+            assertFalse(transactionManager.active, "投递时不应持有事务");
+            assertEquals(Set.of("e1", "e2"), table.leased());
+            events.forEach(event -> sent.add(event.getId()));
+            return Set.of();
+        });
+
+        // When
+        boolean more = relay.relayOnce(0);
+
+        // Then
+        assertFalse(more);
+        assertEquals(List.of("e1", "e2"), sent);
+        assertEquals(2, transactionManager.commits);
+        assertEquals(OutboxEventPO.STATUS_PROCESSED, table.status("e1"));
+        assertEquals(OutboxEventPO.STATUS_PROCESSED, table.status("e2"));
+        assertTrue(table.leased().isEmpty());
+    }
+
+    @Test
+    @DisplayName("relayOnce - 分区内仍有未到期的租约时不领取，避免同一聚合并行投递")
+    void relayOnce_SkipsLeasedPartition() {
+        // Given：其它中继已领取、正在投递
+        table.add("e1", "o1");
+        table.activeLease = true;
+        OutboxRelay relay = relay(events -> fail("不应投递"));
+
+        // When
+        boolean more = relay.relayOnce(0);
+
+        // Then
+        assertFalse(more);
+        assertEquals(0, table.claims);
+        assertEquals(1, transactionManager.commits);
+        assertEquals(OutboxEventPO.STATUS_PENDING, table.status("e1"));
+    }
+
+    @Test
+    @DisplayName("relayOnce - 投递失败时记录失败，同一聚合后续事件保持待发布，整批租约清除")
+    void relayOnce_FailureReleasesLease() {
+        // Given
+        table.add("e1", "o1");
+        table.add("e2", "o1");
+        table.add("e3", "o2");
+        OutboxRelay relay = relay(events -> Set.of("e1"));
+
+        // When
+        boolean more = relay.relayOnce(0);
+
+        // Then
+        assertFalse(more);
+        assertEquals(1, table.retries("e1"));
+        assertEquals(OutboxEventPO.STATUS_PENDING, table.status("e1"));
+        assertEquals(0, table.retries("e2"));
+        assertEquals(OutboxEventPO.STATUS_PENDING, table.status("e2"));
+        assertEquals(OutboxEventPO.STATUS_PROCESSED, table.status("e3"));
+        assertTrue(table.leased().isEmpty());
+    }
+
+    private OutboxRelay relay(OutboxSink sink) {
+        OutboxProperties.Relay properties = new OutboxProperties.Relay();
+        properties.setPartitions(1);
+        return new OutboxRelay(table, sink, transactionManager, properties);
+    }
+
+    /**
+     * 记录事务边界，不允许嵌套
+     */
+    private static final class RecordingTransactionManager implements PlatformTransactionManager {
+
+        private boolean active;
+        private int commits;
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            assertFalse(active, "不应嵌套事务");
+            active = true;
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            active = false;
+            commits++;
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            active = false;
+        }
+    }
+
+    /**
+     * 单分区发件箱表，所有访问都必须在事务内
+     */
+    private static final class OutboxTable implements OutboxMapper {
+
+        private final RecordingTransactionManager transactionManager;
+        private final Map<String, OutboxEventPO> rows = new LinkedHashMap<>();
+        private final Set<String> leases = new LinkedHashSet<>();
+        private boolean activeLease;
+        private int claims;
+
+        OutboxTable(RecordingTransactionManager transactionManager) {
+            this.transactionManager = transactionManager;
+        }
+
+        void add(String id, String aggregateId) {
+            OutboxEventPO po = new OutboxEventPO();
+            po.setId(id);
+            po.setSeq((long) rows.size() + 1);
+            po.setAggregateType("Order");
+            po.setAggregateId(aggregateId);
+            po.setStatus(OutboxEventPO.STATUS_PENDING);
+            po.setRetryCount(0);
+            rows.put(id, po);
+        }
+
+        String status(String id) {
+            return rows.get(id).getStatus();
+        }
+
+        int retries(String id) {
+            return rows.get(id).getRetryCount();
+        }
+
+        Set<String> leased() {
+            return Set.copyOf(leases);
+        }
+
+        @Override
+        public int insertBatch(List<OutboxEventPO> events) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean tryLockPartition(long lockId) {
+            assertInTransaction();
+            return true;
+        }
+
+        @Override
+        public boolean hasActiveLease(int partition, int partitions) {
+            assertInTransaction();
+            return activeLease;
+        }
+
+        @Override
+        public List<OutboxEventPO> claimBatch(int partition, int partitions, int limit) {
+            assertInTransaction();
+            claims++;
+            return rows.values().stream()
+                    .filter(row -> OutboxEventPO.STATUS_PENDING.equals(row.getStatus()))
+                    .limit(limit)
+                    .toList();
+        }
+
+        @Override
+        public int leaseBatch(List<String> ids, long leaseMillis) {
+            assertInTransaction();
+            leases.addAll(ids);
+            return ids.size();
+        }
+
+        @Override
+        public int markProcessed(List<String> ids) {
+            assertInTransaction();
+            ids.forEach(id -> rows.get(id).setStatus(OutboxEventPO.STATUS_PROCESSED));
+            return releaseLease(ids);
+        }
+
+        @Override
+        public int markFailed(List<String> ids, int maxRetries) {
+            assertInTransaction();
+            for (String id : ids) {
+                OutboxEventPO row = rows.get(id);
+                row.setRetryCount(row.getRetryCount() + 1);
+                if (row.getRetryCount() >= maxRetries) {
+                    row.setStatus(OutboxEventPO.STATUS_FAILED);
+                }
+            }
+            return releaseLease(ids);
+        }
+
+        @Override
+        public int releaseLease(List<String> ids) {
+            assertInTransaction();
+            leases.removeAll(ids);
+            return ids.size();
+        }
+
+        private void assertInTransaction() {
+            assertTrue(transactionManager.active, "数据库访问必须在事务内");
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.ghtransport.common.outbox;
+
+import com.ghtransport.common.outbox.persistence.OutboxEventPO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 发件箱投递结果测试
+ */
+class RelayOutcomeTest {
+
+    @Test
+    @DisplayName("全部成功时整批标记为已发布")
+    void allSucceeded() {
+        // Given
+        List<OutboxEventPO> batch = List.of(event("e1", "o1"), event("e2", "o2"));
+
+        // When
+        RelayOutcome outcome = RelayOutcome.of(batch, Set.of());
+
+        // Then
+        assertEquals(List.of("e1", "e2"), outcome.processedIds());
+        assertTrue(outcome.failedIds().isEmpty());
+        assertTrue(outcome.allProcessed());
+    }
+
+    @Test
+    @DisplayName("同一聚合失败事件之后的事件不确认，其他聚合不受影响")
+    void failureBlocksLaterEventsOfSameAggregate() {
+        // Given
+        List<OutboxEventPO> batch = List.of(
+                event("e1", "o1"),
+                event("e2", "o2"),
+                event("e3", "o1"),
+                event("e4", "o1"),
+                event("e5", "o2"));
+
+        // When
+        RelayOutcome outcome = RelayOutcome.of(batch, Set.of("e3"));
+
+        // Then
+        assertEquals(List.of("e1", "e2", "e5"), outcome.processedIds());
+        assertEquals(List.of("e3"), outcome.failedIds());
+        assertEquals(List.of("e4"), outcome.deferredIds());
+        assertFalse(outcome.allProcessed());
+    }
+
+    private static OutboxEventPO event(String id, String aggregateId) {
+        OutboxEventPO po = new OutboxEventPO();
+        po.setId(id);
+        po.setAggregateType("Order");
+        po.setAggregateId(aggregateId);
+        return po;
+    }
+}
@@ -1,17 +1,40 @@
 package com.ghtransport.common.redis.cache;
 
 import com.ghtransport.common.core.result.ResultCode;
-import com.ghtransport.common.core.util.JsonUtils;
+import com.ghtransport.common.redis.codec.ValueCodec;
+import com.ghtransport.common.redis.lock.DistributedLock;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * 缓存服务
+ *
+ * 值通过 {@link ValueCodec} 直接编解码为字节（字节值RedisTemplate），不经过中间String；
+ * 默认编码与原StringRedisTemplate写入的JSON文本一致，可配置为JSONB及压缩，见 RedisConfig#cacheValueCodec。
+ *
+ * 启用一级缓存（cache.local.enabled=true）后，已配置命名空间的 get 先查进程内缓存，
+ * set/delete 写入Redis后失效本节点并广播其它节点失效，见 {@link LocalCacheManager}。
+ * 从Redis回填一级缓存前先取键的失效版本，读取期间收到失效时不回填。
  */
 @Slf4j
 @Component
@@ -20,10 +43,62 @@ public class CacheService {
     private static final String CACHE_PREFIX = "cache:";
     private static final String LOCK_PREFIX = "lock:";
 
-    private final StringRedisTemplate redisTemplate;
+    /**
+     * getOrLoad 记录的加载耗时（毫秒），用于提前刷新，与缓存值同时过期
+     */
+    private static final String DELTA_PREFIX = "cache-delta:";
+
+    private static final long LOAD_POLL_MILLIS = 50L;
+
+    /**
+     * 提前刷新的请求合并键前缀：刷新与未命中加载的返回语义不同（非刷新节点返回null），不能合并到同一次调用
+     */
+    private static final String REFRESH_FLIGHT_PREFIX = "refresh:";
 
-    public CacheService(StringRedisTemplate redisTemplate) {
-        this.redisTemplate = redisTemplate;
+    /**
+     * 命名空间版本号，不带缓存前缀，不会被 scan/deleteByPrefix 遍历到
+     */
+    private static final String NAMESPACE_PREFIX = "cache-ns:";
+
+    private static final int DEFAULT_SCAN_BATCH = 500;
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final ValueCodec codec;
+    private final LocalCacheManager localCacheManager;
+    private final DistributedLock distributedLock;
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    private final long loadLockMillis;
+    private final long loadWaitMillis;
+    private final double refreshBeta;
+    private final int batchChunkSize;
+    private final long namespaceRefreshMillis;
+    private final ConcurrentHashMap<String, NamespaceVersion> namespaceVersions = new ConcurrentHashMap<>();
+
+    private final LongAdder l2Hits = new LongAdder();
+    private final LongAdder l2Misses = new LongAdder();
+
+    public CacheService(RedisTemplate<String, byte[]> cacheRedisTemplate,
+                        ValueCodec cacheValueCodec,
+                        ObjectProvider<LocalCacheManager> localCacheManager,
+                        DistributedLock distributedLock,
+                        @Value("${cache.load.lock-millis:5000}") long loadLockMillis,
+                        @Value("${cache.load.wait-millis:1000}") long loadWaitMillis,
+                        @Value("${cache.load.refresh-beta:1.0}") double refreshBeta,
+                        @Value("${cache.batch.chunk-size:200}") int batchChunkSize,
+                        @Value("${cache.namespace.version-refresh-millis:1000}") long namespaceRefreshMillis) {
+        if (batchChunkSize < 1) {
+            throw new IllegalArgumentException("批量操作分片大小必须大于0: " + batchChunkSize);
+        }
+        this.redisTemplate = cacheRedisTemplate;
+        this.codec = cacheValueCodec;
+        this.localCacheManager = localCacheManager.getIfAvailable();
+        this.distributedLock = distributedLock;
+        this.loadLockMillis = loadLockMillis;
+        this.loadWaitMillis = loadWaitMillis;
+        this.refreshBeta = refreshBeta;
+        this.batchChunkSize = batchChunkSize;
+        this.namespaceRefreshMillis = namespaceRefreshMillis;
     }
 
     // ==================== String类型操作 ====================
@@ -48,12 +123,13 @@ public class CacheService {
      */
     public void set(String key, Object value, Long expireTime, TimeUnit timeUnit) {
         String fullKey = CACHE_PREFIX + key;
-        String jsonValue = JsonUtils.toJson(value);
+        byte[] jsonValue = codec.encode(value);
         if (expireTime != null && expireTime > 0) {
             redisTemplate.opsForValue().set(fullKey, jsonValue, Duration.of(expireTime, timeUnit.toChronoUnit()));
         } else {
             redisTemplate.opsForValue().set(fullKey, jsonValue);
         }
+        invalidateLocal(key);
     }
 
     /**
@@ -61,8 +137,9 @@ public class CacheService {
      */
     public void set(String key, Object value, Duration duration) {
         String fullKey = CACHE_PREFIX + key;
-        String jsonValue = JsonUtils.toJson(value);
+        byte[] jsonValue = codec.encode(value);
         redisTemplate.opsForValue().set(fullKey, jsonValue, duration);
+        invalidateLocal(key);
     }
 
     /**
@@ -73,12 +150,27 @@ public class CacheService {
      * @return 值
      */
     public <T> T get(String key, Class<T> clazz) {
+        LocalCache localCache = localCacheFor(key);
+        if (localCache != null) {
+            T cached = localCache.get(key, clazz);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        long stamp = localCache != null ? localCache.invalidationStamp(key) : 0L;
         String fullKey = CACHE_PREFIX + key;
-        String value = redisTemplate.opsForValue().get(fullKey);
+        byte[] value = redisTemplate.opsForValue().get(fullKey);
         if (value == null) {
+            l2Misses.increment();
             return null;
         }
-        return JsonUtils.fromJson(value, clazz);
+        l2Hits.increment();
+        T result = codec.decode(value, clazz);
+        if (localCache != null) {
+            localCache.putIfNotInvalidated(key, result, stamp);
+        }
+        return result;
     }
 
     /**
@@ -89,6 +181,181 @@ public class CacheService {
         return Optional.ofNullable(value);
     }
 
+    // ==================== 缓存加载 ====================
+
+    /**
+     * 读取缓存，未命中时调用loader加载并写入缓存
+     *
+     * 防击穿：进程内同key并发未命中只调用一次loader；跨节点通过短时Redis互斥锁只让一个节点加载，
+     * 其它节点短暂等待其写入，等待超时则自行加载。
+     * 提前刷新（XFetch）：按上次加载耗时与剩余过期时间概率性地提前重新加载，热点key在过期前即被刷新，
+     * 刷新期间其它请求继续读取旧值。loader返回null时不写入缓存。
+     *
+     * @param key    键
+     * @param type   值类型
+     * @param ttl    过期时间
+     * @param loader 加载函数（通常查询数据库）
+     * @return 值
+     */
+    public <T> T getOrLoad(String key, Class<T> type, Duration ttl, Supplier<T> loader) {
+        LocalCache localCache = localCacheFor(key);
+        if (localCache != null) {
+            T cached = localCache.get(key, type);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        // 值、剩余过期时间、加载耗时一次往返读取
+        long stamp = localCache != null ? localCache.invalidationStamp(key) : 0L;
+        byte[] rawKey = rawKey(CACHE_PREFIX + key);
+        byte[] rawDeltaKey = rawKey(DELTA_PREFIX + key);
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.stringCommands().get(rawKey);
+            connection.keyCommands().pTtl(rawKey);
+            connection.stringCommands().get(rawDeltaKey);
+            return null;
+        });
+
+        byte[] value = (byte[]) results.get(0);
+        if (value == null) {
+            l2Misses.increment();
+            return singleFlight.execute(flightKey(key, type), () -> loadWithMutex(key, type, ttl, loader));
+        }
+        l2Hits.increment();
+
+        long remainingMillis = results.get(1) instanceof Long remaining ? remaining : -1L;
+        long deltaMillis = parseAsciiLong((byte[]) results.get(2));
+        String refreshFlight = REFRESH_FLIGHT_PREFIX + flightKey(key, type);
+        if (shouldRefreshEarly(remainingMillis, deltaMillis) && !singleFlight.isInFlight(refreshFlight)) {
+            T refreshed = singleFlight.execute(refreshFlight, () -> refreshIfLeader(key, ttl, loader));
+            if (refreshed != null) {
+                return refreshed;
+            }
+        }
+
+        T result = codec.decode(value, type);
+        if (localCache != null) {
+            localCache.putIfNotInvalidated(key, result, stamp);
+        }
+        return result;
+    }
+
+    /**
+     * 未命中时加载：持有互斥锁的节点加载，其它节点等待
+     */
+    private <T> T loadWithMutex(String key, Class<T> type, Duration ttl, Supplier<T> loader) {
+        String fullKey = CACHE_PREFIX + key;
+        String lockValue = UUID.randomUUID().toString();
+        if (distributedLock.tryLock(fullKey, lockValue, loadLockMillis, TimeUnit.MILLISECONDS)) {
+            try {
+                // 双重检查：可能刚由其它节点写入
+                byte[] value = redisTemplate.opsForValue().get(fullKey);
+                if (value != null) {
+                    return codec.decode(value, type);
+                }
+                return loadAndStore(key, ttl, loader);
+            } finally {
+                distributedLock.unlock(fullKey, lockValue);
+            }
+        }
+
+        long deadline = System.currentTimeMillis() + loadWaitMillis;
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(LOAD_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            byte[] value = redisTemplate.opsForValue().get(fullKey);
+            if (value != null) {
+                return codec.decode(value, type);
+            }
+        }
+        log.warn("等待其它节点加载缓存超时，自行加载: key={}", key);
+        return loadAndStore(key, ttl, loader);
+    }
+
+    /**
+     * 提前刷新：只有抢到互斥锁的节点刷新，未抢到返回null（调用方继续使用旧值）
+     */
+    private <T> T refreshIfLeader(String key, Duration ttl, Supplier<T> loader) {
+        String fullKey = CACHE_PREFIX + key;
+        String lockValue = UUID.randomUUID().toString();
+        if (!distributedLock.tryLock(fullKey, lockValue, loadLockMillis, TimeUnit.MILLISECONDS)) {
+            return null;
+        }
+        try {
+            return loadAndStore(key, ttl, loader);
+        } finally {
+            distributedLock.unlock(fullKey, lockValue);
+        }
+    }
+
+    /**
+     * 调用loader并写入缓存值与加载耗时
+     */
+    private <T> T loadAndStore(String key, Duration ttl, Supplier<T> loader) {
+        LocalCache localCache = localCacheFor(key);
+        long stamp = localCache != null ? localCache.invalidationStamp(key) : 0L;
+        long start = System.nanoTime();
+        T value = loader.get();
+        if (value == null) {
+            return null;
+        }
+        long deltaMillis = Math.max(1L, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        byte[] rawKey = rawKey(CACHE_PREFIX + key);
+        byte[] rawDeltaKey = rawKey(DELTA_PREFIX + key);
+        byte[] json = codec.encode(value);
+        byte[] delta = Long.toString(deltaMillis).getBytes(StandardCharsets.US_ASCII);
+        Expiration expiration = Expiration.from(ttl);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.stringCommands().set(rawKey, json, expiration, SetOption.upsert());
+            connection.stringCommands().set(rawDeltaKey, delta, expiration, SetOption.upsert());
+            return null;
+        });
+        if (localCache != null) {
+            // 加载或写入期间收到失效（其它节点写入了更新的值）时本节点只失效，不放入可能已过时的加载结果
+            localCacheManager.replace(key, value, stamp);
+        }
+        return value;
+    }
+
+    /**
+     * XFetch：剩余时间 <= -加载耗时 * beta * ln(rand) 时提前刷新，越接近过期、加载越慢，刷新概率越高
+     */
+    private boolean shouldRefreshEarly(long remainingMillis, long deltaMillis) {
+        if (remainingMillis <= 0 || deltaMillis <= 0 || refreshBeta <= 0) {
+            return false;
+        }
+        double gap = -deltaMillis * refreshBeta * Math.log(ThreadLocalRandom.current().nextDouble());
+        return gap >= remainingMillis;
+    }
+
+    /**
+     * 请求合并键：同一缓存键以不同类型读取时各自加载，不共享结果
+     */
+    private static String flightKey(String key, Class<?> type) {
+        return key + '\0' + type.getName();
+    }
+
+    private static long parseAsciiLong(byte[] value) {
+        if (value == null || value.length == 0) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(new String(value, StandardCharsets.US_ASCII));
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    private static byte[] rawKey(String fullKey) {
+        return fullKey.getBytes(StandardCharsets.UTF_8);
+    }
+
     /**
      * 删除缓存
      *
@@ -97,7 +364,9 @@ public class CacheService {
      */
     public boolean delete(String key) {
         String fullKey = CACHE_PREFIX + key;
-        return Boolean.TRUE.equals(redisTemplate.delete(fullKey));
+        boolean deleted = Boolean.TRUE.equals(redisTemplate.delete(fullKey));
+        invalidateLocal(key);
+        return deleted;
     }
 
     /**
@@ -107,10 +376,141 @@ public class CacheService {
      * @return 删除数量
      */
     public Long delete(Collection<String> keys) {
-        List<String> fullKeys = keys.stream()
-                .map(k -> CACHE_PREFIX + k)
-                .toList();
-        return redisTemplate.delete(fullKeys);
+        return mDelete(keys);
+    }
+
+    // ==================== 批量操作 ====================
+
+    /**
+     * 批量读取
+     *
+     * 先查一级缓存，其余键按分片大小拆成多条 MGET 并在同一个管道中发送，一次往返完成。
+     *
+     * @param keys 键列表
+     * @param type 值类型
+     * @return 按输入顺序的结果，未命中位置为null
+     */
+    public <T> MultiGetResult<T> mGet(List<String> keys, Class<T> type) {
+        int size = keys.size();
+        List<T> values = new ArrayList<>(Collections.nCopies(size, null));
+        if (size == 0) {
+            return new MultiGetResult<>(keys, values);
+        }
+
+        int[] pending = new int[size];
+        int pendingCount = 0;
+        for (int i = 0; i < size; i++) {
+            LocalCache localCache = localCacheFor(keys.get(i));
+            T cached = localCache != null ? localCache.get(keys.get(i), type) : null;
+            if (cached != null) {
+                values.set(i, cached);
+            } else {
+                pending[pendingCount++] = i;
+            }
+        }
+        if (pendingCount == 0) {
+            return new MultiGetResult<>(keys, values);
+        }
+
+        byte[][] rawKeys = new byte[pendingCount][];
+        long[] stamps = new long[pendingCount];
+        for (int i = 0; i < pendingCount; i++) {
+            String key = keys.get(pending[i]);
+            rawKeys[i] = rawKey(CACHE_PREFIX + key);
+            LocalCache localCache = localCacheFor(key);
+            stamps[i] = localCache != null ? localCache.invalidationStamp(key) : 0L;
+        }
+        List<Object> chunks = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int from = 0; from < rawKeys.length; from += batchChunkSize) {
+                int to = Math.min(from + batchChunkSize, rawKeys.length);
+                connection.stringCommands().mGet(Arrays.copyOfRange(rawKeys, from, to));
+            }
+            return null;
+        });
+
+        int index = 0;
+        for (Object chunk : chunks) {
+            for (Object raw : (List<?>) chunk) {
+                long stamp = stamps[index];
+                int position = pending[index++];
+                if (raw == null) {
+                    l2Misses.increment();
+                    continue;
+                }
+                l2Hits.increment();
+                T value = codec.decode((byte[]) raw, type);
+                values.set(position, value);
+                LocalCache localCache = localCacheFor(keys.get(position));
+                if (localCache != null) {
+                    localCache.putIfNotInvalidated(keys.get(position), value, stamp);
+                }
+            }
+        }
+        return new MultiGetResult<>(keys, values);
+    }
+
+    /**
+     * 批量写入（SET ... PX），按分片大小分批管道发送，每个分片一次往返；一级缓存失效只广播一条消息
+     *
+     * @param entries 键值（null值跳过）
+     * @param ttl     过期时间
+     */
+    public void mSet(Map<String, ?> entries, Duration ttl) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Expiration expiration = Expiration.from(ttl);
+        List<byte[]> rawKeys = new ArrayList<>(entries.size());
+        List<byte[]> rawValues = new ArrayList<>(entries.size());
+        for (Map.Entry<String, ?> entry : entries.entrySet()) {
+            if (entry.getValue() != null) {
+                rawKeys.add(rawKey(CACHE_PREFIX + entry.getKey()));
+                rawValues.add(codec.encode(entry.getValue()));
+            }
+        }
+        for (int from = 0; from < rawKeys.size(); from += batchChunkSize) {
+            int start = from;
+            int end = Math.min(from + batchChunkSize, rawKeys.size());
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (int i = start; i < end; i++) {
+                    connection.stringCommands().set(rawKeys.get(i), rawValues.get(i), expiration, SetOption.upsert());
+                }
+                return null;
+            });
+        }
+        invalidateLocal(entries.keySet());
+    }
+
+    /**
+     * 批量删除，按分片大小拆成多条 DEL 并在同一个管道中发送；一级缓存失效只广播一条消息
+     *
+     * @param keys 键列表
+     * @return 删除数量
+     */
+    public long mDelete(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return 0L;
+        }
+        byte[][] rawKeys = new byte[keys.size()][];
+        int i = 0;
+        for (String key : keys) {
+            rawKeys[i++] = rawKey(CACHE_PREFIX + key);
+        }
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int from = 0; from < rawKeys.length; from += batchChunkSize) {
+                int to = Math.min(from + batchChunkSize, rawKeys.length);
+                connection.keyCommands().del(Arrays.copyOfRange(rawKeys, from, to));
+            }
+            return null;
+        });
+        invalidateLocal(keys);
+        long deleted = 0L;
+        for (Object result : results) {
+            if (result instanceof Long count) {
+                deleted += count;
+            }
+        }
+        return deleted;
     }
 
     // ==================== Hash类型操作 ====================
@@ -124,8 +524,8 @@ public class CacheService {
      */
     public void hSet(String key, String hashKey, Object value) {
         String fullKey = CACHE_PREFIX + key;
-        String jsonValue = JsonUtils.toJson(value);
-        redisTemplate.opsForHash().put(fullKey, hashKey, jsonValue);
+        byte[] jsonValue = codec.encode(value);
+        redisTemplate.<String, byte[]>opsForHash().put(fullKey, hashKey, jsonValue);
     }
 
     /**
@@ -138,11 +538,11 @@ public class CacheService {
      */
     public <T> T hGet(String key, String hashKey, Class<T> clazz) {
         String fullKey = CACHE_PREFIX + key;
-        Object value = redisTemplate.opsForHash().get(fullKey, hashKey);
+        byte[] value = redisTemplate.<String, byte[]>opsForHash().get(fullKey, hashKey);
         if (value == null) {
             return null;
         }
-        return JsonUtils.fromJson(value.toString(), clazz);
+        return codec.decode(value, clazz);
     }
 
     /**
@@ -154,13 +554,13 @@ public class CacheService {
      */
     public <T> List<T> hGetAll(String key, Class<T> clazz) {
         String fullKey = CACHE_PREFIX + key;
-        Map<Object, Object> entries = redisTemplate.opsForHash().entries(fullKey);
+        Map<String, byte[]> entries = redisTemplate.<String, byte[]>opsForHash().entries(fullKey);
         if (entries.isEmpty()) {
             return Collections.emptyList();
         }
-        List<T> result = new ArrayList<>();
-        for (Object value : entries.values()) {
-            result.add(JsonUtils.fromJson(value.toString(), clazz));
+        List<T> result = new ArrayList<>(entries.size());
+        for (byte[] value : entries.values()) {
+            result.add(codec.decode(value, clazz));
         }
         return result;
     }
@@ -188,10 +588,7 @@ public class CacheService {
      */
     public Long lPush(String key, Object... values) {
         String fullKey = CACHE_PREFIX + key;
-        String[] jsonValues = Arrays.stream(values)
-                .map(JsonUtils::toJson)
-                .toArray(String[]::new);
-        return redisTemplate.opsForList().leftPushAll(fullKey, jsonValues);
+        return redisTemplate.opsForList().leftPushAll(fullKey, encodeAll(values));
     }
 
     /**
@@ -203,10 +600,7 @@ public class CacheService {
      */
     public Long rPush(String key, Object... values) {
         String fullKey = CACHE_PREFIX + key;
-        String[] jsonValues = Arrays.stream(values)
-                .map(JsonUtils::toJson)
-                .toArray(String[]::new);
-        return redisTemplate.opsForList().rightPushAll(fullKey, jsonValues);
+        return redisTemplate.opsForList().rightPushAll(fullKey, encodeAll(values));
     }
 
     /**
@@ -220,13 +614,15 @@ public class CacheService {
      */
     public <T> List<T> lRange(String key, long start, long end, Class<T> clazz) {
         String fullKey = CACHE_PREFIX + key;
-        List<String> values = redisTemplate.opsForList().range(fullKey, start, end);
+        List<byte[]> values = redisTemplate.opsForList().range(fullKey, start, end);
         if (values == null || values.isEmpty()) {
             return Collections.emptyList();
         }
-        return values.stream()
-                .map(v -> JsonUtils.fromJson(v, clazz))
-                .toList();
+        List<T> result = new ArrayList<>(values.size());
+        for (byte[] value : values) {
+            result.add(codec.decode(value, clazz));
+        }
+        return result;
     }
 
     // ==================== Set类型操作 ====================
@@ -240,10 +636,7 @@ public class CacheService {
      */
     public Long sAdd(String key, Object... values) {
         String fullKey = CACHE_PREFIX + key;
-        String[] jsonValues = Arrays.stream(values)
-                .map(JsonUtils::toJson)
-                .toArray(String[]::new);
-        return redisTemplate.opsForSet().add(fullKey, jsonValues);
+        return redisTemplate.opsForSet().add(fullKey, encodeAll(values));
     }
 
     /**
@@ -255,13 +648,13 @@ public class CacheService {
      */
     public <T> Set<T> sMembers(String key, Class<T> clazz) {
         String fullKey = CACHE_PREFIX + key;
-        Set<String> values = redisTemplate.opsForSet().members(fullKey);
+        Set<byte[]> values = redisTemplate.opsForSet().members(fullKey);
         if (values == null || values.isEmpty()) {
             return Collections.emptySet();
         }
         Set<T> result = new HashSet<>();
-        for (String value : values) {
-            result.add(JsonUtils.fromJson(value, clazz));
+        for (byte[] value : values) {
+            result.add(codec.decode(value, clazz));
         }
         return result;
     }
@@ -275,7 +668,7 @@ public class CacheService {
      */
     public boolean sIsMember(String key, Object value) {
         String fullKey = CACHE_PREFIX + key;
-        String jsonValue = JsonUtils.toJson(value);
+        byte[] jsonValue = codec.encode(value);
         return Boolean.TRUE.equals(redisTemplate.opsForSet().isMember(fullKey, jsonValue));
     }
 
@@ -318,6 +711,17 @@ public class CacheService {
 
     // ==================== 工具方法 ====================
 
+    /**
+     * 批量编码
+     */
+    private byte[][] encodeAll(Object[] values) {
+        byte[][] encoded = new byte[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            encoded[i] = codec.encode(values[i]);
+        }
+        return encoded;
+    }
+
     /**
      * 获取完整的缓存键
      */
@@ -326,36 +730,193 @@ public class CacheService {
     }
 
     /**
-     * 根据前缀模糊查找键
+     * 根据前缀查找键（基于SCAN，不阻塞Redis；结果全部加载到内存，大量键请使用 {@link #scan}）
      *
      * @param prefix 前缀
      * @return 键集合
      */
     public Set<String> keys(String prefix) {
-        String fullPrefix = CACHE_PREFIX + prefix + "*";
-        Set<String> keys = redisTemplate.keys(fullPrefix);
-        if (keys == null || keys.isEmpty()) {
-            return Collections.emptySet();
+        try (Stream<String> keys = scan(prefix, DEFAULT_SCAN_BATCH)) {
+            return keys.collect(Collectors.toSet());
         }
-        // 去掉前缀
-        Set<String> result = new HashSet<>();
-        for (String key : keys) {
-            result.add(key.substring(CACHE_PREFIX.length()));
-        }
-        return result;
     }
 
     /**
-     * 根据前缀模糊删除键
+     * 按前缀游标遍历键（SCAN），惰性加载，返回的键已去掉缓存前缀
+     *
+     * 返回的Stream持有Redis游标，必须关闭（try-with-resources）。
+     * SCAN 保证遍历期间一直存在的键至少返回一次，可能重复返回。
+     *
+     * @param prefix    前缀
+     * @param batchSize 每次SCAN的COUNT提示
+     * @return 键流
+     */
+    public Stream<String> scan(String prefix, int batchSize) {
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(CACHE_PREFIX + escapeGlob(prefix) + "*")
+                .count(batchSize)
+                .build();
+        Cursor<String> cursor = redisTemplate.scan(options);
+        return cursor.stream()
+                .map(key -> key.substring(CACHE_PREFIX.length()));
+    }
+
+    /**
+     * 根据前缀删除键
      *
      * @param prefix 前缀
      * @return 删除数量
      */
     public Long deleteByPrefix(String prefix) {
-        Set<String> keys = keys(prefix);
-        if (keys.isEmpty()) {
-            return 0L;
+        return deleteByPrefix(prefix, DEFAULT_SCAN_BATCH, deleted -> {
+        });
+    }
+
+    /**
+     * 根据前缀删除键：SCAN 遍历，每批键用一条 UNLINK 异步释放内存，不阻塞Redis
+     *
+     * @param prefix    前缀
+     * @param batchSize 每批键数量
+     * @param progress  每批删除后回调累计删除数量
+     * @return 删除数量
+     */
+    public long deleteByPrefix(String prefix, int batchSize, LongConsumer progress) {
+        if (localCacheManager != null) {
+            localCacheManager.invalidatePrefix(prefix);
+        }
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(CACHE_PREFIX + escapeGlob(prefix) + "*")
+                .count(batchSize)
+                .build();
+        long deleted = 0L;
+        List<byte[]> batch = new ArrayList<>(batchSize);
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(rawKey(cursor.next()));
+                if (batch.size() >= batchSize) {
+                    deleted += unlink(batch);
+                    batch.clear();
+                    progress.accept(deleted);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            deleted += unlink(batch);
+            progress.accept(deleted);
+        }
+        log.info("按前缀删除缓存完成: prefix={}, deleted={}", prefix, deleted);
+        return deleted;
+    }
+
+    private long unlink(List<byte[]> rawKeys) {
+        Long unlinked = redisTemplate.execute((RedisCallback<Long>) connection ->
+                connection.keyCommands().unlink(rawKeys.toArray(new byte[0][])));
+        return unlinked != null ? unlinked : 0L;
+    }
+
+    /**
+     * 转义SCAN匹配模式中的通配符
+     */
+    private static String escapeGlob(String value) {
+        StringBuilder escaped = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '*' || c == '?' || c == '[' || c == ']' || c == '\\') {
+                if (escaped == null) {
+                    escaped = new StringBuilder(value.length() + 8).append(value, 0, i);
+                }
+                escaped.append('\\');
+            }
+            if (escaped != null) {
+                escaped.append(c);
+            }
+        }
+        return escaped != null ? escaped.toString() : value;
+    }
+
+    // ==================== 命名空间版本 ====================
+
+    /**
+     * 生成带版本号的键：命名空间:版本号:键
+     *
+     * 整个命名空间失效时只需递增版本号（{@link #invalidateNamespace}），旧版本的键不再被访问，随TTL自然过期，
+     * 因此通过该方法生成的键必须设置过期时间。版本号在本节点缓存 cache.namespace.version-refresh-millis，
+     * 其它节点失效命名空间后最多延迟该时间生效。
+     */
+    public String namespacedKey(String namespace, String key) {
+        return namespace + ':' + namespaceVersion(namespace) + ':' + key;
+    }
+
+    /**
+     * 失效整个命名空间（O(1)），返回新版本号
+     */
+    public long invalidateNamespace(String namespace) {
+        Long version = redisTemplate.execute((RedisCallback<Long>) connection ->
+                connection.stringCommands().incr(rawKey(NAMESPACE_PREFIX + namespace)));
+        long current = version != null ? version : 0L;
+        namespaceVersions.put(namespace, new NamespaceVersion(current, System.currentTimeMillis()));
+        if (localCacheManager != null) {
+            localCacheManager.invalidatePrefix(namespace + ':');
+        }
+        return current;
+    }
+
+    private long namespaceVersion(String namespace) {
+        long now = System.currentTimeMillis();
+        NamespaceVersion cached = namespaceVersions.get(namespace);
+        if (cached != null && now - cached.fetchedAt() < namespaceRefreshMillis) {
+            return cached.version();
+        }
+        byte[] raw = redisTemplate.execute((RedisCallback<byte[]>) connection ->
+                connection.stringCommands().get(rawKey(NAMESPACE_PREFIX + namespace)));
+        long version = parseAsciiLong(raw);
+        namespaceVersions.put(namespace, new NamespaceVersion(version, now));
+        return version;
+    }
+
+    private record NamespaceVersion(long version, long fetchedAt) {
+    }
+
+    // ==================== 统计 ====================
+
+    /**
+     * 各级缓存命中统计（L1为所有命名空间之和）
+     */
+    public CacheStats getStats() {
+        long l1Hits = 0;
+        long l1Misses = 0;
+        if (localCacheManager != null) {
+            for (LocalCache cache : localCacheManager.getCaches().values()) {
+                l1Hits += cache.getHits();
+                l1Misses += cache.getMisses();
+            }
+        }
+        return new CacheStats(l1Hits, l1Misses, l2Hits.sum(), l2Misses.sum());
+    }
+
+    /**
+     * 各命名空间的一级缓存（未启用时为空），用于按命名空间查看命中率与容量
+     */
+    public Map<String, LocalCache> getLocalCaches() {
+        return localCacheManager != null ? localCacheManager.getCaches() : Collections.emptyMap();
+    }
+
+    private LocalCache localCacheFor(String key) {
+        return localCacheManager != null ? localCacheManager.cacheFor(key) : null;
+    }
+
+    private void invalidateLocal(String key) {
+        if (localCacheManager != null) {
+            localCacheManager.invalidate(key);
+        }
+    }
+
+    /**
+     * 批量失效一级缓存，跨节点只广播一条消息
+     */
+    private void invalidateLocal(Collection<String> keys) {
+        if (localCacheManager != null) {
+            localCacheManager.invalidateAll(keys);
         }
-        return delete(keys);
     }
 }
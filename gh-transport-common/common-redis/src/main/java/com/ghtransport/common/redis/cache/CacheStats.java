@@ -0,0 +1,22 @@
+package com.ghtransport.common.redis.cache;
+
+/**
+ * 缓存命中统计（L1为进程内缓存，L2为Redis）
+ *
+ * L1只统计启用了一级缓存的命名空间，L1未命中后才会访问L2。
+ */
+public record CacheStats(long l1Hits, long l1Misses, long l2Hits, long l2Misses) {
+
+    public double l1HitRate() {
+        return rate(l1Hits, l1Misses);
+    }
+
+    public double l2HitRate() {
+        return rate(l2Hits, l2Misses);
+    }
+
+    private static double rate(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0D : (double) hits / total;
+    }
+}
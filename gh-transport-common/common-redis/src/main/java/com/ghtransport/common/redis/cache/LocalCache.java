@@ -0,0 +1,189 @@
+package com.ghtransport.common.redis.cache;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 进程内一级缓存（单个命名空间）
+ *
+ * 保存反序列化后的对象，按写入时间过期；容量达到上限时先清理已过期条目，仍超限则淘汰约10%的条目。
+ * 缓存对象在调用方之间共享，只适合放置读多写少且调用方不修改的数据（客户资料、角色定义等）。
+ *
+ * 从Redis回填时先取失效版本（{@link #invalidationStamp}），读取后用 {@link #putIfNotInvalidated} 写入：
+ * 读取期间该键收到过失效则不写入，避免旧值重新进入一级缓存并一直保留到TTL过期。
+ * 版本按键哈希分段保存（同段的键互相影响，只会多放弃一次回填），按前缀失效和清空时整体递增。
+ */
+public final class LocalCache {
+
+    /**
+     * 失效版本分段数（2的幂）
+     */
+    private static final int VERSION_STRIPES = 1024;
+
+    private final String namespace;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock evictLock = new ReentrantLock();
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+    private final AtomicLong epoch = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public LocalCache(String namespace, int maxSize, long ttlMillis) {
+        this(namespace, maxSize, ttlMillis, System::currentTimeMillis);
+    }
+
+    LocalCache(String namespace, int maxSize, long ttlMillis, LongSupplier clock) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("缓存容量必须大于0: " + maxSize);
+        }
+        if (ttlMillis < 1) {
+            throw new IllegalArgumentException("缓存过期时间必须大于0: " + ttlMillis);
+        }
+        this.namespace = namespace;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * 获取未过期且类型匹配的值，未命中返回null
+     */
+    public <T> T get(String key, Class<T> clazz) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expireAt <= clock.getAsLong()) {
+            entries.remove(key, entry);
+            misses.increment();
+            return null;
+        }
+        if (!clazz.isInstance(entry.value)) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return clazz.cast(entry.value);
+    }
+
+    public void put(String key, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (entries.size() >= maxSize && !entries.containsKey(key)) {
+            evict();
+        }
+        entries.put(key, new Entry(value, clock.getAsLong() + ttlMillis));
+    }
+
+    /**
+     * 键当前的失效版本，读取Redis之前获取
+     */
+    public long invalidationStamp(String key) {
+        return versions.get(stripe(key)) + epoch.get();
+    }
+
+    /**
+     * 自 stamp 之后该键没有被失效时写入
+     *
+     * 写入后再检查一次：失效先递增版本再删除条目，与写入并发时要么这里检测到版本变化并撤回，
+     * 要么失效的删除发生在写入之后。
+     *
+     * @return 是否写入
+     */
+    public boolean putIfNotInvalidated(String key, Object value, long stamp) {
+        if (value == null || invalidationStamp(key) != stamp) {
+            return false;
+        }
+        if (entries.size() >= maxSize && !entries.containsKey(key)) {
+            evict();
+        }
+        Entry entry = new Entry(value, clock.getAsLong() + ttlMillis);
+        entries.put(key, entry);
+        if (invalidationStamp(key) != stamp) {
+            entries.remove(key, entry);
+            return false;
+        }
+        return true;
+    }
+
+    public void invalidate(String key) {
+        versions.incrementAndGet(stripe(key));
+        entries.remove(key);
+    }
+
+    /**
+     * 按前缀失效
+     *
+     * @return 失效数量
+     */
+    public int invalidatePrefix(String prefix) {
+        epoch.incrementAndGet();
+        int removed = 0;
+        Iterator<String> iterator = entries.keySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().startsWith(prefix)) {
+                iterator.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public void clear() {
+        epoch.incrementAndGet();
+        entries.clear();
+    }
+
+    public String getNamespace() {
+        return namespace;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private void evict() {
+        if (!evictLock.tryLock()) {
+            return;
+        }
+        try {
+            long now = clock.getAsLong();
+            entries.values().removeIf(entry -> entry.expireAt <= now);
+            int target = maxSize - Math.max(1, maxSize / 10);
+            Iterator<String> iterator = entries.keySet().iterator();
+            while (entries.size() > target && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        } finally {
+            evictLock.unlock();
+        }
+    }
+
+    private static int stripe(String key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (VERSION_STRIPES - 1);
+    }
+
+    private record Entry(Object value, long expireAt) {
+    }
+}
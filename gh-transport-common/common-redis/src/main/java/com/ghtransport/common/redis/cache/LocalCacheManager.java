@@ -0,0 +1,171 @@
+package com.ghtransport.common.redis.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 一级缓存管理
+ *
+ * 按命名空间持有 {@link LocalCache}，写入或删除缓存时先失效本节点，再通过Redis发布订阅通知其它节点失效。
+ * 消息格式：节点标识|操作(K=单键,M=多键,P=前缀)|键，多键以换行分隔，本节点发出的消息收到后忽略。
+ * 发布订阅不保证送达，消息丢失时依赖命名空间的TTL兜底。
+ */
+@Slf4j
+public class LocalCacheManager implements MessageListener {
+
+    private static final char SEPARATOR = '|';
+    private static final char OP_KEY = 'K';
+    private static final char OP_PREFIX = 'P';
+    private static final char OP_KEYS = 'M';
+    private static final char KEY_SEPARATOR = '\n';
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final String channel;
+    private final StringRedisTemplate redisTemplate;
+    private final Map<String, LocalCache> caches;
+
+    public LocalCacheManager(LocalCacheProperties properties, StringRedisTemplate redisTemplate) {
+        this.channel = properties.getChannel();
+        this.redisTemplate = redisTemplate;
+        Map<String, LocalCache> map = new LinkedHashMap<>();
+        properties.getNamespaces().forEach((namespace, policy) ->
+                map.put(namespace, new LocalCache(namespace, policy.getMaxSize(), policy.getTtl().toMillis())));
+        this.caches = Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * 获取键所属命名空间的一级缓存，未配置返回null
+     */
+    public LocalCache cacheFor(String key) {
+        int index = key.indexOf(':');
+        return caches.get(index < 0 ? key : key.substring(0, index));
+    }
+
+    /**
+     * 失效单个键（本节点 + 广播）
+     */
+    public void invalidate(String key) {
+        LocalCache cache = cacheFor(key);
+        if (cache == null) {
+            return;
+        }
+        cache.invalidate(key);
+        publish(OP_KEY, key);
+    }
+
+    /**
+     * 写入Redis后用新值替换本节点的值并通知其它节点失效
+     *
+     * @param stamp 写入Redis之前取得的失效版本；之后本节点收到过该键的失效时只失效不写入
+     */
+    public void replace(String key, Object value, long stamp) {
+        LocalCache cache = cacheFor(key);
+        if (cache == null) {
+            return;
+        }
+        if (!cache.putIfNotInvalidated(key, value, stamp)) {
+            cache.invalidate(key);
+        }
+        publish(OP_KEY, key);
+    }
+
+    /**
+     * 批量失效（本节点 + 一条广播消息），只广播已配置命名空间的键
+     */
+    public void invalidateAll(Collection<String> keys) {
+        StringBuilder body = null;
+        for (String key : keys) {
+            LocalCache cache = cacheFor(key);
+            if (cache == null) {
+                continue;
+            }
+            cache.invalidate(key);
+            if (body == null) {
+                body = new StringBuilder(keys.size() * 16);
+            } else {
+                body.append(KEY_SEPARATOR);
+            }
+            body.append(key);
+        }
+        if (body != null) {
+            publish(OP_KEYS, body.toString());
+        }
+    }
+
+    /**
+     * 按前缀失效（本节点 + 广播）
+     */
+    public void invalidatePrefix(String prefix) {
+        invalidatePrefixLocally(prefix);
+        publish(OP_PREFIX, prefix);
+    }
+
+    /**
+     * 各命名空间的一级缓存
+     */
+    public Map<String, LocalCache> getCaches() {
+        return caches;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int first = body.indexOf(SEPARATOR);
+        if (first < 0 || first + 2 >= body.length() || body.charAt(first + 2) != SEPARATOR) {
+            log.warn("无法识别的缓存失效消息: {}", body);
+            return;
+        }
+        if (body.startsWith(nodeId) && first == nodeId.length()) {
+            return;
+        }
+        char op = body.charAt(first + 1);
+        String key = body.substring(first + 3);
+        if (op == OP_KEY) {
+            invalidateLocally(key);
+        } else if (op == OP_KEYS) {
+            int start = 0;
+            for (int end = key.indexOf(KEY_SEPARATOR); end >= 0; end = key.indexOf(KEY_SEPARATOR, start)) {
+                invalidateLocally(key.substring(start, end));
+                start = end + 1;
+            }
+            invalidateLocally(key.substring(start));
+        } else if (op == OP_PREFIX) {
+            invalidatePrefixLocally(key);
+        }
+    }
+
+    private void invalidateLocally(String key) {
+        LocalCache cache = cacheFor(key);
+        if (cache != null) {
+            cache.invalidate(key);
+        }
+    }
+
+    private void invalidatePrefixLocally(String prefix) {
+        for (LocalCache cache : caches.values()) {
+            cache.invalidatePrefix(prefix);
+        }
+    }
+
+    private void publish(char op, String key) {
+        try {
+            redisTemplate.convertAndSend(channel, nodeId + SEPARATOR + op + SEPARATOR + key);
+        } catch (Exception e) {
+            // 广播失败不影响写入，其它节点依赖TTL过期
+            log.warn("发布缓存失效消息失败: key={}", key, e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.ghtransport.common.redis.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 一级缓存配置
+ *
+ * <pre>
+ * cache:
+ *   local:
+ *     enabled: true
+ *     namespaces:
+ *       customer: { max-size: 10000, ttl: 5m }
+ *       role: { max-size: 500, ttl: 10m }
+ * </pre>
+ * 命名空间为缓存键第一个冒号前的部分（customer:1001 的命名空间为 customer），只有配置过的命名空间启用一级缓存。
+ */
+@Data
+@ConfigurationProperties(prefix = "cache.local")
+public class LocalCacheProperties {
+
+    /**
+     * 是否启用一级缓存
+     */
+    private boolean enabled = false;
+
+    /**
+     * 跨节点失效消息的频道
+     */
+    private String channel = "cache:invalidate";
+
+    /**
+     * 各命名空间的缓存策略
+     */
+    private Map<String, Policy> namespaces = new LinkedHashMap<>();
+
+    @Data
+    public static class Policy {
+
+        /**
+         * 最大条目数
+         */
+        private int maxSize = 10_000;
+
+        /**
+         * 写入后过期时间，同时是失效消息丢失时脏数据的最长存活时间
+         */
+        private Duration ttl = Duration.ofMinutes(1);
+    }
+}
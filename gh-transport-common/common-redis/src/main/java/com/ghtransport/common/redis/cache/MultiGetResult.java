@@ -0,0 +1,61 @@
+package com.ghtransport.common.redis.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 批量读取结果
+ *
+ * values与keys一一对应（按输入顺序），未命中位置为null。
+ */
+public record MultiGetResult<T>(List<String> keys, List<T> values) {
+
+    public MultiGetResult {
+        keys = Collections.unmodifiableList(keys);
+        values = Collections.unmodifiableList(values);
+    }
+
+    public boolean isHit(int index) {
+        return values.get(index) != null;
+    }
+
+    /**
+     * 未命中的键（按输入顺序），通常用于回源查询后 mSet 回填
+     */
+    public List<String> missedKeys() {
+        List<String> missed = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (values.get(i) == null) {
+                missed.add(keys.get(i));
+            }
+        }
+        return missed;
+    }
+
+    /**
+     * 命中的键值（按输入顺序）
+     */
+    public Map<String, T> hits() {
+        Map<String, T> hits = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            T value = values.get(i);
+            if (value != null) {
+                hits.put(keys.get(i), value);
+            }
+        }
+        return hits;
+    }
+
+    public int hitCount() {
+        int count = 0;
+        for (T value : values) {
+            if (value != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
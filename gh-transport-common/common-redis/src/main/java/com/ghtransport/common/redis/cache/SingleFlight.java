@@ -0,0 +1,60 @@
+package com.ghtransport.common.redis.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 进程内请求合并
+ *
+ * 同一个key的并发调用只执行一次，其余调用等待并共享结果（包括异常）；执行结束后立即移除，不缓存结果。
+ */
+public final class SingleFlight {
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> calls = new ConcurrentHashMap<>();
+
+    /**
+     * 执行或加入正在进行的同key调用
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> supplier) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = calls.putIfAbsent(key, future);
+        if (existing != null) {
+            return (T) await(existing);
+        }
+        try {
+            T value = supplier.get();
+            future.complete(value);
+            return value;
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(key, future);
+        }
+    }
+
+    /**
+     * 同key调用是否正在进行
+     */
+    public boolean isInFlight(String key) {
+        return calls.containsKey(key);
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.ghtransport.common.redis.codec;
+
+import com.ghtransport.common.core.util.JsonByteWriter;
+import com.ghtransport.common.core.util.JsonUtils;
+
+import java.util.Arrays;
+
+/**
+ * 带版本头的缓存值编码
+ *
+ * <pre>
+ * 0xC1 | 版本(1) | 格式(1=JSON, 2=JSONB) | 压缩算法(0=不压缩) | [原始长度, 4字节大端，仅压缩时] | 数据
+ * </pre>
+ * 0xC1 在UTF-8中不会出现，JSON文本也不会以它开头，因此不带头的字节按原JSON格式读取，
+ * 迁移期间新旧格式可以共存。超过压缩阈值且压缩后更小时才压缩。
+ *
+ * 写入格式为JSON且不压缩时不写头，输出与原格式完全一致，可在所有节点升级前使用。
+ */
+public final class FramedValueCodec implements ValueCodec {
+
+    static final byte MAGIC = (byte) 0xC1;
+    static final byte VERSION = 1;
+    static final byte FORMAT_JSON = 1;
+    static final byte FORMAT_JSONB = 2;
+    static final byte NO_COMPRESSION = 0;
+
+    private static final int HEADER_LENGTH = 4;
+    private static final int ORIGINAL_LENGTH_BYTES = 4;
+
+    private final byte format;
+    private final ValueCodec writer;
+    private final PayloadCompressor compressor;
+    private final int compressThreshold;
+
+    /**
+     * @param format            写入格式：json / jsonb
+     * @param compressor        压缩算法，null表示不压缩
+     * @param compressThreshold 压缩阈值（字节），小于0表示不压缩
+     */
+    public FramedValueCodec(String format, PayloadCompressor compressor, int compressThreshold) {
+        if ("jsonb".equalsIgnoreCase(format)) {
+            this.format = FORMAT_JSONB;
+            this.writer = JsonbValueCodec.INSTANCE;
+        } else if ("json".equalsIgnoreCase(format)) {
+            this.format = FORMAT_JSON;
+            this.writer = JsonValueCodec.INSTANCE;
+        } else {
+            throw new IllegalArgumentException("不支持的缓存编码格式: " + format);
+        }
+        this.compressor = compressor;
+        this.compressThreshold = compressor != null ? compressThreshold : -1;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        if (format == FORMAT_JSON) {
+            // JSON写入线程复用的缓冲区，压缩或加头时直接读取缓冲区，不再分配中间数组
+            JsonByteWriter json = JsonUtils.localWriter().write(value);
+            return frame(json.array(), json.length());
+        }
+        byte[] payload = writer.encode(value);
+        return frame(payload, payload.length);
+    }
+
+    /**
+     * 对 payload[0, length) 按阈值压缩并加头；JSON且不压缩时原样返回（复制一份）
+     */
+    private byte[] frame(byte[] payload, int length) {
+        if (compressThreshold >= 0 && length >= compressThreshold) {
+            byte[] compressed = compressor.compress(payload, 0, length);
+            if (compressed.length + ORIGINAL_LENGTH_BYTES < length) {
+                byte[] framed = new byte[HEADER_LENGTH + ORIGINAL_LENGTH_BYTES + compressed.length];
+                writeHeader(framed, compressor.id());
+                writeInt(framed, HEADER_LENGTH, length);
+                System.arraycopy(compressed, 0, framed, HEADER_LENGTH + ORIGINAL_LENGTH_BYTES, compressed.length);
+                return framed;
+            }
+        }
+        if (format == FORMAT_JSON) {
+            return Arrays.copyOf(payload, length);
+        }
+        byte[] framed = new byte[HEADER_LENGTH + length];
+        writeHeader(framed, NO_COMPRESSION);
+        System.arraycopy(payload, 0, framed, HEADER_LENGTH, length);
+        return framed;
+    }
+
+    @Override
+    public <T> T decode(byte[] bytes, Class<T> type) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return JsonValueCodec.INSTANCE.decode(bytes, type);
+        }
+        if (bytes.length < HEADER_LENGTH || bytes[1] != VERSION) {
+            throw new IllegalStateException("不支持的缓存编码版本: " + (bytes.length > 1 ? bytes[1] : -1));
+        }
+
+        byte[] payload;
+        byte compression = bytes[3];
+        if (compression == NO_COMPRESSION) {
+            payload = Arrays.copyOfRange(bytes, HEADER_LENGTH, bytes.length);
+        } else {
+            if (compressor == null || compressor.id() != compression) {
+                throw new IllegalStateException("未配置缓存值压缩算法: " + compression);
+            }
+            int originalLength = readInt(bytes, HEADER_LENGTH);
+            int offset = HEADER_LENGTH + ORIGINAL_LENGTH_BYTES;
+            payload = compressor.decompress(bytes, offset, bytes.length - offset, originalLength);
+        }
+
+        return switch (bytes[2]) {
+            case FORMAT_JSON -> JsonValueCodec.INSTANCE.decode(payload, type);
+            case FORMAT_JSONB -> JsonbValueCodec.INSTANCE.decode(payload, type);
+            default -> throw new IllegalStateException("不支持的缓存编码格式: " + bytes[2]);
+        };
+    }
+
+    private void writeHeader(byte[] target, byte compression) {
+        target[0] = MAGIC;
+        target[1] = VERSION;
+        target[2] = format;
+        target[3] = compression;
+    }
+
+    private static void writeInt(byte[] target, int offset, int value) {
+        target[offset] = (byte) (value >>> 24);
+        target[offset + 1] = (byte) (value >>> 16);
+        target[offset + 2] = (byte) (value >>> 8);
+        target[offset + 3] = (byte) value;
+    }
+
+    private static int readInt(byte[] source, int offset) {
+        return ((source[offset] & 0xFF) << 24)
+                | ((source[offset + 1] & 0xFF) << 16)
+                | ((source[offset + 2] & 0xFF) << 8)
+                | (source[offset + 3] & 0xFF);
+    }
+}
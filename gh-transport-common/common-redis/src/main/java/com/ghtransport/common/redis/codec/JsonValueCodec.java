@@ -0,0 +1,24 @@
+package com.ghtransport.common.redis.codec;
+
+import com.ghtransport.common.core.util.JsonUtils;
+
+/**
+ * UTF-8 JSON文本编码（原缓存格式）
+ */
+public final class JsonValueCodec implements ValueCodec {
+
+    public static final JsonValueCodec INSTANCE = new JsonValueCodec();
+
+    private JsonValueCodec() {
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        return JsonUtils.toJsonBytes(value);
+    }
+
+    @Override
+    public <T> T decode(byte[] bytes, Class<T> type) {
+        return JsonUtils.fromJson(bytes, type);
+    }
+}
@@ -0,0 +1,27 @@
+package com.ghtransport.common.redis.codec;
+
+import com.alibaba.fastjson2.JSONB;
+
+/**
+ * fastjson2 JSONB二进制编码，不写入类名，体积与解析开销均小于JSON文本
+ */
+public final class JsonbValueCodec implements ValueCodec {
+
+    public static final JsonbValueCodec INSTANCE = new JsonbValueCodec();
+
+    private JsonbValueCodec() {
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        return JSONB.toBytes(value);
+    }
+
+    @Override
+    public <T> T decode(byte[] bytes, Class<T> type) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        return JSONB.parseObject(bytes, type);
+    }
+}
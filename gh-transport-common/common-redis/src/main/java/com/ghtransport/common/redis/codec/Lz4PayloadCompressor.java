@@ -0,0 +1,46 @@
+package com.ghtransport.common.redis.codec;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+
+import java.util.Arrays;
+
+/**
+ * LZ4压缩，压缩与解压速度远高于网络传输，适合缓存值
+ */
+public final class Lz4PayloadCompressor implements PayloadCompressor {
+
+    public static final byte ID = 1;
+
+    private final LZ4Compressor compressor;
+    private final LZ4SafeDecompressor decompressor;
+
+    public Lz4PayloadCompressor() {
+        LZ4Factory factory = LZ4Factory.fastestInstance();
+        this.compressor = factory.fastCompressor();
+        this.decompressor = factory.safeDecompressor();
+    }
+
+    @Override
+    public byte id() {
+        return ID;
+    }
+
+    @Override
+    public byte[] compress(byte[] source, int offset, int length) {
+        byte[] target = new byte[compressor.maxCompressedLength(length)];
+        int compressedLength = compressor.compress(source, offset, length, target, 0, target.length);
+        return Arrays.copyOf(target, compressedLength);
+    }
+
+    @Override
+    public byte[] decompress(byte[] source, int offset, int length, int originalLength) {
+        byte[] target = new byte[originalLength];
+        int decompressedLength = decompressor.decompress(source, offset, length, target, 0, originalLength);
+        if (decompressedLength != originalLength) {
+            throw new IllegalStateException("LZ4解压长度不一致: " + decompressedLength + " != " + originalLength);
+        }
+        return target;
+    }
+}
@@ -0,0 +1,24 @@
+package com.ghtransport.common.redis.codec;
+
+/**
+ * 缓存值压缩算法
+ */
+public interface PayloadCompressor {
+
+    /**
+     * 算法标识，写入编码头，取值1-255且不可变更
+     */
+    byte id();
+
+    /**
+     * 压缩 [offset, offset + length) 区间
+     */
+    byte[] compress(byte[] source, int offset, int length);
+
+    /**
+     * 解压 [offset, offset + length) 区间
+     *
+     * @param originalLength 压缩前长度
+     */
+    byte[] decompress(byte[] source, int offset, int length, int originalLength);
+}
@@ -0,0 +1,17 @@
+package com.ghtransport.common.redis.codec;
+
+/**
+ * 缓存值编解码
+ */
+public interface ValueCodec {
+
+    /**
+     * 对象编码为字节
+     */
+    byte[] encode(Object value);
+
+    /**
+     * 字节解码为对象，null或空字节返回null
+     */
+    <T> T decode(byte[] bytes, Class<T> type);
+}
@@ -0,0 +1,38 @@
+package com.ghtransport.common.redis.config;
+
+import com.ghtransport.common.redis.cache.LocalCacheManager;
+import com.ghtransport.common.redis.cache.LocalCacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * 一级缓存配置（cache.local.enabled=true 时启用）
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "cache.local", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(LocalCacheProperties.class)
+public class LocalCacheConfig {
+
+    @Bean
+    public LocalCacheManager localCacheManager(LocalCacheProperties properties, StringRedisTemplate stringRedisTemplate) {
+        return new LocalCacheManager(properties, stringRedisTemplate);
+    }
+
+    /**
+     * 订阅缓存失效频道
+     */
+    @Bean
+    public RedisMessageListenerContainer localCacheListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                     LocalCacheManager localCacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(localCacheManager, new ChannelTopic(localCacheManager.getChannel()));
+        return container;
+    }
+}
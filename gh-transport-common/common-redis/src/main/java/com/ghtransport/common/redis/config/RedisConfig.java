@@ -4,11 +4,18 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ghtransport.common.redis.codec.FramedValueCodec;
+import com.ghtransport.common.redis.codec.Lz4PayloadCompressor;
+import com.ghtransport.common.redis.codec.ValueCodec;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 /**
@@ -48,6 +55,47 @@ public class RedisConfig {
         return template;
     }
 
+    /**
+     * 缓存专用RedisTemplate：值为原始字节，由 CacheService 通过 ValueCodec 编解码
+     * （默认UTF-8 JSON，与原 StringRedisTemplate 写入的数据格式一致）
+     */
+    @Bean
+    public RedisTemplate<String, byte[]> cacheRedisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setHashKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.setHashValueSerializer(RedisSerializer.byteArray());
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    /**
+     * 缓存值编码
+     *
+     * 默认JSON且不压缩，与原格式一致；所有节点升级后可切换为 jsonb 并开启LZ4压缩，
+     * 切换后仍可读取原JSON数据。
+     *
+     * @param format            写入格式：json / jsonb
+     * @param compressThreshold 压缩阈值（字节），小于0不压缩
+     */
+    @Bean
+    public ValueCodec cacheValueCodec(@Value("${cache.codec.format:json}") String format,
+                                      @Value("${cache.codec.compress-threshold:-1}") int compressThreshold) {
+        return new FramedValueCodec(format, new Lz4PayloadCompressor(), compressThreshold);
+    }
+
+    /**
+     * 分布式锁释放通知的订阅容器（按需订阅各锁的释放频道）
+     */
+    @Bean
+    public RedisMessageListenerContainer lockListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
     /**
      * 配置StringRedisTemplate
      */
@@ -0,0 +1,32 @@
+package com.ghtransport.common.redis.id;
+
+import com.ghtransport.common.core.util.LongRange;
+import com.ghtransport.common.core.util.SegmentSource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 基于Redis计数器的号段来源
+ *
+ * 每次租用执行一次 INCRBY，返回 [新值 - size, 新值)。
+ */
+@Component
+public class RedisSegmentSource implements SegmentSource {
+
+    private static final String SEGMENT_PREFIX = "id:segment:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisSegmentSource(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public LongRange lease(String bizTag, int size) {
+        Long maxId = redisTemplate.opsForValue().increment(SEGMENT_PREFIX + bizTag, size);
+        if (maxId == null) {
+            throw new IllegalStateException("号段租用失败: " + bizTag);
+        }
+        return new LongRange(maxId - size, maxId);
+    }
+}
@@ -0,0 +1,223 @@
+package com.ghtransport.common.redis.id;
+
+import com.ghtransport.common.core.util.SnowflakeIdGenerator;
+import com.ghtransport.common.core.util.SnowflakeNodeProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 基于Redis租约的雪花算法节点分配
+ *
+ * 启动时在 0-1023 范围内抢占一个未被占用的节点号（SET NX + TTL），
+ * 高5位作为数据中心ID、低5位作为工作节点ID，并定期续约；实例下线后租约自动过期。
+ * 通过 snowflake.lease.enabled=true 开启。
+ *
+ * 租约被其他实例占用，或续约持续失败到下次续约前租约即会过期时，通知监听器暂停发号，
+ * 随后每个续约周期尝试占用新的空闲节点号，成功后通知监听器切换节点号。
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "snowflake.lease", name = "enabled", havingValue = "true")
+public class RedisSnowflakeNodeProvider implements SnowflakeNodeProvider, DisposableBean {
+
+    private static final String LEASE_PREFIX = "snowflake:node:";
+    private static final int MAX_NODE_ID = (int) (((SnowflakeIdGenerator.MAX_DATACENTER_ID + 1)
+            << SnowflakeIdGenerator.WORKER_ID_BITS) - 1);
+
+    /**
+     * 续约脚本（仅持有者可续约）
+     */
+    static final RedisScript<Long> RENEW_SCRIPT = RedisScript.of(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then " +
+                    "return redis.call('pexpire', KEYS[1], ARGV[2]) " +
+                    "else " +
+                    "return 0 " +
+                    "end",
+            Long.class
+    );
+
+    /**
+     * 释放脚本（仅持有者可释放）
+     */
+    static final RedisScript<Long> RELEASE_SCRIPT = RedisScript.of(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then " +
+                    "return redis.call('del', KEYS[1]) " +
+                    "else " +
+                    "return 0 " +
+                    "end",
+            Long.class
+    );
+
+    private final StringRedisTemplate redisTemplate;
+    private final String owner = UUID.randomUUID().toString();
+    private final Duration leaseTtl;
+    private final long renewPeriodMillis;
+    private final LongSupplier clock;
+    private final ScheduledExecutorService renewer;
+    private final List<NodeListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 当前持有的节点号，租约丢失后为-1
+     */
+    private volatile int nodeId;
+
+    /**
+     * 本实例视角下租约的到期时间（毫秒），以发出续约命令前的时间计算
+     */
+    private volatile long leaseExpiresAt;
+
+    @Autowired
+    public RedisSnowflakeNodeProvider(StringRedisTemplate redisTemplate,
+                                      @Value("${snowflake.lease.ttl-seconds:60}") long ttlSeconds) {
+        this(redisTemplate, ttlSeconds, System::currentTimeMillis);
+    }
+
+    RedisSnowflakeNodeProvider(StringRedisTemplate redisTemplate, long ttlSeconds, LongSupplier clock) {
+        this.redisTemplate = redisTemplate;
+        this.leaseTtl = Duration.ofSeconds(ttlSeconds);
+        this.clock = clock;
+        long period = Math.max(1L, ttlSeconds / 3);
+        this.renewPeriodMillis = TimeUnit.SECONDS.toMillis(period);
+        long start = clock.getAsLong();
+        this.nodeId = acquire();
+        this.leaseExpiresAt = start + leaseTtl.toMillis();
+        this.renewer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "snowflake-lease-renewer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.renewer.scheduleAtFixedRate(this::renew, period, period, TimeUnit.SECONDS);
+        log.info("雪花算法节点租约获取成功: nodeId={}", nodeId);
+    }
+
+    @Override
+    public long datacenterId() {
+        return (long) nodeId >>> SnowflakeIdGenerator.WORKER_ID_BITS;
+    }
+
+    @Override
+    public long workerId() {
+        return nodeId & SnowflakeIdGenerator.MAX_WORKER_ID;
+    }
+
+    @Override
+    public void addListener(NodeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 当前持有的节点号，租约丢失且尚未重新分配时为-1
+     */
+    int nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 抢占节点号，从随机位置开始扫描以减少实例同时启动时的冲突
+     */
+    private int acquire() {
+        int start = (int) (Math.abs(owner.hashCode()) % (MAX_NODE_ID + 1L));
+        for (int i = 0; i <= MAX_NODE_ID; i++) {
+            int candidate = (start + i) % (MAX_NODE_ID + 1);
+            Boolean acquired = redisTemplate.opsForValue()
+                    .setIfAbsent(LEASE_PREFIX + candidate, owner, leaseTtl);
+            if (Boolean.TRUE.equals(acquired)) {
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("雪花算法节点号已全部被占用");
+    }
+
+    /**
+     * 续约；租约过期但未被占用时重新占用原节点号，已被其他实例占用时暂停发号并分配新节点号
+     */
+    void renew() {
+        int current = nodeId;
+        if (current < 0) {
+            reassign();
+            return;
+        }
+        String key = LEASE_PREFIX + current;
+        long start = clock.getAsLong();
+        try {
+            Long renewed = redisTemplate.execute(RENEW_SCRIPT, Collections.singletonList(key),
+                    owner, String.valueOf(leaseTtl.toMillis()));
+            if (Long.valueOf(1L).equals(renewed)) {
+                leaseExpiresAt = start + leaseTtl.toMillis();
+                return;
+            }
+            Boolean reacquired = redisTemplate.opsForValue().setIfAbsent(key, owner, leaseTtl);
+            if (Boolean.TRUE.equals(reacquired)) {
+                leaseExpiresAt = start + leaseTtl.toMillis();
+                log.warn("雪花算法节点租约已过期，重新占用成功: nodeId={}", current);
+                return;
+            }
+            log.error("雪花算法节点租约已被其他实例占用，暂停生成ID: nodeId={}", current);
+            lose();
+            reassign();
+        } catch (Exception e) {
+            log.warn("雪花算法节点续约失败: nodeId={}, {}", current, e.getMessage());
+            if (clock.getAsLong() + renewPeriodMillis >= leaseExpiresAt) {
+                log.error("雪花算法节点租约将在下次续约前过期，暂停生成ID: nodeId={}", current);
+                lose();
+            }
+        }
+    }
+
+    private void lose() {
+        nodeId = -1;
+        for (NodeListener listener : listeners) {
+            listener.onNodeLost();
+        }
+    }
+
+    /**
+     * 占用新的空闲节点号并通知监听器；失败时保持暂停，下个续约周期重试
+     */
+    private void reassign() {
+        long start = clock.getAsLong();
+        try {
+            int candidate = acquire();
+            leaseExpiresAt = start + leaseTtl.toMillis();
+            nodeId = candidate;
+            long datacenterId = (long) candidate >>> SnowflakeIdGenerator.WORKER_ID_BITS;
+            long workerId = candidate & SnowflakeIdGenerator.MAX_WORKER_ID;
+            for (NodeListener listener : listeners) {
+                listener.onNodeAssigned(datacenterId, workerId);
+            }
+            log.warn("雪花算法节点号重新分配成功: nodeId={}", candidate);
+        } catch (Exception e) {
+            log.error("雪花算法节点号重新分配失败，继续暂停生成ID: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        renewer.shutdownNow();
+        int current = nodeId;
+        if (current < 0) {
+            return;
+        }
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, Collections.singletonList(LEASE_PREFIX + current), owner);
+        } catch (Exception e) {
+            log.warn("雪花算法节点租约释放失败: nodeId={}, {}", current, e.getMessage());
+        }
+    }
+}
@@ -1,41 +1,134 @@
 package com.ghtransport.common.redis.lock;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * 分布式锁工具类
+ *
+ * 等待锁时订阅该锁的释放频道（lock:released:{lockKey}），unlock 在Lua脚本中发布释放消息，
+ * 等待者收到通知后立即重试；同时以锁的剩余过期时间和兜底轮询间隔为上限等待，
+ * 持有者崩溃（锁自然过期，无释放消息）或消息丢失时也能及时获取。
+ * 本节点的等待者在释放时直接唤醒，释放消息只唤醒其它节点的等待者（见 LockReleaseSubscriber）。
+ *
+ * 栅栏令牌（tryLockWithFencingToken）在加锁脚本中对 lock-fence:{lockKey} 执行INCR，随锁返回单调递增的令牌；
+ * 持有者把令牌带入条件更新（WHERE fence_token <= 令牌），因GC停顿等原因锁过期后仍在写入的旧持有者会被数据库拒绝。
+ *
+ * 看门狗模式（tryLockWithWatchdog）以较短的租约加锁，由共享的续期线程每1/3租约原子续期一次，
+ * 直到 unlock、持有线程结束、锁已丢失或持有时间超过上限；进程崩溃后锁在一个租约内释放，调用方无需估算最坏执行时间。
+ * 线程池中的线程不会结束，忘记 unlock 的锁由持有上限（lock.watchdog.max-hold-millis）兜底，超过后最多再保留一个租约。
  */
 @Slf4j
 @Component
-public class DistributedLock {
+public class DistributedLock implements DisposableBean {
 
-    private static final String LOCK_PREFIX = "lock:";
-    private static final String LOCK_SUCCESS = "OK";
+    static final String LOCK_PREFIX = "lock:";
+    static final String RELEASE_CHANNEL_PREFIX = "lock:released:";
+    private static final String FENCE_PREFIX = "lock-fence:";
+
+    /**
+     * 未获取到锁时返回的栅栏令牌，有效令牌从1开始
+     */
+    public static final long NO_FENCING_TOKEN = 0L;
     private static final Long RELEASE_SUCCESS = 1L;
 
     private final StringRedisTemplate redisTemplate;
+    private final LockReleaseSubscriber releaseSubscriber;
+    private final long fallbackPollMillis;
+    private final long watchdogLeaseMillis;
+    private final long watchdogMaxHoldMillis;
+    private final ScheduledExecutorService watchdog;
+    private final ConcurrentHashMap<RenewalKey, Renewal> renewals = new ConcurrentHashMap<>();
+
+    /**
+     * 加锁脚本：成功返回nil，失败返回锁的剩余过期时间（毫秒）
+     */
+    static final RedisScript<Long> LOCK_SCRIPT = RedisScript.of(
+            "if redis.call('set', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then " +
+                    "return nil " +
+                    "end " +
+                    "return redis.call('pttl', KEYS[1])",
+            Long.class
+    );
+
+    /**
+     * 带栅栏令牌的加锁脚本：成功返回{1, 令牌}，失败返回{0, 锁的剩余过期时间(毫秒)}
+     * 令牌计数器不设过期时间，保证同一锁键的令牌始终递增
+     */
+    @SuppressWarnings("rawtypes")
+    static final RedisScript<List> FENCED_LOCK_SCRIPT = RedisScript.of(
+            "if redis.call('set', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then " +
+                    "return {1, redis.call('incr', KEYS[2])} " +
+                    "end " +
+                    "return {0, redis.call('pttl', KEYS[1])}",
+            List.class
+    );
+
+    /**
+     * 续期脚本：仍由自己持有时才设置新的过期时间（毫秒）
+     */
+    static final RedisScript<Long> EXTEND_SCRIPT = RedisScript.of(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then " +
+                    "return redis.call('pexpire', KEYS[1], ARGV[2]) " +
+                    "else " +
+                    "return 0 " +
+                    "end",
+            Long.class
+    );
 
     /**
-     * 解锁脚本
+     * 解锁脚本：删除成功后发布释放消息
      */
-    private static final RedisScript<Long> UNLOCK_SCRIPT = RedisScript.of(
+    static final RedisScript<Long> UNLOCK_SCRIPT = RedisScript.of(
             "if redis.call('get', KEYS[1]) == ARGV[1] then " +
-                    "return redis.call('del', KEYS[1]) " +
+                    "redis.call('del', KEYS[1]) " +
+                    "redis.call('publish', ARGV[2], ARGV[3]) " +
+                    "return 1 " +
                     "else " +
                     "return 0 " +
                     "end",
             Long.class
     );
 
-    public DistributedLock(StringRedisTemplate redisTemplate) {
+    public DistributedLock(StringRedisTemplate redisTemplate,
+                           @Qualifier("lockListenerContainer") RedisMessageListenerContainer lockListenerContainer,
+                           @Value("${lock.wait.fallback-poll-millis:200}") long fallbackPollMillis,
+                           @Value("${lock.watchdog.lease-millis:10000}") long watchdogLeaseMillis,
+                           @Value("${lock.watchdog.max-hold-millis:600000}") long watchdogMaxHoldMillis) {
+        if (watchdogLeaseMillis < 3) {
+            throw new IllegalArgumentException("看门狗租约时间过短: " + watchdogLeaseMillis);
+        }
+        if (watchdogMaxHoldMillis < watchdogLeaseMillis) {
+            throw new IllegalArgumentException("看门狗持有上限不能小于租约时间: " + watchdogMaxHoldMillis);
+        }
         this.redisTemplate = redisTemplate;
+        this.releaseSubscriber = new LockReleaseSubscriber(lockListenerContainer);
+        this.fallbackPollMillis = fallbackPollMillis;
+        this.watchdogLeaseMillis = watchdogLeaseMillis;
+        this.watchdogMaxHoldMillis = watchdogMaxHoldMillis;
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "lock-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     /**
@@ -49,12 +142,12 @@ public class DistributedLock {
      */
     public boolean tryLock(String lockKey, String lockValue, long expireTime, TimeUnit timeUnit) {
         String key = LOCK_PREFIX + lockKey;
-        String result = redisTemplate.opsForValue().setIfAbsent(
+        Boolean result = redisTemplate.opsForValue().setIfAbsent(
                 key,
                 lockValue,
                 Duration.of(expireTime, timeUnit.toChronoUnit())
         );
-        return LOCK_SUCCESS.equals(result);
+        return Boolean.TRUE.equals(result);
     }
 
     /**
@@ -71,6 +164,9 @@ public class DistributedLock {
     /**
      * 尝试获取锁（带等待时间）
      *
+     * 首次失败后订阅释放频道再重试（避免订阅前释放的消息丢失），之后每次收到释放通知、
+     * 锁剩余时间到期或兜底轮询间隔到期时重试。本节点等待者按到达顺序被唤醒。
+     *
      * @param lockKey     锁键
      * @param lockValue   锁值
      * @param waitTime    等待时间
@@ -80,19 +176,162 @@ public class DistributedLock {
      */
     public boolean tryLockWithWaitTime(String lockKey, String lockValue,
                                         long waitTime, long expireTime, TimeUnit timeUnit) {
-        long startTime = System.currentTimeMillis();
-        while (System.currentTimeMillis() - startTime < timeUnit.toMillis(waitTime)) {
-            if (tryLock(lockKey, lockValue, expireTime, timeUnit)) {
-                return true;
+        long expireMillis = timeUnit.toMillis(expireTime);
+        return awaitAcquire(waitTime, timeUnit, () -> {
+            Long ttl = tryAcquire(lockKey, lockValue, expireMillis);
+            return ttl == null ? null : new LockAttempt(lockKey, ttl);
+        });
+    }
+
+    /**
+     * 尝试获取锁并返回栅栏令牌（带等待时间）
+     *
+     * 令牌随每次成功加锁单调递增，受锁保护的写操作应以条件更新携带令牌，
+     * 令牌小于已写入值的请求被拒绝，因此锁过期时间可以设得较短。
+     *
+     * @param lockKey    锁键
+     * @param lockValue  锁值
+     * @param waitTime   等待时间
+     * @param expireTime 过期时间
+     * @param timeUnit   时间单位
+     * @return 栅栏令牌，未获取到锁返回 {@link #NO_FENCING_TOKEN}
+     */
+    public long tryLockWithFencingToken(String lockKey, String lockValue,
+                                        long waitTime, long expireTime, TimeUnit timeUnit) {
+        List<String> keys = Arrays.asList(LOCK_PREFIX + lockKey, FENCE_PREFIX + lockKey);
+        String expireMillis = String.valueOf(timeUnit.toMillis(expireTime));
+        AtomicLong token = new AtomicLong(NO_FENCING_TOKEN);
+        boolean locked = awaitAcquire(waitTime, timeUnit, () -> {
+            List<?> result = redisTemplate.execute(FENCED_LOCK_SCRIPT, keys, lockValue, expireMillis);
+            if (result == null || result.size() < 2) {
+                throw new IllegalStateException("加锁脚本返回异常: " + result);
             }
-            try {
-                TimeUnit.MILLISECONDS.sleep(50);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                return false;
+            long value = ((Number) result.get(1)).longValue();
+            if (((Number) result.get(0)).intValue() == 1) {
+                token.set(value);
+                return null;
             }
+            return new LockAttempt(lockKey, value);
+        });
+        return locked ? token.get() : NO_FENCING_TOKEN;
+    }
+
+    /**
+     * 带等待时间的通用加锁循环，供可重入锁、读写锁、联锁复用
+     *
+     * 每次尝试失败时返回阻塞它的锁键及其剩余时间，等待该锁的释放频道；
+     * 阻塞的锁键变化时（联锁）切换订阅，切换后立即重试一次。
+     *
+     * @param attempt 单次加锁，成功返回null
+     * @return 是否在等待时间内获取成功
+     */
+    boolean awaitAcquire(long waitTime, TimeUnit timeUnit, Supplier<LockAttempt> attempt) {
+        LockAttempt blocked = attempt.get();
+        if (blocked == null) {
+            return true;
         }
-        return false;
+
+        long deadline = System.nanoTime() + timeUnit.toNanos(waitTime);
+        LockReleaseSubscriber.Waiters waiters = null;
+        try {
+            while (true) {
+                String channel = RELEASE_CHANNEL_PREFIX + blocked.lockKey();
+                if (waiters == null || !waiters.channel().equals(channel)) {
+                    if (waiters != null) {
+                        releaseSubscriber.unsubscribe(waiters);
+                    }
+                    waiters = releaseSubscriber.subscribe(channel);
+                } else {
+                    long remainingNanos = deadline - System.nanoTime();
+                    if (remainingNanos <= 0) {
+                        return false;
+                    }
+                    long ttl = blocked.ttl();
+                    long waitMillis = ttl > 0 ? Math.min(ttl, fallbackPollMillis) : fallbackPollMillis;
+                    long waitNanos = Math.min(remainingNanos, TimeUnit.MILLISECONDS.toNanos(waitMillis));
+                    waiters.await(waitNanos, TimeUnit.NANOSECONDS);
+                }
+                blocked = attempt.get();
+                if (blocked == null) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            if (waiters != null) {
+                releaseSubscriber.unsubscribe(waiters);
+            }
+        }
+    }
+
+    /**
+     * 释放脚本发布的消息（本节点ID），订阅方据此跳过本节点已直接唤醒的释放
+     */
+    String releaseMessage() {
+        return releaseSubscriber.releaseMessage();
+    }
+
+    /**
+     * 唤醒本节点等待该锁的一个线程
+     */
+    void signalReleased(String lockKey) {
+        releaseSubscriber.signal(RELEASE_CHANNEL_PREFIX + lockKey);
+    }
+
+    /**
+     * 获取锁并由看门狗自动续期
+     *
+     * 以 lock.watchdog.lease-millis 为租约加锁，持有期间每1/3租约续期一次；
+     * unlock、当前线程结束、锁已被他人持有或持有时间超过 lock.watchdog.max-hold-millis 时停止续期。
+     *
+     * @param lockKey   锁键
+     * @param lockValue 锁值
+     * @param waitTime  等待时间
+     * @param timeUnit  时间单位
+     * @return 是否获取成功
+     */
+    public boolean tryLockWithWatchdog(String lockKey, String lockValue, long waitTime, TimeUnit timeUnit) {
+        boolean locked = tryLockWithWaitTime(lockKey, lockValue,
+                timeUnit.toMillis(waitTime), watchdogLeaseMillis, TimeUnit.MILLISECONDS);
+        if (locked) {
+            startRenewal(lockKey, lockValue);
+        }
+        return locked;
+    }
+
+    private void startRenewal(String lockKey, String lockValue) {
+        RenewalKey key = new RenewalKey(lockKey, lockValue);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(watchdogMaxHoldMillis);
+        Renewal renewal = new Renewal(key, Thread.currentThread(), deadline);
+        Renewal previous = renewals.put(key, renewal);
+        if (previous != null) {
+            previous.cancel();
+        }
+        long period = watchdogLeaseMillis / 3;
+        renewal.future = watchdog.scheduleAtFixedRate(renewal, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    private void stopRenewal(String lockKey, String lockValue) {
+        Renewal renewal = renewals.remove(new RenewalKey(lockKey, lockValue));
+        if (renewal != null) {
+            renewal.cancel();
+        }
+    }
+
+    /**
+     * 单次加锁
+     *
+     * @return 成功返回null，失败返回锁的剩余过期时间（毫秒，-1表示未设置过期）
+     */
+    private Long tryAcquire(String lockKey, String lockValue, long expireMillis) {
+        return redisTemplate.execute(
+                LOCK_SCRIPT,
+                Collections.singletonList(LOCK_PREFIX + lockKey),
+                lockValue,
+                String.valueOf(expireMillis)
+        );
     }
 
     /**
@@ -103,13 +342,21 @@ public class DistributedLock {
      * @return 是否释放成功
      */
     public boolean unlock(String lockKey, String lockValue) {
+        stopRenewal(lockKey, lockValue);
         String key = LOCK_PREFIX + lockKey;
+        String channel = RELEASE_CHANNEL_PREFIX + lockKey;
         Long result = redisTemplate.execute(
                 UNLOCK_SCRIPT,
                 Collections.singletonList(key),
-                lockValue
+                lockValue,
+                channel,
+                releaseMessage()
         );
-        return RELEASE_SUCCESS.equals(result);
+        if (RELEASE_SUCCESS.equals(result)) {
+            releaseSubscriber.signal(channel);
+            return true;
+        }
+        return false;
     }
 
     /**
@@ -129,12 +376,22 @@ public class DistributedLock {
      * @param lockKey 锁键
      */
     public void forceUnlock(String lockKey) {
+        renewals.values().removeIf(renewal -> {
+            if (renewal.key.lockKey().equals(lockKey)) {
+                renewal.cancel();
+                return true;
+            }
+            return false;
+        });
         String key = LOCK_PREFIX + lockKey;
+        String channel = RELEASE_CHANNEL_PREFIX + lockKey;
         redisTemplate.delete(key);
+        redisTemplate.convertAndSend(channel, releaseMessage());
+        releaseSubscriber.signal(channel);
     }
 
     /**
-     * 延长锁的过期时间
+     * 延长锁的过期时间（Lua脚本比较锁值后设置过期时间，锁已被他人持有时不会误续期）
      *
      * @param lockKey    锁键
      * @param lockValue  锁值
@@ -143,14 +400,13 @@ public class DistributedLock {
      * @return 是否延长成功
      */
     public boolean extendLock(String lockKey, String lockValue, long expireTime, TimeUnit timeUnit) {
-        String key = LOCK_PREFIX + lockKey;
-        String currentValue = redisTemplate.opsForValue().get(key);
-        if (lockValue.equals(currentValue)) {
-            return Boolean.TRUE.equals(
-                    redisTemplate.expire(key, Duration.of(expireTime, timeUnit.toChronoUnit()))
-            );
-        }
-        return false;
+        Long result = redisTemplate.execute(
+                EXTEND_SCRIPT,
+                Collections.singletonList(LOCK_PREFIX + lockKey),
+                lockValue,
+                String.valueOf(timeUnit.toMillis(expireTime))
+        );
+        return RELEASE_SUCCESS.equals(result);
     }
 
     /**
@@ -164,4 +420,75 @@ public class DistributedLock {
         Long ttl = redisTemplate.getExpire(key, TimeUnit.MILLISECONDS);
         return ttl != null ? ttl : -2;
     }
+
+    @Override
+    public void destroy() {
+        watchdog.shutdownNow();
+        renewals.clear();
+    }
+
+    private record RenewalKey(String lockKey, String lockValue) {
+    }
+
+    /**
+     * 单次加锁失败的结果
+     *
+     * @param lockKey 阻塞本次加锁的锁键
+     * @param ttl     该锁的剩余过期时间（毫秒，-1表示未设置过期）
+     */
+    record LockAttempt(String lockKey, long ttl) {
+    }
+
+    /**
+     * 单个锁的续期任务
+     */
+    private final class Renewal implements Runnable {
+
+        private final RenewalKey key;
+        private final Thread owner;
+        private final long deadlineNanos;
+        private volatile ScheduledFuture<?> future;
+
+        private Renewal(RenewalKey key, Thread owner, long deadlineNanos) {
+            this.key = key;
+            this.owner = owner;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        @Override
+        public void run() {
+            if (renewals.get(key) != this) {
+                cancel();
+                return;
+            }
+            if (!owner.isAlive()) {
+                log.warn("锁持有线程已结束，停止续期: lockKey={}", key.lockKey());
+                stopRenewal(key.lockKey(), key.lockValue());
+                return;
+            }
+            if (System.nanoTime() - deadlineNanos >= 0) {
+                log.warn("锁持有时间超过上限，停止续期: lockKey={}, maxHoldMillis={}",
+                        key.lockKey(), watchdogMaxHoldMillis);
+                stopRenewal(key.lockKey(), key.lockValue());
+                return;
+            }
+            try {
+                if (!extendLock(key.lockKey(), key.lockValue(), watchdogLeaseMillis, TimeUnit.MILLISECONDS)) {
+                    log.warn("锁已丢失，停止续期: lockKey={}", key.lockKey());
+                    renewals.remove(key, this);
+                    cancel();
+                }
+            } catch (Exception e) {
+                // 网络抖动时保留任务，下个周期重试；租约内未恢复则锁自然过期
+                log.warn("锁续期失败: lockKey={}, {}", key.lockKey(), e.getMessage());
+            }
+        }
+
+        private void cancel() {
+            ScheduledFuture<?> current = future;
+            if (current != null) {
+                current.cancel(false);
+            }
+        }
+    }
 }
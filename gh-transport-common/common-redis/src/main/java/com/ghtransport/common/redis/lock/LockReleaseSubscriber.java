@@ -0,0 +1,148 @@
+package com.ghtransport.common.redis.lock;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 锁释放通知订阅
+ *
+ * 每个锁一个释放频道，有等待者时才订阅，最后一个等待者离开后退订。
+ * 收到释放消息时只唤醒本节点最早等待的一个线程（公平信号量），避免所有等待者同时抢锁。
+ * 释放消息内容为释放方的节点ID：本节点释放时已直接唤醒，收到自己发布的消息时忽略，一次释放只唤醒一次。
+ *
+ * 订阅、退订可能阻塞在Redis I/O上，不在 ConcurrentHashMap 的 compute 中执行，而是持有该频道 Waiters 的监视器，
+ * 同一频道的订阅与退订串行，不同频道互不影响。
+ */
+class LockReleaseSubscriber implements MessageListener {
+
+    private final RedisMessageListenerContainer container;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentHashMap<String, Waiters> channels = new ConcurrentHashMap<>();
+
+    LockReleaseSubscriber(RedisMessageListenerContainer container) {
+        this.container = container;
+    }
+
+    /**
+     * 本节点发布的释放消息
+     */
+    String releaseMessage() {
+        return nodeId;
+    }
+
+    /**
+     * 登记等待，首个等待者订阅频道
+     *
+     * 取到的 Waiters 已被最后一个等待者退订并移出时重新获取。
+     */
+    Waiters subscribe(String channel) {
+        while (true) {
+            Waiters waiters = channels.computeIfAbsent(channel, Waiters::new);
+            synchronized (waiters) {
+                if (waiters.removed) {
+                    continue;
+                }
+                if (waiters.refCount == 0) {
+                    try {
+                        container.addMessageListener(this, new ChannelTopic(channel));
+                    } catch (RuntimeException e) {
+                        waiters.removed = true;
+                        channels.remove(channel, waiters);
+                        throw e;
+                    }
+                }
+                waiters.refCount++;
+                return waiters;
+            }
+        }
+    }
+
+    /**
+     * 取消等待，最后一个等待者退订频道
+     *
+     * 退订完成后才移出 Waiters，新的等待者在此之前阻塞在监视器上，避免其订阅被本次退订撤销。
+     */
+    void unsubscribe(Waiters waiters) {
+        synchronized (waiters) {
+            if (--waiters.refCount > 0) {
+                return;
+            }
+            waiters.removed = true;
+            try {
+                container.removeMessageListener(this, new ChannelTopic(waiters.channel));
+            } finally {
+                channels.remove(waiters.channel, waiters);
+            }
+        }
+    }
+
+    /**
+     * 唤醒本节点的一个等待者（本节点释放锁时直接调用，不必等待发布订阅往返）
+     */
+    void signal(String channel) {
+        Waiters waiters = channels.get(channel);
+        if (waiters != null) {
+            waiters.signal();
+        }
+    }
+
+    /**
+     * 其它节点释放锁时唤醒本节点的一个等待者，本节点发布的消息已在释放时直接唤醒过
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        if (nodeId.equals(new String(message.getBody(), StandardCharsets.UTF_8))) {
+            return;
+        }
+        signal(new String(message.getChannel(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 单个锁的本节点等待者
+     */
+    static final class Waiters {
+
+        private final String channel;
+        private final Semaphore released = new Semaphore(0, true);
+
+        /**
+         * 以下字段由本对象的监视器保护
+         */
+        private int refCount;
+        private boolean removed;
+
+        private Waiters(String channel) {
+            this.channel = channel;
+        }
+
+        String channel() {
+            return channel;
+        }
+
+        /**
+         * 等待释放通知
+         *
+         * @return 收到通知返回true，超时返回false
+         */
+        boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+            return released.tryAcquire(timeout, unit);
+        }
+
+        /**
+         * 最多保留一个许可，多条通知合并为一次唤醒
+         */
+        private void signal() {
+            if (released.availablePermits() == 0) {
+                released.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.ghtransport.common.redis.lock;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分布式联锁（全部获取或全部不获取）
+ *
+ * 锁键去重排序后在一个Lua脚本中检查并加锁，任一锁被占用则一个都不加，
+ * 如预留十个SKU库存只需一次往返。各锁与 DistributedLock 的普通锁格式相同，可单独查询或强制释放。
+ * 加锁失败时等待第一个被占用锁的释放通知后整体重试。
+ * 集群模式下脚本涉及的键须位于同一槽位，锁键应使用相同的哈希标签（如 {stock}:sku1）。
+ */
+@Component
+public class MultiDistributedLock {
+
+    /**
+     * 加锁脚本：全部空闲时加锁返回{0, 0}，否则返回{被占用锁的序号(从1开始), 剩余过期时间(毫秒)}
+     */
+    @SuppressWarnings("rawtypes")
+    static final RedisScript<List> LOCK_SCRIPT = RedisScript.of(
+            "for i = 1, #KEYS do " +
+                    "local ttl = redis.call('pttl', KEYS[i]) " +
+                    "if ttl ~= -2 then " +
+                    "return {i, ttl} " +
+                    "end " +
+                    "end " +
+                    "for i = 1, #KEYS do " +
+                    "redis.call('set', KEYS[i], ARGV[1], 'PX', ARGV[2]) " +
+                    "end " +
+                    "return {0, 0}",
+            List.class
+    );
+
+    /**
+     * 解锁脚本：删除仍由自己持有的锁并逐个发布释放消息，返回释放数量
+     */
+    static final RedisScript<Long> UNLOCK_SCRIPT = RedisScript.of(
+            "local released = 0 " +
+                    "for i = 1, #KEYS do " +
+                    "if redis.call('get', KEYS[i]) == ARGV[1] then " +
+                    "redis.call('del', KEYS[i]) " +
+                    "redis.call('publish', ARGV[2] .. string.sub(KEYS[i], tonumber(ARGV[3]) + 1), ARGV[4]) " +
+                    "released = released + 1 " +
+                    "end " +
+                    "end " +
+                    "return released",
+            Long.class
+    );
+
+    private final StringRedisTemplate redisTemplate;
+    private final DistributedLock distributedLock;
+
+    public MultiDistributedLock(StringRedisTemplate redisTemplate, DistributedLock distributedLock) {
+        this.redisTemplate = redisTemplate;
+        this.distributedLock = distributedLock;
+    }
+
+    /**
+     * 尝试一次性获取全部锁（带等待时间）
+     *
+     * @param lockKeys   锁键集合
+     * @param lockValue  锁值
+     * @param waitTime   等待时间
+     * @param expireTime 过期时间
+     * @param timeUnit   时间单位
+     * @return 是否全部获取成功
+     */
+    public boolean tryLock(Collection<String> lockKeys, String lockValue,
+                           long waitTime, long expireTime, TimeUnit timeUnit) {
+        List<String> sortedKeys = sortedKeys(lockKeys);
+        if (sortedKeys.isEmpty()) {
+            return true;
+        }
+        List<String> keys = redisKeys(sortedKeys);
+        String expireMillis = String.valueOf(timeUnit.toMillis(expireTime));
+        return distributedLock.awaitAcquire(waitTime, timeUnit, () -> {
+            List<?> result = redisTemplate.execute(LOCK_SCRIPT, keys, lockValue, expireMillis);
+            if (result == null || result.size() < 2) {
+                throw new IllegalStateException("联锁脚本返回异常: " + result);
+            }
+            int index = ((Number) result.get(0)).intValue();
+            if (index == 0) {
+                return null;
+            }
+            long ttl = ((Number) result.get(1)).longValue();
+            return new DistributedLock.LockAttempt(sortedKeys.get(index - 1), ttl);
+        });
+    }
+
+    /**
+     * 释放全部锁（只释放仍由该锁值持有的锁）
+     *
+     * @param lockKeys  锁键集合
+     * @param lockValue 锁值
+     * @return 实际释放的锁数量
+     */
+    public int unlock(Collection<String> lockKeys, String lockValue) {
+        List<String> sortedKeys = sortedKeys(lockKeys);
+        if (sortedKeys.isEmpty()) {
+            return 0;
+        }
+        Long released = redisTemplate.execute(
+                UNLOCK_SCRIPT,
+                redisKeys(sortedKeys),
+                lockValue,
+                DistributedLock.RELEASE_CHANNEL_PREFIX,
+                String.valueOf(DistributedLock.LOCK_PREFIX.length()),
+                distributedLock.releaseMessage()
+        );
+        if (released != null && released > 0) {
+            for (String lockKey : sortedKeys) {
+                distributedLock.signalReleased(lockKey);
+            }
+        }
+        return released != null ? released.intValue() : 0;
+    }
+
+    private static List<String> sortedKeys(Collection<String> lockKeys) {
+        return new ArrayList<>(new TreeSet<>(lockKeys));
+    }
+
+    private static List<String> redisKeys(List<String> sortedKeys) {
+        List<String> keys = new ArrayList<>(sortedKeys.size());
+        for (String lockKey : sortedKeys) {
+            keys.add(DistributedLock.LOCK_PREFIX + lockKey);
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,156 @@
+package com.ghtransport.common.redis.lock;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分布式读写锁
+ *
+ * 锁以Hash存储（lock:{lockKey} -> {mode: read|write, 持有者标识: 重入次数}）：
+ * 读锁之间互不阻塞（如并发读取库存），写锁与任何其他持有者互斥；读写锁均可重入，
+ * 写锁持有者可再获取读锁（计入同一重入次数）。所有持有者释放后删除并发布释放消息。
+ *
+ * 过期时间作用于整个锁：每个读者加锁时只会延长、不会缩短剩余时间，
+ * 读者崩溃后其计数保留到锁整体过期为止。同一个锁键只能使用一种锁。
+ */
+@Component
+public class ReadWriteDistributedLock {
+
+    private static final String MODE_FIELD = "mode";
+
+    /**
+     * 读锁脚本：无人持有、已是读模式或由自己持有写锁时加锁，成功返回nil，失败返回剩余过期时间（毫秒）
+     */
+    static final RedisScript<Long> READ_LOCK_SCRIPT = RedisScript.of(
+            "local mode = redis.call('hget', KEYS[1], ARGV[3]) " +
+                    "if mode == false then " +
+                    "redis.call('hset', KEYS[1], ARGV[3], 'read') " +
+                    "elseif mode == 'write' and redis.call('hexists', KEYS[1], ARGV[1]) == 0 then " +
+                    "return redis.call('pttl', KEYS[1]) " +
+                    "end " +
+                    "redis.call('hincrby', KEYS[1], ARGV[1], 1) " +
+                    "if redis.call('pttl', KEYS[1]) < tonumber(ARGV[2]) then " +
+                    "redis.call('pexpire', KEYS[1], ARGV[2]) " +
+                    "end " +
+                    "return nil",
+            Long.class
+    );
+
+    /**
+     * 写锁脚本：无人持有或由自己持有写锁时加锁，成功返回nil，失败返回剩余过期时间（毫秒）
+     */
+    static final RedisScript<Long> WRITE_LOCK_SCRIPT = RedisScript.of(
+            "local mode = redis.call('hget', KEYS[1], ARGV[3]) " +
+                    "if mode == false then " +
+                    "redis.call('hset', KEYS[1], ARGV[3], 'write') " +
+                    "elseif mode ~= 'write' or redis.call('hexists', KEYS[1], ARGV[1]) == 0 then " +
+                    "return redis.call('pttl', KEYS[1]) " +
+                    "end " +
+                    "redis.call('hincrby', KEYS[1], ARGV[1], 1) " +
+                    "redis.call('pexpire', KEYS[1], ARGV[2]) " +
+                    "return nil",
+            Long.class
+    );
+
+    /**
+     * 解锁脚本：返回该持有者剩余重入次数，最后一个持有者离开时删除并发布释放消息，非持有者返回-1
+     */
+    static final RedisScript<Long> UNLOCK_SCRIPT = RedisScript.of(
+            "if redis.call('hexists', KEYS[1], ARGV[1]) == 0 then " +
+                    "return -1 " +
+                    "end " +
+                    "local count = redis.call('hincrby', KEYS[1], ARGV[1], -1) " +
+                    "if count > 0 then " +
+                    "return count " +
+                    "end " +
+                    "redis.call('hdel', KEYS[1], ARGV[1]) " +
+                    "if redis.call('hlen', KEYS[1]) <= 1 then " +
+                    "redis.call('del', KEYS[1]) " +
+                    "redis.call('publish', ARGV[2], ARGV[3]) " +
+                    "end " +
+                    "return 0",
+            Long.class
+    );
+
+    private final StringRedisTemplate redisTemplate;
+    private final DistributedLock distributedLock;
+
+    public ReadWriteDistributedLock(StringRedisTemplate redisTemplate, DistributedLock distributedLock) {
+        this.redisTemplate = redisTemplate;
+        this.distributedLock = distributedLock;
+    }
+
+    /**
+     * 获取读锁（带等待时间）
+     *
+     * 获取成功后顺带唤醒本节点下一个等待者，使排队的读者依次进入而不必等待兜底轮询。
+     *
+     * @param lockKey    锁键
+     * @param lockValue  持有者标识
+     * @param waitTime   等待时间
+     * @param expireTime 过期时间
+     * @param timeUnit   时间单位
+     * @return 是否获取成功
+     */
+    public boolean tryReadLock(String lockKey, String lockValue,
+                               long waitTime, long expireTime, TimeUnit timeUnit) {
+        boolean locked = acquire(READ_LOCK_SCRIPT, lockKey, lockValue, waitTime, expireTime, timeUnit);
+        if (locked) {
+            distributedLock.signalReleased(lockKey);
+        }
+        return locked;
+    }
+
+    /**
+     * 获取写锁（带等待时间）
+     *
+     * @param lockKey    锁键
+     * @param lockValue  持有者标识
+     * @param waitTime   等待时间
+     * @param expireTime 过期时间
+     * @param timeUnit   时间单位
+     * @return 是否获取成功
+     */
+    public boolean tryWriteLock(String lockKey, String lockValue,
+                                long waitTime, long expireTime, TimeUnit timeUnit) {
+        return acquire(WRITE_LOCK_SCRIPT, lockKey, lockValue, waitTime, expireTime, timeUnit);
+    }
+
+    /**
+     * 释放一次读锁或写锁
+     *
+     * @param lockKey   锁键
+     * @param lockValue 持有者标识
+     * @return 该持有者剩余重入次数，0表示已释放，-1表示并非由该标识持有
+     */
+    public long unlock(String lockKey, String lockValue) {
+        String channel = DistributedLock.RELEASE_CHANNEL_PREFIX + lockKey;
+        Long result = redisTemplate.execute(
+                UNLOCK_SCRIPT,
+                Collections.singletonList(DistributedLock.LOCK_PREFIX + lockKey),
+                lockValue,
+                channel,
+                distributedLock.releaseMessage()
+        );
+        long remaining = result != null ? result : -1;
+        if (remaining == 0) {
+            distributedLock.signalReleased(lockKey);
+        }
+        return remaining;
+    }
+
+    private boolean acquire(RedisScript<Long> script, String lockKey, String lockValue,
+                            long waitTime, long expireTime, TimeUnit timeUnit) {
+        String key = DistributedLock.LOCK_PREFIX + lockKey;
+        String expireMillis = String.valueOf(timeUnit.toMillis(expireTime));
+        return distributedLock.awaitAcquire(waitTime, timeUnit, () -> {
+            Long ttl = redisTemplate.execute(script, Collections.singletonList(key),
+                    lockValue, expireMillis, MODE_FIELD);
+            return ttl == null ? null : new DistributedLock.LockAttempt(lockKey, ttl);
+        });
+    }
+}
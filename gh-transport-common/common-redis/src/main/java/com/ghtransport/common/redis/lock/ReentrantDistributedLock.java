@@ -0,0 +1,131 @@
+package com.ghtransport.common.redis.lock;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 可重入分布式锁
+ *
+ * 锁以Hash存储（lock:{lockKey} -> {lockValue: 重入次数}），同一锁值可重复加锁，
+ * 每次加锁计数加一并刷新过期时间，计数归零时删除并发布释放消息，等待逻辑与 DistributedLock 共用。
+ * 同一个锁键只能使用一种锁（普通锁、可重入锁或读写锁），否则Redis返回类型错误。
+ */
+@Component
+public class ReentrantDistributedLock {
+
+    /**
+     * 加锁脚本：无人持有或由自己持有时计数加一，成功返回nil，失败返回锁的剩余过期时间（毫秒）
+     */
+    static final RedisScript<Long> LOCK_SCRIPT = RedisScript.of(
+            "if redis.call('exists', KEYS[1]) == 0 or redis.call('hexists', KEYS[1], ARGV[1]) == 1 then " +
+                    "redis.call('hincrby', KEYS[1], ARGV[1], 1) " +
+                    "redis.call('pexpire', KEYS[1], ARGV[2]) " +
+                    "return nil " +
+                    "end " +
+                    "return redis.call('pttl', KEYS[1])",
+            Long.class
+    );
+
+    /**
+     * 解锁脚本：返回剩余重入次数，计数归零时删除并发布释放消息，非自己持有返回-1
+     */
+    static final RedisScript<Long> UNLOCK_SCRIPT = RedisScript.of(
+            "if redis.call('hexists', KEYS[1], ARGV[1]) == 0 then " +
+                    "return -1 " +
+                    "end " +
+                    "local count = redis.call('hincrby', KEYS[1], ARGV[1], -1) " +
+                    "if count > 0 then " +
+                    "return count " +
+                    "end " +
+                    "redis.call('del', KEYS[1]) " +
+                    "redis.call('publish', ARGV[2], ARGV[3]) " +
+                    "return 0",
+            Long.class
+    );
+
+    private final StringRedisTemplate redisTemplate;
+    private final DistributedLock distributedLock;
+
+    public ReentrantDistributedLock(StringRedisTemplate redisTemplate, DistributedLock distributedLock) {
+        this.redisTemplate = redisTemplate;
+        this.distributedLock = distributedLock;
+    }
+
+    /**
+     * 尝试获取锁（不等待）
+     *
+     * @param lockKey    锁键
+     * @param lockValue  持有者标识，同一标识可重入
+     * @param expireTime 过期时间，每次重入都会刷新
+     * @param timeUnit   时间单位
+     * @return 是否获取成功
+     */
+    public boolean tryLock(String lockKey, String lockValue, long expireTime, TimeUnit timeUnit) {
+        return tryAcquire(lockKey, lockValue, timeUnit.toMillis(expireTime)) == null;
+    }
+
+    /**
+     * 尝试获取锁（带等待时间）
+     *
+     * @param lockKey    锁键
+     * @param lockValue  持有者标识，同一标识可重入
+     * @param waitTime   等待时间
+     * @param expireTime 过期时间
+     * @param timeUnit   时间单位
+     * @return 是否获取成功
+     */
+    public boolean tryLockWithWaitTime(String lockKey, String lockValue,
+                                       long waitTime, long expireTime, TimeUnit timeUnit) {
+        long expireMillis = timeUnit.toMillis(expireTime);
+        return distributedLock.awaitAcquire(waitTime, timeUnit, () -> {
+            Long ttl = tryAcquire(lockKey, lockValue, expireMillis);
+            return ttl == null ? null : new DistributedLock.LockAttempt(lockKey, ttl);
+        });
+    }
+
+    /**
+     * 释放一次锁
+     *
+     * @param lockKey   锁键
+     * @param lockValue 持有者标识
+     * @return 剩余重入次数，0表示已完全释放，-1表示并非由该标识持有
+     */
+    public long unlock(String lockKey, String lockValue) {
+        String channel = DistributedLock.RELEASE_CHANNEL_PREFIX + lockKey;
+        Long result = redisTemplate.execute(
+                UNLOCK_SCRIPT,
+                Collections.singletonList(DistributedLock.LOCK_PREFIX + lockKey),
+                lockValue,
+                channel,
+                distributedLock.releaseMessage()
+        );
+        long remaining = result != null ? result : -1;
+        if (remaining == 0) {
+            distributedLock.signalReleased(lockKey);
+        }
+        return remaining;
+    }
+
+    /**
+     * 查询该标识的重入次数
+     *
+     * @return 重入次数，未持有返回0
+     */
+    public int getHoldCount(String lockKey, String lockValue) {
+        Object count = redisTemplate.opsForHash().get(DistributedLock.LOCK_PREFIX + lockKey, lockValue);
+        return count != null ? Integer.parseInt(count.toString()) : 0;
+    }
+
+    private Long tryAcquire(String lockKey, String lockValue, long expireMillis) {
+        return redisTemplate.execute(
+                LOCK_SCRIPT,
+                Collections.singletonList(DistributedLock.LOCK_PREFIX + lockKey),
+                lockValue,
+                String.valueOf(expireMillis)
+        );
+    }
+}
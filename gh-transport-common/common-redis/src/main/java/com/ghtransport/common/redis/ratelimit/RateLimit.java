@@ -0,0 +1,46 @@
+package com.ghtransport.common.redis.ratelimit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 分布式限流注解，标注在应用服务方法上，超过限额时抛出 BusinessException(RATE_LIMITED)
+ *
+ * <pre>
+ * &#64;RateLimit(name = "order:create", key = "#customerId", permitsPerSecond = 5)
+ * public Order createOrder(String customerId, ...)
+ * </pre>
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RateLimit {
+
+    /**
+     * 限流名称，默认为 类名.方法名
+     */
+    String name() default "";
+
+    /**
+     * 限流维度的SpEL表达式（按方法参数名引用，如 #customerId），为空时整个方法共用一个令牌桶
+     */
+    String key() default "";
+
+    /**
+     * 每秒补充的令牌数
+     */
+    double permitsPerSecond();
+
+    /**
+     * 桶容量，默认（0）与每秒令牌数相同
+     */
+    long capacity() default 0;
+
+    /**
+     * 本节点每次预取的令牌数
+     */
+    int prefetch() default 1;
+}
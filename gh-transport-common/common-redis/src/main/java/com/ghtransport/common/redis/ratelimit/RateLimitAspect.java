@@ -0,0 +1,72 @@
+package com.ghtransport.common.redis.ratelimit;
+
+import com.ghtransport.common.core.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link RateLimit} 切面
+ *
+ * 令牌桶键为 名称[:SpEL求值结果]，方法对应的规则与表达式解析一次后缓存。
+ */
+@Slf4j
+@Aspect
+@Component
+public class RateLimitAspect {
+
+    private final RedisRateLimiter rateLimiter;
+    private final ExpressionParser parser = new SpelExpressionParser();
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final ConcurrentHashMap<Method, Binding> bindings = new ConcurrentHashMap<>();
+
+    public RateLimitAspect(RedisRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Around("@annotation(rateLimit)")
+    public Object around(ProceedingJoinPoint joinPoint, RateLimit rateLimit) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Binding binding = bindings.computeIfAbsent(method, m -> bind(m, rateLimit));
+
+        String key = binding.name();
+        if (binding.keyExpression() != null) {
+            MethodBasedEvaluationContext context = new MethodBasedEvaluationContext(
+                    null, method, joinPoint.getArgs(), parameterNameDiscoverer);
+            key = key + ":" + binding.keyExpression().getValue(context, String.class);
+        }
+
+        if (!rateLimiter.tryAcquire(key, binding.rule())) {
+            log.warn("请求被限流: {}", key);
+            throw new BusinessException("RATE_LIMITED", "请求过于频繁，请稍后重试");
+        }
+        return joinPoint.proceed();
+    }
+
+    private Binding bind(Method method, RateLimit rateLimit) {
+        String name = rateLimit.name().isEmpty()
+                ? method.getDeclaringClass().getSimpleName() + "." + method.getName()
+                : rateLimit.name();
+        Expression keyExpression = rateLimit.key().isEmpty() ? null : parser.parseExpression(rateLimit.key());
+        long capacity = rateLimit.capacity() > 0
+                ? rateLimit.capacity()
+                : Math.max(1L, (long) Math.ceil(rateLimit.permitsPerSecond()));
+        RateLimitRule rule = new RateLimitRule(rateLimit.permitsPerSecond(), capacity, rateLimit.prefetch());
+        return new Binding(name, keyExpression, rule);
+    }
+
+    private record Binding(String name, Expression keyExpression, RateLimitRule rule) {
+    }
+}
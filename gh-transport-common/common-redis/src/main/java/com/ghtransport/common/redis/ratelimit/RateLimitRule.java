@@ -0,0 +1,31 @@
+package com.ghtransport.common.redis.ratelimit;
+
+/**
+ * 令牌桶限流规则
+ *
+ * @param permitsPerSecond 每秒补充的令牌数
+ * @param capacity         桶容量（允许的突发请求数）
+ * @param prefetch         本节点每次从Redis预取的令牌数，不超过桶容量；1表示不预取
+ */
+public record RateLimitRule(double permitsPerSecond, long capacity, int prefetch) {
+
+    public RateLimitRule {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("每秒令牌数必须大于0: " + permitsPerSecond);
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("桶容量必须大于0: " + capacity);
+        }
+        if (prefetch < 1) {
+            throw new IllegalArgumentException("预取令牌数必须大于0: " + prefetch);
+        }
+        prefetch = (int) Math.min(prefetch, capacity);
+    }
+
+    /**
+     * 容量等于每秒令牌数的规则
+     */
+    public static RateLimitRule perSecond(long permits, int prefetch) {
+        return new RateLimitRule(permits, permits, prefetch);
+    }
+}
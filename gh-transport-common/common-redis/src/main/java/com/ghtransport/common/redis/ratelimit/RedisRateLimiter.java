@@ -0,0 +1,199 @@
+package com.ghtransport.common.redis.ratelimit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 基于Redis的分布式令牌桶限流器
+ *
+ * 令牌桶状态（tokens、ts）保存在 rate-limit:{key} 的Hash中，由Lua脚本以Redis服务器时间补充并扣减，
+ * 限额对所有节点生效，不随实例数放大，可按客户、API Key等任意维度限流。
+ *
+ * 每次访问Redis时按规则一次预取多个令牌留在本节点，之后的检查在本地扣减，无需往返Redis；
+ * 预取的令牌在 rate-limit.prefetch-ttl-millis 后作废，未用完的令牌不归还，
+ * 因此最坏情况下实际放行量略低于限额，而不会超出。Redis返回无令牌时，本节点在补充一个令牌所需的时间内
+ * 直接拒绝该键的请求，过载时被拒绝的请求同样不会逐个访问Redis。
+ *
+ * 访问Redis时不持有本地令牌的锁：同一个键同时只有一个线程预取，预取期间到达的请求各自向Redis申请一个令牌，
+ * 既不排队等待网络往返，也不会重复预取。
+ */
+@Component
+public class RedisRateLimiter {
+
+    static final String KEY_PREFIX = "rate-limit:";
+    private static final int MAX_LOCAL_BUCKETS = 10_000;
+
+    /**
+     * 令牌桶脚本：按经过时间补充令牌，返回实际发放的令牌数（0到请求数之间）
+     * 空闲超过补满桶所需时间后键自动过期
+     */
+    private static final RedisScript<Long> TOKEN_BUCKET_SCRIPT = RedisScript.of(
+            "local rate = tonumber(ARGV[1]) " +
+                    "local capacity = tonumber(ARGV[2]) " +
+                    "local requested = tonumber(ARGV[3]) " +
+                    "local time = redis.call('time') " +
+                    "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) " +
+                    "local state = redis.call('hmget', KEYS[1], 'tokens', 'ts') " +
+                    "local tokens = tonumber(state[1]) " +
+                    "local ts = tonumber(state[2]) " +
+                    "if tokens == nil or ts == nil then " +
+                    "tokens = capacity " +
+                    "ts = now " +
+                    "end " +
+                    "if now > ts then " +
+                    "tokens = math.min(capacity, tokens + (now - ts) * rate / 1000) " +
+                    "end " +
+                    "local granted = math.min(requested, math.floor(tokens)) " +
+                    "tokens = tokens - granted " +
+                    "redis.call('hset', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(math.max(now, ts))) " +
+                    "redis.call('pexpire', KEYS[1], math.ceil(capacity * 1000 / rate) + 1000) " +
+                    "return granted",
+            Long.class
+    );
+
+    private final PermitSource permitSource;
+    private final long prefetchTtlNanos;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<String, LocalPermits> localPermits = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RedisRateLimiter(StringRedisTemplate redisTemplate,
+                            @Value("${rate-limit.prefetch-ttl-millis:100}") long prefetchTtlMillis) {
+        this((key, rule, requested) -> {
+            Long granted = redisTemplate.execute(
+                    TOKEN_BUCKET_SCRIPT,
+                    Collections.singletonList(KEY_PREFIX + key),
+                    String.valueOf(rule.permitsPerSecond()),
+                    String.valueOf(rule.capacity()),
+                    String.valueOf(requested)
+            );
+            return granted != null ? granted : 0;
+        }, TimeUnit.MILLISECONDS.toNanos(prefetchTtlMillis), System::nanoTime);
+    }
+
+    RedisRateLimiter(PermitSource permitSource, long prefetchTtlNanos, LongSupplier nanoClock) {
+        this.permitSource = permitSource;
+        this.prefetchTtlNanos = prefetchTtlNanos;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 尝试获取一个令牌，本节点预取的令牌用完时访问Redis
+     *
+     * @param key  限流维度，如 order:create:{customerId}
+     * @param rule 限流规则
+     * @return 是否放行
+     */
+    public boolean tryAcquire(String key, RateLimitRule rule) {
+        LocalPermits permits = permitsFor(key);
+        long now = nanoClock.getAsLong();
+        boolean refill;
+        synchronized (permits) {
+            if (permits.take(now)) {
+                return true;
+            }
+            if (permits.blockedUntil - now > 0) {
+                return false;
+            }
+            refill = !permits.refilling;
+            permits.refilling = true;
+        }
+
+        long granted;
+        try {
+            granted = permitSource.acquire(key, rule, refill ? rule.prefetch() : 1);
+        } catch (RuntimeException e) {
+            if (refill) {
+                synchronized (permits) {
+                    permits.refilling = false;
+                }
+            }
+            throw e;
+        }
+        synchronized (permits) {
+            if (refill) {
+                permits.refilling = false;
+                if (granted > 0) {
+                    permits.remaining = granted - 1;
+                    permits.expiresAt = now + prefetchTtlNanos;
+                }
+            }
+            if (granted <= 0) {
+                permits.blockedUntil = now + (long) (TimeUnit.SECONDS.toNanos(1) / rule.permitsPerSecond());
+            }
+        }
+        return granted > 0;
+    }
+
+    /**
+     * 仅使用本节点预取的令牌，不访问Redis（供不能阻塞的调用方先行检查）
+     *
+     * @return 本地令牌可用时扣减并返回true；返回false时应再调用 {@link #tryAcquire}
+     */
+    public boolean tryAcquireLocal(String key) {
+        LocalPermits permits = localPermits.get(key);
+        if (permits == null) {
+            return false;
+        }
+        synchronized (permits) {
+            return permits.take(nanoClock.getAsLong());
+        }
+    }
+
+    private LocalPermits permitsFor(String key) {
+        LocalPermits permits = localPermits.get(key);
+        if (permits != null) {
+            return permits;
+        }
+        long now = nanoClock.getAsLong();
+        if (localPermits.size() >= MAX_LOCAL_BUCKETS) {
+            localPermits.values().removeIf(p -> p.expiresAt - now <= 0 && p.blockedUntil - now <= 0);
+        }
+        return localPermits.computeIfAbsent(key, k -> new LocalPermits(now));
+    }
+
+    /**
+     * 令牌来源（Redis令牌桶），测试时可替换
+     */
+    @FunctionalInterface
+    interface PermitSource {
+
+        /**
+         * @return 实际发放的令牌数（0到请求数之间）
+         */
+        long acquire(String key, RateLimitRule rule, int requested);
+    }
+
+    /**
+     * 本节点预取的令牌
+     */
+    private static final class LocalPermits {
+
+        private long remaining;
+        private boolean refilling;
+        private volatile long blockedUntil;
+        private volatile long expiresAt;
+
+        private LocalPermits(long now) {
+            this.blockedUntil = now;
+            this.expiresAt = now;
+        }
+
+        private boolean take(long now) {
+            if (remaining > 0 && expiresAt - now > 0) {
+                remaining--;
+                return true;
+            }
+            remaining = 0;
+            return false;
+        }
+    }
+}
@@ -0,0 +1,423 @@
+package com.ghtransport.common.redis.cache;
+
+import com.ghtransport.common.redis.codec.JsonValueCodec;
+import com.ghtransport.common.redis.lock.DistributedLock;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 缓存服务测试（内存版RedisTemplate）
+ */
+class CacheServiceTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private final InMemoryCacheRedisTemplate redis = new InMemoryCacheRedisTemplate();
+
+    @Test
+    @DisplayName("getOrLoad - 未命中时加载并写入值与加载耗时")
+    void getOrLoad_Miss() {
+        // Given
+        CacheService cacheService = cacheService(1.0);
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        String value = cacheService.getOrLoad("order:1", String.class, TTL, () -> {
+            loads.incrementAndGet();
+            return "ORD-1";
+        });
+
+        // Then
+        assertEquals("ORD-1", value);
+        assertEquals(1, loads.get());
+        assertEquals("\"ORD-1\"", redis.getString("cache:order:1"));
+        assertNotNull(redis.getString("cache-delta:order:1"));
+        assertTrue(redis.pTtl("cache:order:1") > 0);
+    }
+
+    @Test
+    @DisplayName("getOrLoad - 命中且远未过期时不调用loader")
+    void getOrLoad_Hit() {
+        // Given
+        CacheService cacheService = cacheService(1.0);
+        redis.put("cache:order:2", "\"ORD-2\"", TTL.toMillis());
+        redis.put("cache-delta:order:2", "1", TTL.toMillis());
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        String value = cacheService.getOrLoad("order:2", String.class, TTL, () -> {
+            loads.incrementAndGet();
+            return "RELOADED";
+        });
+
+        // Then
+        assertEquals("ORD-2", value);
+        assertEquals(0, loads.get());
+        assertEquals(1, cacheService.getStats().l2Hits());
+    }
+
+    @Test
+    @DisplayName("getOrLoad - 临近过期时提前刷新")
+    void getOrLoad_EarlyRefresh() {
+        // Given：beta极大时刷新概率接近1
+        CacheService cacheService = cacheService(1.0e12);
+        redis.put("cache:order:3", "\"OLD\"", 60_000L);
+        redis.put("cache-delta:order:3", "50", 60_000L);
+
+        // When
+        String value = cacheService.getOrLoad("order:3", String.class, TTL, () -> "NEW");
+
+        // Then
+        assertEquals("NEW", value);
+        assertEquals("\"NEW\"", redis.getString("cache:order:3"));
+        assertTrue(redis.pTtl("cache:order:3") > 60_000L);
+    }
+
+    @Test
+    @DisplayName("getOrLoad - 同key并发未命中只加载一次")
+    void getOrLoad_ConcurrentMissCoalesced() throws Exception {
+        // Given
+        CacheService cacheService = cacheService(1.0);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<String>> futures = new ArrayList<>();
+        futures.add(executor.submit(() -> cacheService.getOrLoad("order:4", String.class, TTL, () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return "ORD-4";
+        })));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 7; i++) {
+            futures.add(executor.submit(() -> cacheService.getOrLoad("order:4", String.class, TTL, () -> {
+                loads.incrementAndGet();
+                return "DUPLICATE";
+            })));
+        }
+        Thread.sleep(200);
+        release.countDown();
+
+        // Then
+        for (Future<String> future : futures) {
+            assertEquals("ORD-4", future.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("getOrLoad - 同key不同类型并发未命中不合并，各自得到正确类型")
+    void getOrLoad_ConcurrentMissDifferentTypes() throws Exception {
+        // Given
+        CacheService cacheService = cacheService(1.0);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // When
+        Future<String> asString = executor.submit(() -> cacheService.getOrLoad("order:5", String.class, TTL, () -> {
+            loading.countDown();
+            await(release);
+            return "ORD-5";
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        Future<Integer> asInteger = executor.submit(() -> cacheService.getOrLoad("order:5", Integer.class, TTL,
+                () -> 5));
+
+        // Then：Integer 调用不加入 String 的加载，等待互斥锁超时后自行加载
+        try {
+            assertEquals(5, asInteger.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+        }
+        assertEquals("ORD-5", asString.get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("mSet/mGet - 按输入顺序返回，未命中为null，按分片发送MGET")
+    void mSetAndMGet() {
+        // Given
+        CacheService cacheService = cacheService(1.0, 2, null);
+        Map<String, Object> entries = new LinkedHashMap<>();
+        entries.put("order:1", "A");
+        entries.put("order:2", "B");
+        entries.put("order:3", null);
+        cacheService.mSet(entries, TTL);
+
+        // When
+        MultiGetResult<String> result = cacheService.mGet(
+                List.of("order:1", "order:9", "order:2", "order:3", "order:8"), String.class);
+
+        // Then
+        assertEquals(Arrays.asList("A", null, "B", null, null), result.values());
+        assertEquals(List.of("order:9", "order:3", "order:8"), result.missedKeys());
+        assertFalse(redis.contains("cache:order:3"));
+        assertTrue(redis.pTtl("cache:order:1") > 0);
+        assertEquals(3, Collections.frequency(redis.commands(), "MGET"));
+    }
+
+    @Test
+    @DisplayName("mDelete - 返回删除数量，分片DEL在同一管道发送")
+    void mDelete() {
+        // Given
+        CacheService cacheService = cacheService(1.0, 2, null);
+        cacheService.mSet(Map.of("order:1", "A", "order:2", "B", "order:3", "C"), TTL);
+        int pipelines = redis.pipelineCount();
+
+        // When
+        long deleted = cacheService.mDelete(List.of("order:1", "order:2", "order:3", "order:4"));
+
+        // Then
+        assertEquals(3, deleted);
+        assertEquals(pipelines + 1, redis.pipelineCount());
+        assertEquals(2, Collections.frequency(redis.commands(), "DEL"));
+        assertFalse(redis.contains("cache:order:2"));
+    }
+
+    @Test
+    @DisplayName("mSet/mDelete - 一级缓存批量失效只广播一条消息，其它节点按消息失效")
+    void batchInvalidation_SingleMessage() {
+        // Given
+        List<String> published = new ArrayList<>();
+        LocalCacheManager local = localCacheManager(published);
+        LocalCacheManager peer = localCacheManager(new ArrayList<>());
+        CacheService cacheService = cacheService(1.0, 200, local);
+        peer.cacheFor("order:1").put("order:1", "stale");
+        peer.cacheFor("order:2").put("order:2", "stale");
+        peer.cacheFor("order:3").put("order:3", "kept");
+
+        // When
+        cacheService.mSet(Map.of("order:1", "A", "order:2", "B", "invoice:1", "C"), TTL);
+        cacheService.mDelete(List.of("order:1", "order:2"));
+        for (String message : published) {
+            peer.onMessage(new DefaultMessage(local.getChannel().getBytes(StandardCharsets.UTF_8),
+                    message.getBytes(StandardCharsets.UTF_8)), null);
+        }
+
+        // Then
+        assertEquals(2, published.size());
+        assertFalse(published.get(0).contains("invoice:1"));
+        assertNull(peer.cacheFor("order:1").get("order:1", String.class));
+        assertNull(peer.cacheFor("order:2").get("order:2", String.class));
+        assertEquals("kept", peer.cacheFor("order:3").get("order:3", String.class));
+    }
+
+    @Test
+    @DisplayName("一级缓存回填 - 读取Redis期间收到失效时不回填旧值")
+    void localFill_SkippedWhenInvalidatedDuringRead() {
+        // Given
+        LocalCacheManager local = localCacheManager(new ArrayList<>());
+        CacheService cacheService = cacheService(1.0, 200, local);
+        LocalCache orders = local.cacheFor("order:1");
+        for (int i = 1; i <= 3; i++) {
+            redis.put("cache:order:" + i, "\"OLD\"", TTL.toMillis());
+        }
+        redis.put("cache-delta:order:2", "1", TTL.toMillis());
+
+        // When：每次读取返回旧值之前，其它节点的失效消息先到达
+        redis.beforeNextRead(() -> peerInvalidates(local, "order:1"));
+        String viaGet = cacheService.get("order:1", String.class);
+        redis.beforeNextRead(() -> peerInvalidates(local, "order:2"));
+        String viaGetOrLoad = cacheService.getOrLoad("order:2", String.class, TTL, () -> "RELOADED");
+        redis.beforeNextRead(() -> peerInvalidates(local, "order:3"));
+        MultiGetResult<String> viaMGet = cacheService.mGet(List.of("order:3"), String.class);
+
+        // Then：本次调用仍返回读到的值，但不进入一级缓存
+        assertEquals("OLD", viaGet);
+        assertEquals("OLD", viaGetOrLoad);
+        assertEquals(List.of("OLD"), viaMGet.values());
+        assertEquals(0, orders.size());
+
+        // When：没有并发失效时正常回填
+        cacheService.get("order:1", String.class);
+
+        // Then
+        assertEquals("OLD", orders.get("order:1", String.class));
+    }
+
+    @Test
+    @DisplayName("一级缓存回填 - 加载期间收到失效时写入Redis但不放入一级缓存")
+    void localFill_SkippedWhenInvalidatedDuringLoad() {
+        // Given
+        LocalCacheManager local = localCacheManager(new ArrayList<>());
+        CacheService cacheService = cacheService(1.0, 200, local);
+
+        // When
+        String value = cacheService.getOrLoad("order:7", String.class, TTL, () -> {
+            peerInvalidates(local, "order:7");
+            return "LOADED";
+        });
+
+        // Then
+        assertEquals("LOADED", value);
+        assertEquals("\"LOADED\"", redis.getString("cache:order:7"));
+        assertNull(local.cacheFor("order:7").get("order:7", String.class));
+    }
+
+    @Test
+    @DisplayName("scan - 游标跨多页遍历，去掉缓存前缀，通配符按字面匹配")
+    void scan_MultiplePages() {
+        // Given
+        CacheService cacheService = cacheService(1.0);
+        for (int i = 1; i <= 7; i++) {
+            redis.put("cache:order:" + i, "\"" + i + "\"", -1L);
+        }
+        redis.put("cache:invoice:1", "\"x\"", -1L);
+        redis.put("cache:or*:1", "\"y\"", -1L);
+
+        // When
+        List<String> keys;
+        try (Stream<String> stream = cacheService.scan("order:", 3)) {
+            keys = stream.sorted().collect(Collectors.toList());
+        }
+        int pages = redis.scanPageCount();
+        Set<String> literal = cacheService.keys("or*");
+
+        // Then
+        assertEquals(List.of("order:1", "order:2", "order:3", "order:4", "order:5", "order:6", "order:7"), keys);
+        assertEquals(3, pages);
+        assertEquals(Set.of("or*:1"), literal);
+    }
+
+    @Test
+    @DisplayName("deleteByPrefix - 按批UNLINK并回调累计删除数量")
+    void deleteByPrefix_Batches() {
+        // Given
+        CacheService cacheService = cacheService(1.0);
+        for (int i = 1; i <= 5; i++) {
+            redis.put("cache:order:" + i, "\"" + i + "\"", -1L);
+        }
+        redis.put("cache:invoice:1", "\"x\"", -1L);
+        List<Long> progress = new ArrayList<>();
+
+        // When
+        long deleted = cacheService.deleteByPrefix("order:", 2, progress::add);
+
+        // Then
+        assertEquals(5, deleted);
+        assertEquals(List.of(2L, 4L, 5L), progress);
+        assertEquals(3, Collections.frequency(redis.commands(), "UNLINK"));
+        assertFalse(redis.contains("cache:order:5"));
+        assertTrue(redis.contains("cache:invoice:1"));
+    }
+
+    @Test
+    @DisplayName("命名空间 - 版本号递增后旧键不可达，其它节点读取到新版本")
+    void namespace_VersionBump() {
+        // Given
+        CacheService cacheService = cacheService(1.0);
+        String oldKey = cacheService.namespacedKey("route", "SZ-GZ");
+        cacheService.set(oldKey, "旧线路", TTL);
+
+        // When
+        long version = cacheService.invalidateNamespace("route");
+        String newKey = cacheService.namespacedKey("route", "SZ-GZ");
+        String otherNodeKey = cacheService(1.0).namespacedKey("route", "SZ-GZ");
+
+        // Then
+        assertEquals("route:0:SZ-GZ", oldKey);
+        assertEquals(1, version);
+        assertEquals("route:1:SZ-GZ", newKey);
+        assertEquals(newKey, otherNodeKey);
+        assertNull(cacheService.get(newKey, String.class));
+        assertTrue(redis.contains("cache:" + oldKey));
+    }
+
+    private CacheService cacheService(double refreshBeta) {
+        return cacheService(refreshBeta, 200, null);
+    }
+
+    private CacheService cacheService(double refreshBeta, int batchChunkSize, LocalCacheManager localCacheManager) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        if (localCacheManager != null) {
+            beanFactory.addBean("localCacheManager", localCacheManager);
+        }
+        return new CacheService(redis, JsonValueCodec.INSTANCE,
+                beanFactory.getBeanProvider(LocalCacheManager.class),
+                new InMemoryLock(), 5_000L, 1_000L, refreshBeta, batchChunkSize, 1_000L);
+    }
+
+    /**
+     * 一级缓存只配置 order 命名空间，广播消息记录到 published
+     */
+    private static LocalCacheManager localCacheManager(List<String> published) {
+        LocalCacheProperties properties = new LocalCacheProperties();
+        properties.setEnabled(true);
+        properties.getNamespaces().put("order", new LocalCacheProperties.Policy());
+        return new LocalCacheManager(properties, new StringRedisTemplate() {
+            @Override
+            public Long convertAndSend(String channel, Object message) {
+                published.add(message.toString());
+                return 1L;
+            }
+        });
+    }
+
+    /**
+     * 模拟其它节点写入后广播的单键失效消息
+     */
+    private static void peerInvalidates(LocalCacheManager local, String key) {
+        local.onMessage(new DefaultMessage(local.getChannel().getBytes(StandardCharsets.UTF_8),
+                ("other-node|K|" + key).getBytes(StandardCharsets.UTF_8)), null);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 进程内互斥锁，替代加载互斥用的Redis锁
+     */
+    private static final class InMemoryLock extends DistributedLock {
+
+        private final ConcurrentHashMap<String, String> holders = new ConcurrentHashMap<>();
+
+        InMemoryLock() {
+            super(null, new RedisMessageListenerContainer(), 200L, 10_000L, 600_000L);
+        }
+
+        @Override
+        public boolean tryLock(String lockKey, String lockValue, long expireTime, TimeUnit timeUnit) {
+            return holders.putIfAbsent(lockKey, lockValue) == null;
+        }
+
+        @Override
+        public boolean unlock(String lockKey, String lockValue) {
+            return holders.remove(lockKey, lockValue);
+        }
+    }
+}
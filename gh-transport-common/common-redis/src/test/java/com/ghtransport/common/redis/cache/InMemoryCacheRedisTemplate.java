@@ -0,0 +1,368 @@
+package com.ghtransport.common.redis.cache;
+
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * 测试用内存版缓存RedisTemplate
+ *
+ * 只实现 CacheService 用到的命令（GET/SET PX/PTTL/MGET/DEL/UNLINK/INCR/SCAN），值按字节保存，支持管道；
+ * SCAN 按键排序后每页返回 COUNT 个键。其它命令抛出 UnsupportedOperationException。
+ */
+class InMemoryCacheRedisTemplate extends RedisTemplate<String, byte[]> {
+
+    private final ConcurrentHashMap<String, Entry> data = new ConcurrentHashMap<>();
+    private final List<String> commands = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger pipelines = new AtomicInteger();
+    private final AtomicInteger scanPages = new AtomicInteger();
+    private volatile Runnable beforeNextRead;
+
+    @Override
+    public <T> T execute(RedisCallback<T> action) {
+        return action.doInRedis(connection(null));
+    }
+
+    @Override
+    public List<Object> executePipelined(RedisCallback<?> action) {
+        pipelines.incrementAndGet();
+        List<Object> results = new ArrayList<>();
+        action.doInRedis(connection(results));
+        return results;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ValueOperations<String, byte[]> opsForValue() {
+        return (ValueOperations<String, byte[]>) proxy(ValueOperations.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "get":
+                    runBeforeRead();
+                    return get((String) args[0]);
+                case "set":
+                    long ttlMillis = -1L;
+                    if (args.length == 3) {
+                        ttlMillis = ((Duration) args[2]).toMillis();
+                    } else if (args.length == 4) {
+                        ttlMillis = ((TimeUnit) args[3]).toMillis((Long) args[2]);
+                    }
+                    put((String) args[0], (byte[]) args[1], ttlMillis);
+                    return null;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    @Override
+    public Boolean delete(String key) {
+        commands.add("DEL");
+        return data.remove(key) != null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Cursor<String> scan(ScanOptions options) {
+        Pattern pattern = globToRegex(options.getPattern() != null ? options.getPattern() : "*");
+        int count = options.getCount() != null ? options.getCount().intValue() : 10;
+        List<String> matched = new ArrayList<>();
+        for (String key : new TreeSet<>(data.keySet())) {
+            if (pattern.matcher(key).matches()) {
+                matched.add(key);
+            }
+        }
+        return (Cursor<String>) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Cursor.class},
+                new PagedCursor(matched, count));
+    }
+
+    /**
+     * 直接写入（测试准备数据），ttlMillis小于0表示不过期
+     */
+    void put(String key, byte[] value, long ttlMillis) {
+        long expireAt = ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : Long.MAX_VALUE;
+        data.put(key, new Entry(value, expireAt));
+    }
+
+    void put(String key, String value, long ttlMillis) {
+        put(key, value.getBytes(StandardCharsets.UTF_8), ttlMillis);
+    }
+
+    /**
+     * 下一条读取命令（GET/MGET）执行前运行一次，模拟读取期间其它节点写入并广播失效
+     */
+    void beforeNextRead(Runnable hook) {
+        this.beforeNextRead = hook;
+    }
+
+    private void runBeforeRead() {
+        Runnable hook = beforeNextRead;
+        if (hook != null) {
+            beforeNextRead = null;
+            hook.run();
+        }
+    }
+
+    byte[] get(String key) {
+        Entry entry = data.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expireAt <= System.currentTimeMillis()) {
+            data.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    String getString(String key) {
+        byte[] value = get(key);
+        return value != null ? new String(value, StandardCharsets.UTF_8) : null;
+    }
+
+    long pTtl(String key) {
+        Entry entry = data.get(key);
+        if (entry == null || get(key) == null) {
+            return -2L;
+        }
+        return entry.expireAt == Long.MAX_VALUE ? -1L : entry.expireAt - System.currentTimeMillis();
+    }
+
+    boolean contains(String key) {
+        return get(key) != null;
+    }
+
+    /**
+     * 已执行的命令名（按执行顺序，批量命令记一次）
+     */
+    List<String> commands() {
+        return commands;
+    }
+
+    int pipelineCount() {
+        return pipelines.get();
+    }
+
+    /**
+     * SCAN 已返回的页数
+     */
+    int scanPageCount() {
+        return scanPages.get();
+    }
+
+    private RedisConnection connection(List<Object> pipelineResults) {
+        RedisStringCommands stringCommands = proxy(RedisStringCommands.class, (proxy, method, args) ->
+                reply(pipelineResults, stringCommand(method, args)));
+        RedisKeyCommands keyCommands = proxy(RedisKeyCommands.class, (proxy, method, args) ->
+                reply(pipelineResults, keyCommand(method, args)));
+        return proxy(RedisConnection.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "stringCommands":
+                    return stringCommands;
+                case "keyCommands":
+                    return keyCommands;
+                case "isPipelined":
+                    return pipelineResults != null;
+                case "close":
+                    return null;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    private Object stringCommand(Method method, Object[] args) {
+        String name = method.getName();
+        commands.add(name.toUpperCase());
+        switch (name) {
+            case "get":
+                runBeforeRead();
+                return get(key(args[0]));
+            case "mGet": {
+                runBeforeRead();
+                List<byte[]> values = new ArrayList<>();
+                for (byte[] key : (byte[][]) args[0]) {
+                    values.add(get(key(key)));
+                }
+                return values;
+            }
+            case "set": {
+                String key = key(args[0]);
+                Expiration expiration = args.length > 2 ? (Expiration) args[2] : Expiration.persistent();
+                SetOption option = args.length > 3 ? (SetOption) args[3] : SetOption.upsert();
+                boolean exists = contains(key);
+                if ((option == SetOption.ifAbsent() && exists) || (option == SetOption.ifPresent() && !exists)) {
+                    return false;
+                }
+                long ttlMillis = expiration.isPersistent() ? -1L : expiration.getExpirationTimeInMilliseconds();
+                put(key, (byte[]) args[1], ttlMillis);
+                return true;
+            }
+            case "incr": {
+                String key = key(args[0]);
+                String current = getString(key);
+                long value = (current != null ? Long.parseLong(current) : 0L) + 1;
+                put(key, Long.toString(value), -1L);
+                return value;
+            }
+            default:
+                throw new UnsupportedOperationException(name);
+        }
+    }
+
+    private Object keyCommand(Method method, Object[] args) {
+        String name = method.getName();
+        commands.add(name.toUpperCase());
+        switch (name) {
+            case "pTtl":
+                return pTtl(key(args[0]));
+            case "del":
+            case "unlink": {
+                long deleted = 0;
+                for (byte[] key : (byte[][]) args[0]) {
+                    if (data.remove(key(key)) != null) {
+                        deleted++;
+                    }
+                }
+                return deleted;
+            }
+            default:
+                throw new UnsupportedOperationException(name);
+        }
+    }
+
+    /**
+     * 管道模式下命令返回null，结果在 executePipelined 中按顺序返回
+     */
+    private static Object reply(List<Object> pipelineResults, Object result) {
+        if (pipelineResults == null) {
+            return result;
+        }
+        pipelineResults.add(result);
+        return null;
+    }
+
+    /**
+     * SCAN 匹配模式转正则：支持 * ? 与反斜杠转义
+     */
+    private static Pattern globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '\\' && i + 1 < glob.length()) {
+                regex.append(Pattern.quote(String.valueOf(glob.charAt(++i))));
+            } else if (c == '*') {
+                regex.append(".*");
+            } else if (c == '?') {
+                regex.append('.');
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private static String key(Object raw) {
+        return new String((byte[]) raw, StandardCharsets.UTF_8);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(InMemoryCacheRedisTemplate.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return switch (method.getName()) {
+                            case "equals" -> proxy == args[0];
+                            case "hashCode" -> System.identityHashCode(proxy);
+                            default -> type.getSimpleName();
+                        };
+                    }
+                    return handler.invoke(proxy, method, args != null ? args : new Object[0]);
+                });
+    }
+
+    private record Entry(byte[] value, long expireAt) {
+    }
+
+    /**
+     * 分页返回匹配键的游标，每次取空当前页时才加载下一页
+     */
+    private final class PagedCursor implements InvocationHandler {
+
+        private final List<String> matched;
+        private final int count;
+        private final Deque<String> page = new ArrayDeque<>();
+        private int position;
+        private boolean closed;
+
+        private PagedCursor(List<String> matched, int count) {
+            this.matched = matched;
+            this.count = count;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.isDefault()) {
+                return InvocationHandler.invokeDefault(proxy, method, args);
+            }
+            switch (method.getName()) {
+                case "hasNext":
+                    return hasNext();
+                case "next":
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return page.poll();
+                case "close":
+                    closed = true;
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "getPosition":
+                case "getCursorId":
+                    return (long) position;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "Cursor";
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        }
+
+        private boolean hasNext() {
+            if (page.isEmpty() && position < matched.size()) {
+                int end = Math.min(position + count, matched.size());
+                page.addAll(matched.subList(position, end));
+                position = end;
+                scanPages.incrementAndGet();
+            }
+            return !page.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.ghtransport.common.redis.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 一级缓存测试
+ */
+class LocalCacheTest {
+
+    @Test
+    @DisplayName("命中、过期与类型不匹配")
+    void getAndExpire() {
+        // Given
+        AtomicLong now = new AtomicLong(1_000L);
+        LocalCache cache = new LocalCache("customer", 10, 100L, now::get);
+        cache.put("customer:1", "张三");
+
+        // Then
+        assertEquals("张三", cache.get("customer:1", String.class));
+        assertNull(cache.get("customer:1", Integer.class));
+        now.addAndGet(100L);
+        assertNull(cache.get("customer:1", String.class));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    @DisplayName("容量上限与前缀失效")
+    void evictAndInvalidatePrefix() {
+        // Given
+        LocalCache cache = new LocalCache("role", 10, 60_000L);
+        for (int i = 0; i < 20; i++) {
+            cache.put("role:" + i, i);
+        }
+
+        // Then
+        assertTrue(cache.size() <= 10);
+
+        cache.clear();
+        cache.put("role:admin", 1);
+        cache.put("role:admin:menus", 2);
+        cache.put("role:user", 3);
+        assertEquals(2, cache.invalidatePrefix("role:admin"));
+        assertEquals(3, cache.get("role:user", Integer.class));
+    }
+
+    @Test
+    @DisplayName("失效版本 - 取版本后该键被失效则不回填，其它键不受影响")
+    void putIfNotInvalidated() {
+        // Given
+        LocalCache cache = new LocalCache("customer", 10, 60_000L);
+        long stamp = cache.invalidationStamp("customer:1");
+        long otherStamp = cache.invalidationStamp("customer:2");
+
+        // When
+        cache.invalidate("customer:1");
+
+        // Then
+        assertFalse(cache.putIfNotInvalidated("customer:1", "旧值", stamp));
+        assertNull(cache.get("customer:1", String.class));
+        assertTrue(cache.putIfNotInvalidated("customer:1", "新值", cache.invalidationStamp("customer:1")));
+        assertEquals("新值", cache.get("customer:1", String.class));
+
+        // When：按前缀失效使所有已取的版本失效
+        cache.invalidatePrefix("customer:9");
+
+        // Then
+        assertFalse(cache.putIfNotInvalidated("customer:2", "旧值", otherStamp));
+    }
+}
@@ -0,0 +1,78 @@
+package com.ghtransport.common.redis.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 进程内请求合并测试
+ */
+class SingleFlightTest {
+
+    @Test
+    @DisplayName("同key并发调用只执行一次")
+    void execute_Coalesced() throws Exception {
+        // Given
+        SingleFlight singleFlight = new SingleFlight();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<String>> futures = new ArrayList<>();
+        futures.add(executor.submit(() -> singleFlight.execute("order:1", () -> {
+            loads.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "loaded";
+        })));
+        started.await(5, TimeUnit.SECONDS);
+        for (int i = 0; i < 7; i++) {
+            futures.add(executor.submit(() -> singleFlight.execute("order:1", () -> {
+                loads.incrementAndGet();
+                return "duplicate";
+            })));
+        }
+        assertTrue(singleFlight.isInFlight("order:1"));
+        Thread.sleep(200);
+        release.countDown();
+
+        // Then
+        for (Future<String> future : futures) {
+            assertEquals("loaded", future.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertFalse(singleFlight.isInFlight("order:1"));
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("异常传递且不缓存结果")
+    void execute_Exception() {
+        SingleFlight singleFlight = new SingleFlight();
+
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("order:2", () -> {
+            throw new IllegalStateException("数据库不可用");
+        }));
+        assertEquals("ok", singleFlight.execute("order:2", () -> "ok"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.ghtransport.common.redis.codec;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 带版本头的缓存值编码测试
+ */
+class FramedValueCodecTest {
+
+    @Test
+    @DisplayName("JSON不压缩时与原格式一致")
+    void json_SameAsLegacy() {
+        // Given
+        FramedValueCodec codec = new FramedValueCodec("json", new Lz4PayloadCompressor(), -1);
+        Map<String, Object> value = Map.of("orderNo", "ORD2025012900120000001");
+
+        // When
+        byte[] encoded = codec.encode(value);
+
+        // Then
+        assertEquals("{\"orderNo\":\"ORD2025012900120000001\"}", new String(encoded, StandardCharsets.UTF_8));
+        assertEquals(value, codec.decode(encoded, Map.class));
+    }
+
+    @Test
+    @DisplayName("JSONB与压缩往返，并可读取原JSON数据")
+    void jsonbCompressed_RoundTrip() {
+        // Given
+        FramedValueCodec codec = new FramedValueCodec("jsonb", new Lz4PayloadCompressor(), 256);
+        Map<String, Object> small = Map.of("skuCode", "SKU-1001");
+        Map<String, Object> large = new LinkedHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            large.put("item" + i, "标准托盘 1200x1000");
+        }
+
+        // When
+        byte[] smallEncoded = codec.encode(small);
+        byte[] largeEncoded = codec.encode(large);
+        byte[] legacy = "{\"skuCode\":\"SKU-1001\"}".getBytes(StandardCharsets.UTF_8);
+
+        // Then
+        assertEquals(FramedValueCodec.MAGIC, smallEncoded[0]);
+        assertEquals(FramedValueCodec.NO_COMPRESSION, smallEncoded[3]);
+        assertEquals(Lz4PayloadCompressor.ID, largeEncoded[3]);
+        assertEquals(small, codec.decode(smallEncoded, Map.class));
+        assertEquals(large, codec.decode(largeEncoded, Map.class));
+        assertEquals(small, codec.decode(legacy, Map.class));
+    }
+
+    @Test
+    @DisplayName("JSON压缩往返，复用缓冲区不影响已返回结果")
+    void jsonCompressed_RoundTrip() {
+        // Given
+        FramedValueCodec codec = new FramedValueCodec("json", new Lz4PayloadCompressor(), 256);
+        Map<String, Object> large = new LinkedHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            large.put("item" + i, "标准托盘 1200x1000");
+        }
+        Map<String, Object> small = Map.of("skuCode", "SKU-1001");
+
+        // When
+        byte[] largeEncoded = codec.encode(large);
+        byte[] smallEncoded = codec.encode(small);
+
+        // Then
+        assertEquals(FramedValueCodec.MAGIC, largeEncoded[0]);
+        assertEquals(FramedValueCodec.FORMAT_JSON, largeEncoded[2]);
+        assertEquals(Lz4PayloadCompressor.ID, largeEncoded[3]);
+        assertEquals(large, codec.decode(largeEncoded, Map.class));
+        assertEquals("{\"skuCode\":\"SKU-1001\"}", new String(smallEncoded, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("不支持的版本")
+    void unsupportedVersion() {
+        FramedValueCodec codec = new FramedValueCodec("jsonb", null, -1);
+
+        assertThrows(IllegalStateException.class,
+                () -> codec.decode(new byte[]{FramedValueCodec.MAGIC, 9, 2, 0}, Map.class));
+        assertThrows(IllegalArgumentException.class, () -> new FramedValueCodec("xml", null, -1));
+    }
+}
@@ -0,0 +1,85 @@
+package com.ghtransport.common.redis.id;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 测试用内存版节点租约RedisTemplate
+ *
+ * 只保存键值，不模拟过期，由测试通过 {@link #expire(String)}、{@link #put(String, String)} 模拟租约过期或被抢占；
+ * {@link #setAvailable(boolean)} 为 false 时所有命令抛出异常，模拟Redis不可用。
+ */
+class InMemoryLeaseRedisTemplate extends StringRedisTemplate {
+
+    private final Map<String, String> data = new HashMap<>();
+    private volatile boolean available = true;
+
+    @Override
+    public synchronized <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+        checkAvailable();
+        String key = keys.get(0);
+        if (!args[0].equals(data.get(key))) {
+            return script.getResultType().cast(0L);
+        }
+        if (script == RedisSnowflakeNodeProvider.RELEASE_SCRIPT) {
+            data.remove(key);
+        } else if (script != RedisSnowflakeNodeProvider.RENEW_SCRIPT) {
+            throw new UnsupportedOperationException(script.getScriptAsString());
+        }
+        return script.getResultType().cast(1L);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ValueOperations<String, String> opsForValue() {
+        return (ValueOperations<String, String>) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{ValueOperations.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "setIfAbsent":
+                            if (args.length < 3) {
+                                throw new UnsupportedOperationException("租约必须带过期时间");
+                            }
+                            synchronized (this) {
+                                checkAvailable();
+                                return data.putIfAbsent((String) args[0], (String) args[1]) == null;
+                            }
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "ValueOperations";
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    synchronized String get(String key) {
+        return data.get(key);
+    }
+
+    synchronized void put(String key, String value) {
+        data.put(key, value);
+    }
+
+    synchronized void expire(String key) {
+        data.remove(key);
+    }
+
+    void setAvailable(boolean available) {
+        this.available = available;
+    }
+
+    private void checkAvailable() {
+        if (!available) {
+            throw new IllegalStateException("Redis不可用");
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.ghtransport.common.redis.id;
+
+import com.ghtransport.common.core.util.SnowflakeIdGenerator;
+import com.ghtransport.common.core.util.SnowflakeNodeProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Redis租约节点分配测试
+ */
+class RedisSnowflakeNodeProviderTest {
+
+    private static final long TTL_SECONDS = 60L;
+
+    private final InMemoryLeaseRedisTemplate redis = new InMemoryLeaseRedisTemplate();
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    private RedisSnowflakeNodeProvider provider;
+    private SnowflakeIdGenerator generator;
+
+    @AfterEach
+    void tearDown() {
+        if (provider != null) {
+            provider.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("续约 - 租约被其他实例占用时暂停发号，占用新节点号后恢复")
+    void renew_LeaseTakenByOther() {
+        // Given：除本实例节点号外全部被占用
+        start();
+        int lost = provider.nodeId();
+        for (int node = 0; node < 1024; node++) {
+            if (node != lost) {
+                redis.put(key(node), "other");
+            }
+        }
+
+        // When
+        redis.put(key(lost), "other");
+        provider.renew();
+
+        // Then：没有空闲节点号，保持暂停
+        assertEquals(-1, provider.nodeId());
+        assertTrue(generator.isSuspended());
+        assertThrows(IllegalStateException.class, generator::nextId);
+
+        // When
+        redis.expire(key(7));
+        provider.renew();
+
+        // Then
+        assertEquals(7, provider.nodeId());
+        long id = generator.nextId();
+        assertEquals(0L, SnowflakeIdGenerator.extractDatacenterId(id));
+        assertEquals(7L, SnowflakeIdGenerator.extractWorkerId(id));
+        assertEquals("other", redis.get(key(lost)));
+    }
+
+    @Test
+    @DisplayName("续约 - 租约过期但未被占用时重新占用原节点号，不暂停发号")
+    void renew_LeaseExpiredNotTaken() {
+        // Given
+        start();
+        int node = provider.nodeId();
+
+        // When
+        redis.expire(key(node));
+        provider.renew();
+
+        // Then
+        assertEquals(node, provider.nodeId());
+        assertFalse(generator.isSuspended());
+        assertNotNull(redis.get(key(node)));
+    }
+
+    @Test
+    @DisplayName("续约 - Redis不可用到下次续约前租约即过期时暂停发号")
+    void renew_RedisUnavailable() {
+        // Given
+        start();
+        redis.setAvailable(false);
+
+        // When：距离过期还有两个续约周期
+        clock.addAndGet(TimeUnit.SECONDS.toMillis(20));
+        provider.renew();
+
+        // Then
+        assertFalse(generator.isSuspended());
+
+        // When：下次续约前租约即过期
+        clock.addAndGet(TimeUnit.SECONDS.toMillis(20));
+        provider.renew();
+
+        // Then
+        assertTrue(generator.isSuspended());
+        assertEquals(-1, provider.nodeId());
+
+        // When
+        redis.setAvailable(true);
+        provider.renew();
+
+        // Then
+        assertTrue(provider.nodeId() >= 0);
+        assertFalse(generator.isSuspended());
+        long id = generator.nextId();
+        assertEquals(provider.workerId(), SnowflakeIdGenerator.extractWorkerId(id));
+    }
+
+    private void start() {
+        provider = new RedisSnowflakeNodeProvider(redis, TTL_SECONDS, clock::get);
+        generator = new SnowflakeIdGenerator(provider.datacenterId(), provider.workerId());
+        provider.addListener(new SnowflakeNodeProvider.NodeListener() {
+            @Override
+            public void onNodeLost() {
+                generator.suspend();
+            }
+
+            @Override
+            public void onNodeAssigned(long datacenterId, long workerId) {
+                generator.reassign(datacenterId, workerId);
+            }
+        });
+    }
+
+    private static String key(int node) {
+        return "snowflake:node:" + node;
+    }
+}
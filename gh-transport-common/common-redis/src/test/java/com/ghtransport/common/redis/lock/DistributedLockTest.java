@@ -0,0 +1,190 @@
+package com.ghtransport.common.redis.lock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 分布式锁测试（内存版RedisTemplate）
+ */
+class DistributedLockTest {
+
+    /**
+     * 兜底轮询间隔远大于断言的等待时间，等待者只能由释放通知唤醒
+     */
+    private static final long FALLBACK_POLL_MILLIS = 10_000L;
+
+    private final InMemoryLockRedisTemplate redis = new InMemoryLockRedisTemplate();
+    private final List<DistributedLock> locks = new ArrayList<>();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        locks.forEach(DistributedLock::destroy);
+    }
+
+    @Test
+    @DisplayName("tryLockWithWaitTime/unlock - 互斥加锁，只有持有者能释放")
+    void tryLockAndUnlock() {
+        // Given
+        DistributedLock lock = distributedLock();
+
+        // When
+        boolean first = lock.tryLockWithWaitTime("order:1", "A", 0, 30_000, TimeUnit.MILLISECONDS);
+        boolean second = lock.tryLockWithWaitTime("order:1", "B", 0, 30_000, TimeUnit.MILLISECONDS);
+
+        // Then
+        assertTrue(first);
+        assertFalse(second);
+        assertFalse(lock.unlock("order:1", "B"));
+        assertTrue(lock.unlock("order:1", "A"));
+        assertFalse(redis.exists("lock:order:1"));
+        assertEquals(0, redis.listenerContainer().listenerCount("lock:released:order:1"));
+    }
+
+    @Test
+    @DisplayName("unlock - 一次释放只唤醒本节点一个等待者")
+    void unlock_WakesOneLocalWaiter() throws Exception {
+        // Given
+        DistributedLock lock = distributedLock();
+        assertTrue(lock.tryLockWithWaitTime("order:2", "holder", 0, 60_000, TimeUnit.MILLISECONDS));
+        Future<Boolean> first = waitForLock(lock, "order:2", "W1");
+        Future<Boolean> second = waitForLock(lock, "order:2", "W2");
+        // 每个等待者：首次尝试 + 订阅后重试
+        awaitCondition(() -> redis.scriptCalls(DistributedLock.LOCK_SCRIPT) == 5);
+
+        // When
+        lock.unlock("order:2", "holder");
+        awaitCondition(() -> first.isDone() || second.isDone());
+        Thread.sleep(200);
+
+        // Then
+        assertEquals(6, redis.scriptCalls(DistributedLock.LOCK_SCRIPT));
+        assertTrue(first.isDone() ^ second.isDone());
+
+        // When：胜出者释放后唤醒另一个
+        Future<Boolean> winner = first.isDone() ? first : second;
+        Future<Boolean> loser = first.isDone() ? second : first;
+        assertTrue(winner.get());
+        lock.unlock("order:2", winner == first ? "W1" : "W2");
+
+        // Then
+        assertTrue(loser.get(2, TimeUnit.SECONDS));
+        assertEquals(7, redis.scriptCalls(DistributedLock.LOCK_SCRIPT));
+    }
+
+    @Test
+    @DisplayName("unlock - 释放消息唤醒其它节点的等待者")
+    void unlock_WakesRemoteWaiter() throws Exception {
+        // Given：两个节点共享Redis
+        DistributedLock nodeA = distributedLock();
+        DistributedLock nodeB = distributedLock();
+        assertTrue(nodeA.tryLockWithWaitTime("order:3", "A", 0, 60_000, TimeUnit.MILLISECONDS));
+        Future<Boolean> waiter = waitForLock(nodeB, "order:3", "B");
+        awaitCondition(() -> redis.scriptCalls(DistributedLock.LOCK_SCRIPT) == 3);
+
+        // When
+        nodeA.unlock("order:3", "A");
+
+        // Then
+        assertTrue(waiter.get(2, TimeUnit.SECONDS));
+        assertEquals("B", redis.opsForValue().get("lock:order:3"));
+    }
+
+    @Test
+    @DisplayName("tryLockWithFencingToken - 每次加锁令牌递增，占用时返回无效令牌")
+    void fencingToken_Increases() {
+        // Given
+        DistributedLock lock = distributedLock();
+
+        // When
+        long first = lock.tryLockWithFencingToken("stock:1", "A", 0, 30_000, TimeUnit.MILLISECONDS);
+        long blocked = lock.tryLockWithFencingToken("stock:1", "B", 0, 30_000, TimeUnit.MILLISECONDS);
+        lock.unlock("stock:1", "A");
+        long second = lock.tryLockWithFencingToken("stock:1", "B", 0, 30_000, TimeUnit.MILLISECONDS);
+
+        // Then
+        assertEquals(1L, first);
+        assertEquals(DistributedLock.NO_FENCING_TOKEN, blocked);
+        assertEquals(2L, second);
+    }
+
+    @Test
+    @DisplayName("tryLockWithWatchdog - 持有期间续期，unlock后停止续期")
+    void watchdog_RenewsUntilUnlock() throws Exception {
+        // Given
+        DistributedLock lock = distributedLock(300L, 60_000L);
+
+        // When
+        assertTrue(lock.tryLockWithWatchdog("order:5", "A", 0, TimeUnit.MILLISECONDS));
+        Thread.sleep(700);
+
+        // Then：已超过一个租约仍未过期
+        assertTrue(redis.exists("lock:order:5"));
+        assertTrue(redis.scriptCalls(DistributedLock.EXTEND_SCRIPT) >= 3);
+
+        // When
+        assertTrue(lock.unlock("order:5", "A"));
+        int renewals = redis.scriptCalls(DistributedLock.EXTEND_SCRIPT);
+        Thread.sleep(300);
+
+        // Then
+        assertEquals(renewals, redis.scriptCalls(DistributedLock.EXTEND_SCRIPT));
+    }
+
+    @Test
+    @DisplayName("tryLockWithWatchdog - 线程池线程未释放锁时，超过持有上限后停止续期，锁自然过期")
+    void watchdog_StopsAtMaxHold() throws Exception {
+        // Given：线程池线程加锁后不释放，线程本身一直存活
+        DistributedLock lock = distributedLock(300L, 900L);
+        long start = System.nanoTime();
+        assertTrue(executor.submit(() -> lock.tryLockWithWatchdog("order:6", "leaked", 0, TimeUnit.MILLISECONDS))
+                .get(2, TimeUnit.SECONDS));
+
+        // When
+        awaitCondition(() -> !redis.exists("lock:order:6"));
+        long heldMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        int renewals = redis.scriptCalls(DistributedLock.EXTEND_SCRIPT);
+        Thread.sleep(300);
+
+        // Then：续期到持有上限为止，之后锁在一个租约内过期
+        assertTrue(heldMillis >= 900L, "heldMillis=" + heldMillis);
+        assertEquals(renewals, redis.scriptCalls(DistributedLock.EXTEND_SCRIPT));
+    }
+
+    private DistributedLock distributedLock() {
+        return distributedLock(10_000L, 600_000L);
+    }
+
+    private DistributedLock distributedLock(long leaseMillis, long maxHoldMillis) {
+        DistributedLock lock = new DistributedLock(redis, redis.listenerContainer(),
+                FALLBACK_POLL_MILLIS, leaseMillis, maxHoldMillis);
+        locks.add(lock);
+        return lock;
+    }
+
+    private Future<Boolean> waitForLock(DistributedLock lock, String lockKey, String lockValue) {
+        return executor.submit(() -> lock.tryLockWithWaitTime(lockKey, lockValue, 5, 60, TimeUnit.SECONDS));
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("等待条件超时");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,399 @@
+package com.ghtransport.common.redis.lock;
+
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+/**
+ * 测试用内存版锁RedisTemplate
+ *
+ * 字符串与Hash两种值；每个Lua脚本按实例登记一个等价的Java实现，在同一把锁内执行，与Redis单线程执行脚本一致；
+ * PUBLISH 同步投递给 {@link #listenerContainer()} 上登记的监听器。其它命令抛出 UnsupportedOperationException。
+ */
+class InMemoryLockRedisTemplate extends StringRedisTemplate {
+
+    private final Map<String, Entry> data = new HashMap<>();
+    private final Map<RedisScript<?>, BiFunction<List<String>, Object[], Object>> scripts = new HashMap<>();
+    private final Map<RedisScript<?>, AtomicInteger> scriptCalls = new ConcurrentHashMap<>();
+    private final ListenerContainer container = new ListenerContainer();
+
+    InMemoryLockRedisTemplate() {
+        scripts.put(DistributedLock.LOCK_SCRIPT, (keys, args) -> {
+            if (setIfAbsent(keys.get(0), (String) args[0], millis(args[1]))) {
+                return null;
+            }
+            return pTtl(keys.get(0));
+        });
+        scripts.put(DistributedLock.FENCED_LOCK_SCRIPT, (keys, args) -> {
+            if (setIfAbsent(keys.get(0), (String) args[0], millis(args[1]))) {
+                return List.of(1L, incr(keys.get(1)));
+            }
+            return List.of(0L, pTtl(keys.get(0)));
+        });
+        scripts.put(DistributedLock.EXTEND_SCRIPT, (keys, args) -> {
+            if (!args[0].equals(getString(keys.get(0)))) {
+                return 0L;
+            }
+            pExpire(keys.get(0), millis(args[1]));
+            return 1L;
+        });
+        scripts.put(DistributedLock.UNLOCK_SCRIPT, (keys, args) -> {
+            if (!args[0].equals(getString(keys.get(0)))) {
+                return 0L;
+            }
+            data.remove(keys.get(0));
+            publish((String) args[1], (String) args[2]);
+            return 1L;
+        });
+        scripts.put(ReentrantDistributedLock.LOCK_SCRIPT, (keys, args) -> {
+            String key = keys.get(0);
+            if (live(key) != null && hGet(key, (String) args[0]) == null) {
+                return pTtl(key);
+            }
+            hIncrBy(key, (String) args[0], 1);
+            pExpire(key, millis(args[1]));
+            return null;
+        });
+        scripts.put(ReentrantDistributedLock.UNLOCK_SCRIPT, (keys, args) -> {
+            String key = keys.get(0);
+            if (hGet(key, (String) args[0]) == null) {
+                return -1L;
+            }
+            long count = hIncrBy(key, (String) args[0], -1);
+            if (count > 0) {
+                return count;
+            }
+            data.remove(key);
+            publish((String) args[1], (String) args[2]);
+            return 0L;
+        });
+        scripts.put(ReadWriteDistributedLock.READ_LOCK_SCRIPT, (keys, args) -> {
+            String key = keys.get(0);
+            String mode = hGet(key, (String) args[2]);
+            if (mode == null) {
+                hSet(key, (String) args[2], "read");
+            } else if (mode.equals("write") && hGet(key, (String) args[0]) == null) {
+                return pTtl(key);
+            }
+            hIncrBy(key, (String) args[0], 1);
+            if (pTtl(key) < millis(args[1])) {
+                pExpire(key, millis(args[1]));
+            }
+            return null;
+        });
+        scripts.put(ReadWriteDistributedLock.WRITE_LOCK_SCRIPT, (keys, args) -> {
+            String key = keys.get(0);
+            String mode = hGet(key, (String) args[2]);
+            if (mode == null) {
+                hSet(key, (String) args[2], "write");
+            } else if (!mode.equals("write") || hGet(key, (String) args[0]) == null) {
+                return pTtl(key);
+            }
+            hIncrBy(key, (String) args[0], 1);
+            pExpire(key, millis(args[1]));
+            return null;
+        });
+        scripts.put(ReadWriteDistributedLock.UNLOCK_SCRIPT, (keys, args) -> {
+            String key = keys.get(0);
+            if (hGet(key, (String) args[0]) == null) {
+                return -1L;
+            }
+            long count = hIncrBy(key, (String) args[0], -1);
+            if (count > 0) {
+                return count;
+            }
+            Map<String, String> hash = hash(key);
+            hash.remove((String) args[0]);
+            if (hash.size() <= 1) {
+                data.remove(key);
+                publish((String) args[1], (String) args[2]);
+            }
+            return 0L;
+        });
+        scripts.put(MultiDistributedLock.LOCK_SCRIPT, (keys, args) -> {
+            for (int i = 0; i < keys.size(); i++) {
+                long ttl = pTtl(keys.get(i));
+                if (ttl != -2L) {
+                    return List.of((long) i + 1, ttl);
+                }
+            }
+            for (String key : keys) {
+                data.put(key, new Entry(args[0], expireAt(millis(args[1]))));
+            }
+            return List.of(0L, 0L);
+        });
+        scripts.put(MultiDistributedLock.UNLOCK_SCRIPT, (keys, args) -> {
+            long released = 0;
+            int prefixLength = Integer.parseInt((String) args[2]);
+            for (String key : keys) {
+                if (args[0].equals(getString(key))) {
+                    data.remove(key);
+                    publish(args[1] + key.substring(prefixLength), (String) args[3]);
+                    released++;
+                }
+            }
+            return released;
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+        BiFunction<List<String>, Object[], Object> handler = scripts.get(script);
+        if (handler == null) {
+            throw new UnsupportedOperationException(script.getScriptAsString());
+        }
+        scriptCalls.computeIfAbsent(script, s -> new AtomicInteger()).incrementAndGet();
+        synchronized (this) {
+            return (T) handler.apply(keys, args);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ValueOperations<String, String> opsForValue() {
+        return (ValueOperations<String, String>) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{ValueOperations.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "get":
+                            synchronized (this) {
+                                return getString((String) args[0]);
+                            }
+                        case "setIfAbsent":
+                            long ttlMillis = args.length == 3
+                                    ? ((Duration) args[2]).toMillis()
+                                    : ((TimeUnit) args[3]).toMillis((Long) args[2]);
+                            synchronized (this) {
+                                return setIfAbsent((String) args[0], (String) args[1], ttlMillis);
+                            }
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "ValueOperations";
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <HK, HV> HashOperations<String, HK, HV> opsForHash() {
+        return (HashOperations<String, HK, HV>) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{HashOperations.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "get":
+                            synchronized (this) {
+                                return hGet((String) args[0], (String) args[1]);
+                            }
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "HashOperations";
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    @Override
+    public synchronized Boolean delete(String key) {
+        return data.remove(key) != null;
+    }
+
+    @Override
+    public Long convertAndSend(String channel, Object message) {
+        return (long) publish(channel, message.toString());
+    }
+
+    @Override
+    public synchronized Long getExpire(String key, TimeUnit timeUnit) {
+        long pTtl = pTtl(key);
+        return pTtl < 0 ? pTtl : timeUnit.convert(pTtl, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 接收 PUBLISH 的监听容器，传给被测的锁
+     */
+    ListenerContainer listenerContainer() {
+        return container;
+    }
+
+    /**
+     * 脚本的执行次数
+     */
+    int scriptCalls(RedisScript<?> script) {
+        AtomicInteger calls = scriptCalls.get(script);
+        return calls != null ? calls.get() : 0;
+    }
+
+    synchronized boolean exists(String key) {
+        return live(key) != null;
+    }
+
+    /**
+     * 剩余过期时间（毫秒），-1表示未设置过期，-2表示不存在
+     */
+    synchronized long pTtl(String key) {
+        Entry entry = live(key);
+        if (entry == null) {
+            return -2L;
+        }
+        return entry.expireAt == Long.MAX_VALUE ? -1L : Math.max(entry.expireAt - System.currentTimeMillis(), 0L);
+    }
+
+    private Entry live(String key) {
+        Entry entry = data.get(key);
+        if (entry != null && entry.expireAt <= System.currentTimeMillis()) {
+            data.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    private String getString(String key) {
+        Entry entry = live(key);
+        return entry != null ? (String) entry.value : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, String> hash(String key) {
+        Entry entry = live(key);
+        return entry != null ? (Map<String, String>) entry.value : null;
+    }
+
+    private String hGet(String key, String field) {
+        Map<String, String> hash = hash(key);
+        return hash != null ? hash.get(field) : null;
+    }
+
+    private Map<String, String> hashForWrite(String key) {
+        Map<String, String> hash = hash(key);
+        if (hash == null) {
+            hash = new HashMap<>();
+            data.put(key, new Entry(hash, Long.MAX_VALUE));
+        }
+        return hash;
+    }
+
+    private void hSet(String key, String field, String value) {
+        hashForWrite(key).put(field, value);
+    }
+
+    private long hIncrBy(String key, String field, long delta) {
+        Map<String, String> hash = hashForWrite(key);
+        long value = Long.parseLong(hash.getOrDefault(field, "0")) + delta;
+        hash.put(field, Long.toString(value));
+        return value;
+    }
+
+    private boolean setIfAbsent(String key, String value, long ttlMillis) {
+        if (live(key) != null) {
+            return false;
+        }
+        data.put(key, new Entry(value, expireAt(ttlMillis)));
+        return true;
+    }
+
+    private long incr(String key) {
+        Entry entry = live(key);
+        long value = (entry != null ? Long.parseLong((String) entry.value) : 0L) + 1;
+        data.put(key, new Entry(Long.toString(value), entry != null ? entry.expireAt : Long.MAX_VALUE));
+        return value;
+    }
+
+    private void pExpire(String key, long ttlMillis) {
+        Entry entry = live(key);
+        if (entry != null) {
+            data.put(key, new Entry(entry.value, expireAt(ttlMillis)));
+        }
+    }
+
+    private int publish(String channel, String message) {
+        return container.deliver(channel, message);
+    }
+
+    private static long expireAt(long ttlMillis) {
+        return ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : Long.MAX_VALUE;
+    }
+
+    private static long millis(Object arg) {
+        return Long.parseLong(arg.toString());
+    }
+
+    private record Entry(Object value, long expireAt) {
+    }
+
+    /**
+     * 记录订阅的监听容器，不连接Redis
+     */
+    static class ListenerContainer extends RedisMessageListenerContainer {
+
+        private final Map<String, List<MessageListener>> listeners = new ConcurrentHashMap<>();
+        private final AtomicInteger subscribes = new AtomicInteger();
+        private final AtomicInteger unsubscribes = new AtomicInteger();
+
+        @Override
+        public void addMessageListener(MessageListener listener, Topic topic) {
+            subscribes.incrementAndGet();
+            listeners.computeIfAbsent(topic.getTopic(), t -> new CopyOnWriteArrayList<>()).add(listener);
+        }
+
+        @Override
+        public void removeMessageListener(MessageListener listener, Topic topic) {
+            unsubscribes.incrementAndGet();
+            List<MessageListener> registered = listeners.get(topic.getTopic());
+            if (registered != null) {
+                registered.remove(listener);
+            }
+        }
+
+        int subscribeCount() {
+            return subscribes.get();
+        }
+
+        int unsubscribeCount() {
+            return unsubscribes.get();
+        }
+
+        /**
+         * 频道当前的监听器数量
+         */
+        int listenerCount(String channel) {
+            List<MessageListener> registered = listeners.get(channel);
+            return registered != null ? registered.size() : 0;
+        }
+
+        int deliver(String channel, String message) {
+            List<MessageListener> registered = listeners.getOrDefault(channel, List.of());
+            List<MessageListener> receivers = new ArrayList<>(registered);
+            for (MessageListener listener : receivers) {
+                listener.onMessage(new DefaultMessage(channel.getBytes(StandardCharsets.UTF_8),
+                        message.getBytes(StandardCharsets.UTF_8)), null);
+            }
+            return receivers.size();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.ghtransport.common.redis.lock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.Topic;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 锁释放通知订阅测试
+ */
+class LockReleaseSubscriberTest {
+
+    private static final String CHANNEL = "lock:released:order:1";
+
+    private final InMemoryLockRedisTemplate.ListenerContainer container =
+            new InMemoryLockRedisTemplate.ListenerContainer();
+
+    @Test
+    @DisplayName("subscribe/unsubscribe - 同一频道只订阅一次，最后一个等待者离开后退订")
+    void subscribe_SharedUntilLastUnsubscribe() {
+        // Given
+        LockReleaseSubscriber subscriber = new LockReleaseSubscriber(container);
+
+        // When
+        LockReleaseSubscriber.Waiters first = subscriber.subscribe(CHANNEL);
+        LockReleaseSubscriber.Waiters second = subscriber.subscribe(CHANNEL);
+        subscriber.unsubscribe(first);
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1, container.subscribeCount());
+        assertEquals(0, container.unsubscribeCount());
+        assertEquals(1, container.listenerCount(CHANNEL));
+
+        // When：最后一个等待者离开后重新等待
+        subscriber.unsubscribe(second);
+        LockReleaseSubscriber.Waiters third = subscriber.subscribe(CHANNEL);
+
+        // Then
+        assertNotSame(first, third);
+        assertEquals(2, container.subscribeCount());
+        assertEquals(1, container.unsubscribeCount());
+        assertEquals(1, container.listenerCount(CHANNEL));
+    }
+
+    @Test
+    @DisplayName("subscribe - 订阅失败时撤销登记，下次等待重新订阅")
+    void subscribe_FailureRollsBack() {
+        // Given
+        AtomicBoolean failNext = new AtomicBoolean(true);
+        InMemoryLockRedisTemplate.ListenerContainer flaky = new InMemoryLockRedisTemplate.ListenerContainer() {
+            @Override
+            public void addMessageListener(MessageListener listener, Topic topic) {
+                if (failNext.getAndSet(false)) {
+                    throw new IllegalStateException("connection refused");
+                }
+                super.addMessageListener(listener, topic);
+            }
+        };
+        LockReleaseSubscriber subscriber = new LockReleaseSubscriber(flaky);
+
+        // When
+        assertThrows(IllegalStateException.class, () -> subscriber.subscribe(CHANNEL));
+        subscriber.subscribe(CHANNEL);
+
+        // Then
+        assertEquals(1, flaky.listenerCount(CHANNEL));
+    }
+
+    @Test
+    @DisplayName("onMessage - 忽略本节点发布的释放消息，其它节点的消息唤醒一个等待者")
+    void onMessage_IgnoresOwnRelease() throws InterruptedException {
+        // Given
+        LockReleaseSubscriber subscriber = new LockReleaseSubscriber(container);
+        LockReleaseSubscriber.Waiters waiters = subscriber.subscribe(CHANNEL);
+
+        // When
+        subscriber.onMessage(message(subscriber.releaseMessage()), null);
+
+        // Then
+        assertFalse(waiters.await(50, TimeUnit.MILLISECONDS));
+
+        // When
+        subscriber.onMessage(message("other-node"), null);
+        subscriber.onMessage(message("other-node"), null);
+
+        // Then：多条通知合并为一次唤醒
+        assertTrue(waiters.await(50, TimeUnit.MILLISECONDS));
+        assertFalse(waiters.await(50, TimeUnit.MILLISECONDS));
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,335 @@
+package com.ghtransport.common.redis.lock;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 锁Lua脚本测试（Testcontainers启动的真实Redis，无Docker环境时跳过）
+ *
+ * 其它锁测试使用 InMemoryLockRedisTemplate 中的Java等价实现，这里直接在Redis上执行脚本本身，
+ * 覆盖普通锁、可重入锁、读写锁和联锁的全部脚本。
+ * 每个 DistributedLock 实例使用独立的监听容器，模拟两个节点，跨节点的等待者只能由脚本发布的释放消息唤醒。
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class LockScriptsRedisTest {
+
+    /**
+     * 兜底轮询间隔与锁过期时间远大于断言的等待时间，等待者只能由释放消息唤醒
+     */
+    private static final long FALLBACK_POLL_MILLIS = 30_000L;
+    private static final long EXPIRE_MILLIS = 60_000L;
+    private static final long WAKE_UP_MILLIS = 5_000L;
+
+    @Container
+    private static final GenericContainer<?> REDIS =
+            new GenericContainer<>(DockerImageName.parse("redis:7.2-alpine")).withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redis;
+
+    private final List<RedisMessageListenerContainer> containers = new ArrayList<>();
+    private final List<DistributedLock> locks = new ArrayList<>();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redis = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        executor.shutdownNow();
+        locks.forEach(DistributedLock::destroy);
+        for (RedisMessageListenerContainer container : containers) {
+            container.destroy();
+        }
+        redis.execute((RedisCallback<Void>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+    }
+
+    @Test
+    @DisplayName("LOCK/UNLOCK - 互斥加锁，过期时间生效，只有持有者能释放")
+    void lockAndUnlock() {
+        // Given
+        DistributedLock lock = distributedLock(10_000L);
+
+        // When
+        boolean first = lock.tryLock("order:1", "A", 30, TimeUnit.SECONDS);
+        boolean second = lock.tryLockWithWaitTime("order:1", "B", 0, 30_000, TimeUnit.MILLISECONDS);
+
+        // Then
+        assertTrue(first);
+        assertFalse(second);
+        assertEquals("A", redis.opsForValue().get("lock:order:1"));
+        long ttl = lock.getLockTTL("order:1");
+        assertTrue(ttl > 0 && ttl <= 30_000, "ttl=" + ttl);
+        assertFalse(lock.unlock("order:1", "B"));
+        assertTrue(lock.unlock("order:1", "A"));
+        assertFalse(Boolean.TRUE.equals(redis.hasKey("lock:order:1")));
+    }
+
+    @Test
+    @DisplayName("UNLOCK - 释放消息唤醒其它节点的等待者")
+    void unlock_NotifiesOtherNode() throws Exception {
+        // Given
+        DistributedLock nodeA = distributedLock(10_000L);
+        DistributedLock nodeB = distributedLock(10_000L);
+        assertTrue(nodeA.tryLock("order:2", "A", EXPIRE_MILLIS, TimeUnit.MILLISECONDS));
+        Future<Long> waited = executor.submit(() -> {
+            long start = System.nanoTime();
+            boolean locked = nodeB.tryLockWithWaitTime("order:2", "B", 20_000, EXPIRE_MILLIS, TimeUnit.MILLISECONDS);
+            return locked ? TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) : -1L;
+        });
+        Thread.sleep(500);
+
+        // When
+        assertTrue(nodeA.unlock("order:2", "A"));
+
+        // Then
+        long waitedMillis = waited.get(20, TimeUnit.SECONDS);
+        assertTrue(waitedMillis >= 0 && waitedMillis < WAKE_UP_MILLIS, "waited=" + waitedMillis);
+        assertEquals("B", redis.opsForValue().get("lock:order:2"));
+    }
+
+    @Test
+    @DisplayName("EXTEND - 只有持有者能续期，看门狗持续续期直到释放")
+    void extendAndWatchdog() throws Exception {
+        // Given
+        DistributedLock lock = distributedLock(300L);
+        assertTrue(lock.tryLock("order:3", "A", 1, TimeUnit.SECONDS));
+
+        // When
+        boolean byOther = lock.extendLock("order:3", "B", 30, TimeUnit.SECONDS);
+        boolean byHolder = lock.extendLock("order:3", "A", 30, TimeUnit.SECONDS);
+
+        // Then
+        assertFalse(byOther);
+        assertTrue(byHolder);
+        assertTrue(lock.getLockTTL("order:3") > 1_000);
+
+        // When：租约300ms，等待多个租约周期
+        assertTrue(lock.tryLockWithWatchdog("order:4", "A", 0, TimeUnit.MILLISECONDS));
+        Thread.sleep(1_000);
+
+        // Then
+        assertEquals("A", redis.opsForValue().get("lock:order:4"));
+        assertTrue(lock.unlock("order:4", "A"));
+        assertFalse(Boolean.TRUE.equals(redis.hasKey("lock:order:4")));
+    }
+
+    @Test
+    @DisplayName("FENCED_LOCK - 令牌随加锁递增，加锁失败不消耗令牌，锁过期后新持有者令牌更大")
+    void fencingToken() throws Exception {
+        // Given
+        DistributedLock lock = distributedLock(10_000L);
+
+        // When
+        long first = lock.tryLockWithFencingToken("stock:1", "A", 0, 30_000, TimeUnit.MILLISECONDS);
+        long rejected = lock.tryLockWithFencingToken("stock:1", "B", 0, 30_000, TimeUnit.MILLISECONDS);
+        assertTrue(lock.unlock("stock:1", "A"));
+        long second = lock.tryLockWithFencingToken("stock:1", "B", 0, 200, TimeUnit.MILLISECONDS);
+        Thread.sleep(400);
+        long third = lock.tryLockWithFencingToken("stock:1", "C", 0, 30_000, TimeUnit.MILLISECONDS);
+
+        // Then
+        assertEquals(1L, first);
+        assertEquals(DistributedLock.NO_FENCING_TOKEN, rejected);
+        assertEquals(2L, second);
+        assertEquals(3L, third);
+        assertEquals("3", redis.opsForValue().get("lock-fence:stock:1"));
+        assertEquals(-1L, redis.getExpire("lock-fence:stock:1"));
+    }
+
+    @Test
+    @DisplayName("可重入锁 - 同一标识重入计数，计数归零时删除并唤醒其它节点")
+    void reentrant() throws Exception {
+        // Given
+        DistributedLock nodeA = distributedLock(10_000L);
+        DistributedLock nodeB = distributedLock(10_000L);
+        ReentrantDistributedLock lockA = new ReentrantDistributedLock(redis, nodeA);
+        ReentrantDistributedLock lockB = new ReentrantDistributedLock(redis, nodeB);
+
+        // When
+        assertTrue(lockA.tryLock("order:5", "A", EXPIRE_MILLIS, TimeUnit.MILLISECONDS));
+        assertTrue(lockA.tryLock("order:5", "A", EXPIRE_MILLIS, TimeUnit.MILLISECONDS));
+
+        // Then
+        assertEquals(2, lockA.getHoldCount("order:5", "A"));
+        assertFalse(lockB.tryLock("order:5", "B", EXPIRE_MILLIS, TimeUnit.MILLISECONDS));
+        assertEquals(-1L, lockB.unlock("order:5", "B"));
+
+        // When
+        Future<Boolean> waiter = executor.submit(() ->
+                lockB.tryLockWithWaitTime("order:5", "B", 20_000, EXPIRE_MILLIS, TimeUnit.MILLISECONDS));
+        Thread.sleep(500);
+        assertEquals(1L, lockA.unlock("order:5", "A"));
+        Thread.sleep(200);
+
+        // Then：仍被重入持有，等待者未获取
+        assertFalse(waiter.isDone());
+
+        // When
+        assertEquals(0L, lockA.unlock("order:5", "A"));
+
+        // Then
+        assertTrue(waiter.get(WAKE_UP_MILLIS, TimeUnit.MILLISECONDS));
+        assertEquals(1, lockB.getHoldCount("order:5", "B"));
+        assertEquals(0, lockA.getHoldCount("order:5", "A"));
+    }
+
+    @Test
+    @DisplayName("读写锁 - 读锁共享、写锁互斥，写锁持有者可再加读锁")
+    void readWrite() {
+        // Given
+        ReadWriteDistributedLock lock = new ReadWriteDistributedLock(redis, distributedLock(10_000L));
+
+        // When：两个读者共享
+        assertTrue(lock.tryReadLock("route:1", "R1", 0, EXPIRE_MILLIS, TimeUnit.MILLISECONDS));
+        assertTrue(lock.tryReadLock("route:1", "R2", 0, EXPIRE_MILLIS, TimeUnit.MILLISECONDS));
+
+        // Then
+        assertEquals("read", redis.opsForHash().get("lock:route:1", "mode"));
+        assertFalse(lock.tryWriteLock("route:1", "W", 0, EXPIRE_MILLIS, TimeUnit.MILLISECONDS));
+        assertEquals(-1L, lock.unlock("route:1", "W"));
+        assertEquals(0L, lock.unlock("route:1", "R1"));
+        assertTrue(Boolean.TRUE.equals(redis.hasKey("lock:route:1")));
+        assertEquals(0L, lock.unlock("route:1", "R2"));
+        assertFalse(Boolean.TRUE.equals(redis.hasKey("lock:route:1")));
+
+        // When：写锁
+        assertTrue(lock.tryWriteLock("route:1", "W", 0, EXPIRE_MILLIS, TimeUnit.MILLISECONDS));
+
+        // Then
+        assertFalse(lock.tryReadLock("route:1", "R1", 0, EXPIRE_MILLIS, TimeUnit.MILLISECONDS));
+        assertFalse(lock.tryWriteLock("route:1", "W2", 0, EXPIRE_MILLIS, TimeUnit.MILLISECONDS));
+        assertTrue(lock.tryReadLock("route:1", "W", 0, EXPIRE_MILLIS, TimeUnit.MILLISECONDS));
+        assertTrue(lock.tryWriteLock("route:1", "W", 0, EXPIRE_MILLIS, TimeUnit.MILLISECONDS));
+        assertEquals("write", redis.opsForHash().get("lock:route:1", "mode"));
+        assertEquals(2L, lock.unlock("route:1", "W"));
+        assertEquals(1L, lock.unlock("route:1", "W"));
+        assertEquals(0L, lock.unlock("route:1", "W"));
+        assertFalse(Boolean.TRUE.equals(redis.hasKey("lock:route:1")));
+    }
+
+    @Test
+    @DisplayName("读写锁 - 最后一个读者释放时唤醒其它节点等待的写者")
+    void readWrite_LastReaderNotifiesWriter() throws Exception {
+        // Given
+        ReadWriteDistributedLock nodeA = new ReadWriteDistributedLock(redis, distributedLock(10_000L));
+        ReadWriteDistributedLock nodeB = new ReadWriteDistributedLock(redis, distributedLock(10_000L));
+        assertTrue(nodeA.tryReadLock("route:2", "R1", 0, EXPIRE_MILLIS, TimeUnit.MILLISECONDS));
+        assertTrue(nodeA.tryReadLock("route:2", "R2", 0, EXPIRE_MILLIS, TimeUnit.MILLISECONDS));
+        Future<Boolean> writer = executor.submit(() ->
+                nodeB.tryWriteLock("route:2", "W", 20_000, EXPIRE_MILLIS, TimeUnit.MILLISECONDS));
+        Thread.sleep(500);
+
+        // When
+        assertEquals(0L, nodeA.unlock("route:2", "R1"));
+        Thread.sleep(200);
+
+        // Then：仍有读者，写者继续等待
+        assertFalse(writer.isDone());
+
+        // When
+        assertEquals(0L, nodeA.unlock("route:2", "R2"));
+
+        // Then
+        assertTrue(writer.get(WAKE_UP_MILLIS, TimeUnit.MILLISECONDS));
+        assertEquals("write", redis.opsForHash().get("lock:route:2", "mode"));
+    }
+
+    @Test
+    @DisplayName("联锁 - 全部空闲才加锁，部分被占用时不留下任何锁，只释放自己持有的锁")
+    void multi() {
+        // Given
+        MultiDistributedLock lock = new MultiDistributedLock(redis, distributedLock(10_000L));
+        assertTrue(lock.tryLock(List.of("stock:3", "stock:1", "stock:2"), "A", 0, EXPIRE_MILLIS,
+                TimeUnit.MILLISECONDS));
+
+        // When
+        boolean overlapping = lock.tryLock(List.of("stock:3", "stock:4"), "B", 0, EXPIRE_MILLIS,
+                TimeUnit.MILLISECONDS);
+
+        // Then
+        assertFalse(overlapping);
+        assertFalse(Boolean.TRUE.equals(redis.hasKey("lock:stock:4")));
+        assertEquals("A", redis.opsForValue().get("lock:stock:2"));
+        long ttl = redis.getExpire("lock:stock:2", TimeUnit.MILLISECONDS);
+        assertTrue(ttl > 0 && ttl <= EXPIRE_MILLIS, "ttl=" + ttl);
+        assertEquals(0, lock.unlock(Set.of("stock:1", "stock:2", "stock:3"), "B"));
+
+        // When
+        redis.opsForValue().set("lock:stock:3", "C");
+        int released = lock.unlock(Set.of("stock:1", "stock:2", "stock:3"), "A");
+
+        // Then：被他人持有的 stock:3 不释放
+        assertEquals(2, released);
+        assertFalse(Boolean.TRUE.equals(redis.hasKey("lock:stock:1")));
+        assertEquals("C", redis.opsForValue().get("lock:stock:3"));
+    }
+
+    @Test
+    @DisplayName("联锁 - 释放消息发布到每个锁自己的频道，唤醒其它节点的等待者")
+    void multi_NotifiesOtherNode() throws Exception {
+        // Given
+        MultiDistributedLock nodeA = new MultiDistributedLock(redis, distributedLock(10_000L));
+        MultiDistributedLock nodeB = new MultiDistributedLock(redis, distributedLock(10_000L));
+        assertTrue(nodeA.tryLock(List.of("stock:5", "stock:6"), "A", 0, EXPIRE_MILLIS, TimeUnit.MILLISECONDS));
+        Future<Boolean> waiter = executor.submit(() ->
+                nodeB.tryLock(List.of("stock:6", "stock:7"), "B", 20_000, EXPIRE_MILLIS, TimeUnit.MILLISECONDS));
+        Thread.sleep(500);
+
+        // When
+        assertEquals(2, nodeA.unlock(List.of("stock:5", "stock:6"), "A"));
+
+        // Then
+        assertTrue(waiter.get(WAKE_UP_MILLIS, TimeUnit.MILLISECONDS));
+        assertEquals("B", redis.opsForValue().get("lock:stock:6"));
+        assertEquals("B", redis.opsForValue().get("lock:stock:7"));
+    }
+
+    private DistributedLock distributedLock(long watchdogLeaseMillis) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.afterPropertiesSet();
+        container.start();
+        containers.add(container);
+        DistributedLock lock = new DistributedLock(redis, container, FALLBACK_POLL_MILLIS,
+                watchdogLeaseMillis, 600_000L);
+        locks.add(lock);
+        return lock;
+    }
+}
@@ -0,0 +1,88 @@
+package com.ghtransport.common.redis.lock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 分布式联锁测试（内存版RedisTemplate）
+ */
+class MultiDistributedLockTest {
+
+    private static final List<String> SKUS = List.of("sku:3", "sku:1", "sku:2", "sku:1");
+
+    private final InMemoryLockRedisTemplate redis = new InMemoryLockRedisTemplate();
+    private final DistributedLock distributedLock =
+            new DistributedLock(redis, redis.listenerContainer(), 10_000L, 10_000L, 600_000L);
+    private final MultiDistributedLock lock = new MultiDistributedLock(redis, distributedLock);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        distributedLock.destroy();
+    }
+
+    @Test
+    @DisplayName("tryLock/unlock - 去重后全部加锁，释放数量与锁数一致")
+    void tryLock_AllKeys() {
+        // When
+        boolean locked = lock.tryLock(SKUS, "A", 0, 30_000, TimeUnit.MILLISECONDS);
+
+        // Then
+        assertTrue(locked);
+        assertTrue(redis.exists("lock:sku:1"));
+        assertTrue(redis.exists("lock:sku:2"));
+        assertTrue(redis.exists("lock:sku:3"));
+        assertEquals(0, lock.unlock(SKUS, "B"));
+        assertEquals(3, lock.unlock(SKUS, "A"));
+        assertFalse(redis.exists("lock:sku:1"));
+    }
+
+    @Test
+    @DisplayName("tryLock - 任一锁被占用时一个都不加")
+    void tryLock_NoPartialAcquisition() {
+        // Given
+        assertTrue(distributedLock.tryLockWithWaitTime("sku:2", "B", 0, 30_000, TimeUnit.MILLISECONDS));
+
+        // When
+        boolean locked = lock.tryLock(SKUS, "A", 0, 30_000, TimeUnit.MILLISECONDS);
+
+        // Then
+        assertFalse(locked);
+        assertFalse(redis.exists("lock:sku:1"));
+        assertFalse(redis.exists("lock:sku:3"));
+        assertEquals("B", redis.opsForValue().get("lock:sku:2"));
+        assertEquals(0, lock.unlock(SKUS, "A"));
+        assertEquals("B", redis.opsForValue().get("lock:sku:2"));
+    }
+
+    @Test
+    @DisplayName("tryLock - 等待被占用的锁释放后整体获取")
+    void tryLock_WaitsForBlockingKey() throws Exception {
+        // Given
+        assertTrue(distributedLock.tryLockWithWaitTime("sku:2", "B", 0, 60_000, TimeUnit.MILLISECONDS));
+        Future<Boolean> waiter = executor.submit(() ->
+                lock.tryLock(SKUS, "A", 5_000, 60_000, TimeUnit.MILLISECONDS));
+        while (redis.scriptCalls(MultiDistributedLock.LOCK_SCRIPT) < 2) {
+            Thread.sleep(10);
+        }
+
+        // When
+        distributedLock.unlock("sku:2", "B");
+
+        // Then
+        assertTrue(waiter.get(2, TimeUnit.SECONDS));
+        assertEquals("A", redis.opsForValue().get("lock:sku:1"));
+        assertEquals("A", redis.opsForValue().get("lock:sku:2"));
+        assertEquals("A", redis.opsForValue().get("lock:sku:3"));
+    }
+}
@@ -0,0 +1,104 @@
+package com.ghtransport.common.redis.lock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 分布式读写锁测试（内存版RedisTemplate）
+ */
+class ReadWriteDistributedLockTest {
+
+    private final InMemoryLockRedisTemplate redis = new InMemoryLockRedisTemplate();
+    private final DistributedLock distributedLock =
+            new DistributedLock(redis, redis.listenerContainer(), 10_000L, 10_000L, 600_000L);
+    private final ReadWriteDistributedLock lock = new ReadWriteDistributedLock(redis, distributedLock);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        distributedLock.destroy();
+    }
+
+    @Test
+    @DisplayName("tryReadLock - 多个读者共享，读锁持有期间写锁被拒绝")
+    void readers_Share() {
+        // When
+        boolean first = lock.tryReadLock("stock:1", "R1", 0, 30_000, TimeUnit.MILLISECONDS);
+        boolean second = lock.tryReadLock("stock:1", "R2", 0, 30_000, TimeUnit.MILLISECONDS);
+        boolean writer = lock.tryWriteLock("stock:1", "W", 0, 30_000, TimeUnit.MILLISECONDS);
+
+        // Then
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(writer);
+
+        // When：读者全部离开后写者可加锁
+        assertEquals(0L, lock.unlock("stock:1", "R1"));
+        assertTrue(redis.exists("lock:stock:1"));
+        assertEquals(0L, lock.unlock("stock:1", "R2"));
+
+        // Then
+        assertFalse(redis.exists("lock:stock:1"));
+        assertTrue(lock.tryWriteLock("stock:1", "W", 0, 30_000, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("tryWriteLock - 写锁排斥其它读者和写者，持有者可重入并降级读取")
+    void writer_ExcludesReaders() {
+        // Given
+        assertTrue(lock.tryWriteLock("stock:2", "W", 0, 30_000, TimeUnit.MILLISECONDS));
+
+        // When
+        boolean reader = lock.tryReadLock("stock:2", "R", 0, 30_000, TimeUnit.MILLISECONDS);
+        boolean otherWriter = lock.tryWriteLock("stock:2", "W2", 0, 30_000, TimeUnit.MILLISECONDS);
+        boolean reentrantWrite = lock.tryWriteLock("stock:2", "W", 0, 30_000, TimeUnit.MILLISECONDS);
+        boolean ownRead = lock.tryReadLock("stock:2", "W", 0, 30_000, TimeUnit.MILLISECONDS);
+
+        // Then
+        assertFalse(reader);
+        assertFalse(otherWriter);
+        assertTrue(reentrantWrite);
+        assertTrue(ownRead);
+        assertEquals(-1L, lock.unlock("stock:2", "R"));
+        assertEquals(2L, lock.unlock("stock:2", "W"));
+        assertEquals(1L, lock.unlock("stock:2", "W"));
+        assertEquals(0L, lock.unlock("stock:2", "W"));
+        assertFalse(redis.exists("lock:stock:2"));
+    }
+
+    @Test
+    @DisplayName("unlock - 最后一个读者离开时唤醒等待的写者")
+    void unlock_WakesWriterAfterLastReader() throws Exception {
+        // Given
+        assertTrue(lock.tryReadLock("stock:3", "R1", 0, 60_000, TimeUnit.MILLISECONDS));
+        assertTrue(lock.tryReadLock("stock:3", "R2", 0, 60_000, TimeUnit.MILLISECONDS));
+        Future<Boolean> writer = executor.submit(() ->
+                lock.tryWriteLock("stock:3", "W", 5_000, 60_000, TimeUnit.MILLISECONDS));
+        while (redis.scriptCalls(ReadWriteDistributedLock.WRITE_LOCK_SCRIPT) < 2) {
+            Thread.sleep(10);
+        }
+
+        // When
+        lock.unlock("stock:3", "R1");
+        Thread.sleep(200);
+
+        // Then
+        assertFalse(writer.isDone());
+
+        // When
+        lock.unlock("stock:3", "R2");
+
+        // Then
+        assertTrue(writer.get(2, TimeUnit.SECONDS));
+        assertFalse(lock.tryReadLock("stock:3", "R1", 0, 60_000, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,80 @@
+package com.ghtransport.common.redis.lock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 可重入分布式锁测试（内存版RedisTemplate）
+ */
+class ReentrantDistributedLockTest {
+
+    private final InMemoryLockRedisTemplate redis = new InMemoryLockRedisTemplate();
+    private final DistributedLock distributedLock =
+            new DistributedLock(redis, redis.listenerContainer(), 10_000L, 10_000L, 600_000L);
+    private final ReentrantDistributedLock lock = new ReentrantDistributedLock(redis, distributedLock);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        distributedLock.destroy();
+    }
+
+    @Test
+    @DisplayName("tryLock/unlock - 同一标识可重入，重入次数逐次增减")
+    void reentrant_HoldCount() {
+        // When
+        assertTrue(lock.tryLock("order:1", "A", 30, TimeUnit.SECONDS));
+        assertTrue(lock.tryLock("order:1", "A", 30, TimeUnit.SECONDS));
+        assertTrue(lock.tryLock("order:1", "A", 30, TimeUnit.SECONDS));
+
+        // Then
+        assertEquals(3, lock.getHoldCount("order:1", "A"));
+        assertFalse(lock.tryLock("order:1", "B", 30, TimeUnit.SECONDS));
+        assertEquals(0, lock.getHoldCount("order:1", "B"));
+
+        // When / Then
+        assertEquals(-1L, lock.unlock("order:1", "B"));
+        assertEquals(2L, lock.unlock("order:1", "A"));
+        assertEquals(1L, lock.unlock("order:1", "A"));
+        assertTrue(redis.exists("lock:order:1"));
+        assertEquals(0L, lock.unlock("order:1", "A"));
+        assertFalse(redis.exists("lock:order:1"));
+        assertEquals(-1L, lock.unlock("order:1", "A"));
+    }
+
+    @Test
+    @DisplayName("unlock - 重入次数归零时才唤醒等待者")
+    void unlock_WakesWaiterWhenFullyReleased() throws Exception {
+        // Given
+        assertTrue(lock.tryLock("order:2", "A", 60, TimeUnit.SECONDS));
+        assertTrue(lock.tryLock("order:2", "A", 60, TimeUnit.SECONDS));
+        Future<Boolean> waiter = executor.submit(() ->
+                lock.tryLockWithWaitTime("order:2", "B", 5_000, 60_000, TimeUnit.MILLISECONDS));
+        while (redis.scriptCalls(ReentrantDistributedLock.LOCK_SCRIPT) < 4) {
+            Thread.sleep(10);
+        }
+
+        // When
+        lock.unlock("order:2", "A");
+        Thread.sleep(200);
+
+        // Then
+        assertFalse(waiter.isDone());
+
+        // When
+        lock.unlock("order:2", "A");
+
+        // Then
+        assertTrue(waiter.get(2, TimeUnit.SECONDS));
+        assertEquals(1, lock.getHoldCount("order:2", "B"));
+    }
+}
@@ -0,0 +1,124 @@
+package com.ghtransport.common.redis.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 分布式限流器本地预取测试
+ */
+class RedisRateLimiterTest {
+
+    @Test
+    @DisplayName("预取的令牌在本地扣减，用完后才访问Redis")
+    void prefetchedPermitsServedLocally() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        AtomicLong available = new AtomicLong(25);
+        RedisRateLimiter limiter = new RedisRateLimiter((key, rule, requested) -> {
+            calls.incrementAndGet();
+            long granted = Math.min(requested, available.get());
+            available.addAndGet(-granted);
+            return granted;
+        }, 1_000_000_000L, () -> 0L);
+        RateLimitRule rule = new RateLimitRule(100, 100, 10);
+
+        // When
+        int allowed = 0;
+        for (int i = 0; i < 30; i++) {
+            if (limiter.tryAcquire("order:create", rule)) {
+                allowed++;
+            }
+        }
+
+        // Then
+        assertEquals(25, allowed);
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    @DisplayName("预取的令牌过期后作废")
+    void prefetchedPermitsExpire() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        AtomicLong now = new AtomicLong();
+        RedisRateLimiter limiter = new RedisRateLimiter((key, rule, requested) -> {
+            calls.incrementAndGet();
+            return requested;
+        }, 100L, now::get);
+        RateLimitRule rule = new RateLimitRule(100, 100, 10);
+
+        // When
+        assertTrue(limiter.tryAcquire("k", rule));
+        assertTrue(limiter.tryAcquireLocal("k"));
+        now.addAndGet(100L);
+
+        // Then
+        assertFalse(limiter.tryAcquireLocal("k"));
+        assertTrue(limiter.tryAcquire("k", rule));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    @DisplayName("访问Redis时不持有锁，预取期间的请求各自申请一个令牌")
+    void redisCallOutsideLock() throws Exception {
+        // Given：首次预取阻塞在Redis上
+        CountDownLatch prefetching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> requests = Collections.synchronizedList(new ArrayList<>());
+        RedisRateLimiter limiter = new RedisRateLimiter((key, rule, requested) -> {
+            requests.add(requested);
+            if (requested > 1) {
+                prefetching.countDown();
+                await(release);
+            }
+            return requested;
+        }, 1_000_000_000L, () -> 0L);
+        RateLimitRule rule = new RateLimitRule(100, 100, 10);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // When
+        Future<Boolean> first = executor.submit(() -> limiter.tryAcquire("k", rule));
+        assertTrue(prefetching.await(5, TimeUnit.SECONDS));
+        Future<Boolean> second = executor.submit(() -> limiter.tryAcquire("k", rule));
+
+        // Then：第二个请求不等待预取完成
+        assertTrue(second.get(5, TimeUnit.SECONDS));
+        assertFalse(first.isDone());
+        release.countDown();
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(10, 1), requests);
+        for (int i = 0; i < 9; i++) {
+            assertTrue(limiter.tryAcquireLocal("k"));
+        }
+        assertFalse(limiter.tryAcquireLocal("k"));
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("预取数不超过桶容量")
+    void prefetchCappedByCapacity() {
+        assertEquals(5, new RateLimitRule(1, 5, 50).prefetch());
+        assertThrows(IllegalArgumentException.class, () -> new RateLimitRule(0, 5, 1));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
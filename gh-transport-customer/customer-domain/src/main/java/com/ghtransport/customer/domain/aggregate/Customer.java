@@ -50,14 +50,15 @@ public class Customer extends AggregateRoot<CustomerId> {
         this.email = email;
         this.address = address;
         this.updatedAt = LocalDateTime.now();
+        markDirty("name", "contactPerson", "phone", "email", "address", "updatedAt");
     }
 
-    public void disable() { this.status = CustomerStatus.INACTIVE; this.updatedAt = LocalDateTime.now(); }
-    public void enable() { this.status = CustomerStatus.ACTIVE; this.updatedAt = LocalDateTime.now(); }
+    public void disable() { this.status = CustomerStatus.INACTIVE; this.updatedAt = LocalDateTime.now(); markDirty("status", "updatedAt"); }
+    public void enable() { this.status = CustomerStatus.ACTIVE; this.updatedAt = LocalDateTime.now(); markDirty("status", "updatedAt"); }
 
     @Override public String getAggregateType() { return "Customer"; }
 
-    @Data @ValueObject public static class CustomerId { private final String value; public static CustomerId of(String v){return new CustomerId(v);} public static CustomerId generate(){return new CustomerId(IdGenerator.generateUUID());} }
+    @Data @ValueObject public static class CustomerId { private final String value; public static CustomerId of(String v){return new CustomerId(v);} public static CustomerId generate(){return new CustomerId(IdGenerator.generateUUIDv7().toString());} }
     @Getter @ValueObject public static class CustomerType {
         public static final CustomerType ENTERPRISE = new CustomerType("ENTERPRISE");
         public static final CustomerType INDIVIDUAL = new CustomerType("INDIVIDUAL");
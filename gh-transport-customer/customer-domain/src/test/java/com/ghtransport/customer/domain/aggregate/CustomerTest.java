@@ -105,6 +105,27 @@ class CustomerTest {
         assertEquals(Customer.CustomerStatus.ACTIVE, customer.getStatus());
     }
 
+    @Test
+    @DisplayName("更新客户 - 联系电话按原样保存，不校验格式")
+    void updateInfo_KeepsStoredPhoneFormats() {
+        // Given
+        Customer customer = Customer.create("公司", "联系人", "+86 138 0000 0000", null, "地址",
+                Customer.CustomerType.ENTERPRISE);
+
+        // When
+        customer.updateInfo("新公司", "联系人", "+86 138 0000 0000", null, "地址");
+
+        // Then
+        assertEquals("新公司", customer.getName());
+        assertEquals("+86 138 0000 0000", customer.getPhone());
+
+        // When
+        customer.updateInfo("新公司", "联系人", "400-800-1234", null, "地址");
+
+        // Then
+        assertEquals("400-800-1234", customer.getPhone());
+    }
+
     @Test
     @DisplayName("客户类型转换")
     void customerTypeConversion() {
@@ -1,5 +1,7 @@
 package com.ghtransport.customer.infrastructure.persistence.mapper;
 
+import com.ghtransport.common.core.persistence.DynamicUpdate;
+import com.ghtransport.common.core.persistence.DynamicUpdateProvider;
 import com.ghtransport.common.core.result.PageResult;
 import com.ghtransport.customer.domain.aggregate.Customer;
 import com.ghtransport.customer.domain.aggregate.Customer.CustomerId;
@@ -8,6 +10,7 @@ import com.ghtransport.customer.domain.aggregate.Customer.CustomerType;
 import com.ghtransport.customer.infrastructure.persistence.po.CustomerPO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.UpdateProvider;
 
 import java.util.Optional;
 
@@ -21,6 +24,14 @@ public interface CustomerMapper {
 
     void update(@Param("po") CustomerPO po);
 
+    /**
+     * 只更新变更过的列
+     *
+     * @return 更新行数
+     */
+    @UpdateProvider(type = DynamicUpdateProvider.class, method = "update")
+    int updateDynamic(DynamicUpdate update);
+
     void delete(@Param("id") String id);
 
     Optional<CustomerPO> findById(@Param("id") String id);
@@ -1,5 +1,7 @@
 package com.ghtransport.customer.infrastructure.persistence.repository;
 
+import com.ghtransport.common.core.persistence.DynamicUpdate;
+import com.ghtransport.common.core.persistence.UuidStringTypeHandler;
 import com.ghtransport.common.core.result.PageResult;
 import com.ghtransport.customer.domain.aggregate.Customer;
 import com.ghtransport.customer.domain.repository.CustomerRepository;
@@ -12,6 +14,8 @@ import java.util.Optional;
 
 /**
  * 客户仓储实现
+ *
+ * 已加载的客户只更新变更过的列，没有变更时不访问数据库。
  */
 @Slf4j
 @Repository
@@ -26,26 +30,26 @@ public class CustomerRepositoryImpl implements CustomerRepository {
     @Override
     public Optional<Customer> findById(Customer.CustomerId id) {
         return customerMapper.findById(id.getValue())
-                .map(customerMapper::toAggregate);
+                .map(this::toAggregate);
     }
 
     @Override
     public Optional<Customer> findByName(String name) {
         return customerMapper.findByName(name)
-                .map(customerMapper::toAggregate);
+                .map(this::toAggregate);
     }
 
     @Override
     public Optional<Customer> findByPhone(String phone) {
         return customerMapper.findByPhone(phone)
-                .map(customerMapper::toAggregate);
+                .map(this::toAggregate);
     }
 
     @Override
     public PageResult<Customer> findByType(Customer.CustomerType type, int pageNum, int pageSize) {
         var page = customerMapper.findByType(type.getValue(), pageNum, pageSize);
         return new PageResult<>(
-                page.getList().stream().map(customerMapper::toAggregate).toList(),
+                page.getList().stream().map(this::toAggregate).toList(),
                 page.getTotal(),
                 page.getPageNum(),
                 page.getPageSize()
@@ -56,7 +60,7 @@ public class CustomerRepositoryImpl implements CustomerRepository {
     public PageResult<Customer> findByStatus(Customer.CustomerStatus status, int pageNum, int pageSize) {
         var page = customerMapper.findByStatus(status.getValue(), pageNum, pageSize);
         return new PageResult<>(
-                page.getList().stream().map(customerMapper::toAggregate).toList(),
+                page.getList().stream().map(this::toAggregate).toList(),
                 page.getTotal(),
                 page.getPageNum(),
                 page.getPageSize()
@@ -67,7 +71,7 @@ public class CustomerRepositoryImpl implements CustomerRepository {
     public PageResult<Customer> search(String keyword, int pageNum, int pageSize) {
         var page = customerMapper.search(keyword, pageNum, pageSize);
         return new PageResult<>(
-                page.getList().stream().map(customerMapper::toAggregate).toList(),
+                page.getList().stream().map(this::toAggregate).toList(),
                 page.getTotal(),
                 page.getPageNum(),
                 page.getPageSize()
@@ -76,15 +80,26 @@ public class CustomerRepositoryImpl implements CustomerRepository {
 
     @Override
     public void save(Customer customer) {
-        CustomerPO po = customerMapper.toPO(customer);
-        boolean exists = customerMapper.findById(po.getId()).isPresent();
-        if (exists) {
-            customerMapper.update(po);
-            log.debug("客户更新成功: {}", customer.getId().getValue());
+        if (customer.isPersisted()) {
+            if (customer.isDirty()) {
+                DynamicUpdate update = DynamicUpdate.of("customer", customerMapper.toPO(customer))
+                        .setAll(customer.getDirtyProperties())
+                        .whereId("id", UuidStringTypeHandler.class);
+                customerMapper.updateDynamic(update);
+                log.debug("客户更新成功: {}, 变更: {}", customer.getId().getValue(), customer.getDirtyProperties());
+            }
         } else {
-            customerMapper.insert(po);
-            log.debug("客户保存成功: {}", customer.getId().getValue());
+            CustomerPO po = customerMapper.toPO(customer);
+            boolean exists = customerMapper.findById(po.getId()).isPresent();
+            if (exists) {
+                customerMapper.update(po);
+                log.debug("客户更新成功: {}", customer.getId().getValue());
+            } else {
+                customerMapper.insert(po);
+                log.debug("客户保存成功: {}", customer.getId().getValue());
+            }
         }
+        customer.markPersisted();
     }
 
     @Override
@@ -102,4 +117,10 @@ public class CustomerRepositoryImpl implements CustomerRepository {
     public boolean existsByPhone(String phone) {
         return customerMapper.existsByPhone(phone);
     }
+
+    private Customer toAggregate(CustomerPO po) {
+        Customer customer = customerMapper.toAggregate(po);
+        customer.markPersisted();
+        return customer;
+    }
 }
@@ -64,7 +64,7 @@ public class Dispatch extends AggregateRoot<DispatchId> {
 
     @Override public String getAggregateType() { return "Dispatch"; }
 
-    @Data @ValueObject public static class DispatchId { private final String value; public static DispatchId of(String v){return new DispatchId(v);} public static DispatchId generate(){return new DispatchId(IdGenerator.generateUUID());} }
+    @Data @ValueObject public static class DispatchId { private final String value; public static DispatchId of(String v){return new DispatchId(v);} public static DispatchId generate(){return new DispatchId(IdGenerator.generateUUIDv7().toString());} }
     @Data @ValueObject public static class DispatchNo { private final String value; public static DispatchNo of(String v){return new DispatchNo(v);} public static DispatchNo generate(){return new DispatchNo(IdGenerator.generateDispatchNo());} }
     @Getter @ValueObject public static class DispatchStatus {
         public static final DispatchStatus PENDING = new DispatchStatus("PENDING");
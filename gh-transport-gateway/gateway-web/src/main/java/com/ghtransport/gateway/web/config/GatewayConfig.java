@@ -1,15 +1,19 @@
 package com.ghtransport.gateway.web.config;
 
+import com.ghtransport.common.core.security.IdentityHeaderSigner;
+import com.ghtransport.common.core.security.JwtUtils;
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.loadbalancer.LoadBalancer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.web.reactive.function.client.WebClient;
 
 /**
  * 网关配置
  */
 @Configuration
+@Import({JwtUtils.class, IdentityHeaderSigner.class})
 public class GatewayConfig {
 
     /**
@@ -0,0 +1,35 @@
+package com.ghtransport.gateway.web.config;
+
+import com.ghtransport.common.redis.ratelimit.RedisRateLimiter;
+import com.ghtransport.gateway.web.filter.RedisRateLimitFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * 网关分布式限流配置（gateway.rate-limit.enabled=true 时启用）
+ *
+ * 与 SentinelGatewayConfig 的单实例限流并存：Sentinel保护单个网关实例，这里按客户端限制全局访问量。
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "gateway.rate-limit", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RedisRateLimiter redisRateLimiter(StringRedisTemplate stringRedisTemplate,
+                                             @Value("${rate-limit.prefetch-ttl-millis:100}") long prefetchTtlMillis) {
+        return new RedisRateLimiter(stringRedisTemplate, prefetchTtlMillis);
+    }
+
+    @Bean
+    public RedisRateLimitFilter redisRateLimitFilter(RedisRateLimiter redisRateLimiter,
+                                                     RateLimitProperties properties) {
+        return new RedisRateLimitFilter(redisRateLimiter, properties);
+    }
+}
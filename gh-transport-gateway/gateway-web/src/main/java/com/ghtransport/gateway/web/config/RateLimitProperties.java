@@ -0,0 +1,70 @@
+package com.ghtransport.gateway.web.config;
+
+import com.ghtransport.common.redis.ratelimit.RateLimitRule;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 网关分布式限流配置
+ *
+ * <pre>
+ * gateway:
+ *   rate-limit:
+ *     enabled: true
+ *     default-rule: { permits-per-second: 20, prefetch: 5 }
+ *     routes:
+ *       order-service: { permits-per-second: 10, capacity: 20, prefetch: 2 }
+ * </pre>
+ * 令牌桶按 路由ID + 客户端（API Key请求头，缺省为客户端IP）划分，所有网关实例共享同一限额。
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * 是否启用
+     */
+    private boolean enabled = false;
+
+    /**
+     * 标识客户端的请求头
+     */
+    private String apiKeyHeader = "X-Api-Key";
+
+    /**
+     * 未单独配置的路由使用的规则，为空时这些路由不限流
+     */
+    private Rule defaultRule;
+
+    /**
+     * 各路由的规则，键为路由ID
+     */
+    private Map<String, Rule> routes = new LinkedHashMap<>();
+
+    @Data
+    public static class Rule {
+
+        /**
+         * 每秒补充的令牌数
+         */
+        private double permitsPerSecond;
+
+        /**
+         * 桶容量，默认（0）与每秒令牌数相同
+         */
+        private long capacity;
+
+        /**
+         * 每个网关实例每次预取的令牌数
+         */
+        private int prefetch = 1;
+
+        public RateLimitRule toRule() {
+            long burst = capacity > 0 ? capacity : Math.max(1L, (long) Math.ceil(permitsPerSecond));
+            return new RateLimitRule(permitsPerSecond, burst, prefetch);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.ghtransport.gateway.web.filter;
+
+import com.ghtransport.common.core.security.IdentityHeaderSigner;
+import com.ghtransport.common.core.security.JwtPrincipal;
+import com.ghtransport.common.core.security.JwtUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * 网关边缘认证过滤器
+ *
+ * 在网关验证一次JWT，并向下游转发签名身份头，下游服务无需再次解析JWS。
+ * 客户端自带的身份头一律剔除，防止伪造；未开启身份头时仅做剔除，下游沿用各自验证JWT的方式。
+ */
+@Slf4j
+@Component
+public class EdgeAuthenticationFilter implements GlobalFilter, Ordered {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtUtils jwtUtils;
+    private final IdentityHeaderSigner identityHeaderSigner;
+
+    public EdgeAuthenticationFilter(JwtUtils jwtUtils, ObjectProvider<IdentityHeaderSigner> identityHeaderSigner) {
+        this.jwtUtils = jwtUtils;
+        this.identityHeaderSigner = identityHeaderSigner.getIfAvailable();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String identity = identityHeaderSigner == null ? null : resolveIdentity(request);
+
+        ServerHttpRequest mutated = request.mutate()
+                .headers(headers -> {
+                    headers.remove(IdentityHeaderSigner.HEADER_NAME);
+                    if (identity != null) {
+                        headers.set(IdentityHeaderSigner.HEADER_NAME, identity);
+                    }
+                })
+                .build();
+        return chain.filter(exchange.mutate().request(mutated).build());
+    }
+
+    private String resolveIdentity(ServerHttpRequest request) {
+        String authorization = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        try {
+            JwtPrincipal principal = jwtUtils.authenticate(authorization.substring(BEARER_PREFIX.length()));
+            return identityHeaderSigner.sign(principal);
+        } catch (JwtUtils.JwtException e) {
+            log.debug("网关JWT验证失败: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 100;
+    }
+}
@@ -0,0 +1,103 @@
+package com.ghtransport.gateway.web.filter;
+
+import com.ghtransport.common.core.util.JsonUtils;
+import com.ghtransport.common.redis.ratelimit.RateLimitRule;
+import com.ghtransport.common.redis.ratelimit.RedisRateLimiter;
+import com.ghtransport.gateway.web.config.RateLimitProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 网关分布式限流过滤器
+ *
+ * 按路由和客户端在Redis令牌桶中限流，限额不随网关实例数放大。先在事件循环线程上检查本实例预取的令牌，
+ * 只有本地令牌用完时才切换到弹性线程访问Redis，避免阻塞Netty事件循环。
+ */
+@Slf4j
+public class RedisRateLimitFilter implements GlobalFilter, Ordered {
+
+    private static final String UNKNOWN_CLIENT = "unknown";
+
+    private final RedisRateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final RateLimitRule defaultRule;
+    private final Map<String, RateLimitRule> routeRules = new ConcurrentHashMap<>();
+
+    public RedisRateLimitFilter(RedisRateLimiter rateLimiter, RateLimitProperties properties) {
+        this.rateLimiter = rateLimiter;
+        this.properties = properties;
+        this.defaultRule = properties.getDefaultRule() != null ? properties.getDefaultRule().toRule() : null;
+        properties.getRoutes().forEach((routeId, rule) -> routeRules.put(routeId, rule.toRule()));
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        // 未匹配路由的请求由网关直接返回404，不限流，也避免所有这类请求共用同一个令牌桶
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+        String routeId = route.getId();
+        RateLimitRule rule = routeRules.getOrDefault(routeId, defaultRule);
+        if (rule == null) {
+            return chain.filter(exchange);
+        }
+
+        String key = "gateway:" + routeId + ":" + resolveClient(exchange.getRequest());
+        if (rateLimiter.tryAcquireLocal(key)) {
+            return chain.filter(exchange);
+        }
+        return Mono.fromCallable(() -> rateLimiter.tryAcquire(key, rule))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(allowed -> allowed ? chain.filter(exchange) : reject(exchange, key));
+    }
+
+    private String resolveClient(ServerHttpRequest request) {
+        String apiKey = request.getHeaders().getFirst(properties.getApiKeyHeader());
+        if (apiKey != null && !apiKey.isEmpty()) {
+            return apiKey;
+        }
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        if (remoteAddress == null || remoteAddress.getAddress() == null) {
+            return UNKNOWN_CLIENT;
+        }
+        return remoteAddress.getAddress().getHostAddress();
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, String key) {
+        log.warn("请求被限流: {} - {}", exchange.getRequest().getPath(), key);
+        Map<String, Object> result = new HashMap<>();
+        result.put("code", "RATE_LIMITED");
+        result.put("message", "请求过于频繁，请稍后重试");
+        result.put("path", exchange.getRequest().getPath().value());
+        result.put("timestamp", System.currentTimeMillis());
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        DataBuffer body = response.bufferFactory().wrap(JsonUtils.toJsonBytes(result));
+        return response.writeWith(Mono.just(body));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 50;
+    }
+}
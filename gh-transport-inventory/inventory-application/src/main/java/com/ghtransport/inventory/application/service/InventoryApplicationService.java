@@ -4,24 +4,45 @@ import com.ghtransport.inventory.domain.aggregate.Inventory;
 import com.ghtransport.inventory.domain.repository.InventoryRepository;
 import com.ghtransport.common.core.exception.BusinessException;
 import com.ghtransport.common.core.result.PageResult;
+import com.ghtransport.common.core.util.IdGenerator;
+import com.ghtransport.common.redis.lock.DistributedLock;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * 库存应用服务
+ *
+ * 预留、扣减、释放在分布式锁内完成，并以加锁获得的栅栏令牌做条件更新：
+ * 锁过期后仍在写入的旧持有者会被拒绝，锁在事务结束后才释放。
  */
 @Slf4j
 @Service
 public class InventoryApplicationService {
 
+    private static final String LOCK_KEY_PREFIX = "inventory:";
+
     private final InventoryRepository inventoryRepository;
+    private final DistributedLock distributedLock;
+    private final long lockWaitMillis;
+    private final long lockExpireMillis;
 
-    public InventoryApplicationService(InventoryRepository inventoryRepository) {
+    public InventoryApplicationService(InventoryRepository inventoryRepository,
+                                       DistributedLock distributedLock,
+                                       @Value("${inventory.lock.wait-millis:1000}") long lockWaitMillis,
+                                       @Value("${inventory.lock.expire-millis:3000}") long lockExpireMillis) {
         this.inventoryRepository = inventoryRepository;
+        this.distributedLock = distributedLock;
+        this.lockWaitMillis = lockWaitMillis;
+        this.lockExpireMillis = lockExpireMillis;
     }
 
     /**
@@ -53,11 +74,11 @@ public class InventoryApplicationService {
      */
     @Transactional(rollbackFor = Exception.class)
     public Inventory reserveInventory(String inventoryId, Integer quantity) {
-        Inventory inventory = getInventory(inventoryId);
-        if (!inventory.reserve(quantity)) {
-            throw new BusinessException("INSUFFICIENT_STOCK", "库存不足");
-        }
-        inventoryRepository.save(inventory);
+        Inventory inventory = updateWithLock(inventoryId, i -> {
+            if (!i.reserve(quantity)) {
+                throw new BusinessException("INSUFFICIENT_STOCK", "库存不足");
+            }
+        });
         log.info("库存预留成功: {}, 数量: {}", inventoryId, quantity);
         return inventory;
     }
@@ -67,12 +88,12 @@ public class InventoryApplicationService {
      */
     @Transactional(rollbackFor = Exception.class)
     public Inventory deductInventory(String inventoryId, Integer quantity) {
-        Inventory inventory = getInventory(inventoryId);
-        if (inventory.getAvailableQuantity() < quantity) {
-            throw new BusinessException("INSUFFICIENT_STOCK", "可用库存不足");
-        }
-        inventory.deduct(quantity);
-        inventoryRepository.save(inventory);
+        Inventory inventory = updateWithLock(inventoryId, i -> {
+            if (i.getAvailableQuantity() < quantity) {
+                throw new BusinessException("INSUFFICIENT_STOCK", "可用库存不足");
+            }
+            i.deduct(quantity);
+        });
         log.info("库存扣减成功: {}, 数量: {}", inventoryId, quantity);
         return inventory;
     }
@@ -82,9 +103,7 @@ public class InventoryApplicationService {
      */
     @Transactional(rollbackFor = Exception.class)
     public Inventory releaseInventory(String inventoryId, Integer quantity) {
-        Inventory inventory = getInventory(inventoryId);
-        inventory.release(quantity);
-        inventoryRepository.save(inventory);
+        Inventory inventory = updateWithLock(inventoryId, i -> i.release(quantity));
         log.info("库存释放成功: {}, 数量: {}", inventoryId, quantity);
         return inventory;
     }
@@ -104,4 +123,48 @@ public class InventoryApplicationService {
     public PageResult<Inventory> searchInventory(String keyword, int pageNum, int pageSize) {
         return inventoryRepository.search(keyword, pageNum, pageSize);
     }
+
+    /**
+     * 持锁读取、修改并以栅栏令牌条件更新库存
+     */
+    private Inventory updateWithLock(String inventoryId, Consumer<Inventory> change) {
+        String lockKey = LOCK_KEY_PREFIX + inventoryId;
+        String lockValue = IdGenerator.generateUUID();
+        long fencingToken = distributedLock.tryLockWithFencingToken(
+                lockKey, lockValue, lockWaitMillis, lockExpireMillis, TimeUnit.MILLISECONDS);
+        if (fencingToken == DistributedLock.NO_FENCING_TOKEN) {
+            throw new BusinessException("INVENTORY_BUSY", "库存操作繁忙，请稍后重试");
+        }
+        boolean unlockDeferred = unlockAfterCompletion(lockKey, lockValue);
+        try {
+            Inventory inventory = getInventory(inventoryId);
+            change.accept(inventory);
+            if (!inventoryRepository.update(inventory, fencingToken)) {
+                throw new BusinessException("INVENTORY_LOCK_EXPIRED", "库存锁已过期，请重试");
+            }
+            return inventory;
+        } finally {
+            if (!unlockDeferred) {
+                distributedLock.unlock(lockKey, lockValue);
+            }
+        }
+    }
+
+    /**
+     * 在事务中时把解锁推迟到事务结束，避免下一个持有者读到未提交的库存
+     *
+     * @return 是否已推迟解锁
+     */
+    private boolean unlockAfterCompletion(String lockKey, String lockValue) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                distributedLock.unlock(lockKey, lockValue);
+            }
+        });
+        return true;
+    }
 }
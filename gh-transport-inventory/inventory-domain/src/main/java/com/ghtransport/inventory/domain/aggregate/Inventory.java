@@ -48,6 +48,7 @@ public class Inventory extends AggregateRoot<InventoryId> {
         if (getAvailableQuantity() >= qty) {
             this.reservedQuantity += qty;
             this.updatedAt = LocalDateTime.now();
+            markDirty("reservedQuantity", "updatedAt");
             return true;
         }
         return false;
@@ -57,11 +58,13 @@ public class Inventory extends AggregateRoot<InventoryId> {
         this.quantity -= qty;
         this.reservedQuantity = Math.max(0, this.reservedQuantity - qty);
         this.updatedAt = LocalDateTime.now();
+        markDirty("quantity", "reservedQuantity", "updatedAt");
     }
 
     public void release(int qty) {
         this.reservedQuantity = Math.max(0, this.reservedQuantity - qty);
         this.updatedAt = LocalDateTime.now();
+        markDirty("reservedQuantity", "updatedAt");
     }
 
     public int getAvailableQuantity() {
@@ -70,7 +73,7 @@ public class Inventory extends AggregateRoot<InventoryId> {
 
     @Override public String getAggregateType() { return "Inventory"; }
 
-    @Data @ValueObject public static class InventoryId { private final String value; public static InventoryId of(String v){return new InventoryId(v);} public static InventoryId generate(){return new InventoryId(IdGenerator.generateUUID());} }
+    @Data @ValueObject public static class InventoryId { private final String value; public static InventoryId of(String v){return new InventoryId(v);} public static InventoryId generate(){return new InventoryId(IdGenerator.generateUUIDv7().toString());} }
     @Getter @ValueObject public static class InventoryStatus {
         public static final InventoryStatus AVAILABLE = new InventoryStatus("AVAILABLE");
         public static final InventoryStatus RESERVED = new InventoryStatus("RESERVED");
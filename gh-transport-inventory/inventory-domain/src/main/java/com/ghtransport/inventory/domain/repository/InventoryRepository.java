@@ -25,6 +25,14 @@ public interface InventoryRepository {
 
     void save(Inventory inventory);
 
+    /**
+     * 持有分布式锁时更新库存，栅栏令牌不小于记录中已写入的令牌时才写入；没有变更时同样校验并写入令牌
+     *
+     * @param fencingToken 加锁时获得的栅栏令牌
+     * @return 令牌已过期（锁已被他人重新获取并写入）时返回false
+     */
+    boolean update(Inventory inventory, long fencingToken);
+
     void delete(Inventory.InventoryId id);
 
     boolean existsBySkuCode(String skuCode);
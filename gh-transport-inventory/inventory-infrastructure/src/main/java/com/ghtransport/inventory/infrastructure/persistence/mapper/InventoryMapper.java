@@ -1,5 +1,7 @@
 package com.ghtransport.inventory.infrastructure.persistence.mapper;
 
+import com.ghtransport.common.core.persistence.DynamicUpdate;
+import com.ghtransport.common.core.persistence.DynamicUpdateProvider;
 import com.ghtransport.common.core.result.PageResult;
 import com.ghtransport.inventory.domain.aggregate.Inventory;
 import com.ghtransport.inventory.domain.aggregate.Inventory.InventoryId;
@@ -7,6 +9,7 @@ import com.ghtransport.inventory.domain.aggregate.Inventory.InventoryStatus;
 import com.ghtransport.inventory.infrastructure.persistence.po.InventoryPO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.UpdateProvider;
 
 import java.util.List;
 import java.util.Optional;
@@ -21,6 +24,21 @@ public interface InventoryMapper {
 
     void update(@Param("po") InventoryPO po);
 
+    /**
+     * 只更新变更过的列（持锁更新时附带栅栏令牌条件）
+     *
+     * @return 更新行数，0表示令牌已过期或记录不存在
+     */
+    @UpdateProvider(type = DynamicUpdateProvider.class, method = "update")
+    int updateDynamic(DynamicUpdate update);
+
+    /**
+     * 没有变更列时只写入栅栏令牌，令牌小于已写入值时不更新
+     *
+     * @return 更新行数，0表示令牌已过期或记录不存在
+     */
+    int advanceFenceToken(@Param("id") String id, @Param("fenceToken") long fenceToken);
+
     void delete(@Param("id") String id);
 
     Optional<InventoryPO> findById(@Param("id") String id);
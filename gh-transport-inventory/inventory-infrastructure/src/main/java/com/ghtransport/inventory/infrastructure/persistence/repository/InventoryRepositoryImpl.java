@@ -1,5 +1,7 @@
 package com.ghtransport.inventory.infrastructure.persistence.repository;
 
+import com.ghtransport.common.core.persistence.DynamicUpdate;
+import com.ghtransport.common.core.persistence.UuidStringTypeHandler;
 import com.ghtransport.common.core.result.PageResult;
 import com.ghtransport.inventory.domain.aggregate.Inventory;
 import com.ghtransport.inventory.domain.repository.InventoryRepository;
@@ -13,6 +15,8 @@ import java.util.Optional;
 
 /**
  * 库存仓储实现
+ *
+ * 已加载的库存只更新变更过的列，没有变更时不访问数据库。
  */
 @Slf4j
 @Repository
@@ -27,20 +31,20 @@ public class InventoryRepositoryImpl implements InventoryRepository {
     @Override
     public Optional<Inventory> findById(Inventory.InventoryId id) {
         return inventoryMapper.findById(id.getValue())
-                .map(inventoryMapper::toAggregate);
+                .map(this::toAggregate);
     }
 
     @Override
     public Optional<Inventory> findBySkuCode(String skuCode) {
         return inventoryMapper.findBySkuCode(skuCode)
-                .map(inventoryMapper::toAggregate);
+                .map(this::toAggregate);
     }
 
     @Override
     public List<Inventory> findByWarehouseId(String warehouseId) {
         return inventoryMapper.findByWarehouseId(warehouseId)
                 .stream()
-                .map(inventoryMapper::toAggregate)
+                .map(this::toAggregate)
                 .toList();
     }
 
@@ -48,7 +52,7 @@ public class InventoryRepositoryImpl implements InventoryRepository {
     public PageResult<Inventory> findByWarehouseId(String warehouseId, int pageNum, int pageSize) {
         var page = inventoryMapper.findByWarehouseIdPaged(warehouseId, pageNum, pageSize);
         return new PageResult<>(
-                page.getList().stream().map(inventoryMapper::toAggregate).toList(),
+                page.getList().stream().map(this::toAggregate).toList(),
                 page.getTotal(),
                 page.getPageNum(),
                 page.getPageSize()
@@ -59,7 +63,7 @@ public class InventoryRepositoryImpl implements InventoryRepository {
     public PageResult<Inventory> findByStatus(Inventory.InventoryStatus status, int pageNum, int pageSize) {
         var page = inventoryMapper.findByStatus(status.getValue(), pageNum, pageSize);
         return new PageResult<>(
-                page.getList().stream().map(inventoryMapper::toAggregate).toList(),
+                page.getList().stream().map(this::toAggregate).toList(),
                 page.getTotal(),
                 page.getPageNum(),
                 page.getPageSize()
@@ -70,7 +74,7 @@ public class InventoryRepositoryImpl implements InventoryRepository {
     public PageResult<Inventory> search(String keyword, int pageNum, int pageSize) {
         var page = inventoryMapper.search(keyword, pageNum, pageSize);
         return new PageResult<>(
-                page.getList().stream().map(inventoryMapper::toAggregate).toList(),
+                page.getList().stream().map(this::toAggregate).toList(),
                 page.getTotal(),
                 page.getPageNum(),
                 page.getPageSize()
@@ -79,15 +83,49 @@ public class InventoryRepositoryImpl implements InventoryRepository {
 
     @Override
     public void save(Inventory inventory) {
-        InventoryPO po = inventoryMapper.toPO(inventory);
-        boolean exists = inventoryMapper.findById(po.getId()).isPresent();
-        if (exists) {
-            inventoryMapper.update(po);
-            log.debug("库存更新成功: {}", inventory.getId().getValue());
+        if (inventory.isPersisted()) {
+            if (inventory.isDirty()) {
+                inventoryMapper.updateDynamic(changedColumns(inventory));
+                log.debug("库存更新成功: {}, 变更: {}", inventory.getId().getValue(), inventory.getDirtyProperties());
+            }
         } else {
-            inventoryMapper.insert(po);
-            log.debug("库存保存成功: {}", inventory.getId().getValue());
+            InventoryPO po = inventoryMapper.toPO(inventory);
+            boolean exists = inventoryMapper.findById(po.getId()).isPresent();
+            if (exists) {
+                inventoryMapper.update(po);
+                log.debug("库存更新成功: {}", inventory.getId().getValue());
+            } else {
+                inventoryMapper.insert(po);
+                log.debug("库存保存成功: {}", inventory.getId().getValue());
+            }
         }
+        inventory.markPersisted();
+    }
+
+    /**
+     * 持锁更新：栅栏令牌小于已写入值说明锁已被他人重新获取，不更新
+     *
+     * 没有变更时只写入令牌，同样按令牌条件执行，返回 true 始终表示令牌已被接受。
+     */
+    @Override
+    public boolean update(Inventory inventory, long fencingToken) {
+        boolean updated;
+        if (inventory.isDirty()) {
+            DynamicUpdate update = changedColumns(inventory)
+                    .setValue("fence_token", fencingToken)
+                    .where("fence_token", "<=", fencingToken);
+            updated = inventoryMapper.updateDynamic(update) > 0;
+        } else {
+            updated = inventoryMapper.advanceFenceToken(inventory.getId().getValue(), fencingToken) > 0;
+        }
+        if (updated) {
+            log.debug("库存更新成功: {}, 令牌: {}, 变更: {}",
+                    inventory.getId().getValue(), fencingToken, inventory.getDirtyProperties());
+            inventory.markPersisted();
+        } else {
+            log.warn("库存更新被拒绝，栅栏令牌已过期: {}, 令牌: {}", inventory.getId().getValue(), fencingToken);
+        }
+        return updated;
     }
 
     @Override
@@ -100,4 +138,16 @@ public class InventoryRepositoryImpl implements InventoryRepository {
     public boolean existsBySkuCode(String skuCode) {
         return inventoryMapper.existsBySkuCode(skuCode);
     }
+
+    private DynamicUpdate changedColumns(Inventory inventory) {
+        return DynamicUpdate.of("inventory", inventoryMapper.toPO(inventory))
+                .setAll(inventory.getDirtyProperties())
+                .whereId("id", UuidStringTypeHandler.class);
+    }
+
+    private Inventory toAggregate(InventoryPO po) {
+        Inventory inventory = inventoryMapper.toAggregate(po);
+        inventory.markPersisted();
+        return inventory;
+    }
 }
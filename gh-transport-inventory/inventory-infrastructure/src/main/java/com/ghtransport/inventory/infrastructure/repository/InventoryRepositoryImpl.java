@@ -7,7 +7,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -18,6 +20,7 @@ import java.util.Optional;
 public class InventoryRepositoryImpl implements InventoryRepository {
 
     private final List<Inventory> inventoryStore = new ArrayList<>();
+    private final Map<String, Long> fencingTokens = new HashMap<>();
 
     @Override
     public Optional<Inventory> findById(Inventory.InventoryId id) {
@@ -74,9 +77,21 @@ public class InventoryRepositoryImpl implements InventoryRepository {
         log.info("保存库存: {}", inventory.getSkuCode());
     }
 
+    @Override
+    public boolean update(Inventory inventory, long fencingToken) {
+        String id = inventory.getId().getValue();
+        if (findById(inventory.getId()).isEmpty() || fencingTokens.getOrDefault(id, 0L) > fencingToken) {
+            return false;
+        }
+        fencingTokens.put(id, fencingToken);
+        save(inventory);
+        return true;
+    }
+
     @Override
     public void delete(Inventory.InventoryId id) {
         inventoryStore.removeIf(i -> i.getId().getValue().equals(id.getValue()));
+        fencingTokens.remove(id.getValue());
     }
 
     @Override
@@ -0,0 +1,161 @@
+package com.ghtransport.inventory.infrastructure.persistence.repository;
+
+import com.ghtransport.common.core.persistence.DynamicUpdate;
+import com.ghtransport.common.core.persistence.DynamicUpdateProvider;
+import com.ghtransport.common.core.persistence.UuidStringTypeHandler;
+import com.ghtransport.inventory.domain.aggregate.Inventory;
+import com.ghtransport.inventory.infrastructure.persistence.mapper.InventoryMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 库存仓储测试（栅栏令牌更新）
+ */
+class InventoryRepositoryImplTest {
+
+    private final FencedInventoryTable table = new FencedInventoryTable();
+    private final InventoryRepositoryImpl repository = new InventoryRepositoryImpl(table.mapper());
+
+    @Test
+    @DisplayName("update - 生成只含变更列并附带栅栏令牌条件的SQL")
+    void update_FencedSql() {
+        // Given
+        Inventory inventory = loadedInventory();
+        inventory.reserve(10);
+
+        // When
+        boolean updated = repository.update(inventory, 5L);
+
+        // Then
+        assertTrue(updated);
+        assertEquals("UPDATE inventory SET reserved_quantity = #{entity.reservedQuantity},"
+                + " updated_at = #{entity.updatedAt}, fence_token = #{params.p0}"
+                + " WHERE id = #{entity.id,typeHandler=" + UuidStringTypeHandler.class.getName() + "}"
+                + " AND fence_token <= #{params.p1}", table.statements.get(0));
+        assertEquals(5L, table.fenceToken);
+        assertFalse(inventory.isDirty());
+    }
+
+    @Test
+    @DisplayName("update - 令牌小于已写入值时拒绝更新，变更保留")
+    void update_StaleTokenRejected() {
+        // Given：新持有者以令牌8写入
+        Inventory current = loadedInventory();
+        current.reserve(10);
+        assertTrue(repository.update(current, 8L));
+        Inventory stale = loadedInventory();
+        stale.reserve(20);
+
+        // When：锁已过期的旧持有者以令牌7写入
+        boolean updated = repository.update(stale, 7L);
+
+        // Then
+        assertFalse(updated);
+        assertEquals(8L, table.fenceToken);
+        assertEquals(1, table.rowsUpdated);
+        assertTrue(stale.isDirty("reservedQuantity"));
+    }
+
+    @Test
+    @DisplayName("update - 相同令牌可重复写入（同一持有者多次更新）")
+    void update_SameTokenAccepted() {
+        // Given
+        Inventory inventory = loadedInventory();
+        inventory.reserve(10);
+        assertTrue(repository.update(inventory, 3L));
+
+        // When
+        inventory.reserve(5);
+        boolean updated = repository.update(inventory, 3L);
+
+        // Then
+        assertTrue(updated);
+        assertEquals(2, table.rowsUpdated);
+    }
+
+    @Test
+    @DisplayName("update - 没有变更时仍校验栅栏令牌，只写入令牌")
+    void update_NotDirtyStillFenced() {
+        // Given
+        Inventory current = loadedInventory();
+        current.reserve(10);
+        assertTrue(repository.update(current, 8L));
+        Inventory unchanged = loadedInventory();
+
+        // When
+        boolean stale = repository.update(unchanged, 7L);
+        boolean accepted = repository.update(unchanged, 9L);
+
+        // Then
+        assertFalse(stale);
+        assertTrue(accepted);
+        assertEquals(9L, table.fenceToken);
+        assertEquals(1, table.statements.size());
+    }
+
+    private static Inventory loadedInventory() {
+        Inventory inventory = Inventory.create("SKU-001", "测试商品", "wh-001", 1000, BigDecimal.valueOf(99.99));
+        inventory.markPersisted();
+        return inventory;
+    }
+
+    /**
+     * 单行库存表：按 DynamicUpdateProvider 生成的SQL执行 fence_token 条件
+     */
+    private static final class FencedInventoryTable {
+
+        private final List<String> statements = new ArrayList<>();
+        private long fenceToken;
+        private int rowsUpdated;
+
+        InventoryMapper mapper() {
+            InvocationHandler handler = (proxy, method, args) -> {
+                if (method.isDefault()) {
+                    return InvocationHandler.invokeDefault(proxy, method, args);
+                }
+                if (method.getName().equals("updateDynamic")) {
+                    return updateDynamic((DynamicUpdate) args[0]);
+                }
+                if (method.getName().equals("advanceFenceToken")) {
+                    return advance((Long) args[1]);
+                }
+                throw new UnsupportedOperationException(method.getName());
+            };
+            return (InventoryMapper) Proxy.newProxyInstance(InventoryMapper.class.getClassLoader(),
+                    new Class<?>[]{InventoryMapper.class}, handler);
+        }
+
+        private int updateDynamic(DynamicUpdate update) {
+            String sql = DynamicUpdateProvider.update(update);
+            statements.add(sql);
+            assertTrue(sql.endsWith(" AND fence_token <= #{params.p1}"), sql);
+            long newToken = (Long) update.getParams().get("p0");
+            long conditionToken = (Long) update.getParams().get("p1");
+            if (fenceToken > conditionToken) {
+                return 0;
+            }
+            fenceToken = newToken;
+            rowsUpdated++;
+            return 1;
+        }
+
+        /**
+         * advanceFenceToken：令牌不小于已写入值时写入
+         */
+        private int advance(long token) {
+            if (fenceToken > token) {
+                return 0;
+            }
+            fenceToken = token;
+            return 1;
+        }
+    }
+}
@@ -4,11 +4,15 @@ import com.ghtransport.order.application.command.CreateOrderCmd;
 import com.ghtransport.order.domain.aggregate.Order;
 import com.ghtransport.order.domain.repository.OrderRepository;
 import com.ghtransport.order.domain.valueobject.Address;
+import com.ghtransport.common.core.ddd.DomainEvent;
+import com.ghtransport.common.core.ddd.DomainEventPublisher;
 import com.ghtransport.common.core.exception.BusinessException;
 import com.ghtransport.common.core.result.PageResult;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 
@@ -20,9 +24,11 @@ import java.util.List;
 public class OrderApplicationService {
 
     private final OrderRepository orderRepository;
+    private final DomainEventPublisher domainEventPublisher;
 
-    public OrderApplicationService(OrderRepository orderRepository) {
+    public OrderApplicationService(OrderRepository orderRepository, DomainEventPublisher domainEventPublisher) {
         this.orderRepository = orderRepository;
+        this.domainEventPublisher = domainEventPublisher;
     }
 
     /**
@@ -54,6 +60,7 @@ public class OrderApplicationService {
 
         // 保存订单
         orderRepository.save(order);
+        publishAfterCommit(order);
 
         log.info("订单创建成功: {}", order.getOrderNo().getValue());
 
@@ -86,6 +93,7 @@ public class OrderApplicationService {
         Order order = getOrder(orderId);
         order.confirm();
         orderRepository.save(order);
+        publishAfterCommit(order);
         log.info("订单确认成功: {}", order.getOrderNo().getValue());
         return order;
     }
@@ -98,6 +106,7 @@ public class OrderApplicationService {
         Order order = getOrder(orderId);
         order.cancel(reason);
         orderRepository.save(order);
+        publishAfterCommit(order);
         log.info("订单取消成功: {}", order.getOrderNo().getValue());
         return order;
     }
@@ -110,6 +119,7 @@ public class OrderApplicationService {
         Order order = getOrder(orderId);
         order.ship(trackingNo);
         orderRepository.save(order);
+        publishAfterCommit(order);
         log.info("订单发货成功: {}, 运单号: {}", order.getOrderNo().getValue(), trackingNo);
         return order;
     }
@@ -122,6 +132,7 @@ public class OrderApplicationService {
         Order order = getOrder(orderId);
         order.complete();
         orderRepository.save(order);
+        publishAfterCommit(order);
         log.info("订单完成: {}", order.getOrderNo().getValue());
         return order;
     }
@@ -141,4 +152,25 @@ public class OrderApplicationService {
     public PageResult<Order> getOrdersByStatus(String status, int pageNum, int pageSize) {
         return orderRepository.findByStatus(Order.OrderStatus.of(status), pageNum, pageSize);
     }
+
+    /**
+     * 事务提交后把本次产生的领域事件交给进程内监听器，监听器耗时不计入请求；
+     * 跨服务投递由发件箱负责（见 OrderRepositoryImpl）
+     */
+    private void publishAfterCommit(Order order) {
+        List<DomainEvent> events = order.getDomainEvents();
+        if (events.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            domainEventPublisher.publishAll(events);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                domainEventPublisher.publishAll(events);
+            }
+        });
+    }
 }
@@ -1,6 +1,7 @@
 package com.ghtransport.order.domain.aggregate;
 
 import com.ghtransport.common.core.ddd.AggregateRoot;
+import com.ghtransport.common.core.ddd.DomainClock;
 import com.ghtransport.common.core.ddd.DomainEvent;
 import com.ghtransport.common.core.ddd.ValueObject;
 import com.ghtransport.common.core.exception.BusinessException;
@@ -86,8 +87,8 @@ public class Order extends AggregateRoot<OrderId> {
         order.items = new ArrayList<>(items);
         order.status = OrderStatus.PENDING;
         order.remark = remark;
-        order.createdAt = LocalDateTime.now();
-        order.updatedAt = LocalDateTime.now();
+        order.createdAt = DomainClock.now();
+        order.updatedAt = order.createdAt;
         order.calculateTotalAmount();
         return order;
     }
@@ -110,8 +111,10 @@ public class Order extends AggregateRoot<OrderId> {
             throw new BusinessException("ORDER_STATUS_ERROR", "只有待确认的订单可以确认");
         }
         this.status = OrderStatus.CONFIRMED;
-        this.updatedAt = LocalDateTime.now();
-        registerEvent(new OrderConfirmedEvent(this.id.getValue(), this.orderNo.getValue()));
+        long now = DomainClock.millis();
+        this.updatedAt = DomainClock.toLocalDateTime(now);
+        markDirty("status", "updatedAt");
+        registerEvent(new OrderConfirmedEvent(this.id.getValue(), this.orderNo.getValue()), now);
     }
 
     /**
@@ -122,8 +125,10 @@ public class Order extends AggregateRoot<OrderId> {
             throw new BusinessException("ORDER_STATUS_ERROR", "当前状态不允许取消订单");
         }
         this.status = OrderStatus.CANCELLED;
-        this.updatedAt = LocalDateTime.now();
-        registerEvent(new OrderCancelledEvent(this.id.getValue(), this.orderNo.getValue(), reason));
+        long now = DomainClock.millis();
+        this.updatedAt = DomainClock.toLocalDateTime(now);
+        markDirty("status", "updatedAt");
+        registerEvent(new OrderCancelledEvent(this.id.getValue(), this.orderNo.getValue(), reason), now);
     }
 
     /**
@@ -134,8 +139,10 @@ public class Order extends AggregateRoot<OrderId> {
             throw new BusinessException("ORDER_STATUS_ERROR", "只有已确认的订单可以发货");
         }
         this.status = OrderStatus.SHIPPED;
-        this.updatedAt = LocalDateTime.now();
-        registerEvent(new OrderShippedEvent(this.id.getValue(), this.orderNo.getValue(), trackingNo));
+        long now = DomainClock.millis();
+        this.updatedAt = DomainClock.toLocalDateTime(now);
+        markDirty("status", "updatedAt");
+        registerEvent(new OrderShippedEvent(this.id.getValue(), this.orderNo.getValue(), trackingNo), now);
     }
 
     /**
@@ -146,8 +153,10 @@ public class Order extends AggregateRoot<OrderId> {
             throw new BusinessException("ORDER_STATUS_ERROR", "只有已发货的订单可以完成");
         }
         this.status = OrderStatus.COMPLETED;
-        this.updatedAt = LocalDateTime.now();
-        registerEvent(new OrderCompletedEvent(this.id.getValue(), this.orderNo.getValue()));
+        long now = DomainClock.millis();
+        this.updatedAt = DomainClock.toLocalDateTime(now);
+        markDirty("status", "updatedAt");
+        registerEvent(new OrderCompletedEvent(this.id.getValue(), this.orderNo.getValue()), now);
     }
 
     @Override
@@ -168,7 +177,7 @@ public class Order extends AggregateRoot<OrderId> {
         }
 
         public static OrderId generate() {
-            return new OrderId(IdGenerator.generateUUID());
+            return new OrderId(IdGenerator.generateUUIDv7().toString());
         }
     }
 
@@ -2,9 +2,12 @@ package com.ghtransport.order.domain.entity;
 
 import com.ghtransport.common.core.ddd.Entity;
 import com.ghtransport.common.core.ddd.ValueObject;
+import com.ghtransport.common.core.ddd.ValueObjectBase;
 import com.ghtransport.common.core.util.IdGenerator;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 
 import java.math.BigDecimal;
 
@@ -73,18 +76,23 @@ public class OrderItem extends Entity<OrderItemId> {
         }
 
         public static OrderItemId generate() {
-            return new OrderItemId(IdGenerator.generateUUID());
+            return new OrderItemId(IdGenerator.generateUUIDv7().toString());
         }
     }
 
     /**
-     * 金额值对象
+     * 金额值对象（不可变，保留两位小数），按金额和精度判等
      */
-    @Data
+    @Getter
+    @ToString
     @ValueObject
-    public static class Money {
+    public static class Money extends ValueObjectBase<Money> {
         private final BigDecimal value;
 
+        private Money(BigDecimal value) {
+            this.value = value;
+        }
+
         public static Money of(BigDecimal value) {
             if (value == null || value.compareTo(BigDecimal.ZERO) < 0) {
                 throw new IllegalArgumentException("金额不能为负数");
@@ -106,13 +114,18 @@ public class OrderItem extends Entity<OrderItemId> {
     }
 
     /**
-     * 数量值对象
+     * 数量值对象（不可变，大于0）
      */
-    @Data
+    @Getter
+    @ToString
     @ValueObject
-    public static class Quantity {
+    public static class Quantity extends ValueObjectBase<Quantity> {
         private final int value;
 
+        private Quantity(int value) {
+            this.value = value;
+        }
+
         public static Quantity of(int value) {
             if (value <= 0) {
                 throw new IllegalArgumentException("数量必须大于0");
@@ -1,14 +1,15 @@
 package com.ghtransport.order.domain.valueobject;
 
 import com.ghtransport.common.core.ddd.ValueObject;
+import com.ghtransport.common.core.ddd.ValueObjectBase;
 import lombok.Getter;
 
 /**
- * 地址值对象（不可变）
+ * 地址值对象（不可变），按全部属性判等
  */
 @Getter
 @ValueObject
-public class Address {
+public class Address extends ValueObjectBase<Address> {
 
     /**
      * 省份
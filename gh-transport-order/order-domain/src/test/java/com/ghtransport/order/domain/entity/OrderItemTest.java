@@ -0,0 +1,48 @@
+package com.ghtransport.order.domain.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 订单明细值对象测试
+ */
+class OrderItemTest {
+
+    @Test
+    @DisplayName("金额和数量按值判等")
+    void valueObjects_EqualByValue() {
+        // When
+        OrderItem.Money price = OrderItem.Money.of("12.5");
+        OrderItem.Money same = OrderItem.Money.of(new BigDecimal("12.50"));
+
+        // Then
+        assertEquals(price, same);
+        assertEquals(price.hashCode(), same.hashCode());
+        assertNotEquals(price, OrderItem.Money.of("12.51"));
+        assertEquals(OrderItem.Quantity.of(3), OrderItem.Quantity.of(3));
+        assertNotEquals(OrderItem.Quantity.of(3), OrderItem.Quantity.of(4));
+    }
+
+    @Test
+    @DisplayName("小计 = 单价 × 数量")
+    void subtotal() {
+        // When
+        OrderItem item = new OrderItem("prod-001", "商品A", "规格A",
+                OrderItem.Money.of("99.99"), OrderItem.Quantity.of(3));
+
+        // Then
+        assertEquals(OrderItem.Money.of("299.97"), item.getSubtotal());
+        assertEquals(new BigDecimal("299.97"), item.getSubtotal().getValue());
+    }
+
+    @Test
+    @DisplayName("负金额和非正数量被拒绝")
+    void of_RejectsInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> OrderItem.Money.of("-0.01"));
+        assertThrows(IllegalArgumentException.class, () -> OrderItem.Quantity.of(0));
+    }
+}
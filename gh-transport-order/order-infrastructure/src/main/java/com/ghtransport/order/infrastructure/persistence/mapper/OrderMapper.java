@@ -1,5 +1,7 @@
 package com.ghtransport.order.infrastructure.persistence.mapper;
 
+import com.ghtransport.common.core.persistence.DynamicUpdate;
+import com.ghtransport.common.core.persistence.DynamicUpdateProvider;
 import com.ghtransport.order.domain.aggregate.Order;
 import com.ghtransport.order.domain.aggregate.Order.OrderId;
 import com.ghtransport.order.domain.aggregate.Order.OrderNo;
@@ -12,6 +14,7 @@ import com.ghtransport.order.infrastructure.persistence.po.OrderItemPO;
 import com.ghtransport.order.infrastructure.persistence.po.OrderPO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.UpdateProvider;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -29,6 +32,14 @@ public interface OrderMapper {
 
     void update(@Param("po") OrderPO po);
 
+    /**
+     * 只更新变更过的列
+     *
+     * @return 更新行数
+     */
+    @UpdateProvider(type = DynamicUpdateProvider.class, method = "update")
+    int updateDynamic(DynamicUpdate update);
+
     void delete(@Param("id") String id);
 
     void deleteItems(@Param("orderId") String orderId);
@@ -1,6 +1,9 @@
 package com.ghtransport.order.infrastructure.persistence.repository;
 
+import com.ghtransport.common.core.persistence.DynamicUpdate;
+import com.ghtransport.common.core.persistence.UuidStringTypeHandler;
 import com.ghtransport.common.core.result.PageResult;
+import com.ghtransport.common.outbox.OutboxEventStore;
 import com.ghtransport.order.domain.aggregate.Order;
 import com.ghtransport.order.domain.repository.OrderRepository;
 import com.ghtransport.order.infrastructure.persistence.mapper.OrderMapper;
@@ -15,15 +18,22 @@ import java.util.Optional;
 
 /**
  * 订单仓储实现
+ *
+ * 保存订单时在同一事务中把未发布的领域事件写入发件箱。
+ * 已加载的订单只更新变更过的列，没有变更时不访问订单表。
  */
 @Slf4j
 @Repository
 public class OrderRepositoryImpl implements OrderRepository {
 
+    private static final String TABLE = "`order`";
+
     private final OrderMapper orderMapper;
+    private final OutboxEventStore outboxEventStore;
 
-    public OrderRepositoryImpl(OrderMapper orderMapper) {
+    public OrderRepositoryImpl(OrderMapper orderMapper, OutboxEventStore outboxEventStore) {
         this.orderMapper = orderMapper;
+        this.outboxEventStore = outboxEventStore;
     }
 
     @Override
@@ -65,18 +75,26 @@ public class OrderRepositoryImpl implements OrderRepository {
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void save(Order order) {
-        OrderPO po = orderMapper.toPO(order);
-        boolean exists = orderMapper.findById(po.getId()).isPresent();
-        if (exists) {
-            orderMapper.update(po);
-            orderMapper.deleteItems(po.getId());
-            orderMapper.insertItems(orderMapper.formatOrderItems(order.getItems(), po.getId()));
-            log.debug("订单更新成功: {}", order.getId().getValue());
+        if (order.isPersisted()) {
+            if (order.isDirty()) {
+                updateChanged(order);
+            }
         } else {
-            orderMapper.insert(po);
-            orderMapper.insertItems(orderMapper.formatOrderItems(order.getItems(), po.getId()));
-            log.debug("订单保存成功: {}", order.getId().getValue());
+            OrderPO po = orderMapper.toPO(order);
+            boolean exists = orderMapper.findById(po.getId()).isPresent();
+            if (exists) {
+                orderMapper.update(po);
+                orderMapper.deleteItems(po.getId());
+                orderMapper.insertItems(orderMapper.formatOrderItems(order.getItems(), po.getId()));
+                log.debug("订单更新成功: {}", order.getId().getValue());
+            } else {
+                orderMapper.insert(po);
+                orderMapper.insertItems(orderMapper.formatOrderItems(order.getItems(), po.getId()));
+                log.debug("订单保存成功: {}", order.getId().getValue());
+            }
         }
+        outboxEventStore.append(order);
+        order.markPersisted();
     }
 
     @Override
@@ -87,10 +105,22 @@ public class OrderRepositoryImpl implements OrderRepository {
         log.debug("订单删除成功: {}", id.getValue());
     }
 
+    /**
+     * 只写入变更过的列；明细随订单创建写入后不再修改，不参与增量更新
+     */
+    private void updateChanged(Order order) {
+        DynamicUpdate update = DynamicUpdate.of(TABLE, orderMapper.toPO(order))
+                .setAll(order.getDirtyProperties())
+                .whereId("id", UuidStringTypeHandler.class);
+        orderMapper.updateDynamic(update);
+        log.debug("订单更新成功: {}, 变更: {}", order.getId().getValue(), order.getDirtyProperties());
+    }
+
     private Order loadOrderWithItems(OrderPO po) {
         Order order = orderMapper.toAggregate(po);
         List<OrderItemPO> items = orderMapper.findItemsByOrderId(po.getId());
         order.setItems(orderMapper.parseOrderItems(items));
+        order.markPersisted();
         return order;
     }
 
@@ -50,7 +50,7 @@ public class Transport extends AggregateRoot<TransportId> {
 
     @Override public String getAggregateType() { return "Transport"; }
 
-    @Data @ValueObject public static class TransportId { private final String value; public static TransportId of(String v){return new TransportId(v);} public static TransportId generate(){return new TransportId(IdGenerator.generateUUID());} }
+    @Data @ValueObject public static class TransportId { private final String value; public static TransportId of(String v){return new TransportId(v);} public static TransportId generate(){return new TransportId(IdGenerator.generateUUIDv7().toString());} }
     @Data @ValueObject public static class WaybillNo { private final String value; public static WaybillNo of(String v){return new WaybillNo(v);} public static WaybillNo generate(){return new WaybillNo(IdGenerator.generateWaybillNo());} }
     @Data @ValueObject public static class Location { private final Double lng; private final Double lat; public Location(Double lng, Double lat){this.lng=lng;this.lat=lat;} }
     @Getter @ValueObject public static class TransportStatus {
@@ -6,6 +6,7 @@ import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 /**
  * 运输持久化对象（MongoDB）
@@ -13,8 +14,11 @@ import java.time.LocalDateTime;
 @Data
 @Document(collection = "transport")
 public class TransportPO {
+    /**
+     * 以 BinData(subtype 4) 存储，需配置 spring.data.mongodb.uuid-representation=standard
+     */
     @Id
-    private String id;
+    private UUID id;
     private String waybillNo;
     private String dispatchId;
     private String status;
@@ -1,6 +1,7 @@
 package com.ghtransport.transport.infrastructure.persistence.repository;
 
 import com.ghtransport.common.core.result.PageResult;
+import com.ghtransport.common.core.util.UuidUtils;
 import com.ghtransport.transport.domain.aggregate.Transport;
 import com.ghtransport.transport.domain.aggregate.Transport.TransportId;
 import com.ghtransport.transport.domain.aggregate.Transport.TransportStatus;
@@ -35,7 +36,7 @@ public class TransportRepositoryImpl implements TransportRepository {
 
     @Override
     public Optional<Transport> findById(Transport.TransportId id) {
-        TransportPO po = mongoTemplate.findById(id.getValue(), TransportPO.class);
+        TransportPO po = mongoTemplate.findById(UuidUtils.parse(id.getValue()), TransportPO.class);
         return Optional.ofNullable(toAggregate(po));
     }
 
@@ -103,7 +104,7 @@ public class TransportRepositoryImpl implements TransportRepository {
 
     @Override
     public void delete(Transport.TransportId id) {
-        mongoTemplate.remove(Query.query(Criteria.where("_id").is(id.getValue())), TransportPO.class);
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(UuidUtils.parse(id.getValue()))), TransportPO.class);
         log.debug("运单删除成功: {}", id.getValue());
     }
 
@@ -113,7 +114,7 @@ public class TransportRepositoryImpl implements TransportRepository {
     private Transport toAggregate(TransportPO po) {
         if (po == null) return null;
         Transport transport = new Transport();
-        transport.setId(TransportId.of(po.getId()));
+        transport.setId(TransportId.of(po.getId().toString()));
         transport.setWaybillNo(WaybillNo.of(po.getWaybillNo()));
         transport.setDispatchId(po.getDispatchId());
         transport.setStatus(TransportStatus.of(po.getStatus()));
@@ -137,7 +138,7 @@ public class TransportRepositoryImpl implements TransportRepository {
     private TransportPO toPO(Transport transport) {
         if (transport == null) return null;
         TransportPO po = new TransportPO();
-        po.setId(transport.getId().getValue());
+        po.setId(UuidUtils.parse(transport.getId().getValue()));
         po.setWaybillNo(transport.getWaybillNo().getValue());
         po.setDispatchId(transport.getDispatchId());
         po.setStatus(transport.getStatus().getValue());